@@ -6,6 +6,7 @@ import com.kb.jarvis.core.decision.DecisionEngine;
 import com.kb.jarvis.core.context.ContextManager;
 import com.kb.jarvis.core.memory.MemoryManager;
 import com.kb.jarvis.core.learning.LearningEngine;
+import com.kb.jarvis.core.execution.ActionExecutor;
 import com.kb.jarvis.core.model.UserIntent;
 import com.kb.jarvis.core.model.AIAnalysis;
 import com.kb.jarvis.core.model.DecisionAction;
@@ -21,6 +22,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.Map;
+import java.util.UUID;
 
 @Component
 public class JarvisCoreEngine {
@@ -43,8 +45,12 @@ public class JarvisCoreEngine {
     @Autowired
     private LearningEngine learningEngine;
 
+    @Autowired
+    private ActionExecutor actionExecutor;
+
     /**
-     * Process a user command and return an intelligent response
+     * Process a user command and return an intelligent response; the response data carries the
+     * executionId of the action started for it, which cancelAction accepts
      */
     public JarvisResponse processCommand(String userInput) {
         try {
@@ -61,10 +67,11 @@ public class JarvisCoreEngine {
             DecisionAction action = decisionEngine.decideAction(intent, analysis);
             
             // Step 5: Execute the action asynchronously
-            CompletableFuture<ExecutionResult> executionFuture = executeAction(action);
+            String executionId = UUID.randomUUID().toString();
+            CompletableFuture<ExecutionResult> executionFuture = executeAction(executionId, action);
             
             // Step 6: Generate immediate response
-            JarvisResponse response = generateResponse(intent, analysis, action);
+            JarvisResponse response = generateResponse(intent, analysis, action, executionId);
             
             // Step 7: Learn from this interaction
             learningEngine.learnFromInteraction(intent, analysis, action);
@@ -80,10 +87,10 @@ public class JarvisCoreEngine {
     }
 
     /**
-     * Execute an action asynchronously
+     * Execute an action asynchronously under the given execution ID
      */
-    private CompletableFuture<ExecutionResult> executeAction(DecisionAction action) {
-        return CompletableFuture.supplyAsync(() -> {
+    private CompletableFuture<ExecutionResult> executeAction(String executionId, DecisionAction action) {
+        return actionExecutor.submit(executionId, ActionExecutor.workloadOf(action.getType()), () -> {
             try {
                 switch (action.getType()) {
                     case RUN_TESTS:
@@ -174,7 +181,7 @@ public class JarvisCoreEngine {
     /**
      * Generate response based on intent, analysis, and action
      */
-    private JarvisResponse generateResponse(UserIntent intent, AIAnalysis analysis, DecisionAction action) {
+    private JarvisResponse generateResponse(UserIntent intent, AIAnalysis analysis, DecisionAction action, String executionId) {
         StringBuilder response = new StringBuilder();
         
         // Add acknowledgment
@@ -200,9 +207,17 @@ public class JarvisCoreEngine {
             .message(response.toString())
             .status(JarvisResponseStatus.PROCESSING)
             .action(action)
+            .data(Map.of("executionId", executionId))
             .build();
     }
 
+    /**
+     * Cancel the action started for a command, by the executionId from its response
+     */
+    public boolean cancelAction(String executionId) {
+        return actionExecutor.cancel(executionId) > 0;
+    }
+
     /**
      * Get current system status
      */
@@ -0,0 +1,214 @@
+package com.kb.jarvis.core.chaos;
+
+import com.kb.jarvis.core.performance.LoadProfile;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One local chaos experiment: the target to put the proxy in front of, the faults and pressure to
+ * apply, the load that measures their impact, how long each phase lasts and the steady-state
+ * hypothesis sampled throughout (by default the load profile's p95 and error-rate thresholds)
+ */
+public class ChaosExperiment {
+
+    private String name;
+    private String serviceName;
+    private String targetBaseUrl;
+    private int listenPort;
+    private FaultSpec faults;
+    private double cpuLoad;
+    private int cpuThreads;
+    private double memoryFraction;
+    private LoadProfile load;
+    private double rate;
+    private Duration baselineDuration;
+    private Duration faultDuration;
+    private Duration recoveryDuration;
+    private SteadyStateHypothesis hypothesis;
+    private Duration sampleInterval;
+    private Map<String, String> healthEndpoints;
+
+    // Constructor
+    public ChaosExperiment() {}
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final ChaosExperiment experiment = new ChaosExperiment();
+
+        private Builder() {
+            experiment.faults = FaultSpec.none();
+            experiment.cpuThreads = Runtime.getRuntime().availableProcessors();
+            experiment.rate = 20;
+            experiment.baselineDuration = Duration.ofSeconds(10);
+            experiment.faultDuration = Duration.ofSeconds(60);
+            experiment.recoveryDuration = Duration.ofSeconds(30);
+            experiment.sampleInterval = Duration.ofSeconds(1);
+            experiment.healthEndpoints = Map.of();
+        }
+
+        public Builder name(String name) {
+            experiment.name = name;
+            return this;
+        }
+
+        public Builder serviceName(String serviceName) {
+            experiment.serviceName = serviceName;
+            return this;
+        }
+
+        public Builder targetBaseUrl(String targetBaseUrl) {
+            experiment.targetBaseUrl = targetBaseUrl;
+            return this;
+        }
+
+        public Builder listenPort(int listenPort) {
+            experiment.listenPort = listenPort;
+            return this;
+        }
+
+        public Builder faults(FaultSpec faults) {
+            experiment.faults = faults;
+            return this;
+        }
+
+        public Builder cpuLoad(double cpuLoad) {
+            experiment.cpuLoad = cpuLoad;
+            return this;
+        }
+
+        public Builder cpuThreads(int cpuThreads) {
+            experiment.cpuThreads = cpuThreads;
+            return this;
+        }
+
+        /**
+         * Fraction (0-1) of Jarvis's own maximum heap to fill during the fault phase; this is local
+         * to the Jarvis process and does not fill the target's heap
+         */
+        public Builder memoryFraction(double memoryFraction) {
+            experiment.memoryFraction = memoryFraction;
+            return this;
+        }
+
+        public Builder load(LoadProfile load) {
+            experiment.load = load;
+            return this;
+        }
+
+        public Builder rate(double rate) {
+            experiment.rate = rate;
+            return this;
+        }
+
+        public Builder baselineDuration(Duration baselineDuration) {
+            experiment.baselineDuration = baselineDuration;
+            return this;
+        }
+
+        public Builder faultDuration(Duration faultDuration) {
+            experiment.faultDuration = faultDuration;
+            return this;
+        }
+
+        public Builder recoveryDuration(Duration recoveryDuration) {
+            experiment.recoveryDuration = recoveryDuration;
+            return this;
+        }
+
+        public Builder hypothesis(SteadyStateHypothesis hypothesis) {
+            experiment.hypothesis = hypothesis;
+            return this;
+        }
+
+        public Builder sampleInterval(Duration sampleInterval) {
+            experiment.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        public Builder healthEndpoints(Map<String, String> healthEndpoints) {
+            experiment.healthEndpoints = healthEndpoints;
+            return this;
+        }
+
+        public ChaosExperiment build() {
+            if (experiment.targetBaseUrl == null) {
+                throw new IllegalArgumentException("Chaos experiment needs a target base URL");
+            }
+            if (experiment.rate <= 0) {
+                throw new IllegalArgumentException("Measurement rate must be positive: " + experiment.rate);
+            }
+            if (experiment.faultDuration.isZero() || experiment.faultDuration.isNegative()) {
+                throw new IllegalArgumentException("Fault duration must be positive: " + experiment.faultDuration);
+            }
+            if (experiment.name == null) {
+                experiment.name = "chaos-" + (experiment.serviceName != null ? experiment.serviceName : "target");
+            }
+            if (experiment.load == null) {
+                experiment.load = LoadProfile.builder()
+                    .name(experiment.name)
+                    .path("/actuator/health")
+                    .requestTimeout(Duration.ofSeconds(5))
+                    .startRate(experiment.rate)
+                    .stage(experiment.faultDuration, experiment.rate)
+                    .build();
+            }
+            if (experiment.hypothesis == null) {
+                experiment.hypothesis = SteadyStateHypothesis.builder()
+                    .maxP95Ms(experiment.load.getP95ThresholdMs())
+                    .maxErrorRate(experiment.load.getMaxErrorRate())
+                    .build();
+            }
+            return experiment;
+        }
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getServiceName() { return serviceName; }
+    public String getTargetBaseUrl() { return targetBaseUrl; }
+    public int getListenPort() { return listenPort; }
+    public FaultSpec getFaults() { return faults; }
+    public double getCpuLoad() { return cpuLoad; }
+    public int getCpuThreads() { return cpuThreads; }
+    public double getMemoryFraction() { return memoryFraction; }
+    public LoadProfile getLoad() { return load; }
+    public double getRate() { return rate; }
+    public Duration getBaselineDuration() { return baselineDuration; }
+    public Duration getFaultDuration() { return faultDuration; }
+    public Duration getRecoveryDuration() { return recoveryDuration; }
+    public SteadyStateHypothesis getHypothesis() { return hypothesis; }
+    public Duration getSampleInterval() { return sampleInterval; }
+    public Map<String, String> getHealthEndpoints() { return healthEndpoints; }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", name);
+        if (serviceName != null) {
+            map.put("service", serviceName);
+        }
+        map.put("target", targetBaseUrl);
+        map.put("endpoint", load.getEndpoint());
+        map.put("rate", rate);
+        map.put("faults", faults.toMap());
+        if (cpuLoad > 0) {
+            map.put("cpuLoad", cpuLoad);
+            map.put("cpuThreads", cpuThreads);
+        }
+        if (memoryFraction > 0) {
+            map.put("memoryFraction", memoryFraction);
+        }
+        map.put("baselineDuration", baselineDuration.toString());
+        map.put("faultDuration", faultDuration.toString());
+        map.put("recoveryDuration", recoveryDuration.toString());
+        map.put("hypothesis", hypothesis.toMap());
+        map.put("sampleInterval", sampleInterval.toString());
+        map.put("healthProbes", healthEndpoints.keySet());
+        return map;
+    }
+}
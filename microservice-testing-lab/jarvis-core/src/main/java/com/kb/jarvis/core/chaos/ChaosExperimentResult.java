@@ -0,0 +1,105 @@
+package com.kb.jarvis.core.chaos;
+
+import com.kb.jarvis.core.performance.LoadTestResult;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load measured through the proxy before, during and after the faults of a {@link ChaosExperiment}.
+ *
+ * The impact compares the fault phase with the baseline phase; whether the system stayed or came
+ * back within its steady state is the {@link SteadyStateReport}'s verdict.
+ */
+public class ChaosExperimentResult {
+
+    private final ChaosExperiment experiment;
+    private final LoadTestResult baseline;
+    private final LoadTestResult fault;
+    private final LoadTestResult recovery;
+    private final SteadyStateReport steadyState;
+    private final Map<String, Object> proxyStatistics;
+    private final Map<String, Object> pressureStatistics;
+    private final Duration elapsed;
+
+    ChaosExperimentResult(ChaosExperiment experiment, LoadTestResult baseline, LoadTestResult fault,
+                          LoadTestResult recovery, SteadyStateReport steadyState, Map<String, Object> proxyStatistics,
+                          Map<String, Object> pressureStatistics, Duration elapsed) {
+        this.experiment = experiment;
+        this.baseline = baseline;
+        this.fault = fault;
+        this.recovery = recovery;
+        this.steadyState = steadyState;
+        this.proxyStatistics = proxyStatistics;
+        this.pressureStatistics = pressureStatistics;
+        this.elapsed = elapsed;
+    }
+
+    // Getters
+    public ChaosExperiment getExperiment() { return experiment; }
+    public LoadTestResult getBaseline() { return baseline; }
+    public LoadTestResult getFault() { return fault; }
+    public LoadTestResult getRecovery() { return recovery; }
+    public SteadyStateReport getSteadyState() { return steadyState; }
+    public Map<String, Object> getProxyStatistics() { return proxyStatistics; }
+    public Map<String, Object> getPressureStatistics() { return pressureStatistics; }
+    public Duration getElapsed() { return elapsed; }
+
+    public double getP95IncreaseMs() {
+        return fault.getResponseTimeMs(95) - baselineMs(95);
+    }
+
+    public double getErrorRateIncrease() {
+        return fault.getErrorRate() - (baseline != null ? baseline.getErrorRate() : 0.0);
+    }
+
+    public boolean isInterrupted() {
+        return (baseline != null && baseline.isInterrupted()) || fault.isInterrupted()
+            || (recovery != null && recovery.isInterrupted());
+    }
+
+    public String describe() {
+        return String.format("%s: p95 %.1f -> %.1f ms, error rate %.4f -> %.4f under faults; %s",
+            experiment.getName(), baselineMs(95), fault.getResponseTimeMs(95),
+            baseline != null ? baseline.getErrorRate() : 0.0, fault.getErrorRate(), steadyState.describe());
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("experiment", experiment.toMap());
+        map.put("durationMs", elapsed.toMillis());
+
+        Map<String, Object> impact = new LinkedHashMap<>();
+        impact.put("p50IncreaseMs", fault.getResponseTimeMs(50) - baselineMs(50));
+        impact.put("p95IncreaseMs", getP95IncreaseMs());
+        impact.put("p99IncreaseMs", fault.getResponseTimeMs(99) - baselineMs(99));
+        impact.put("errorRateIncrease", getErrorRateIncrease());
+        impact.put("throughputChange", fault.getThroughput() - (baseline != null ? baseline.getThroughput() : 0.0));
+        impact.put("summary", describe());
+        map.put("impact", impact);
+        map.put("steadyState", steadyState.toMap());
+
+        Map<String, Object> phases = new LinkedHashMap<>();
+        if (baseline != null) {
+            phases.put("baseline", baseline.toMetrics());
+        }
+        phases.put("fault", fault.toMetrics());
+        if (recovery != null) {
+            phases.put("recovery", recovery.toMetrics());
+        }
+        map.put("phases", phases);
+        map.put("proxy", proxyStatistics);
+        if (!pressureStatistics.isEmpty()) {
+            map.put("pressure", pressureStatistics);
+        }
+        if (isInterrupted()) {
+            map.put("interrupted", true);
+        }
+        return map;
+    }
+
+    private double baselineMs(double percentile) {
+        return baseline != null ? baseline.getResponseTimeMs(percentile) : 0.0;
+    }
+}
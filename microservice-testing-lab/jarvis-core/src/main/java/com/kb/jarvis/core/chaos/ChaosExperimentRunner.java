@@ -0,0 +1,100 @@
+package com.kb.jarvis.core.chaos;
+
+import com.kb.jarvis.core.performance.LoadGenerator;
+import com.kb.jarvis.core.performance.LoadProfile;
+import com.kb.jarvis.core.performance.LoadRequestSender;
+import com.kb.jarvis.core.performance.LoadRunListener;
+import com.kb.jarvis.core.performance.LoadStage;
+import com.kb.jarvis.core.performance.LoadTestResult;
+import com.kb.jarvis.core.performance.WebClientLoadSender;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs chaos experiments on one machine.
+ *
+ * A {@link FaultInjectionProxy} is started in front of the target for the length of the experiment
+ * and the load generator drives constant-rate traffic through it in three phases: a baseline with
+ * no faults, the fault phase with the proxy faults and any CPU or memory pressure applied, and a
+ * recovery phase after everything is removed. Each phase records its own latency histograms, and a
+ * {@link SteadyStateSampler} checks the experiment's steady-state hypothesis at a fixed rate across
+ * all three. CPU and memory pressure are generated in this JVM, so they only reach a target that
+ * shares the machine; see {@link PressureGenerator}.
+ */
+@Component
+public class ChaosExperimentRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChaosExperimentRunner.class);
+
+    @Autowired
+    private LoadGenerator loadGenerator;
+
+    /**
+     * Run the experiment, blocking until all phases finish or the thread is interrupted
+     */
+    public ChaosExperimentResult run(ChaosExperiment experiment) {
+        if (!"http".equalsIgnoreCase(URI.create(experiment.getTargetBaseUrl()).getScheme())) {
+            throw new IllegalArgumentException("Chaos experiments measure plain HTTP targets: " + experiment.getTargetBaseUrl());
+        }
+        log.info("Starting chaos experiment {}: {}", experiment.getName(), experiment.toMap());
+        long start = System.nanoTime();
+        LoadProfile load = experiment.getLoad();
+
+        try (FaultInjectionProxy proxy = FaultInjectionProxy.forBaseUrl(experiment.getTargetBaseUrl(), experiment.getListenPort());
+             WebClientLoadSender sender = new WebClientLoadSender(proxy.getBaseUrl(), load)) {
+            SteadyStateSampler sampler = new SteadyStateSampler(experiment.getHypothesis(),
+                experiment.getHealthEndpoints(), experiment.getSampleInterval());
+            LoadTestResult baseline;
+            LoadTestResult fault;
+            LoadTestResult recovery;
+            Map<String, Object> pressureStatistics = Map.of();
+            try (sampler) {
+                sampler.start();
+                baseline = phase(experiment, sender, sampler, "baseline", experiment.getBaselineDuration());
+
+                sampler.markFaultStart();
+                proxy.setFaults(experiment.getFaults());
+                // The pressure only lasts for the fault phase
+                try (PressureGenerator pressure = new PressureGenerator()) {
+                    pressure.startCpu(experiment.getCpuLoad(), experiment.getCpuThreads());
+                    pressure.startMemory(experiment.getMemoryFraction());
+                    if (experiment.getCpuLoad() > 0 || experiment.getMemoryFraction() > 0) {
+                        pressureStatistics = pressure.getStatistics();
+                    }
+                    fault = phase(experiment, sender, sampler, "fault", experiment.getFaultDuration());
+                } finally {
+                    proxy.setFaults(FaultSpec.none());
+                    sampler.markFaultEnd();
+                }
+
+                recovery = phase(experiment, sender, sampler, "recovery", experiment.getRecoveryDuration());
+            }
+            // Read once the sampler is closed, so its last sample is in the report
+            ChaosExperimentResult result = new ChaosExperimentResult(experiment, baseline, fault, recovery,
+                sampler.report(), proxy.getStatistics(), pressureStatistics, Duration.ofNanos(System.nanoTime() - start));
+            log.info("Chaos experiment finished: {}", result.describe());
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start fault injection proxy for " + experiment.getTargetBaseUrl(), e);
+        }
+    }
+
+    private LoadTestResult phase(ChaosExperiment experiment, LoadRequestSender sender, LoadRunListener listener,
+                                 String phase, Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return null;
+        }
+        LoadProfile profile = experiment.getLoad().withStages(experiment.getName() + "-" + phase, experiment.getRate(),
+            List.of(new LoadStage(duration, experiment.getRate())));
+        return loadGenerator.run(profile, sender, listener);
+    }
+}
@@ -0,0 +1,362 @@
+package com.kb.jarvis.core.chaos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Man-in-the-middle proxy on a loopback port that forwards to one target and injects faults.
+ *
+ * In TCP mode bytes are relayed untouched and faults apply per connection: the first chunk of each
+ * response is delayed by latency plus uniform jitter, relaying is capped at the configured
+ * bandwidth, and a connection can be reset or held open without an answer. In HTTP mode the proxy
+ * reads each request head, asks the target to close the connection after answering so every
+ * request arrives on its own connection, and rolls the faults per request; it can also answer with
+ * an error status without reaching the target. Faults can be swapped while the proxy runs and apply
+ * to connections accepted afterwards.
+ */
+public class FaultInjectionProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FaultInjectionProxy.class);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_HEAD_BYTES = 64 * 1024;
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final byte[] HEAD_END = {'\r', '\n', '\r', '\n'};
+
+    private final String targetHost;
+    private final int targetPort;
+    private final boolean http;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile FaultSpec faults = FaultSpec.none();
+
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder upstreamFailures = new LongAdder();
+    private final LongAdder bytesRelayed = new LongAdder();
+
+    /**
+     * Listen on the given loopback port (0 for any free port) and forward to the target
+     */
+    public FaultInjectionProxy(String targetHost, int targetPort, int listenPort, boolean http) throws IOException {
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.http = http;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), listenPort));
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "jarvis-chaos-proxy-" + serverSocket.getLocalPort() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers.execute(this::acceptLoop);
+        log.info("Fault injection proxy listening on {} for {}:{} ({} mode)", getBaseUrl(), targetHost, targetPort, http ? "HTTP" : "TCP");
+    }
+
+    /**
+     * Proxy in front of a base URL such as http://localhost:8082; http URLs get HTTP mode, anything
+     * else TCP mode
+     */
+    public static FaultInjectionProxy forBaseUrl(String baseUrl, int listenPort) throws IOException {
+        URI uri = URI.create(baseUrl);
+        if (uri.getHost() == null) {
+            throw new IllegalArgumentException("Base URL has no host: " + baseUrl);
+        }
+        boolean http = "http".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return new FaultInjectionProxy(uri.getHost(), port, listenPort, http);
+    }
+
+    public void setFaults(FaultSpec faults) {
+        this.faults = faults != null ? faults : FaultSpec.none();
+        log.info("Fault injection proxy {} faults: {}", getBaseUrl(), this.faults.isNone() ? "none" : this.faults.toMap());
+    }
+
+    public FaultSpec getFaults() {
+        return faults;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public String getBaseUrl() {
+        return (http ? "http" : "tcp") + "://127.0.0.1:" + getPort();
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("target", targetHost + ":" + targetPort);
+        statistics.put("mode", http ? "http" : "tcp");
+        statistics.put("connections", connections.sum());
+        statistics.put("delayed", delayed.sum());
+        statistics.put("resets", resets.sum());
+        statistics.put("errorResponses", errors.sum());
+        statistics.put("timeouts", timeouts.sum());
+        statistics.put("upstreamFailures", upstreamFailures.sum());
+        statistics.put("bytesRelayed", bytesRelayed.sum());
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        closeQuietly(serverSocket);
+        sockets.forEach(FaultInjectionProxy::closeQuietly);
+        workers.shutdownNow();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Fault injection proxy {} closed: {}", getBaseUrl(), getStatistics());
+    }
+
+    private void acceptLoop() {
+        while (!closed.get()) {
+            try {
+                Socket client = serverSocket.accept();
+                connections.increment();
+                workers.execute(() -> handle(client));
+            } catch (IOException e) {
+                if (!closed.get()) {
+                    log.warn("Fault injection proxy {} failed to accept a connection: {}", getBaseUrl(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void handle(Socket client) {
+        sockets.add(client);
+        Socket upstream = null;
+        try {
+            FaultSpec spec = faults;
+            client.setTcpNoDelay(true);
+            if (roll(spec.getResetRate())) {
+                resets.increment();
+                client.setSoLinger(true, 0);
+                return;
+            }
+
+            byte[] head = null;
+            if (http) {
+                head = readHead(client.getInputStream());
+                if (head == null) {
+                    return;
+                }
+                if (roll(spec.getErrorRate())) {
+                    errors.increment();
+                    writeError(client.getOutputStream(), spec.getErrorStatus());
+                    return;
+                }
+            }
+            if (roll(spec.getTimeoutRate())) {
+                timeouts.increment();
+                drain(client.getInputStream());
+                return;
+            }
+
+            // HTTP requests are delayed as a whole; TCP connections on the first chunk of each response
+            if (http) {
+                delay(spec);
+            }
+            try {
+                upstream = new Socket();
+                upstream.connect(new InetSocketAddress(targetHost, targetPort), CONNECT_TIMEOUT_MS);
+                upstream.setTcpNoDelay(true);
+                sockets.add(upstream);
+            } catch (IOException e) {
+                upstreamFailures.increment();
+                if (http) {
+                    writeError(client.getOutputStream(), 502);
+                } else {
+                    client.setSoLinger(true, 0);
+                }
+                return;
+            }
+
+            AtomicBoolean awaitingResponse = http ? null : new AtomicBoolean();
+            if (head != null) {
+                upstream.getOutputStream().write(head);
+                upstream.getOutputStream().flush();
+            }
+            Socket target = upstream;
+            workers.execute(() -> relay(client, target, spec, awaitingResponse, false));
+            relay(target, client, spec, awaitingResponse, true);
+        } catch (IOException e) {
+            log.debug("Fault injection proxy {} connection ended: {}", getBaseUrl(), e.getMessage());
+        } finally {
+            closeQuietly(client);
+            sockets.remove(client);
+            if (upstream != null) {
+                closeQuietly(upstream);
+                sockets.remove(upstream);
+            }
+        }
+    }
+
+    /**
+     * Copy one direction until end of stream, then half-close the destination
+     */
+    private void relay(Socket from, Socket to, FaultSpec spec, AtomicBoolean awaitingResponse, boolean response) {
+        long bandwidth = spec.getBandwidthBytesPerSecond();
+        byte[] buffer = new byte[bandwidth > 0 ? (int) Math.max(1, Math.min(BUFFER_SIZE, bandwidth / 20)) : BUFFER_SIZE];
+        long started = System.nanoTime();
+        long bytes = 0;
+        try {
+            InputStream in = from.getInputStream();
+            OutputStream out = to.getOutputStream();
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                if (awaitingResponse != null) {
+                    if (!response) {
+                        awaitingResponse.set(true);
+                    } else if (awaitingResponse.compareAndSet(true, false)) {
+                        delay(spec);
+                    }
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+                bytes += read;
+                bytesRelayed.add(read);
+                throttle(bandwidth, bytes, started);
+            }
+            to.shutdownOutput();
+        } catch (IOException e) {
+            // One side went away; closing both sockets ends the other direction too
+            closeQuietly(from);
+            closeQuietly(to);
+        }
+    }
+
+    /**
+     * Read an HTTP request head and ask the target to close the connection after answering it.
+     * Returns null when the client closed before sending a full head.
+     */
+    private static byte[] readHead(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < HEAD_END.length) {
+            int next = in.read();
+            if (next < 0) {
+                return null;
+            }
+            head.write(next);
+            matched = next == HEAD_END[matched] ? matched + 1 : next == HEAD_END[0] ? 1 : 0;
+            if (head.size() > MAX_HEAD_BYTES) {
+                throw new IOException("Request head larger than " + MAX_HEAD_BYTES + " bytes");
+            }
+        }
+
+        String text = head.toString(StandardCharsets.ISO_8859_1);
+        StringBuilder rewritten = new StringBuilder(text.length() + 20);
+        for (String line : text.substring(0, text.length() - 4).split("\r\n")) {
+            String lower = line.toLowerCase(Locale.ROOT);
+            if (!lower.startsWith("connection:") && !lower.startsWith("keep-alive:")) {
+                rewritten.append(line).append("\r\n");
+            }
+        }
+        rewritten.append("Connection: close\r\n\r\n");
+        return rewritten.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeError(OutputStream out, int status) throws IOException {
+        String body = "Injected fault";
+        String response = "HTTP/1.1 " + status + " Injected Fault\r\n"
+            + "Content-Type: text/plain\r\n"
+            + "Content-Length: " + body.length() + "\r\n"
+            + "Connection: close\r\n\r\n" + body;
+        out.write(response.getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    /**
+     * Swallow whatever the client sends until it gives up or the proxy closes
+     */
+    private static void drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        while (in.read(buffer) >= 0) {
+            // Never answer
+        }
+    }
+
+    private void delay(FaultSpec spec) {
+        long latencyNanos = spec.getLatency().toNanos();
+        long jitterNanos = spec.getJitter().toNanos();
+        if (latencyNanos == 0 && jitterNanos == 0) {
+            return;
+        }
+        long nanos = latencyNanos;
+        if (jitterNanos > 0) {
+            nanos += ThreadLocalRandom.current().nextLong(-jitterNanos, jitterNanos + 1);
+        }
+        delayed.increment();
+        sleepNanos(nanos);
+    }
+
+    private static void throttle(long bandwidth, long bytes, long started) {
+        if (bandwidth <= 0) {
+            return;
+        }
+        long due = started + bytes * 1_000_000_000L / bandwidth;
+        sleepNanos(due - System.nanoTime());
+    }
+
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean roll(double rate) {
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (SocketException e) {
+            // Already closed
+        } catch (Exception e) {
+            log.debug("Failed to close proxy socket: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.kb.jarvis.core.chaos;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Faults a {@link FaultInjectionProxy} applies to the connections (TCP mode) or requests (HTTP mode)
+ * passing through it. Rates are probabilities between 0 and 1.
+ */
+public class FaultSpec {
+
+    private static final FaultSpec NONE = builder().build();
+
+    private Duration latency;
+    private Duration jitter;
+    private long bandwidthBytesPerSecond;
+    private double resetRate;
+    private double errorRate;
+    private int errorStatus;
+    private double timeoutRate;
+
+    // Constructor
+    public FaultSpec() {}
+
+    public static FaultSpec none() {
+        return NONE;
+    }
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final FaultSpec spec = new FaultSpec();
+
+        private Builder() {
+            spec.latency = Duration.ZERO;
+            spec.jitter = Duration.ZERO;
+            spec.errorStatus = 503;
+        }
+
+        public Builder latency(Duration latency) {
+            spec.latency = latency;
+            return this;
+        }
+
+        public Builder jitter(Duration jitter) {
+            spec.jitter = jitter;
+            return this;
+        }
+
+        public Builder bandwidthBytesPerSecond(long bandwidthBytesPerSecond) {
+            spec.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+            return this;
+        }
+
+        public Builder resetRate(double resetRate) {
+            spec.resetRate = resetRate;
+            return this;
+        }
+
+        public Builder errorRate(double errorRate) {
+            spec.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder errorStatus(int errorStatus) {
+            spec.errorStatus = errorStatus;
+            return this;
+        }
+
+        public Builder timeoutRate(double timeoutRate) {
+            spec.timeoutRate = timeoutRate;
+            return this;
+        }
+
+        public FaultSpec build() {
+            checkRate("resetRate", spec.resetRate);
+            checkRate("errorRate", spec.errorRate);
+            checkRate("timeoutRate", spec.timeoutRate);
+            if (spec.latency.isNegative() || spec.jitter.isNegative() || spec.bandwidthBytesPerSecond < 0) {
+                throw new IllegalArgumentException("Latency, jitter and bandwidth must not be negative");
+            }
+            return spec;
+        }
+
+        private static void checkRate(String name, double rate) {
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException(name + " must be between 0 and 1: " + rate);
+            }
+        }
+    }
+
+    // Getters
+    public Duration getLatency() { return latency; }
+    public Duration getJitter() { return jitter; }
+    public long getBandwidthBytesPerSecond() { return bandwidthBytesPerSecond; }
+    public double getResetRate() { return resetRate; }
+    public double getErrorRate() { return errorRate; }
+    public int getErrorStatus() { return errorStatus; }
+    public double getTimeoutRate() { return timeoutRate; }
+
+    public boolean isNone() {
+        return latency.isZero() && jitter.isZero() && bandwidthBytesPerSecond == 0
+            && resetRate == 0 && errorRate == 0 && timeoutRate == 0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (!latency.isZero()) {
+            map.put("latencyMs", latency.toMillis());
+        }
+        if (!jitter.isZero()) {
+            map.put("jitterMs", jitter.toMillis());
+        }
+        if (bandwidthBytesPerSecond > 0) {
+            map.put("bandwidthBytesPerSecond", bandwidthBytesPerSecond);
+        }
+        if (resetRate > 0) {
+            map.put("resetRate", resetRate);
+        }
+        if (errorRate > 0) {
+            map.put("errorRate", errorRate);
+            map.put("errorStatus", errorStatus);
+        }
+        if (timeoutRate > 0) {
+            map.put("timeoutRate", timeoutRate);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,147 @@
+package com.kb.jarvis.core.chaos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM CPU and memory pressure for chaos experiments run on one machine.
+ *
+ * CPU pressure runs busy threads on a duty cycle: each spins for the load fraction of every 100 ms
+ * slice and sleeps for the rest. Memory pressure allocates and touches heap chunks until the
+ * requested fraction of the maximum heap is in use, always leaving a reserve so the JVM itself does
+ * not run out. Everything is released on {@link #close()}.
+ *
+ * Both act on the machine Jarvis runs on, and memory pressure fills Jarvis's own heap rather than
+ * the target's: a target on another host sees neither, and one on the same host only competes for
+ * CPU and physical memory. Neither puts pressure on the target's JVM heap or GC.
+ */
+public class PressureGenerator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PressureGenerator.class);
+
+    private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int CHUNK_BYTES = 8 * 1024 * 1024;
+    private static final int PAGE_BYTES = 4096;
+    private static final long HEAP_RESERVE_BYTES = 64L * 1024 * 1024;
+
+    private final List<Thread> cpuThreads = new ArrayList<>();
+    private final List<byte[]> memory = new ArrayList<>();
+    private volatile boolean running;
+    private volatile long sink;
+    private double cpuLoad;
+    private long allocatedBytes;
+
+    /**
+     * Keep the given number of threads busy for the given fraction (0-1) of the time
+     */
+    public synchronized void startCpu(double load, int threads) {
+        if (load <= 0 || threads <= 0) {
+            return;
+        }
+        stopCpu();
+        this.cpuLoad = Math.min(1.0, load);
+        this.running = true;
+        long busyNanos = (long) (SLICE_NANOS * cpuLoad);
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(() -> burn(busyNanos), "jarvis-chaos-cpu-" + i);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            thread.start();
+            cpuThreads.add(thread);
+        }
+        log.info("CPU pressure started: {} thread(s) at {}% load", threads, Math.round(cpuLoad * 100));
+    }
+
+    /**
+     * Allocate heap until the given fraction (0-1) of the maximum heap is in use
+     */
+    public synchronized void startMemory(double fraction) {
+        if (fraction <= 0) {
+            return;
+        }
+        Runtime runtime = Runtime.getRuntime();
+        long target = (long) (runtime.maxMemory() * Math.min(1.0, fraction));
+        while (used(runtime) + CHUNK_BYTES < target
+            && runtime.maxMemory() - used(runtime) - CHUNK_BYTES > HEAP_RESERVE_BYTES) {
+            byte[] chunk;
+            try {
+                chunk = new byte[CHUNK_BYTES];
+            } catch (OutOfMemoryError e) {
+                break;
+            }
+            // Write every page so the chunk is resident, not just reserved
+            for (int i = 0; i < chunk.length; i += PAGE_BYTES) {
+                chunk[i] = 1;
+            }
+            memory.add(chunk);
+            allocatedBytes += chunk.length;
+        }
+        log.info("Memory pressure started: {} MB allocated, {} of {} MB heap in use",
+            allocatedBytes / (1024 * 1024), used(runtime) / (1024 * 1024), runtime.maxMemory() / (1024 * 1024));
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("cpuThreads", cpuThreads.size());
+        statistics.put("cpuLoad", cpuLoad);
+        statistics.put("allocatedBytes", allocatedBytes);
+        return statistics;
+    }
+
+    @Override
+    public synchronized void close() {
+        stopCpu();
+        if (!memory.isEmpty()) {
+            memory.clear();
+            log.info("Memory pressure released: {} MB", allocatedBytes / (1024 * 1024));
+        }
+    }
+
+    private void stopCpu() {
+        running = false;
+        for (Thread thread : cpuThreads) {
+            thread.interrupt();
+        }
+        for (Thread thread : cpuThreads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!cpuThreads.isEmpty()) {
+            log.info("CPU pressure stopped");
+        }
+        cpuThreads.clear();
+    }
+
+    private void burn(long busyNanos) {
+        long value = 0;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            long sliceStart = System.nanoTime();
+            while (System.nanoTime() - sliceStart < busyNanos) {
+                value = value * 6364136223846793005L + 1442695040888963407L;
+            }
+            sink = value;
+            long idle = SLICE_NANOS - (System.nanoTime() - sliceStart);
+            if (idle > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(idle);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long used(Runtime runtime) {
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,110 @@
+package com.kb.jarvis.core.chaos;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What "working normally" means for a chaos experiment, checked against every
+ * {@link SteadyStateSample}: the window's p95 and error rate stay under their limits and, when
+ * required, every probed service reports healthy. The steady state counts as established (before
+ * the fault) or restored (after it) once that many consecutive samples hold.
+ */
+public class SteadyStateHypothesis {
+
+    private double maxP95Ms;
+    private double maxErrorRate;
+    private boolean requireHealthy;
+    private int stableSamples;
+
+    // Constructor
+    public SteadyStateHypothesis() {}
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final SteadyStateHypothesis hypothesis = new SteadyStateHypothesis();
+
+        private Builder() {
+            hypothesis.maxP95Ms = 500;
+            hypothesis.maxErrorRate = 0.01;
+            hypothesis.requireHealthy = true;
+            hypothesis.stableSamples = 3;
+        }
+
+        public Builder maxP95Ms(double maxP95Ms) {
+            hypothesis.maxP95Ms = maxP95Ms;
+            return this;
+        }
+
+        public Builder maxErrorRate(double maxErrorRate) {
+            hypothesis.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        public Builder requireHealthy(boolean requireHealthy) {
+            hypothesis.requireHealthy = requireHealthy;
+            return this;
+        }
+
+        public Builder stableSamples(int stableSamples) {
+            hypothesis.stableSamples = stableSamples;
+            return this;
+        }
+
+        public SteadyStateHypothesis build() {
+            if (hypothesis.maxP95Ms <= 0 || hypothesis.maxErrorRate < 0) {
+                throw new IllegalArgumentException("Invalid steady-state limits: p95 " + hypothesis.maxP95Ms
+                    + " ms, error rate " + hypothesis.maxErrorRate);
+            }
+            if (hypothesis.stableSamples <= 0) {
+                throw new IllegalArgumentException("stableSamples must be positive: " + hypothesis.stableSamples);
+            }
+            return hypothesis;
+        }
+    }
+
+    // Getters
+    public double getMaxP95Ms() { return maxP95Ms; }
+    public double getMaxErrorRate() { return maxErrorRate; }
+    public boolean isRequireHealthy() { return requireHealthy; }
+    public int getStableSamples() { return stableSamples; }
+
+    /**
+     * Reasons the sample breaks the hypothesis; empty when it holds. Latency and errors are only
+     * judged on windows that saw requests.
+     */
+    public List<String> violations(long requests, long errors, double p95Ms, Map<String, SteadyStateSample.HealthProbe> health) {
+        List<String> violations = new ArrayList<>();
+        if (requests > 0) {
+            if (p95Ms > maxP95Ms) {
+                violations.add(String.format("p95 %.1f ms > %.1f ms", p95Ms, maxP95Ms));
+            }
+            double errorRate = (double) errors / requests;
+            if (errorRate > maxErrorRate) {
+                violations.add(String.format("error rate %.4f > %.4f", errorRate, maxErrorRate));
+            }
+        }
+        if (requireHealthy) {
+            health.forEach((service, probe) -> {
+                if (!probe.isHealthy()) {
+                    violations.add(service + " unhealthy" + (probe.getError() != null ? " (" + probe.getError() + ")" : ""));
+                }
+            });
+        }
+        return violations;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("maxP95Ms", maxP95Ms);
+        map.put("maxErrorRate", maxErrorRate);
+        map.put("requireHealthy", requireHealthy);
+        map.put("stableSamples", stableSamples);
+        return map;
+    }
+}
@@ -0,0 +1,131 @@
+package com.kb.jarvis.core.chaos;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verdict on a chaos experiment's steady-state hypothesis from its samples.
+ *
+ * The steady state is established when the last baseline samples hold (as many as the
+ * hypothesis' stable-sample count, or all of a shorter baseline), and restored at the first
+ * recovery sample that starts a run of that many holding samples. Time to recovery runs from the
+ * removal of the faults to that sample, so it is accurate to one sampling interval. Time to
+ * deviation runs from fault injection to the first sample that broke the hypothesis.
+ */
+public class SteadyStateReport {
+
+    public enum Outcome { HELD, RECOVERED, NOT_RECOVERED, BASELINE_UNSTEADY }
+
+    private final SteadyStateHypothesis hypothesis;
+    private final List<SteadyStateSample> samples;
+    private final Boolean baselineSteady;
+    private final Long timeToDeviationMs;
+    private final Long timeToRecoveryMs;
+    private final double faultHoldingFraction;
+    private final Outcome outcome;
+
+    SteadyStateReport(SteadyStateHypothesis hypothesis, List<SteadyStateSample> samples, long faultStartMs, long faultEndMs) {
+        this.hypothesis = hypothesis;
+        this.samples = samples;
+        int stable = hypothesis.getStableSamples();
+
+        List<SteadyStateSample> baseline = new ArrayList<>();
+        List<SteadyStateSample> fault = new ArrayList<>();
+        List<SteadyStateSample> recovery = new ArrayList<>();
+        for (SteadyStateSample sample : samples) {
+            if (sample.getOffsetMs() <= faultStartMs) {
+                baseline.add(sample);
+            } else if (sample.getOffsetMs() <= faultEndMs) {
+                fault.add(sample);
+            } else {
+                recovery.add(sample);
+            }
+        }
+
+        int baselineRun = Math.min(stable, baseline.size());
+        this.baselineSteady = baseline.isEmpty() ? null : stableRunFrom(baseline, baseline.size() - baselineRun, baselineRun);
+
+        SteadyStateSample deviation = fault.stream().filter(sample -> !sample.isHolding()).findFirst()
+            .orElse(recovery.stream().filter(sample -> !sample.isHolding()).findFirst().orElse(null));
+        this.timeToDeviationMs = deviation != null ? deviation.getOffsetMs() - faultStartMs : null;
+        this.faultHoldingFraction = fault.isEmpty() ? 1.0
+            : (double) fault.stream().filter(SteadyStateSample::isHolding).count() / fault.size();
+
+        Long recoveredAt = null;
+        for (int i = 0; i < recovery.size(); i++) {
+            if (stableRunFrom(recovery, i, stable)) {
+                recoveredAt = Math.max(0, recovery.get(i).getOffsetMs() - faultEndMs);
+                break;
+            }
+        }
+        this.timeToRecoveryMs = deviation == null ? Long.valueOf(0) : recoveredAt;
+
+        if (Boolean.FALSE.equals(baselineSteady)) {
+            this.outcome = Outcome.BASELINE_UNSTEADY;
+        } else if (deviation == null) {
+            this.outcome = Outcome.HELD;
+        } else {
+            this.outcome = recoveredAt != null ? Outcome.RECOVERED : Outcome.NOT_RECOVERED;
+        }
+    }
+
+    // Getters
+    public SteadyStateHypothesis getHypothesis() { return hypothesis; }
+    public List<SteadyStateSample> getSamples() { return samples; }
+    public Boolean getBaselineSteady() { return baselineSteady; }
+    public Long getTimeToDeviationMs() { return timeToDeviationMs; }
+    public Long getTimeToRecoveryMs() { return timeToRecoveryMs; }
+    public double getFaultHoldingFraction() { return faultHoldingFraction; }
+    public Outcome getOutcome() { return outcome; }
+
+    /**
+     * Whether the system was steady before the fault and steady again after it
+     */
+    public boolean isVerified() {
+        return outcome == Outcome.HELD || outcome == Outcome.RECOVERED;
+    }
+
+    public String describe() {
+        switch (outcome) {
+            case HELD:
+                return "steady state held throughout";
+            case RECOVERED:
+                return String.format("deviated %.1fs after injection, recovered %.1fs after removal",
+                    timeToDeviationMs / 1000.0, timeToRecoveryMs / 1000.0);
+            case NOT_RECOVERED:
+                return String.format("deviated %.1fs after injection, not recovered", timeToDeviationMs / 1000.0);
+            default:
+                return "steady state not established before injection";
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("hypothesis", hypothesis.toMap());
+        map.put("outcome", outcome.name());
+        map.put("verified", isVerified());
+        map.put("baselineSteady", baselineSteady);
+        map.put("timeToDeviationMs", timeToDeviationMs);
+        map.put("timeToRecoveryMs", timeToRecoveryMs);
+        map.put("faultHoldingFraction", faultHoldingFraction);
+        map.put("summary", describe());
+        List<Map<String, Object>> sampleMaps = new ArrayList<>();
+        samples.forEach(sample -> sampleMaps.add(sample.toMap()));
+        map.put("samples", sampleMaps);
+        return map;
+    }
+
+    private static boolean stableRunFrom(List<SteadyStateSample> samples, int from, int length) {
+        if (samples.size() - from < length) {
+            return false;
+        }
+        for (int i = from; i < from + length; i++) {
+            if (!samples.get(i).isHolding()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
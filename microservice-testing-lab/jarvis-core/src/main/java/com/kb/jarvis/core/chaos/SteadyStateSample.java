@@ -0,0 +1,101 @@
+package com.kb.jarvis.core.chaos;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One sampling tick of a chaos experiment: the measurement traffic seen since the previous tick,
+ * the health probes of the tick and whether the steady-state hypothesis held
+ */
+public class SteadyStateSample {
+
+    private final long offsetMs;
+    private final String phase;
+    private final long requests;
+    private final long errors;
+    private final double p95Ms;
+    private final Map<String, HealthProbe> health;
+    private final List<String> violations;
+
+    SteadyStateSample(long offsetMs, String phase, long requests, long errors, double p95Ms,
+                      Map<String, HealthProbe> health, List<String> violations) {
+        this.offsetMs = offsetMs;
+        this.phase = phase;
+        this.requests = requests;
+        this.errors = errors;
+        this.p95Ms = p95Ms;
+        this.health = health;
+        this.violations = violations;
+    }
+
+    // Getters
+    public long getOffsetMs() { return offsetMs; }
+    public String getPhase() { return phase; }
+    public long getRequests() { return requests; }
+    public long getErrors() { return errors; }
+    public double getP95Ms() { return p95Ms; }
+    public Map<String, HealthProbe> getHealth() { return health; }
+    public List<String> getViolations() { return violations; }
+
+    public boolean isHolding() {
+        return violations.isEmpty();
+    }
+
+    public double getErrorRate() {
+        return requests > 0 ? (double) errors / requests : 0.0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("offsetMs", offsetMs);
+        map.put("phase", phase);
+        map.put("requests", requests);
+        map.put("errorRate", getErrorRate());
+        map.put("p95Ms", p95Ms);
+        Map<String, Object> probes = new LinkedHashMap<>();
+        health.forEach((service, probe) -> probes.put(service, probe.toMap()));
+        map.put("health", probes);
+        map.put("holding", isHolding());
+        if (!violations.isEmpty()) {
+            map.put("violations", violations);
+        }
+        return map;
+    }
+
+    /**
+     * Result of one health endpoint probe
+     */
+    public static class HealthProbe {
+
+        private final boolean healthy;
+        private final double responseTimeMs;
+        private final Integer status;
+        private final String error;
+
+        HealthProbe(boolean healthy, double responseTimeMs, Integer status, String error) {
+            this.healthy = healthy;
+            this.responseTimeMs = responseTimeMs;
+            this.status = status;
+            this.error = error;
+        }
+
+        public boolean isHealthy() { return healthy; }
+        public double getResponseTimeMs() { return responseTimeMs; }
+        public Integer getStatus() { return status; }
+        public String getError() { return error; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("healthy", healthy);
+            map.put("responseTimeMs", responseTimeMs);
+            if (status != null) {
+                map.put("status", status);
+            }
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.kb.jarvis.core.chaos;
+
+import com.kb.jarvis.core.performance.LoadRunListener;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Samples a chaos experiment at a fixed rate and checks each sample against the steady-state
+ * hypothesis.
+ *
+ * Latency and errors come from the experiment's own measurement traffic: as the load generator's
+ * listener it records every request, timed from its intended start, into a lock-free recorder and
+ * counters, and counts requests dropped at the in-flight limit as errors; each tick swaps out the
+ * interval histogram, so sampling adds no requests and no contention on the request path. Health comes from probing
+ * every health endpoint in parallel on one pooled client, each probe bounded by a timeout shorter
+ * than the interval.
+ */
+public class SteadyStateSampler implements LoadRunListener, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SteadyStateSampler.class);
+
+    private static final Duration MAX_PROBE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final SteadyStateHypothesis hypothesis;
+    private final Map<String, String> healthEndpoints;
+    private final Duration interval;
+    private final Duration probeTimeout;
+    private final HttpClient client;
+    private final ScheduledExecutorService scheduler;
+    private final Recorder latency = new Recorder(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final List<SteadyStateSample> samples = new ArrayList<>();
+    private Histogram intervalHistogram;
+    private volatile String phase = "baseline";
+    private volatile long startNanos;
+    private volatile long faultStartMs = -1;
+    private volatile long faultEndMs = -1;
+
+    public SteadyStateSampler(SteadyStateHypothesis hypothesis, Map<String, String> healthEndpoints, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Sample interval must be positive: " + interval);
+        }
+        this.hypothesis = hypothesis;
+        this.healthEndpoints = healthEndpoints;
+        this.interval = interval;
+        Duration timeout = interval.multipliedBy(4).dividedBy(5);
+        this.probeTimeout = timeout.compareTo(MAX_PROBE_TIMEOUT) > 0 ? MAX_PROBE_TIMEOUT : timeout;
+        this.client = HttpClient.newBuilder()
+            .connectTimeout(probeTimeout)
+            .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jarvis-chaos-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void onRequest(long responseTimeMicros, Integer status, Throwable error) {
+        latency.recordValue(Math.max(1, responseTimeMicros));
+        requests.increment();
+        if (error != null || status == null || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public void onDropped() {
+        requests.increment();
+        errors.increment();
+    }
+
+    public void start() {
+        startNanos = System.nanoTime();
+        long periodMs = interval.toMillis();
+        scheduler.scheduleAtFixedRate(this::sample, periodMs, periodMs, TimeUnit.MILLISECONDS);
+        log.info("Steady-state sampling every {} against {} with {} health endpoint(s)", interval, hypothesis.toMap(), healthEndpoints.size());
+    }
+
+    public void markFaultStart() {
+        faultStartMs = elapsedMs();
+        phase = "fault";
+    }
+
+    public void markFaultEnd() {
+        faultEndMs = elapsedMs();
+        phase = "recovery";
+    }
+
+    /**
+     * Verdict over the samples so far; faults that were never removed count as lasting to the end
+     */
+    public synchronized SteadyStateReport report() {
+        return new SteadyStateReport(hypothesis, new ArrayList<>(samples),
+            faultStartMs >= 0 ? faultStartMs : Long.MAX_VALUE,
+            faultEndMs >= 0 ? faultEndMs : Long.MAX_VALUE);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(probeTimeout.toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sample() {
+        try {
+            long offsetMs = elapsedMs();
+            String samplePhase = phase;
+            Map<String, CompletableFuture<SteadyStateSample.HealthProbe>> probes = new LinkedHashMap<>();
+            healthEndpoints.forEach((service, url) -> probes.put(service, probe(url)));
+
+            intervalHistogram = latency.getIntervalHistogram(intervalHistogram);
+            long windowRequests = requests.sumThenReset();
+            long windowErrors = errors.sumThenReset();
+            double p95Ms = intervalHistogram.getTotalCount() > 0 ? intervalHistogram.getValueAtPercentile(95) / 1000.0 : 0.0;
+
+            Map<String, SteadyStateSample.HealthProbe> health = new LinkedHashMap<>();
+            probes.forEach((service, probe) -> health.put(service, probe.join()));
+            List<String> violations = hypothesis.violations(windowRequests, windowErrors, p95Ms, health);
+            SteadyStateSample sample = new SteadyStateSample(offsetMs, samplePhase, windowRequests, windowErrors, p95Ms, health, violations);
+            synchronized (this) {
+                samples.add(sample);
+            }
+            if (!violations.isEmpty()) {
+                log.debug("Steady state broken at {} ms ({}): {}", offsetMs, samplePhase, violations);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Steady-state sample failed: {}", e.getMessage());
+        }
+    }
+
+    private CompletableFuture<SteadyStateSample.HealthProbe> probe(String url) {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(probeTimeout)
+            .GET()
+            .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, error) -> {
+                double responseTimeMs = (System.nanoTime() - start) / 1_000_000.0;
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    return new SteadyStateSample.HealthProbe(false, responseTimeMs, null, cause.getClass().getSimpleName());
+                }
+                int status = response.statusCode();
+                return new SteadyStateSample.HealthProbe(status >= 200 && status < 300, responseTimeMs, status, null);
+            });
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kb.jarvis.core.context;
 
+import com.kb.jarvis.core.execution.DagStepScheduler;
 import com.kb.jarvis.core.model.*;
 import com.kb.jarvis.core.nlp.EnhancedNLPEngine;
 import org.slf4j.Logger;
@@ -784,8 +785,10 @@ public class ComprehensiveContextService {
     }
     
     private String determineExecutionOrder(List<ExecutionStep> steps, DependencyGraph dependencies) {
-        // Simple execution order - can be enhanced with dependency analysis
-        return "SEQUENTIAL";
+        // Step dependencies already carry the dependency graph; order the steps so each follows what it depends on
+        return new DagStepScheduler(steps).getTopologicalOrder().stream()
+            .map(ExecutionStep::getStepId)
+            .collect(Collectors.joining(" -> "));
     }
     
     private String calculateTotalDuration(List<ExecutionStep> steps) {
@@ -1,16 +1,17 @@
 package com.kb.jarvis.core.context;
 
 import com.kb.jarvis.core.model.*;
+import com.kb.jarvis.core.service.MicroserviceIntegrationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 @Component
@@ -27,7 +28,14 @@ public class ContextManager {
     @Value("${jarvis.context.max-retries:3}")
     private int maxRetries;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private MetricsCollector metricsCollector;
+    
+    @Autowired
+    private MicroserviceIntegrationService microserviceIntegrationService;
+    
+    // Collector cycle the caches below were last derived from
+    private final AtomicLong appliedCycle = new AtomicLong(-1);
     
     // Current system context
     private final AtomicReference<SystemContext> currentContext = new AtomicReference<>();
@@ -44,13 +52,6 @@ public class ContextManager {
     // Event history
     private final List<SystemEvent> eventHistory = Collections.synchronizedList(new ArrayList<>());
     
-    // Service endpoints configuration
-    private static final Map<String, String> SERVICE_ENDPOINTS = new HashMap<>();
-    
-    static {
-        initializeServiceEndpoints();
-    }
-    
     public void updateContext(UserIntent intent) {
         log.debug("Updating context with intent: {}", intent.getType());
         
@@ -86,10 +87,12 @@ public class ContextManager {
     }
     
     public SystemHealth getSystemHealth() {
+        refreshFromCollector();
         return systemHealth.get();
     }
     
     public PerformanceMetrics getPerformanceMetrics() {
+        refreshFromCollector();
         return performanceMetrics.get();
     }
     
@@ -98,10 +101,12 @@ public class ContextManager {
     }
     
     public List<ServiceHealth> getAllServiceHealth() {
+        refreshFromCollector();
         return new ArrayList<>(serviceHealthCache.values());
     }
     
     public ServiceHealth getServiceHealth(String serviceName) {
+        refreshFromCollector();
         return serviceHealthCache.get(serviceName);
     }
     
@@ -113,9 +118,18 @@ public class ContextManager {
     }
     
     /**
-     * Scheduled task to update system health and performance metrics
+     * Derive the cached metrics and health once per collector cycle; reads between cycles are O(1)
+     */
+    private void refreshFromCollector() {
+        long cycle = metricsCollector.getCycles();
+        if (cycle > 0 && appliedCycle.get() != cycle && appliedCycle.getAndSet(cycle) != cycle) {
+            updateSystemMetrics();
+        }
+    }
+    
+    /**
+     * Rebuild system health and performance metrics from the latest collected values
      */
-    @Scheduled(fixedDelayString = "${jarvis.context.update-interval:30000}")
     public void updateSystemMetrics() {
         log.debug("Updating system metrics");
         
@@ -139,19 +153,23 @@ public class ContextManager {
     
     private void updatePerformanceMetrics() {
         try {
-            // Simulate performance metrics collection
-            // In a real implementation, this would collect actual system metrics
-            
-            double cpuUsage = getCurrentCpuUsage();
-            double memoryUsage = getCurrentMemoryUsage();
-            double diskUsage = getCurrentDiskUsage();
-            double networkLatency = getCurrentNetworkLatency();
+            Map<String, Double> customMetrics = new LinkedHashMap<>();
+            for (String name : new String[] {MetricsCollector.PROCESS_CPU_USAGE, MetricsCollector.HEAP_USAGE}) {
+                Double value = metricsCollector.latest(name);
+                if (value != null) {
+                    customMetrics.put(name, value);
+                }
+            }
             
             PerformanceMetrics metrics = PerformanceMetrics.builder()
-                .cpuUsage(cpuUsage)
-                .memoryUsage(memoryUsage)
-                .diskUsage(diskUsage)
-                .networkLatency(networkLatency)
+                .cpuUsage(metricsCollector.latest(MetricsCollector.CPU_USAGE, 0))
+                .memoryUsage(metricsCollector.latest(MetricsCollector.MEMORY_USAGE, 0))
+                .diskUsage(metricsCollector.latest(MetricsCollector.DISK_USAGE, 0))
+                .networkLatency(metricsCollector.latest(MetricsCollector.NETWORK_LATENCY, 0))
+                .averageResponseTime(metricsCollector.latest(MetricsCollector.RESPONSE_TIME, 0))
+                .throughput(metricsCollector.latest(MetricsCollector.THROUGHPUT, 0))
+                .errorRate(metricsCollector.latest(MetricsCollector.ERROR_RATE, 0))
+                .customMetrics(customMetrics)
                 .timestamp(LocalDateTime.now())
                 .build();
             
@@ -215,69 +233,43 @@ public class ContextManager {
     }
     
     private void checkAllServiceHealth() {
-        for (String serviceName : SERVICE_ENDPOINTS.keySet()) {
-            checkServiceHealth(Collections.singletonList(serviceName));
-        }
+        metricsCollector.getServiceHealth().forEach((serviceName, health) ->
+            serviceHealthCache.put(serviceName, withAvailability(serviceName, health)));
     }
     
     private void checkServiceHealth(List<String> services) {
+        // Shares the integration service's in-flight or cached probe cycle, so this stays bounded
+        Map<String, ServiceHealth> probed = microserviceIntegrationService.checkAllServicesHealth().getServiceHealth();
         for (String serviceName : services) {
-            try {
-                String endpoint = SERVICE_ENDPOINTS.get(serviceName);
-                if (endpoint == null) {
-                    log.warn("No endpoint configured for service: {}", serviceName);
-                    continue;
-                }
-                
-                HealthStatus status = checkServiceEndpoint(endpoint);
-                String message = status == HealthStatus.HEALTHY ? "Service is healthy" : "Service health check failed";
-                
-                ServiceHealth health = ServiceHealth.builder()
-                    .serviceName(serviceName)
-                    .status(status)
-                    .message(message)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-                
-                serviceHealthCache.put(serviceName, health);
-                
-            } catch (Exception e) {
-                log.warn("Error checking health for service {}: {}", serviceName, e.getMessage());
-                
-                ServiceHealth health = ServiceHealth.builder()
-                    .serviceName(serviceName)
-                    .status(HealthStatus.UNHEALTHY)
-                    .message("Health check failed: " + e.getMessage())
-                    .timestamp(LocalDateTime.now())
-                    .build();
-                
-                serviceHealthCache.put(serviceName, health);
+            ServiceHealth health = probed != null ? probed.get(serviceName) : null;
+            if (health == null) {
+                log.warn("No endpoint configured for service: {}", serviceName);
+                continue;
             }
+            serviceHealthCache.put(serviceName, withAvailability(serviceName, health));
         }
     }
     
-    private HealthStatus checkServiceEndpoint(String endpoint) {
-        try {
-            // In a real implementation, this would make an actual HTTP call
-            // For now, we'll simulate the health check
-            
-            // Simulate network delay
-            Thread.sleep(100);
-            
-            // Simulate random health status (mostly healthy)
-            double random = Math.random();
-            if (random > 0.9) {
-                return HealthStatus.UNHEALTHY;
-            } else if (random > 0.7) {
-                return HealthStatus.DEGRADED;
-            } else {
-                return HealthStatus.HEALTHY;
-            }
-            
-        } catch (Exception e) {
-            log.warn("Service health check failed for {}: {}", endpoint, e.getMessage());
-            return HealthStatus.UNHEALTHY;
-        }
+    /**
+     * Copy of a probe result with its availability over the collected health history, as a
+     * percentage like the integration service's probes report it
+     */
+    private ServiceHealth withAvailability(String serviceName, ServiceHealth health) {
+        MetricRing upRing = metricsCollector.getRing(serviceName + ".health.up");
+        List<MetricRing.Point> history = upRing != null ? upRing.snapshot() : Collections.emptyList();
+        double availability = history.isEmpty()
+            ? (health.getStatus() == HealthStatus.HEALTHY ? 100.0 : 0.0)
+            : 100 * history.stream().mapToDouble(MetricRing.Point::getValue).average().orElse(0.0);
+        
+        return ServiceHealth.builder()
+            .serviceName(serviceName)
+            .status(health.getStatus())
+            .responseTime(health.getResponseTime())
+            .availability(availability)
+            .issues(health.getIssues())
+            .message(health.getMessage())
+            .timestamp(health.getTimestamp())
+            .build();
     }
     
     private void cleanupOldEvents() {
@@ -288,39 +280,11 @@ public class ContextManager {
         }
     }
     
-    // Simulated metrics collection methods
-    private double getCurrentCpuUsage() {
-        // Simulate CPU usage between 20-80%
-        return 20 + Math.random() * 60;
-    }
-    
-    private double getCurrentMemoryUsage() {
-        // Simulate memory usage between 30-85%
-        return 30 + Math.random() * 55;
-    }
-    
-    private double getCurrentDiskUsage() {
-        // Simulate disk usage between 40-90%
-        return 40 + Math.random() * 50;
-    }
-    
-    private double getCurrentNetworkLatency() {
-        // Simulate network latency between 10-500ms
-        return 10 + Math.random() * 490;
-    }
-    
-    private static void initializeServiceEndpoints() {
-        SERVICE_ENDPOINTS.put("user-service", "http://localhost:8081/actuator/health");
-        SERVICE_ENDPOINTS.put("product-service", "http://localhost:8082/actuator/health");
-        SERVICE_ENDPOINTS.put("order-service", "http://localhost:8083/actuator/health");
-        SERVICE_ENDPOINTS.put("notification-service", "http://localhost:8084/actuator/health");
-        SERVICE_ENDPOINTS.put("gateway-service", "http://localhost:8080/actuator/health");
-    }
-    
     /**
      * Get system statistics for monitoring
      */
     public Map<String, Object> getSystemStatistics() {
+        refreshFromCollector();
         Map<String, Object> stats = new HashMap<>();
         
         // Context stats
@@ -350,6 +314,7 @@ public class ContextManager {
             stats.put("cpuUsage", metrics.getCpuUsage());
             stats.put("memoryUsage", metrics.getMemoryUsage());
             stats.put("networkLatency", metrics.getNetworkLatency());
+            stats.put("diskUsage", metrics.getDiskUsage());
         }
         
         // Event stats
@@ -0,0 +1,279 @@
+package com.kb.jarvis.core.context;
+
+import com.kb.jarvis.core.performance.LatencySnapshot;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming parser for pushed metric samples, one per line: {@code name value [timestampMs]}.
+ * A value of the form {@code hdr:<base64>} is a latency histogram in microseconds, encoded like
+ * {@link LatencySnapshot#encode}.
+ *
+ * Lines are parsed straight from a reused byte buffer. Plain decimal values are converted without
+ * building strings, and each service's metric names are resolved through a small table keyed by
+ * their bytes, so a steady stream of known metrics allocates nothing per sample. Blank lines and
+ * lines starting with {@code #} are skipped; malformed lines are counted and skipped. An instance
+ * is not thread-safe; the ingestion service keeps one per thread.
+ */
+final class MetricLineParser {
+
+    // Room for a compressed histogram with a long tail
+    private static final int MAX_LINE = 16 * 1024;
+    private static final byte[] HISTOGRAM_PREFIX = "hdr:".getBytes(StandardCharsets.US_ASCII);
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    interface SampleConsumer {
+        void accept(String name, long timestampMs, double value);
+
+        /**
+         * A histogram sample; consumers that do not take histograms count such lines as rejected
+         */
+        default void acceptHistogram(String name, long timestampMs, Histogram histogram) {
+            throw new UnsupportedOperationException("Histogram samples are not accepted");
+        }
+    }
+
+    private final byte[] buffer = new byte[64 * 1024];
+    private final Map<String, NameTable> namesByService = new HashMap<>();
+    private int accepted;
+    private int rejected;
+
+    /**
+     * Parse every sample in the stream, naming each {@code service.name}; samples without a
+     * timestamp get {@code defaultTimestampMs}
+     */
+    void parse(InputStream in, String service, long defaultTimestampMs, SampleConsumer consumer) throws IOException {
+        accepted = 0;
+        rejected = 0;
+        NameTable names = namesByService.computeIfAbsent(service, NameTable::new);
+        int length = 0;
+        boolean skipping = false;
+        int read;
+        while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+            int end = length + read;
+            int start = 0;
+            for (int i = length; i < end; i++) {
+                if (buffer[i] == '\n') {
+                    if (skipping) {
+                        skipping = false;
+                    } else {
+                        parseLineOrReject(start, i, names, defaultTimestampMs, consumer);
+                    }
+                    start = i + 1;
+                }
+            }
+            length = end - start;
+            if (length > MAX_LINE || (skipping && length > 0)) {
+                // An overlong line: drop what we have and the rest of it
+                if (!skipping) {
+                    rejected++;
+                }
+                skipping = true;
+                length = 0;
+            } else if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, length);
+            }
+        }
+        if (length > 0 && !skipping) {
+            parseLineOrReject(0, length, names, defaultTimestampMs, consumer);
+        }
+    }
+
+    int getAccepted() {
+        return accepted;
+    }
+
+    int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * One bad line must never fail the rest of the batch
+     */
+    private void parseLineOrReject(int start, int end, NameTable names, long defaultTimestampMs, SampleConsumer consumer) {
+        try {
+            parseLine(start, end, names, defaultTimestampMs, consumer);
+        } catch (RuntimeException e) {
+            rejected++;
+        }
+    }
+
+    private void parseLine(int start, int end, NameTable names, long defaultTimestampMs, SampleConsumer consumer) {
+        if (end > start && buffer[end - 1] == '\r') {
+            end--;
+        }
+        if (start == end || buffer[start] == '#') {
+            return;
+        }
+        int nameEnd = start;
+        while (nameEnd < end && buffer[nameEnd] != ' ') {
+            if (!isNameByte(buffer[nameEnd])) {
+                rejected++;
+                return;
+            }
+            nameEnd++;
+        }
+        int valueStart = nameEnd + 1;
+        int valueEnd = valueStart;
+        while (valueEnd < end && buffer[valueEnd] != ' ') {
+            valueEnd++;
+        }
+        if (nameEnd == start || valueStart >= end || valueEnd == valueStart) {
+            rejected++;
+            return;
+        }
+
+        long timestampMs = defaultTimestampMs;
+        if (valueEnd < end) {
+            timestampMs = parseLong(valueEnd + 1, end);
+            if (timestampMs < 0) {
+                rejected++;
+                return;
+            }
+        }
+        if (isHistogram(valueStart, valueEnd)) {
+            // Histograms come a few per batch, so decoding through a string is fine
+            Histogram histogram = LatencySnapshot.decode(new String(buffer, valueStart + HISTOGRAM_PREFIX.length,
+                valueEnd - valueStart - HISTOGRAM_PREFIX.length, StandardCharsets.US_ASCII));
+            consumer.acceptHistogram(names.resolve(buffer, start, nameEnd), timestampMs, histogram);
+            accepted++;
+            return;
+        }
+        double value = parseDouble(valueStart, valueEnd);
+        if (Double.isNaN(value)) {
+            rejected++;
+            return;
+        }
+        consumer.accept(names.resolve(buffer, start, nameEnd), timestampMs, value);
+        accepted++;
+    }
+
+    /**
+     * Plain decimals are converted exactly when the digits fit in 53 bits and there are at most 22
+     * fraction digits (the largest exact power of ten); anything else (exponents, long mantissas or
+     * fractions, infinities) goes through {@link Double#parseDouble}. Returns NaN when invalid.
+     */
+    private double parseDouble(int start, int end) {
+        int i = start;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            byte b = buffer[i];
+            if (b >= '0' && b <= '9') {
+                if (mantissa >= (1L << 53) / 10) {
+                    return slowParseDouble(start, end);
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return slowParseDouble(start, end);
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParseDouble(start, end);
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private double slowParseDouble(int start, int end) {
+        try {
+            return Double.parseDouble(new String(buffer, start, end - start, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private long parseLong(int start, int end) {
+        if (start >= end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private boolean isHistogram(int start, int end) {
+        return end - start > HISTOGRAM_PREFIX.length
+            && Arrays.equals(buffer, start, start + HISTOGRAM_PREFIX.length, HISTOGRAM_PREFIX, 0, HISTOGRAM_PREFIX.length);
+    }
+
+    private static boolean isNameByte(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+            || b == '.' || b == '_' || b == '-' || b == ':';
+    }
+
+    /**
+     * Open-addressing table from a metric name's bytes to its prefixed series name
+     */
+    private static final class NameTable {
+
+        private static final int CAPACITY = 1024;
+
+        private final String prefix;
+        private final byte[][] keys = new byte[CAPACITY][];
+        private final String[] names = new String[CAPACITY];
+        private int size;
+
+        NameTable(String service) {
+            this.prefix = service + ".";
+        }
+
+        String resolve(byte[] buffer, int start, int end) {
+            int hash = 1;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + buffer[i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & (CAPACITY - 1);
+            for (int probe = 0; probe < CAPACITY; probe++, slot = (slot + 1) & (CAPACITY - 1)) {
+                byte[] key = keys[slot];
+                if (key == null) {
+                    break;
+                }
+                if (Arrays.equals(key, 0, key.length, buffer, start, end)) {
+                    return names[slot];
+                }
+            }
+            String name = prefix + new String(buffer, start, end - start, StandardCharsets.US_ASCII);
+            // Keep the table at most half full; names past that are still resolved, just not cached
+            if (size < CAPACITY / 2 && keys[slot] == null) {
+                keys[slot] = Arrays.copyOfRange(buffer, start, end);
+                names[slot] = name;
+                size++;
+            }
+            return name;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.kb.jarvis.core.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fixed-capacity, lock-free time series for one metric; the oldest point is overwritten once full.
+ *
+ * A writer claims a sequence number and publishes an immutable point into its slot. Each point
+ * carries its sequence, so a reader that races a writer detects the slot has not been published
+ * yet (or has been lapped) and steps back, which keeps {@link #latest()} O(1) without locks.
+ */
+public class MetricRing {
+
+    private final AtomicReferenceArray<Point> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public MetricRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void record(long timestampMs, double value) {
+        long sequence = next.getAndIncrement();
+        slots.set(index(sequence), new Point(sequence, timestampMs, value));
+    }
+
+    /**
+     * Most recent published point, or null when nothing has been recorded
+     */
+    public Point latest() {
+        long newest = next.get() - 1;
+        // A claimed slot may not be published yet; the point before it is then the latest visible
+        for (long sequence = newest; sequence >= 0 && sequence > newest - slots.length(); sequence--) {
+            Point point = slots.get(index(sequence));
+            if (point != null && point.sequence == sequence) {
+                return point;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The point {@code stepsBack} before the newest claimed one, or null when it is not published,
+     * has been overwritten or never existed
+     */
+    public Point back(int stepsBack) {
+        long sequence = next.get() - 1 - stepsBack;
+        if (sequence < 0 || stepsBack >= slots.length()) {
+            return null;
+        }
+        Point point = slots.get(index(sequence));
+        return point != null && point.sequence == sequence ? point : null;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+
+    public int size() {
+        return (int) Math.min(next.get(), slots.length());
+    }
+
+    /**
+     * Published points from oldest to newest
+     */
+    public List<Point> snapshot() {
+        long newest = next.get() - 1;
+        long oldest = Math.max(0, newest - slots.length() + 1);
+        List<Point> points = new ArrayList<>((int) (newest - oldest + 1));
+        for (long sequence = oldest; sequence <= newest; sequence++) {
+            Point point = slots.get(index(sequence));
+            if (point != null && point.sequence == sequence) {
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % slots.length());
+    }
+
+    /**
+     * One timestamped value
+     */
+    public static final class Point {
+
+        private final long sequence;
+        private final long timestampMs;
+        private final double value;
+
+        Point(long sequence, long timestampMs, double value) {
+            this.sequence = sequence;
+            this.timestampMs = timestampMs;
+            this.value = value;
+        }
+
+        public long getTimestampMs() { return timestampMs; }
+        public double getValue() { return value; }
+    }
+}
@@ -0,0 +1,524 @@
+package com.kb.jarvis.core.context;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.jarvis.core.model.HealthStatus;
+import com.kb.jarvis.core.model.ServiceHealth;
+import com.kb.jarvis.core.model.SystemHealth;
+import com.kb.jarvis.core.service.MicroserviceIntegrationService;
+import com.kb.jarvis.core.timeseries.MetricHistoryStore;
+import com.kb.jarvis.core.timeseries.Rollup;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects system context on a fixed schedule into one {@link MetricRing} per metric.
+ *
+ * Each cycle reads local resources from the OS, memory and file-store MX beans, probes every
+ * service's health endpoint in parallel through {@link MicroserviceIntegrationService}, and scrapes
+ * each service's actuator metrics concurrently. Request rate, mean response time and error rate
+ * per service are derived from the deltas of the cumulative {@code http.server.requests} counters
+ * between cycles. Readers only look at the rings, so reading the latest value is O(1) and never
+ * waits on a collection; every value is also kept in the {@link MetricHistoryStore} for history.
+ *
+ * Services that push their own metrics through the {@link MetricsIngestionService} are not scraped
+ * while their pushes keep arriving; their rates are summed from the pushed per-interval counts.
+ * Pushed latency histograms are merged per series until the next cycle, which records their count
+ * and percentiles, and are also merged across services into system-wide {@code http.latency.*}
+ * percentiles; merging the histograms rather than the reported percentiles keeps them exact.
+ * The number of rings is capped like the history store's series; samples of metrics beyond the
+ * cap are dropped and counted.
+ */
+@Component
+public class MetricsCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsCollector.class);
+
+    public static final String CPU_USAGE = "system.cpu.usage";
+    public static final String PROCESS_CPU_USAGE = "process.cpu.usage";
+    public static final String MEMORY_USAGE = "system.memory.usage";
+    public static final String HEAP_USAGE = "jvm.heap.usage";
+    public static final String DISK_USAGE = "disk.usage";
+    public static final String NETWORK_LATENCY = "network.latency";
+    public static final String RESPONSE_TIME = "http.responseTime";
+    public static final String THROUGHPUT = "http.throughput";
+    public static final String ERROR_RATE = "http.errorRate";
+    public static final String LATENCY = "http.latency";
+
+    private static final String HTTP_REQUESTS = "http.server.requests";
+
+    @Autowired
+    private MicroserviceIntegrationService microserviceIntegrationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MetricHistoryStore metricHistoryStore;
+
+    @Value("${jarvis.context.update-interval:30000}")
+    private long updateInterval;
+
+    @Value("${jarvis.context.service-timeout:5000}")
+    private int serviceTimeout;
+
+    @Value("${jarvis.context.metric-history:360}")
+    private int metricHistory;
+
+    @Value("${jarvis.context.enable-health-monitoring:true}")
+    private boolean healthMonitoring;
+
+    @Value("${jarvis.context.enable-performance-monitoring:true}")
+    private boolean performanceMonitoring;
+
+    @Value("${jarvis.context.actuator-metrics:process.cpu.usage,jvm.memory.used,jvm.threads.live}")
+    private List<String> actuatorMetrics;
+
+    @Value("${jarvis.timeseries.max-series:10000}")
+    private int maxMetrics;
+
+    private final Map<String, MetricRing> rings = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> pendingHistograms = new ConcurrentHashMap<>();
+    private final AtomicLong cycles = new AtomicLong();
+    private final LongAdder droppedSamples = new LongAdder();
+    private volatile Map<String, ServiceHealth> serviceHealth = Collections.emptyMap();
+
+    // Previous cumulative request counters per service; only touched by the collector thread
+    private final Map<String, double[]> previousRequests = new HashMap<>();
+    private long previousScrapeMs;
+
+    private final Map<String, Long> lastPushMs = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+    private HttpClient httpClient;
+
+    @PostConstruct
+    void start() {
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(serviceTimeout))
+            .build();
+        if (!healthMonitoring && !performanceMonitoring) {
+            log.info("Context metrics collection disabled");
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jarvis-context-collector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::collect, 0, updateInterval, TimeUnit.MILLISECONDS);
+        log.info("Context metrics collection every {} ms, keeping {} points per metric", updateInterval, metricHistory);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Latest value of a metric, or null when it has not been collected
+     */
+    public Double latest(String metric) {
+        MetricRing ring = rings.get(metric);
+        MetricRing.Point point = ring != null ? ring.latest() : null;
+        return point != null ? point.getValue() : null;
+    }
+
+    public double latest(String metric, double defaultValue) {
+        Double value = latest(metric);
+        return value != null ? value : defaultValue;
+    }
+
+    public MetricRing getRing(String metric) {
+        return rings.get(metric);
+    }
+
+    public Set<String> getMetricNames() {
+        return new TreeSet<>(rings.keySet());
+    }
+
+    /**
+     * Health of every service from the latest probe cycle
+     */
+    public Map<String, ServiceHealth> getServiceHealth() {
+        return serviceHealth;
+    }
+
+    /**
+     * Record a sample pushed by a service, already named {@code service.metric}
+     *
+     * @return false when the sample was dropped because it would create a ring beyond the cap
+     */
+    public boolean recordPushed(String metric, long timestampMs, double value) {
+        return record(metric, timestampMs, value);
+    }
+
+    /**
+     * Merge a latency histogram in microseconds pushed by a service, named {@code service.metric};
+     * the merged histogram is turned into percentiles on the next collection cycle
+     *
+     * @return false when the sample was dropped because it would exceed the cap
+     */
+    public boolean recordPushedHistogram(String metric, long timestampMs, Histogram histogram) {
+        if (!pendingHistograms.containsKey(metric) && pendingHistograms.size() >= maxMetrics) {
+            droppedSamples.increment();
+            return false;
+        }
+        pendingHistograms.compute(metric, (name, merged) -> {
+            if (merged == null) {
+                // Auto-resizing, so histograms of any range merge without loss
+                merged = new Histogram(3);
+            }
+            merged.add(histogram);
+            return merged;
+        });
+        return true;
+    }
+
+    /**
+     * Samples dropped because their metric would have exceeded the ring cap
+     */
+    public long getDroppedSamples() {
+        return droppedSamples.sum();
+    }
+
+    public void markPushed(String service) {
+        lastPushMs.put(service, System.currentTimeMillis());
+    }
+
+    /**
+     * Services whose pushes arrived within the last two collection intervals
+     */
+    public Set<String> getPushingServices() {
+        long now = System.currentTimeMillis();
+        Set<String> pushing = new TreeSet<>();
+        lastPushMs.forEach((service, at) -> {
+            if (isPushing(service, now)) {
+                pushing.add(service);
+            }
+        });
+        return pushing;
+    }
+
+    /**
+     * Number of completed collection cycles, for readers that cache derived state
+     */
+    public long getCycles() {
+        return cycles.get();
+    }
+
+    /**
+     * Run one collection cycle on the calling thread
+     */
+    public synchronized void collect() {
+        long now = System.currentTimeMillis();
+        if (performanceMonitoring) {
+            try {
+                collectLocalResources(now);
+            } catch (RuntimeException e) {
+                log.warn("Could not collect local resource metrics: {}", e.getMessage());
+            }
+        }
+        if (healthMonitoring) {
+            try {
+                collectServiceHealth(now);
+            } catch (RuntimeException e) {
+                log.warn("Could not collect service health: {}", e.getMessage());
+            }
+        }
+        if (performanceMonitoring) {
+            try {
+                scrapeActuatorMetrics(now);
+            } catch (RuntimeException e) {
+                log.warn("Could not scrape actuator metrics: {}", e.getMessage());
+            }
+        }
+        try {
+            recordHistograms(now);
+        } catch (RuntimeException e) {
+            log.warn("Could not record pushed latency histograms: {}", e.getMessage());
+        }
+        cycles.incrementAndGet();
+    }
+
+    private void collectLocalResources(long now) {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            com.sun.management.OperatingSystemMXBean platform = (com.sun.management.OperatingSystemMXBean) os;
+            recordIfValid(CPU_USAGE, now, platform.getCpuLoad() * 100);
+            recordIfValid(PROCESS_CPU_USAGE, now, platform.getProcessCpuLoad() * 100);
+            long total = platform.getTotalMemorySize();
+            if (total > 0) {
+                record(MEMORY_USAGE, now, 100.0 * (total - platform.getFreeMemorySize()) / total);
+            }
+        } else if (os.getSystemLoadAverage() >= 0) {
+            record(CPU_USAGE, now, Math.min(100, 100 * os.getSystemLoadAverage() / os.getAvailableProcessors()));
+        }
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        long heapLimit = heap.getMax() > 0 ? heap.getMax() : heap.getCommitted();
+        if (heapLimit > 0) {
+            record(HEAP_USAGE, now, 100.0 * heap.getUsed() / heapLimit);
+        }
+
+        try {
+            FileStore store = Files.getFileStore(Paths.get("").toAbsolutePath());
+            long total = store.getTotalSpace();
+            if (total > 0) {
+                record(DISK_USAGE, now, 100.0 * (total - store.getUsableSpace()) / total);
+            }
+        } catch (IOException e) {
+            log.debug("Could not read file store usage: {}", e.getMessage());
+        }
+    }
+
+    private void collectServiceHealth(long now) {
+        SystemHealth health = microserviceIntegrationService.checkAllServicesHealth();
+        Map<String, ServiceHealth> services = health.getServiceHealth() != null ? health.getServiceHealth() : Map.of();
+        double latencySum = 0;
+        int reachable = 0;
+        for (Map.Entry<String, ServiceHealth> entry : services.entrySet()) {
+            ServiceHealth service = entry.getValue();
+            boolean up = service.getStatus() == HealthStatus.HEALTHY;
+            record(entry.getKey() + ".health.up", now, up ? 1 : 0);
+            record(entry.getKey() + ".health.responseTime", now, service.getResponseTime());
+            if (up) {
+                latencySum += service.getResponseTime();
+                reachable++;
+            }
+        }
+        if (reachable > 0) {
+            record(NETWORK_LATENCY, now, latencySum / reachable);
+        }
+        serviceHealth = Collections.unmodifiableMap(new LinkedHashMap<>(services));
+    }
+
+    private void scrapeActuatorMetrics(long now) {
+        Map<String, CompletableFuture<JsonNode>> scrapes = new LinkedHashMap<>();
+        for (String service : microserviceIntegrationService.getHealthEndpoints().keySet()) {
+            String baseUrl = microserviceIntegrationService.getServiceEndpoint(service);
+            if (baseUrl == null || isPushing(service, now)) {
+                continue;
+            }
+            for (String metric : actuatorMetrics) {
+                scrapes.put(service + "|" + metric, scrape(baseUrl + "/actuator/metrics/" + metric.trim()));
+            }
+            scrapes.put(service + "|" + HTTP_REQUESTS, scrape(baseUrl + "/actuator/metrics/" + HTTP_REQUESTS));
+            scrapes.put(service + "|" + HTTP_REQUESTS + ".errors",
+                scrape(baseUrl + "/actuator/metrics/" + HTTP_REQUESTS + "?tag=outcome:SERVER_ERROR"));
+        }
+        CompletableFuture.allOf(scrapes.values().toArray(new CompletableFuture<?>[0])).join();
+
+        long windowMs = previousScrapeMs > 0 ? now - previousScrapeMs : updateInterval;
+        previousScrapeMs = now;
+        List<double[]> rates = new ArrayList<>();
+        for (String service : microserviceIntegrationService.getHealthEndpoints().keySet()) {
+            if (isPushing(service, now)) {
+                double[] rate = pushedRequestRates(service, now, windowMs);
+                if (rate != null) {
+                    rates.add(rate);
+                }
+                continue;
+            }
+            for (String metric : actuatorMetrics) {
+                JsonNode body = scrapes.containsKey(service + "|" + metric) ? scrapes.get(service + "|" + metric).join() : null;
+                if (body != null) {
+                    recordMeasurements(service + "." + metric.trim(), now, body);
+                }
+            }
+            JsonNode requests = scrapes.containsKey(service + "|" + HTTP_REQUESTS) ? scrapes.get(service + "|" + HTTP_REQUESTS).join() : null;
+            if (requests != null) {
+                JsonNode errors = scrapes.get(service + "|" + HTTP_REQUESTS + ".errors").join();
+                double[] rate = deriveRequestRates(service, now, requests, errors);
+                if (rate != null) {
+                    rates.add(rate);
+                }
+            }
+        }
+
+        // System-wide request rate, mean response time and error rate across services
+        if (!rates.isEmpty()) {
+            double requests = 0, throughput = 0, totalTimeMs = 0, errors = 0;
+            for (double[] rate : rates) {
+                requests += rate[0];
+                throughput += rate[1];
+                totalTimeMs += rate[2];
+                errors += rate[3];
+            }
+            record(THROUGHPUT, now, throughput);
+            if (requests > 0) {
+                record(RESPONSE_TIME, now, totalTimeMs / requests);
+                record(ERROR_RATE, now, errors / requests);
+            }
+        }
+    }
+
+    /**
+     * Per-service rates from the cumulative counters; returns {requests, throughput, totalTimeMs,
+     * errors} for the interval, or null on the first scrape or after a counter reset
+     */
+    private double[] deriveRequestRates(String service, long now, JsonNode requests, JsonNode errors) {
+        double count = measurement(requests, "COUNT");
+        double totalSeconds = measurement(requests, "TOTAL_TIME");
+        double errorCount = errors != null ? measurement(errors, "COUNT") : 0;
+        double[] previous = previousRequests.put(service, new double[] {now, count, totalSeconds, errorCount});
+        if (previous == null || count < previous[1] || now <= previous[0]) {
+            return null;
+        }
+        double deltaRequests = count - previous[1];
+        double deltaTimeMs = (totalSeconds - previous[2]) * 1000;
+        double deltaErrors = Math.max(0, errorCount - previous[3]);
+        double throughput = deltaRequests * 1000 / (now - previous[0]);
+        record(service + "." + THROUGHPUT, now, throughput);
+        if (deltaRequests > 0) {
+            record(service + "." + RESPONSE_TIME, now, deltaTimeMs / deltaRequests);
+            record(service + "." + ERROR_RATE, now, deltaErrors / deltaRequests);
+        }
+        return new double[] {deltaRequests, throughput, deltaTimeMs, deltaErrors};
+    }
+
+    /**
+     * Per-service rates over the last window from the reporter's per-interval counts, in the same
+     * {requests, throughput, totalTimeMs, errors} form as {@link #deriveRequestRates}
+     */
+    private double[] pushedRequestRates(String service, long now, long windowMs) {
+        Rollup requests = metricHistoryStore.aggregate(service + ".http.requests", now - windowMs, now + 1);
+        if (requests.isEmpty() || windowMs <= 0) {
+            return null;
+        }
+        double totalTimeMs = metricHistoryStore.aggregate(service + ".http.totalTime", now - windowMs, now + 1).getSum();
+        double errors = metricHistoryStore.aggregate(service + ".http.errors", now - windowMs, now + 1).getSum();
+        return new double[] {requests.getSum(), requests.getSum() * 1000 / windowMs, totalTimeMs, errors};
+    }
+
+    private boolean isPushing(String service, long now) {
+        Long pushedAt = lastPushMs.get(service);
+        return pushedAt != null && now - pushedAt <= 2 * updateInterval;
+    }
+
+    private void recordMeasurements(String prefix, long now, JsonNode body) {
+        for (JsonNode measurement : body.path("measurements")) {
+            String statistic = measurement.path("statistic").asText();
+            String name = "VALUE".equals(statistic) ? prefix : prefix + "." + statistic.toLowerCase();
+            record(name, now, measurement.path("value").asDouble());
+        }
+    }
+
+    private static double measurement(JsonNode body, String statistic) {
+        for (JsonNode measurement : body.path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Fetch an actuator metric; completes with null when it is missing or the service is down
+     */
+    private CompletableFuture<JsonNode> scrape(String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofMillis(serviceTimeout))
+            .GET()
+            .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .handle((response, error) -> {
+                if (error != null || response.statusCode() != 200) {
+                    return null;
+                }
+                try {
+                    return objectMapper.readTree(response.body());
+                } catch (IOException e) {
+                    log.debug("Unparseable actuator response from {}: {}", url, e.getMessage());
+                    return null;
+                }
+            });
+    }
+
+    /**
+     * Record count and percentiles of the histograms pushed since the last cycle, per series and
+     * merged over every service's {@link #LATENCY}
+     */
+    private void recordHistograms(long now) {
+        Histogram system = new Histogram(3);
+        for (String metric : new ArrayList<>(pendingHistograms.keySet())) {
+            Histogram histogram = pendingHistograms.remove(metric);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            recordPercentiles(metric, now, histogram);
+            if (metric.endsWith("." + LATENCY)) {
+                system.add(histogram);
+            }
+        }
+        if (system.getTotalCount() > 0) {
+            recordPercentiles(LATENCY, now, system);
+        }
+    }
+
+    private void recordPercentiles(String metric, long now, Histogram micros) {
+        record(metric + ".count", now, micros.getTotalCount());
+        record(metric + ".p50", now, micros.getValueAtPercentile(50) / 1000.0);
+        record(metric + ".p95", now, micros.getValueAtPercentile(95) / 1000.0);
+        record(metric + ".p99", now, micros.getValueAtPercentile(99) / 1000.0);
+        record(metric + ".max", now, micros.getMaxValue() / 1000.0);
+    }
+
+    private void recordIfValid(String metric, long now, double value) {
+        // The MX beans report negative values when a reading is not available yet
+        if (value >= 0) {
+            record(metric, now, value);
+        }
+    }
+
+    private boolean record(String metric, long now, double value) {
+        MetricRing ring = rings.get(metric);
+        if (ring == null) {
+            if (rings.size() >= maxMetrics) {
+                droppedSamples.increment();
+                return false;
+            }
+            ring = rings.computeIfAbsent(metric, name -> new MetricRing(metricHistory));
+        }
+        ring.record(now, value);
+        metricHistoryStore.record(metric, now, value);
+        return true;
+    }
+}
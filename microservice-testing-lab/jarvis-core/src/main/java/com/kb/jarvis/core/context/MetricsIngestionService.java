@@ -0,0 +1,86 @@
+package com.kb.jarvis.core.context;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Accepts batches of samples pushed by the microservices' metric reporters.
+ *
+ * A batch is line protocol ({@code name value [timestampMs]} per line), optionally gzipped, and
+ * is parsed as it streams in by a per-thread {@link MetricLineParser}. Samples are recorded under
+ * {@code service.name} through the {@link MetricsCollector}, which stops scraping the actuator of
+ * a service while it keeps pushing. Latency histograms go to the collector to be merged.
+ */
+@Component
+public class MetricsIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsIngestionService.class);
+
+    private static final Pattern SERVICE_NAME = Pattern.compile("[a-z0-9][a-z0-9-]{0,62}");
+
+    @Autowired
+    private MetricsCollector metricsCollector;
+
+    private final ThreadLocal<MetricLineParser> parsers = ThreadLocal.withInitial(MetricLineParser::new);
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder acceptedSamples = new LongAdder();
+    private final LongAdder rejectedSamples = new LongAdder();
+    private final MetricLineParser.SampleConsumer recorder = new MetricLineParser.SampleConsumer() {
+        @Override
+        public void accept(String name, long timestampMs, double value) {
+            metricsCollector.recordPushed(name, timestampMs, value);
+        }
+
+        @Override
+        public void acceptHistogram(String name, long timestampMs, Histogram histogram) {
+            metricsCollector.recordPushedHistogram(name, timestampMs, histogram);
+        }
+    };
+
+    /**
+     * Parse and record one batch; returns the accepted and rejected sample counts
+     */
+    public Map<String, Object> ingest(String service, InputStream body, boolean gzipped) throws IOException {
+        if (service == null || !SERVICE_NAME.matcher(service).matches()) {
+            throw new IllegalArgumentException("Invalid service name: " + service);
+        }
+        MetricLineParser parser = parsers.get();
+        InputStream in = gzipped ? new GZIPInputStream(body, 8192) : body;
+        parser.parse(in, service, System.currentTimeMillis(), recorder);
+        metricsCollector.markPushed(service);
+
+        batches.increment();
+        acceptedSamples.add(parser.getAccepted());
+        rejectedSamples.add(parser.getRejected());
+        if (parser.getRejected() > 0) {
+            log.debug("Rejected {} malformed sample(s) from {}", parser.getRejected(), service);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("service", service);
+        result.put("accepted", parser.getAccepted());
+        result.put("rejected", parser.getRejected());
+        return result;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("batches", batches.sum());
+        statistics.put("acceptedSamples", acceptedSamples.sum());
+        statistics.put("rejectedSamples", rejectedSamples.sum());
+        statistics.put("droppedSamples", metricsCollector.getDroppedSamples());
+        statistics.put("pushingServices", metricsCollector.getPushingServices());
+        return statistics;
+    }
+}
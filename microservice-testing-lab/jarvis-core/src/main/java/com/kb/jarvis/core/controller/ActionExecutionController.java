@@ -10,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -46,11 +47,13 @@ public class ActionExecutionController {
             ComprehensiveContext context = comprehensiveContextService.analyzeCommand(command);
             
             // Step 2: Execute actions based on the context
-            CompletableFuture<ExecutionResult> executionFuture = actionExecutionEngine.executeActions(context);
+            String executionId = UUID.randomUUID().toString();
+            CompletableFuture<ExecutionResult> executionFuture = actionExecutionEngine.executeActions(executionId, context);
             
             // Step 3: Return immediate response with context analysis
             Map<String, Object> response = Map.of(
                 "command", command,
+                "executionId", executionId,
                 "contextAnalysis", context,
                 "executionStatus", "IN_PROGRESS",
                 "message", "Command analysis completed. Execution started.",
@@ -165,6 +168,7 @@ public class ActionExecutionController {
             Map<String, Object> response = Map.of(
                 "activeExecutions", activeExecutions.size(),
                 "executions", activeExecutions,
+                "executor", actionExecutionEngine.getExecutorStatistics(),
                 "timestamp", java.time.LocalDateTime.now()
             );
 
@@ -0,0 +1,47 @@
+package com.kb.jarvis.core.controller;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Checks the shared token the services present when pushing metrics or spans.
+ *
+ * Reporters send it as {@code Authorization: Bearer <token>}. Until {@code jarvis.ingest.token} is
+ * set every push is refused, so an unconfigured instance cannot be fed data by anyone who can
+ * reach it.
+ */
+@Component
+public class IngestTokenVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(IngestTokenVerifier.class);
+
+    private static final String BEARER = "Bearer ";
+
+    @Value("${jarvis.ingest.token:}")
+    private String token;
+
+    @PostConstruct
+    void warnIfUnset() {
+        if (token.isEmpty()) {
+            log.warn("jarvis.ingest.token is not set; pushed metrics and spans will be refused");
+        }
+    }
+
+    /**
+     * Whether an {@code Authorization} header value carries the configured token
+     */
+    public boolean isAuthorized(String authorization) {
+        if (token.isEmpty() || authorization == null || !authorization.startsWith(BEARER)) {
+            return false;
+        }
+        // Constant-time, so the token cannot be guessed byte by byte from response timings
+        return MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+            authorization.substring(BEARER.length()).getBytes(StandardCharsets.UTF_8));
+    }
+}
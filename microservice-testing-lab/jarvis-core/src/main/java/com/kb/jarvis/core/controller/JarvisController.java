@@ -42,6 +42,20 @@ public class JarvisController {
         }
     }
     
+    /**
+     * Cancel the action started for a command, by the executionId in the command's response data
+     */
+    @PostMapping("/cancel/{executionId}")
+    public ResponseEntity<Map<String, Object>> cancelAction(@PathVariable String executionId) {
+        log.info("Cancelling action {}", executionId);
+        
+        boolean cancelled = jarvisCoreEngine.cancelAction(executionId);
+        return ResponseEntity.ok(Map.of(
+            "executionId", executionId,
+            "cancelled", cancelled
+        ));
+    }
+    
     /**
      * Get current system status
      */
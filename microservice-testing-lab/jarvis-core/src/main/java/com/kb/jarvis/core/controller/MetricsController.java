@@ -0,0 +1,133 @@
+package com.kb.jarvis.core.controller;
+
+import com.kb.jarvis.core.context.MetricsIngestionService;
+import com.kb.jarvis.core.timeseries.MetricHistoryStore;
+import com.kb.jarvis.core.timeseries.Resolution;
+import com.kb.jarvis.core.timeseries.Rollup;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsController.class);
+
+    private static final int MAX_POINTS = 500;
+
+    @Autowired
+    private MetricHistoryStore metricHistoryStore;
+
+    @Autowired
+    private MetricsIngestionService metricsIngestionService;
+
+    @Autowired
+    private IngestTokenVerifier ingestTokenVerifier;
+
+    /**
+     * Batch of samples pushed by a service as line protocol, {@code name value [timestampMs]} per
+     * line, optionally with {@code Content-Encoding: gzip}; the body is parsed as it streams in.
+     * Requires the shared ingest token as a bearer token.
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<Map<String, Object>> ingest(
+            @RequestParam String service,
+            @RequestHeader(value = "Content-Encoding", required = false) String contentEncoding,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletRequest request) {
+
+        if (!ingestTokenVerifier.isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Missing or invalid ingest token"));
+        }
+        boolean gzipped = contentEncoding != null && contentEncoding.toLowerCase().contains("gzip");
+        try {
+            Map<String, Object> result = metricsIngestionService.ingest(service, request.getInputStream(), gzipped);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            log.debug("Unreadable metrics batch from {}: {}", service, e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Unreadable body: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Names of all recorded series and the store's footprint
+     */
+    @GetMapping("/series")
+    public ResponseEntity<Map<String, Object>> getSeries() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("series", metricHistoryStore.getSeriesNames());
+        response.put("statistics", metricHistoryStore.getStatistics());
+        response.put("ingestion", metricsIngestionService.getStatistics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Buckets of a series between two epoch-millisecond instants (default: the last hour); without
+     * a resolution the finest one that fits in {@value #MAX_POINTS} buckets is used
+     */
+    @GetMapping("/history")
+    public ResponseEntity<Map<String, Object>> getHistory(
+            @RequestParam String series,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) Resolution resolution) {
+
+        if (!metricHistoryStore.contains(series)) {
+            return ResponseEntity.notFound().build();
+        }
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - Resolution.HOUR.getMillis();
+        if (start >= end) {
+            return ResponseEntity.badRequest().build();
+        }
+        Resolution effective = resolution != null ? resolution : Resolution.forRange(end - start, MAX_POINTS);
+
+        List<Rollup> buckets = metricHistoryStore.query(series, start, end, effective);
+        Map<String, Object> response = new HashMap<>();
+        response.put("series", series);
+        response.put("from", start);
+        response.put("to", end);
+        response.put("resolution", effective);
+        response.put("points", buckets.stream().map(Rollup::toMap).collect(Collectors.toList()));
+        response.put("tiers", metricHistoryStore.getSeriesStatistics(series));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Count, mean, minimum and maximum of a series between two epoch-millisecond instants
+     */
+    @GetMapping("/aggregate")
+    public ResponseEntity<Map<String, Object>> getAggregate(
+            @RequestParam String series,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to) {
+
+        if (!metricHistoryStore.contains(series)) {
+            return ResponseEntity.notFound().build();
+        }
+        long end = to != null ? to : System.currentTimeMillis();
+        long start = from != null ? from : end - Resolution.HOUR.getMillis();
+        if (start >= end) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Map<String, Object> response = new HashMap<>(metricHistoryStore.aggregate(series, start, end).toMap());
+        response.put("series", series);
+        response.put("from", start);
+        response.put("to", end);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kb.jarvis.core.controller;
+
+import com.kb.jarvis.core.performance.RegressionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/performance/baselines")
+public class PerformanceBaselineController {
+
+    private static final Logger log = LoggerFactory.getLogger(PerformanceBaselineController.class);
+
+    @Autowired
+    private RegressionDetector regressionDetector;
+
+    /**
+     * Every service endpoint's rolling latency baseline, keyed by {@code "<service> <endpoint>"}
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getBaselines() {
+        return ResponseEntity.ok(regressionDetector.getBaselineSummary());
+    }
+
+    /**
+     * Forget an endpoint's baseline after an intended performance change; the next runs rebuild it
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> resetBaseline(@RequestParam String service, @RequestParam String endpoint) {
+        if (!regressionDetector.resetBaseline(service, endpoint)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Performance baseline of {} {} reset", service, endpoint);
+        return ResponseEntity.noContent().build();
+    }
+}
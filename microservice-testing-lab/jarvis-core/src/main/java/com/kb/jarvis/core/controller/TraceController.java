@@ -0,0 +1,110 @@
+package com.kb.jarvis.core.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.jarvis.core.tracing.CriticalPathAnalyzer;
+import com.kb.jarvis.core.tracing.Span;
+import com.kb.jarvis.core.tracing.TraceStore;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/traces")
+public class TraceController {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceController.class);
+
+    private static final TypeReference<List<Span>> SPAN_LIST = new TypeReference<>() {};
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private TraceStore traceStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IngestTokenVerifier ingestTokenVerifier;
+
+    /**
+     * Batch of finished spans reported by a service as a JSON array, optionally with
+     * {@code Content-Encoding: gzip}; requires the shared ingest token as a bearer token
+     */
+    @PostMapping("/spans")
+    public ResponseEntity<Map<String, Object>> ingest(
+            @RequestHeader(value = "Content-Encoding", required = false) String contentEncoding,
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            HttpServletRequest request) {
+
+        if (!ingestTokenVerifier.isAuthorized(authorization)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Missing or invalid ingest token"));
+        }
+        boolean gzipped = contentEncoding != null && contentEncoding.toLowerCase().contains("gzip");
+        try (InputStream in = gzipped ? new GZIPInputStream(request.getInputStream(), 8192) : request.getInputStream()) {
+            List<Span> spans = objectMapper.readValue(in, SPAN_LIST);
+            if (spans == null) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Expected an array of spans"));
+            }
+            int accepted = traceStore.add(spans);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(Map.of("accepted", accepted, "rejected", spans.size() - accepted));
+        } catch (IOException e) {
+            log.debug("Unreadable span batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", "Unreadable body: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * The most recently seen traces, newest first, optionally only those touching a service or with
+     * a span lasting at least {@code minDurationMs}
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getRecentTraces(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String service,
+            @RequestParam(required = false) Long minDurationMs) {
+
+        long minDurationMicros = minDurationMs != null ? minDurationMs * 1000 : 0;
+        Predicate<List<Span>> filter = spans -> (service == null
+                || spans.stream().anyMatch(span -> service.equals(span.getService())))
+                && (minDurationMicros == 0
+                || spans.stream().anyMatch(span -> span.getDurationMicros() >= minDurationMicros));
+
+        List<Map<String, Object>> traces = new ArrayList<>();
+        for (List<Span> spans : traceStore.recent(Math.max(1, Math.min(limit, MAX_LIMIT)), filter)) {
+            traces.add(CriticalPathAnalyzer.summarize(spans.get(0).getTraceId(), spans));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("traces", traces);
+        response.put("statistics", traceStore.getStatistics());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Every span of a trace with the critical path of the request and its split by service and
+     * operation
+     */
+    @GetMapping("/{traceId}")
+    public ResponseEntity<Map<String, Object>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = traceStore.getSpans(traceId);
+        if (spans == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(CriticalPathAnalyzer.analyze(traceId, spans));
+    }
+}
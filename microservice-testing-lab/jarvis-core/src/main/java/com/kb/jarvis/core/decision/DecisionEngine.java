@@ -394,13 +394,24 @@ public class DecisionEngine {
     }
     
     private int determineParallelism(UserIntent intent, AIAnalysis analysis) {
-        if (analysis.getRiskAssessment().getRiskLevel() == RiskLevel.HIGH) {
+        int serviceCount = 0;
+        if (intent.getParameters().containsKey("services")) {
+            List<String> services = (List<String>) intent.getParameters().get("services");
+            serviceCount = services.size();
+        }
+        return determineParallelism(analysis.getRiskAssessment().getRiskLevel(), serviceCount);
+    }
+    
+    /**
+     * Maximum number of steps to run at once for the given risk and number of services (0 if unknown)
+     */
+    public int determineParallelism(RiskLevel riskLevel, int serviceCount) {
+        if (riskLevel == RiskLevel.HIGH) {
             return 1; // Sequential for high risk
         }
         
-        if (intent.getParameters().containsKey("services")) {
-            List<String> services = (List<String>) intent.getParameters().get("services");
-            return Math.min(services.size(), 3); // Max 3 parallel executions
+        if (serviceCount > 0) {
+            return Math.min(serviceCount, 3); // Max 3 parallel executions
         }
         
         return 2; // Default parallelism
@@ -1,5 +1,6 @@
 package com.kb.jarvis.core.execution;
 
+import com.kb.jarvis.core.decision.DecisionEngine;
 import com.kb.jarvis.core.model.*;
 import com.kb.jarvis.core.service.MicroserviceIntegrationService;
 import org.slf4j.Logger;
@@ -11,7 +12,7 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Action Execution Engine
@@ -37,6 +38,12 @@ public class ActionExecutionEngine {
     @Autowired
     private SecurityExecutionService securityExecutionService;
 
+    @Autowired
+    private ActionExecutor actionExecutor;
+
+    @Autowired
+    private DecisionEngine decisionEngine;
+
     // Track active executions
     private final Map<String, ExecutionResult> activeExecutions = new ConcurrentHashMap<>();
 
@@ -44,22 +51,34 @@ public class ActionExecutionEngine {
      * Execute actions based on comprehensive context
      */
     public CompletableFuture<ExecutionResult> executeActions(ComprehensiveContext context) {
+        return executeActions(UUID.randomUUID().toString(), context);
+    }
+
+    /**
+     * Execute actions based on comprehensive context under the given execution ID, which cancelExecution accepts
+     */
+    public CompletableFuture<ExecutionResult> executeActions(String executionId, ComprehensiveContext context) {
         log.info("Executing actions for command: {}", context.getParsedCommand().getOriginalCommand());
 
-        return CompletableFuture.supplyAsync(() -> {
+        // The plan itself only waits on its steps, so it runs as I/O work and never holds a CPU thread
+        return track(executionId, null, actionExecutor.submit(executionId, ActionExecutor.Workload.IO, () -> {
             try {
-                List<ExecutionStep> steps = context.getExecutionPlan().getSteps();
-                List<ExecutionResult> stepResults = new ArrayList<>();
-                
-                // Execute steps based on execution strategy
-                if ("PARALLEL".equals(context.getExecutionPlan().getExecutionStrategy())) {
-                    stepResults = executeStepsInParallel(steps);
-                } else {
-                    stepResults = executeStepsSequentially(steps);
-                }
+                long started = System.nanoTime();
+                DagStepScheduler scheduler = new DagStepScheduler(context.getExecutionPlan().getSteps());
+                int parallelism = determineParallelism(context);
+                log.info("Scheduling {} step(s) with parallelism {}; critical path {} ms of {} ms serial",
+                    context.getExecutionPlan().getSteps().size(), parallelism,
+                    scheduler.getCriticalPathMillis(), scheduler.getSerialMillis());
+
+                // Each step starts as soon as the steps it depends on have succeeded
+                List<ExecutionResult> stepResults = scheduler.execute(parallelism,
+                    step -> executeAction(executionId, step.getActionType(), step.getServiceName(),
+                        step.getTestType(), step.getParameters()),
+                    this::isCriticalStep);
 
                 // Compile overall result
-                return compileExecutionResult(context, stepResults);
+                return compileExecutionResult(context, stepResults, scheduler,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
 
             } catch (Exception e) {
                 log.error("Error executing actions: {}", e.getMessage(), e);
@@ -69,7 +88,7 @@ public class ActionExecutionEngine {
                     .timestamp(LocalDateTime.now())
                     .build();
             }
-        });
+        }));
     }
 
     /**
@@ -77,9 +96,18 @@ public class ActionExecutionEngine {
      */
     public CompletableFuture<ExecutionResult> executeAction(ActionType actionType, String serviceName, 
                                                           TestType testType, Map<String, Object> parameters) {
+        String executionId = UUID.randomUUID().toString();
+        return track(executionId, actionType, executeAction(executionId, actionType, serviceName, testType, parameters));
+    }
+
+    /**
+     * Execute a single action as part of an execution
+     */
+    private CompletableFuture<ExecutionResult> executeAction(String executionId, ActionType actionType, String serviceName,
+                                                           TestType testType, Map<String, Object> parameters) {
         log.info("Executing action: {} for service: {} with test type: {}", actionType, serviceName, testType);
 
-        return CompletableFuture.supplyAsync(() -> {
+        return actionExecutor.submit(executionId, ActionExecutor.workloadOf(actionType), () -> {
             try {
                 switch (actionType) {
                     case RUN_TESTS:
@@ -393,65 +421,22 @@ public class ActionExecutionEngine {
     }
 
     /**
-     * Execute steps sequentially
+     * Maximum steps in flight: sequential plans run one at a time, parallel ones as wide as the decision engine allows
      */
-    private List<ExecutionResult> executeStepsSequentially(List<ExecutionStep> steps) {
-        List<ExecutionResult> results = new ArrayList<>();
-        
-        for (ExecutionStep step : steps) {
-            log.info("Executing step: {}", step.getStepName());
-            
-            ExecutionResult result = executeAction(
-                step.getActionType(),
-                step.getServiceName(),
-                step.getTestType(),
-                step.getParameters()
-            ).join(); // Wait for completion in sequential execution
-            
-            results.add(result);
-            
-            // If step fails and it's critical, stop execution
-            if (!result.isSuccess() && isCriticalStep(step)) {
-                log.error("Critical step failed: {}", step.getStepName());
-                break;
-            }
+    private int determineParallelism(ComprehensiveContext context) {
+        if (!"PARALLEL".equals(context.getExecutionPlan().getExecutionStrategy())) {
+            return 1;
         }
-        
-        return results;
-    }
-
-    /**
-     * Execute steps in parallel
-     */
-    private List<ExecutionResult> executeStepsInParallel(List<ExecutionStep> steps) {
-        List<CompletableFuture<ExecutionResult>> futures = steps.stream()
-            .map(step -> {
-                log.info("Starting parallel execution of step: {}", step.getStepName());
-                return executeAction(
-                    step.getActionType(),
-                    step.getServiceName(),
-                    step.getTestType(),
-                    step.getParameters()
-                );
-            })
-            .collect(Collectors.toList());
-        
-        // Wait for all to complete
-        CompletableFuture<Void> allFutures = CompletableFuture.allOf(
-            futures.toArray(new CompletableFuture[0])
-        );
-        
-        allFutures.join();
-        
-        return futures.stream()
-            .map(CompletableFuture::join)
-            .collect(Collectors.toList());
+        RiskLevel riskLevel = context.getRiskAssessment() != null ? context.getRiskAssessment().getRiskLevel() : null;
+        int serviceCount = context.getServices() != null ? context.getServices().size() : 0;
+        return decisionEngine.determineParallelism(riskLevel, serviceCount);
     }
 
     /**
      * Compile overall execution result
      */
-    private ExecutionResult compileExecutionResult(ComprehensiveContext context, List<ExecutionResult> stepResults) {
+    private ExecutionResult compileExecutionResult(ComprehensiveContext context, List<ExecutionResult> stepResults,
+                                                   DagStepScheduler scheduler, long elapsedMillis) {
         boolean overallSuccess = stepResults.stream().allMatch(ExecutionResult::isSuccess);
         int successCount = (int) stepResults.stream().filter(ExecutionResult::isSuccess).count();
         int totalCount = stepResults.size();
@@ -464,7 +449,8 @@ public class ActionExecutionEngine {
             "originalCommand", context.getParsedCommand().getOriginalCommand(),
             "executionStrategy", context.getExecutionPlan().getExecutionStrategy(),
             "estimatedDuration", context.getEstimatedDuration(),
-            "actualDuration", calculateActualDuration(stepResults)
+            "criticalPathEstimate", formatMillis(scheduler.getCriticalPathMillis()),
+            "actualDuration", formatMillis(elapsedMillis)
         );
         
         return ExecutionResult.builder()
@@ -486,11 +472,26 @@ public class ActionExecutionEngine {
     }
 
     /**
-     * Calculate actual execution duration
+     * Format a duration for the execution summary
      */
-    private String calculateActualDuration(List<ExecutionResult> stepResults) {
-        // This would calculate based on actual timestamps
-        return "Calculated duration";
+    private String formatMillis(long millis) {
+        return millis < 60_000 ? String.format("%.1fs", millis / 1000.0) : String.format("%.1f minutes", millis / 60_000.0);
+    }
+
+    /**
+     * Register a running execution until its result completes
+     */
+    private CompletableFuture<ExecutionResult> track(String executionId, ActionType actionType,
+                                                     CompletableFuture<ExecutionResult> execution) {
+        activeExecutions.put(executionId, ExecutionResult.builder()
+            .executionId(executionId)
+            .actionType(actionType)
+            .success(false)
+            .message("Running")
+            .timestamp(LocalDateTime.now())
+            .build());
+        execution.whenComplete((result, error) -> activeExecutions.remove(executionId));
+        return execution;
     }
 
     /**
@@ -501,10 +502,17 @@ public class ActionExecutionEngine {
     }
 
     /**
-     * Cancel execution
+     * Get executor queue depth, active task and run time statistics
+     */
+    public Map<String, Object> getExecutorStatistics() {
+        return actionExecutor.getStatistics();
+    }
+
+    /**
+     * Cancel execution, interrupting any of its steps that are still running
      */
     public boolean cancelExecution(String executionId) {
-        // Implementation for canceling active executions
-        return activeExecutions.remove(executionId) != null;
+        int cancelledTasks = actionExecutor.cancel(executionId);
+        return activeExecutions.remove(executionId) != null || cancelledTasks > 0;
     }
 }
@@ -0,0 +1,335 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.model.ActionType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs action work off the ForkJoin common pool, on an executor matched to the kind of work.
+ *
+ * I/O-bound work (test runs, HTTP calls, waits) gets a thread per task: a virtual thread when the
+ * runtime supports them (Java 21+), otherwise a platform thread from an elastic pool capped at
+ * {@code jarvis.execution.io-max-threads}, where a saturated pool runs the task on the submitting
+ * thread instead of queueing it behind blocked work. CPU-bound work (analysis, generation,
+ * reporting) shares a fixed pool sized to the cores.
+ *
+ * Every task belongs to an execution; cancelling the execution drops its queued tasks, interrupts
+ * its running ones and refuses tasks submitted for it afterwards. Queue depth, active count and run
+ * time are published per workload.
+ */
+@Component
+public class ActionExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ActionExecutor.class);
+
+    public enum Workload { IO, CPU }
+
+    private static final int CANCELLED_IDS_RETAINED = 10_000;
+
+    @Value("${jarvis.execution.cpu-threads:0}")
+    private int cpuThreads;
+
+    @Value("${jarvis.execution.io-max-threads:256}")
+    private int ioMaxThreads;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Set<TrackedTask<?>>> executions = new ConcurrentHashMap<>();
+    // Most recently cancelled execution IDs, so a plan still running cannot start new steps
+    private final Set<String> cancelledExecutions = Collections.newSetFromMap(Collections.synchronizedMap(
+        new LinkedHashMap<String, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > CANCELLED_IDS_RETAINED;
+            }
+        }));
+    private final Map<Workload, WorkloadStats> stats = new EnumMap<>(Workload.class);
+    private ExecutorService ioExecutor;
+    private ExecutorService cpuExecutor;
+    private boolean virtualThreads;
+
+    @PostConstruct
+    public void initialize() {
+        ioExecutor = virtualThreadExecutor();
+        virtualThreads = ioExecutor != null;
+        if (!virtualThreads) {
+            ioExecutor = new ThreadPoolExecutor(0, ioMaxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                threadFactory("jarvis-io-"), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        int cpuPoolSize = cpuThreads > 0 ? cpuThreads : Runtime.getRuntime().availableProcessors();
+        cpuExecutor = new ThreadPoolExecutor(cpuPoolSize, cpuPoolSize, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), threadFactory("jarvis-cpu-"));
+
+        for (Workload workload : Workload.values()) {
+            stats.put(workload, new WorkloadStats(workload, meterRegistry));
+        }
+        log.info("Action executor started: {} for I/O work, {} CPU thread(s)",
+            virtualThreads ? "virtual threads" : "up to " + ioMaxThreads + " platform threads", cpuPoolSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executions.keySet().forEach(this::cancel);
+        ioExecutor.shutdownNow();
+        cpuExecutor.shutdownNow();
+    }
+
+    /**
+     * Workload class of an action: analysis and generation are CPU-bound, everything else waits on I/O
+     */
+    public static Workload workloadOf(ActionType actionType) {
+        if (actionType == null) {
+            return Workload.IO;
+        }
+        switch (actionType) {
+            case ANALYZE_FAILURES:
+            case GENERATE_TESTS:
+            case OPTIMIZE_TESTS:
+            case GENERATE_REPORT:
+                return Workload.CPU;
+            default:
+                return Workload.IO;
+        }
+    }
+
+    /**
+     * Run a task as part of the given execution; the returned future is already cancelled when the
+     * execution has been cancelled, and cancelling it cancels the task, interrupting it if running
+     */
+    public <T> CompletableFuture<T> submit(String executionId, Workload workload, Supplier<T> work) {
+        WorkloadStats workloadStats = stats.get(workload);
+        TrackedTask<T> task = new TrackedTask<>(work, workloadStats);
+        Set<TrackedTask<?>> tasks = executions.computeIfAbsent(executionId, id -> ConcurrentHashMap.newKeySet());
+        tasks.add(task);
+        task.result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException) {
+                task.cancel();
+            }
+            untrack(executionId, task);
+        });
+
+        workloadStats.queued.increment();
+        // Checked after tracking: cancel() records the ID before collecting tasks, so a racing
+        // submit is either collected by it or sees the ID here
+        if (cancelledExecutions.contains(executionId)) {
+            task.cancel();
+            return task.result;
+        }
+        try {
+            (workload == Workload.CPU ? cpuExecutor : ioExecutor).execute(task);
+        } catch (RejectedExecutionException e) {
+            workloadStats.queued.decrement();
+            task.result.completeExceptionally(e);
+        }
+        return task.result;
+    }
+
+    /**
+     * Cancel every queued and running task of an execution, interrupting the running ones
+     *
+     * @return number of tasks cancelled
+     */
+    public int cancel(String executionId) {
+        cancelledExecutions.add(executionId);
+        Set<TrackedTask<?>> tasks = executions.remove(executionId);
+        if (tasks == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (TrackedTask<?> task : tasks) {
+            if (task.cancel()) {
+                cancelled++;
+            }
+        }
+        log.info("Cancelled {} task(s) of execution {}", cancelled, executionId);
+        return cancelled;
+    }
+
+    public boolean isActive(String executionId) {
+        return executions.containsKey(executionId);
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("virtualThreads", virtualThreads);
+        statistics.put("activeExecutions", executions.size());
+        stats.forEach((workload, workloadStats) -> statistics.put(workload.name().toLowerCase(), workloadStats.snapshot()));
+        return statistics;
+    }
+
+    private void untrack(String executionId, TrackedTask<?> task) {
+        executions.computeIfPresent(executionId, (id, tasks) -> {
+            tasks.remove(task);
+            return tasks.isEmpty() ? null : tasks;
+        });
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the code still compiles and runs on Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class TrackedTask<T> implements Runnable {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
+        private final Supplier<T> work;
+        private final WorkloadStats stats;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final Thread submitter = Thread.currentThread();
+        private Thread runner;
+
+        private TrackedTask(Supplier<T> work, WorkloadStats stats) {
+            this.work = work;
+            this.stats = stats;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            stats.queued.decrement();
+            stats.active.increment();
+            long started = System.nanoTime();
+            try {
+                result.complete(work.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    state.compareAndSet(RUNNING, DONE);
+                }
+                // A cancel racing with completion must not leave the pooled thread interrupted. A task
+                // run by its submitter (saturated I/O pool) leaves the flag alone: an interrupt there
+                // cancels the caller's own execution and is the caller's to see.
+                if (Thread.currentThread() != submitter) {
+                    Thread.interrupted();
+                }
+                stats.active.decrement();
+                stats.recordRun(System.nanoTime() - started);
+            }
+        }
+
+        boolean cancel() {
+            if (state.compareAndSet(QUEUED, CANCELLED)) {
+                stats.queued.decrement();
+                stats.cancelled.increment();
+                return result.cancel(false);
+            }
+            synchronized (this) {
+                if (state.compareAndSet(RUNNING, CANCELLED)) {
+                    // Cancel the result before interrupting so the interrupted work cannot complete it first
+                    boolean cancelled = result.cancel(false);
+                    if (runner != null) {
+                        runner.interrupt();
+                    }
+                    stats.cancelled.increment();
+                    return cancelled;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class WorkloadStats {
+
+        private final LongAdder queued = new LongAdder();
+        private final LongAdder active = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder totalRunNanos = new LongAdder();
+        private final Timer runTimer;
+
+        private WorkloadStats(Workload workload, MeterRegistry registry) {
+            String tag = workload.name().toLowerCase();
+            if (registry != null) {
+                Gauge.builder("jarvis.execution.queued", queued, LongAdder::sum)
+                    .description("Action tasks submitted but not yet started")
+                    .tag("workload", tag)
+                    .register(registry);
+                Gauge.builder("jarvis.execution.active", active, LongAdder::sum)
+                    .description("Action tasks currently running")
+                    .tag("workload", tag)
+                    .register(registry);
+                runTimer = Timer.builder("jarvis.execution.run")
+                    .description("Run time of action tasks")
+                    .tag("workload", tag)
+                    .register(registry);
+            } else {
+                runTimer = null;
+            }
+        }
+
+        void recordRun(long nanos) {
+            completed.increment();
+            totalRunNanos.add(nanos);
+            if (runTimer != null) {
+                runTimer.record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Map<String, Object> snapshot() {
+            long completedCount = completed.sum();
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("queued", queued.sum());
+            snapshot.put("active", active.sum());
+            snapshot.put("completed", completedCount);
+            snapshot.put("cancelled", cancelled.sum());
+            snapshot.put("averageRunMs", completedCount > 0 ? totalRunNanos.sum() / completedCount / 1_000_000.0 : 0.0);
+            return snapshot;
+        }
+    }
+}
@@ -1,22 +1,67 @@
 package com.kb.jarvis.core.execution;
 
+import com.kb.jarvis.core.chaos.ChaosExperiment;
+import com.kb.jarvis.core.chaos.ChaosExperimentResult;
+import com.kb.jarvis.core.chaos.ChaosExperimentRunner;
+import com.kb.jarvis.core.chaos.FaultSpec;
+import com.kb.jarvis.core.chaos.SteadyStateHypothesis;
 import com.kb.jarvis.core.model.*;
+import com.kb.jarvis.core.performance.LoadProfile;
+import com.kb.jarvis.core.performance.LoadStage;
+import com.kb.jarvis.core.service.MicroserviceIntegrationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
 /**
  * Chaos Execution Service
  * Handles chaos engineering experiments and resilience testing
+ *
+ * Experiments run locally: a fault injection proxy is started in front of the service (the
+ * {@code baseUrl} parameter or its known endpoint) and its impact is measured by driving load
+ * through the proxy before, during and after the fault. Callers such as the gateway see the faults
+ * when routed to the proxy's {@code listenPort}. CPU and memory pressure are generated inside this
+ * JVM, so they stress the machine the services share rather than one service's process.
+ *
+ * Every experiment verifies a steady-state hypothesis (p95 under {@code p95ThresholdMs}, error rate
+ * under {@code maxErrorRate}, all known services healthy) sampled every {@code sampleInterval}
+ * before, during and after the fault, and succeeds when the steady state held or was restored.
  */
 @Service
 public class ChaosExecutionService {
 
     private static final Logger log = LoggerFactory.getLogger(ChaosExecutionService.class);
 
+    @Autowired
+    private ChaosExperimentRunner chaosExperimentRunner;
+
+    @Autowired
+    private MicroserviceIntegrationService microserviceIntegrationService;
+
+    @Value("${jarvis.chaos.rate:20}")
+    private double rate;
+
+    @Value("${jarvis.chaos.baseline-duration:10s}")
+    private String baselineDuration;
+
+    @Value("${jarvis.chaos.recovery-duration:30s}")
+    private String recoveryDuration;
+
+    @Value("${jarvis.chaos.request-timeout:5s}")
+    private String requestTimeout;
+
+    @Value("${jarvis.chaos.sample-interval:1s}")
+    private String sampleInterval;
+
+    @Value("${jarvis.chaos.stable-samples:3}")
+    private int stableSamples;
+
     /**
      * Execute chaos test
      */
@@ -24,79 +69,55 @@ public class ChaosExecutionService {
         log.info("Executing chaos test for service: {}", serviceName);
         
         try {
-            String chaosType = (String) parameters.getOrDefault("chaosType", "pod_failure");
-            String intensity = (String) parameters.getOrDefault("intensity", "medium");
-            String duration = (String) parameters.getOrDefault("duration", "60s");
+            String chaosType = text(parameters, "chaosType", "pod_failure").toLowerCase(Locale.ROOT);
+            String intensity = text(parameters, "intensity", "medium").toLowerCase(Locale.ROOT);
             
-            log.info("Chaos experiment: {} with intensity: {} for duration: {}", chaosType, intensity, duration);
+            log.info("Chaos experiment: {} with intensity: {} for duration: {}", chaosType, intensity,
+                text(parameters, "duration", "default"));
             
-            // Simulate chaos experiment execution
-            Thread.sleep(5000); // Simulate experiment time
+            // Intensity only fills in the magnitudes the caller left out
+            Map<String, Object> effective = new HashMap<>(intensityDefaults(chaosType, intensity));
+            effective.putAll(parameters);
             
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Chaos test executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "chaosType", chaosType,
-                    "intensity", intensity,
-                    "duration", duration,
-                    "experimentStatus", "COMPLETED",
-                    "systemRecoveryTime", "2.3s",
-                    "impactAssessment", "LOW",
-                    "lessonsLearned", Arrays.asList(
-                        "System handled pod failure gracefully",
-                        "Load balancer redistributed traffic effectively",
-                        "No data loss detected"
-                    )
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
+            switch (chaosType) {
+                case "pod_failure":
+                    return executePodFailureExperiment(serviceName, effective);
+                case "network_latency":
+                    return executeNetworkLatencyExperiment(serviceName, effective);
+                case "cpu_stress":
+                    return executeCpuStressExperiment(serviceName, effective);
+                case "memory_pressure":
+                    return executeMemoryPressureExperiment(serviceName, effective);
+                case "database_connection":
+                    return executeDatabaseConnectionExperiment(serviceName, effective);
+                case "service_dependency":
+                    return executeServiceDependencyExperiment(serviceName, effective);
+                default:
+                    return failure("Unknown chaos type: " + chaosType);
+            }
         } catch (Exception e) {
             log.error("Chaos test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Chaos test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Chaos test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute pod failure chaos experiment
+     * Execute pod failure chaos experiment: the proxy resets the given fraction of connections, as
+     * if the instances behind them were gone
      */
     public ExecutionResult executePodFailureExperiment(String serviceName, Map<String, Object> parameters) {
         log.info("Executing pod failure experiment for service: {}", serviceName);
         
         try {
-            int targetPods = (Integer) parameters.getOrDefault("targetPods", 1);
-            String gracePeriod = (String) parameters.getOrDefault("gracePeriod", "10s");
-            
-            // Simulate pod failure experiment
-            Thread.sleep(3000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Pod failure experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "POD_FAILURE",
-                    "targetPods", targetPods,
-                    "gracePeriod", gracePeriod,
-                    "podsTerminated", targetPods,
-                    "recoveryTime", "1.8s",
-                    "trafficRedistribution", "SUCCESSFUL",
-                    "dataIntegrity", "MAINTAINED"
-                ))
-                .timestamp(LocalDateTime.now())
+            FaultSpec faults = FaultSpec.builder()
+                .resetRate(number(parameters, "failureRate", 1.0))
                 .build();
+            return run(serviceName, "POD_FAILURE", experiment(serviceName, "pod-failure", parameters, "60s")
+                .faults(faults)
+                .build());
         } catch (Exception e) {
             log.error("Pod failure experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Pod failure experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Pod failure experiment failed: " + e.getMessage());
         }
     }
 
@@ -107,34 +128,18 @@ public class ChaosExecutionService {
         log.info("Executing network latency experiment for service: {}", serviceName);
         
         try {
-            int latencyMs = (Integer) parameters.getOrDefault("latencyMs", 1000);
-            String duration = (String) parameters.getOrDefault("duration", "60s");
-            
-            // Simulate network latency experiment
-            Thread.sleep(4000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Network latency experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "NETWORK_LATENCY",
-                    "latencyMs", latencyMs,
-                    "duration", duration,
-                    "responseTimeImpact", "HIGH",
-                    "timeoutErrors", 0,
-                    "circuitBreakerTriggered", false,
-                    "retryMechanisms", "ACTIVE"
-                ))
-                .timestamp(LocalDateTime.now())
+            double latencyMs = number(parameters, "latencyMs", 1000);
+            FaultSpec faults = FaultSpec.builder()
+                .latency(Duration.ofMillis((long) latencyMs))
+                .jitter(Duration.ofMillis((long) number(parameters, "jitterMs", latencyMs / 10)))
+                .bandwidthBytesPerSecond((long) (number(parameters, "bandwidthKbps", 0) * 1024 / 8))
                 .build();
+            return run(serviceName, "NETWORK_LATENCY", experiment(serviceName, "network-latency", parameters, "60s")
+                .faults(faults)
+                .build());
         } catch (Exception e) {
             log.error("Network latency experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Network latency experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Network latency experiment failed: " + e.getMessage());
         }
     }
 
@@ -145,148 +150,93 @@ public class ChaosExecutionService {
         log.info("Executing CPU stress experiment for service: {}", serviceName);
         
         try {
-            int cpuLoad = (Integer) parameters.getOrDefault("cpuLoad", 80);
-            String duration = (String) parameters.getOrDefault("duration", "120s");
-            
-            // Simulate CPU stress experiment
-            Thread.sleep(6000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("CPU stress experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "CPU_STRESS",
-                    "cpuLoad", cpuLoad + "%",
-                    "duration", duration,
-                    "performanceImpact", "MEDIUM",
-                    "autoScalingTriggered", true,
-                    "responseTimeDegradation", "15%",
-                    "errorRateIncrease", "2%"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
+            return run(serviceName, "CPU_STRESS", experiment(serviceName, "cpu-stress", parameters, "120s")
+                .cpuLoad(number(parameters, "cpuLoad", 80) / 100.0)
+                .cpuThreads((int) number(parameters, "cpuThreads", Runtime.getRuntime().availableProcessors()))
+                .build());
         } catch (Exception e) {
             log.error("CPU stress experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("CPU stress experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("CPU stress experiment failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute memory pressure chaos experiment
+     * Execute memory pressure chaos experiment. The pressure fills the Jarvis JVM's heap, so it only
+     * affects a service that runs on the same host, through contention for physical memory.
      */
     public ExecutionResult executeMemoryPressureExperiment(String serviceName, Map<String, Object> parameters) {
         log.info("Executing memory pressure experiment for service: {}", serviceName);
         
         try {
-            int memoryLoad = (Integer) parameters.getOrDefault("memoryLoad", 90);
-            String duration = (String) parameters.getOrDefault("duration", "90s");
-            
-            // Simulate memory pressure experiment
-            Thread.sleep(4500);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Memory pressure experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "MEMORY_PRESSURE",
-                    "memoryLoad", memoryLoad + "%",
-                    "duration", duration,
-                    "gcFrequency", "INCREASED",
-                    "responseTimeImpact", "HIGH",
-                    "oomKills", 0,
-                    "memoryLeaksDetected", false
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
+            return run(serviceName, "MEMORY_PRESSURE", experiment(serviceName, "memory-pressure", parameters, "90s")
+                .memoryFraction(number(parameters, "memoryLoad", 90) / 100.0)
+                .build());
         } catch (Exception e) {
             log.error("Memory pressure experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Memory pressure experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Memory pressure experiment failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute database connection chaos experiment
+     * Execute database connection chaos experiment. The database itself is not proxied; pool
+     * exhaustion is reproduced as the service's callers see it, with requests hanging until they
+     * time out.
      */
     public ExecutionResult executeDatabaseConnectionExperiment(String serviceName, Map<String, Object> parameters) {
         log.info("Executing database connection experiment for service: {}", serviceName);
         
         try {
-            int connectionPoolSize = (Integer) parameters.getOrDefault("connectionPoolSize", 10);
-            String duration = (String) parameters.getOrDefault("duration", "60s");
-            
-            // Simulate database connection experiment
-            Thread.sleep(3500);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Database connection experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "DATABASE_CONNECTION",
-                    "connectionPoolSize", connectionPoolSize,
-                    "duration", duration,
-                    "connectionPoolExhausted", false,
-                    "connectionTimeouts", 0,
-                    "fallbackMechanisms", "ACTIVE",
-                    "dataConsistency", "MAINTAINED"
-                ))
-                .timestamp(LocalDateTime.now())
+            FaultSpec faults = FaultSpec.builder()
+                .timeoutRate(number(parameters, "failureRate", 0.5))
                 .build();
+            return run(serviceName, "DATABASE_CONNECTION", experiment(serviceName, "database-connection", parameters, "60s")
+                .faults(faults)
+                .build());
         } catch (Exception e) {
             log.error("Database connection experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Database connection experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Database connection experiment failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute service dependency chaos experiment
+     * Execute service dependency chaos experiment. The proxy goes in front of the dependency when it
+     * is a known service, otherwise in front of the service itself; failureType is timeout, error,
+     * reset or latency.
      */
     public ExecutionResult executeServiceDependencyExperiment(String serviceName, Map<String, Object> parameters) {
         log.info("Executing service dependency experiment for service: {}", serviceName);
         
         try {
-            String dependentService = (String) parameters.getOrDefault("dependentService", "database");
-            String failureType = (String) parameters.getOrDefault("failureType", "timeout");
+            String dependentService = text(parameters, "dependentService", serviceName);
+            String failureType = text(parameters, "failureType", "timeout").toLowerCase(Locale.ROOT);
+            double failureRate = number(parameters, "failureRate", 1.0);
             
-            // Simulate service dependency experiment
-            Thread.sleep(4000);
+            FaultSpec.Builder faults = FaultSpec.builder();
+            switch (failureType) {
+                case "timeout":
+                    faults.timeoutRate(failureRate);
+                    break;
+                case "error":
+                    faults.errorRate(failureRate).errorStatus((int) number(parameters, "errorStatus", 503));
+                    break;
+                case "reset":
+                    faults.resetRate(failureRate);
+                    break;
+                case "latency":
+                    faults.latency(Duration.ofMillis((long) number(parameters, "latencyMs", 1000)));
+                    break;
+                default:
+                    return failure("Unknown failure type: " + failureType);
+            }
             
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Service dependency experiment completed")
-                .data(Map.of(
-                    "service", serviceName,
-                    "experimentType", "SERVICE_DEPENDENCY",
-                    "dependentService", dependentService,
-                    "failureType", failureType,
-                    "circuitBreakerTriggered", true,
-                    "fallbackResponse", "CACHED_DATA",
-                    "dependencyRecoveryTime", "3.2s",
-                    "userExperienceImpact", "MINIMAL"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
+            String target = microserviceIntegrationService.getServiceEndpoint(dependentService) != null ? dependentService : serviceName;
+            return run(target, "SERVICE_DEPENDENCY", experiment(target, "service-dependency", parameters, "60s")
+                .name("chaos-service-dependency-" + serviceName + "-" + dependentService)
+                .faults(faults.build())
+                .build());
         } catch (Exception e) {
             log.error("Service dependency experiment failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Service dependency experiment failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Service dependency experiment failed: " + e.getMessage());
         }
     }
 
@@ -312,4 +262,128 @@ public class ChaosExecutionService {
             )
         );
     }
+
+    private ExecutionResult run(String serviceName, String experimentType, ChaosExperiment experiment) {
+        ChaosExperimentResult result = chaosExperimentRunner.run(experiment);
+        
+        Map<String, Object> data = new HashMap<>(result.toMap());
+        data.put("service", serviceName);
+        data.put("experimentType", experimentType);
+        
+        return ExecutionResult.builder()
+            .success(!result.isInterrupted() && result.getSteadyState().isVerified())
+            .message(experimentType + " experiment completed: " + result.describe())
+            .serviceName(serviceName)
+            .data(data)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    /**
+     * Target, measurement load and phase lengths shared by every experiment type
+     */
+    @SuppressWarnings("unchecked")
+    private ChaosExperiment.Builder experiment(String serviceName, String type, Map<String, Object> parameters,
+                                               String defaultDuration) {
+        String baseUrl = text(parameters, "baseUrl", microserviceIntegrationService.getServiceEndpoint(serviceName));
+        if (baseUrl == null) {
+            throw new IllegalArgumentException("No endpoint known for service " + serviceName + "; pass a baseUrl parameter");
+        }
+        Duration faultDuration = LoadStage.parseDuration(text(parameters, "duration", defaultDuration));
+        double measurementRate = number(parameters, "rate", rate);
+        String name = "chaos-" + type + "-" + serviceName;
+        double p95ThresholdMs = number(parameters, "p95ThresholdMs", 500);
+        double maxErrorRate = number(parameters, "maxErrorRate", 0.01);
+        
+        LoadProfile.Builder load = LoadProfile.builder()
+            .name(name)
+            .method(text(parameters, "method", "GET"))
+            .path(text(parameters, "path", "/actuator/health"))
+            .body(text(parameters, "body", null))
+            .requestTimeout(LoadStage.parseDuration(text(parameters, "requestTimeout", requestTimeout)))
+            .p95ThresholdMs(p95ThresholdMs)
+            .maxErrorRate(maxErrorRate)
+            .startRate(measurementRate)
+            .stage(faultDuration, measurementRate);
+        if (parameters.get("headers") instanceof Map) {
+            ((Map<String, Object>) parameters.get("headers"))
+                .forEach((header, value) -> load.header(header, String.valueOf(value)));
+        }
+        
+        // Probe every known service, plus the target itself when it is not one of them
+        Map<String, String> healthEndpoints = new LinkedHashMap<>(microserviceIntegrationService.getHealthEndpoints());
+        if (!healthEndpoints.containsKey(serviceName)) {
+            healthEndpoints.put(serviceName, baseUrl + text(parameters, "healthPath", "/actuator/health"));
+        }
+        SteadyStateHypothesis hypothesis = SteadyStateHypothesis.builder()
+            .maxP95Ms(p95ThresholdMs)
+            .maxErrorRate(maxErrorRate)
+            .requireHealthy(!"false".equalsIgnoreCase(text(parameters, "requireHealthy", "true")))
+            .stableSamples((int) number(parameters, "stableSamples", stableSamples))
+            .build();
+        
+        return ChaosExperiment.builder()
+            .name(name)
+            .serviceName(serviceName)
+            .targetBaseUrl(baseUrl)
+            .listenPort((int) number(parameters, "listenPort", 0))
+            .load(load.build())
+            .rate(measurementRate)
+            .baselineDuration(LoadStage.parseDuration(text(parameters, "baselineDuration", baselineDuration)))
+            .faultDuration(faultDuration)
+            .recoveryDuration(LoadStage.parseDuration(text(parameters, "recoveryDuration", recoveryDuration)))
+            .hypothesis(hypothesis)
+            .sampleInterval(LoadStage.parseDuration(text(parameters, "sampleInterval", sampleInterval)))
+            .healthEndpoints(healthEndpoints);
+    }
+
+    /**
+     * Fault magnitudes for the low, medium and high intensities of each chaos type
+     */
+    private static Map<String, Object> intensityDefaults(String chaosType, String intensity) {
+        int level = "low".equals(intensity) ? 0 : "high".equals(intensity) ? 2 : 1;
+        switch (chaosType) {
+            case "pod_failure":
+                return Map.of("failureRate", new double[] {0.25, 0.5, 1.0}[level]);
+            case "network_latency":
+                return Map.of("latencyMs", new int[] {200, 1000, 3000}[level]);
+            case "cpu_stress":
+                return Map.of("cpuLoad", new int[] {50, 80, 95}[level]);
+            case "memory_pressure":
+                return Map.of("memoryLoad", new int[] {60, 80, 90}[level]);
+            case "database_connection":
+            case "service_dependency":
+                return Map.of("failureRate", new double[] {0.1, 0.5, 1.0}[level]);
+            default:
+                return Map.of();
+        }
+    }
+
+    private static double number(Map<String, Object> parameters, String key, double defaultValue) {
+        Object value = parameters.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number for " + key + ": " + value);
+        }
+    }
+
+    private static String text(Map<String, Object> parameters, String key, String defaultValue) {
+        Object value = parameters.get(key);
+        return value != null ? String.valueOf(value) : defaultValue;
+    }
+
+    private static ExecutionResult failure(String message) {
+        return ExecutionResult.builder()
+            .success(false)
+            .message(message)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
 }
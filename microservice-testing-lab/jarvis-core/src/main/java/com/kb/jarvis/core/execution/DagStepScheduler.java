@@ -0,0 +1,352 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.model.ExecutionResult;
+import com.kb.jarvis.core.model.ExecutionStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Schedules the steps of an execution plan as a dependency graph.
+ *
+ * A step depends on the steps named in its dependencies, either by step ID or by service name (a
+ * service dependency covers every step of that service in the plan); anything else, such as a
+ * database, is outside the plan and ignored. Each step starts as soon as all of its dependencies
+ * have succeeded and a slot is free; among ready steps the one heading the longest remaining chain
+ * of estimated durations goes first, so a plan's latency approaches its critical path. A failed
+ * step skips everything downstream of it, and a failed critical step stops new steps from starting.
+ */
+public class DagStepScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DagStepScheduler.class);
+
+    private static final long DEFAULT_STEP_MILLIS = 5 * 60_000L;
+    private static final Pattern DURATION =
+        Pattern.compile("(\\d+)(?:\\s*-\\s*(\\d+))?\\s*(second|sec|s|minute|min|m|hour|h)?", Pattern.CASE_INSENSITIVE);
+
+    private final List<ExecutionStep> steps;
+    private final List<List<Integer>> successors = new ArrayList<>();
+    private final int[] predecessorCount;
+    private final long[] estimatedMillis;
+    private final long[] remainingPathMillis;
+    private final List<Integer> topologicalOrder;
+
+    public DagStepScheduler(List<ExecutionStep> steps) {
+        this.steps = List.copyOf(steps);
+        int count = this.steps.size();
+        this.predecessorCount = new int[count];
+        this.estimatedMillis = new long[count];
+        this.remainingPathMillis = new long[count];
+        for (int i = 0; i < count; i++) {
+            successors.add(new ArrayList<>());
+            estimatedMillis[i] = parseDuration(this.steps.get(i).getEstimatedDuration());
+        }
+
+        List<Set<Integer>> dependencies = resolveDependencies();
+        this.topologicalOrder = order(dependencies);
+
+        // Keep only edges that point forward in the order; a back edge can only come from a cycle
+        int[] position = new int[count];
+        for (int i = 0; i < count; i++) {
+            position[topologicalOrder.get(i)] = i;
+        }
+        for (int step = 0; step < count; step++) {
+            for (int dependency : dependencies.get(step)) {
+                if (position[dependency] < position[step]) {
+                    successors.get(dependency).add(step);
+                    predecessorCount[step]++;
+                }
+            }
+        }
+
+        for (int i = count - 1; i >= 0; i--) {
+            int step = topologicalOrder.get(i);
+            long longestTail = 0;
+            for (int successor : successors.get(step)) {
+                longestTail = Math.max(longestTail, remainingPathMillis[successor]);
+            }
+            remainingPathMillis[step] = estimatedMillis[step] + longestTail;
+        }
+    }
+
+    /**
+     * Steps in an order that respects every dependency
+     */
+    public List<ExecutionStep> getTopologicalOrder() {
+        List<ExecutionStep> ordered = new ArrayList<>(steps.size());
+        for (int step : topologicalOrder) {
+            ordered.add(steps.get(step));
+        }
+        return ordered;
+    }
+
+    /**
+     * Estimated duration of the longest dependency chain, the lower bound on plan latency
+     */
+    public long getCriticalPathMillis() {
+        return Arrays.stream(remainingPathMillis).max().orElse(0);
+    }
+
+    /**
+     * Estimated duration of running every step one after another
+     */
+    public long getSerialMillis() {
+        return Arrays.stream(estimatedMillis).sum();
+    }
+
+    /**
+     * Run the plan on the calling thread's behalf, with at most {@code maxParallelism} steps in flight
+     *
+     * @return one result per step, in plan order
+     */
+    public List<ExecutionResult> execute(int maxParallelism, Function<ExecutionStep, CompletableFuture<ExecutionResult>> runner,
+                                         Predicate<ExecutionStep> critical) {
+        int count = steps.size();
+        int parallelism = Math.max(1, maxParallelism);
+        ExecutionResult[] results = new ExecutionResult[count];
+        int[] waitingOn = predecessorCount.clone();
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> remainingPathMillis[a] != remainingPathMillis[b]
+            ? Long.compare(remainingPathMillis[b], remainingPathMillis[a])
+            : Integer.compare(a, b));
+        for (int step = 0; step < count; step++) {
+            if (waitingOn[step] == 0) {
+                ready.add(step);
+            }
+        }
+
+        BlockingQueue<Completion> completions = new LinkedBlockingQueue<>();
+        Map<Integer, CompletableFuture<ExecutionResult>> inFlight = new HashMap<>();
+        int running = 0;
+        boolean stopped = false;
+        while (true) {
+            while (!stopped && running < parallelism && !ready.isEmpty()) {
+                int step = ready.poll();
+                ExecutionStep executionStep = steps.get(step);
+                log.info("Starting step {} ({} running, {} ready)", executionStep.getStepName(), running + 1, ready.size());
+                CompletableFuture<ExecutionResult> future = runner.apply(executionStep);
+                inFlight.put(step, future);
+                future.whenComplete((result, error) ->
+                    completions.add(new Completion(step, result != null ? result : failed(executionStep, error))));
+                running++;
+            }
+            if (running == 0) {
+                break;
+            }
+
+            Completion completion;
+            try {
+                completion = completions.take();
+            } catch (InterruptedException e) {
+                // The execution was cancelled: stop the steps still running and leave the interrupt
+                // for the caller to see
+                inFlight.values().forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                break;
+            }
+            running--;
+            int step = completion.step;
+            inFlight.remove(step);
+            results[step] = completion.result;
+            if (completion.result.isSuccess()) {
+                for (int successor : successors.get(step)) {
+                    if (--waitingOn[successor] == 0 && results[successor] == null) {
+                        ready.add(successor);
+                    }
+                }
+            } else {
+                skipDownstream(step, results);
+                if (critical.test(steps.get(step))) {
+                    log.error("Critical step failed: {}", steps.get(step).getStepName());
+                    stopped = true;
+                }
+            }
+        }
+
+        List<ExecutionResult> ordered = new ArrayList<>(count);
+        for (int step = 0; step < count; step++) {
+            ordered.add(results[step] != null ? results[step]
+                : skipped(steps.get(step), stopped ? "execution stopped after a critical step failed" : "execution was cancelled"));
+        }
+        return ordered;
+    }
+
+    private void skipDownstream(int failedStep, ExecutionResult[] results) {
+        Deque<Integer> pending = new ArrayDeque<>(successors.get(failedStep));
+        String reason = "dependency " + steps.get(failedStep).getStepName() + " failed";
+        while (!pending.isEmpty()) {
+            int step = pending.pop();
+            if (results[step] == null) {
+                results[step] = skipped(steps.get(step), reason);
+                pending.addAll(successors.get(step));
+            }
+        }
+    }
+
+    private List<Set<Integer>> resolveDependencies() {
+        Map<String, List<Integer>> byStepId = new HashMap<>();
+        Map<String, List<Integer>> byService = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            ExecutionStep step = steps.get(i);
+            if (step.getStepId() != null) {
+                byStepId.computeIfAbsent(step.getStepId(), id -> new ArrayList<>()).add(i);
+            }
+            if (step.getServiceName() != null) {
+                byService.computeIfAbsent(step.getServiceName(), service -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        for (int i = 0; i < steps.size(); i++) {
+            ExecutionStep step = steps.get(i);
+            Set<Integer> resolved = new LinkedHashSet<>();
+            if (step.getDependencies() != null) {
+                for (String dependency : step.getDependencies()) {
+                    if (byStepId.containsKey(dependency)) {
+                        resolved.addAll(byStepId.get(dependency));
+                    } else {
+                        // A service never waits on its own steps through a service-level dependency
+                        for (int target : byService.getOrDefault(dependency, List.of())) {
+                            if (!isSameService(step, steps.get(target))) {
+                                resolved.add(target);
+                            }
+                        }
+                    }
+                }
+                resolved.remove(i);
+            }
+            dependencies.add(resolved);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Kahn's algorithm; a cycle is broken at its earliest step in plan order
+     */
+    private List<Integer> order(List<Set<Integer>> dependencies) {
+        int count = steps.size();
+        int[] unresolved = new int[count];
+        List<List<Integer>> dependents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int step = 0; step < count; step++) {
+            unresolved[step] = dependencies.get(step).size();
+            for (int dependency : dependencies.get(step)) {
+                dependents.get(dependency).add(step);
+            }
+        }
+
+        boolean[] placed = new boolean[count];
+        PriorityQueue<Integer> available = new PriorityQueue<>();
+        for (int step = 0; step < count; step++) {
+            if (unresolved[step] == 0) {
+                available.add(step);
+            }
+        }
+        List<Integer> order = new ArrayList<>(count);
+        while (order.size() < count) {
+            if (available.isEmpty()) {
+                int forced = 0;
+                while (placed[forced]) {
+                    forced++;
+                }
+                log.warn("Dependency cycle in execution plan; running {} before its dependencies", steps.get(forced).getStepName());
+                available.add(forced);
+                unresolved[forced] = 0;
+            }
+            int step = available.poll();
+            if (placed[step]) {
+                continue;
+            }
+            placed[step] = true;
+            order.add(step);
+            for (int dependent : dependents.get(step)) {
+                if (--unresolved[dependent] == 0 && !placed[dependent]) {
+                    available.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+
+    private static boolean isSameService(ExecutionStep a, ExecutionStep b) {
+        return a.getServiceName() != null && a.getServiceName().equals(b.getServiceName());
+    }
+
+    /**
+     * Parse estimates such as "5 minutes", "1-5 minutes" or "30 seconds", taking the upper bound
+     */
+    static long parseDuration(String estimate) {
+        if (estimate == null) {
+            return DEFAULT_STEP_MILLIS;
+        }
+        Matcher matcher = DURATION.matcher(estimate);
+        if (!matcher.find()) {
+            return DEFAULT_STEP_MILLIS;
+        }
+        long amount = Long.parseLong(matcher.group(2) != null ? matcher.group(2) : matcher.group(1));
+        String unit = matcher.group(3) != null ? matcher.group(3).toLowerCase(Locale.ROOT) : "minute";
+        if (unit.startsWith("h")) {
+            return amount * 3_600_000L;
+        }
+        if (unit.startsWith("s")) {
+            return amount * 1_000L;
+        }
+        return amount * 60_000L;
+    }
+
+    private static ExecutionResult failed(ExecutionStep step, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        return ExecutionResult.builder()
+            .success(false)
+            .message("Step failed: " + (cause != null ? cause.getMessage() : "no result"))
+            .serviceName(step.getServiceName())
+            .actionType(step.getActionType())
+            .testType(step.getTestType())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    private static ExecutionResult skipped(ExecutionStep step, String reason) {
+        return ExecutionResult.builder()
+            .success(false)
+            .message("Skipped " + step.getStepName() + ": " + reason)
+            .serviceName(step.getServiceName())
+            .actionType(step.getActionType())
+            .testType(step.getTestType())
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    private static final class Completion {
+
+        private final int step;
+        private final ExecutionResult result;
+
+        private Completion(int step, ExecutionResult result) {
+            this.step = step;
+            this.result = result;
+        }
+    }
+}
@@ -1,280 +1,261 @@
 package com.kb.jarvis.core.execution;
 
+import com.kb.jarvis.core.memory.MemoryManager;
 import com.kb.jarvis.core.model.*;
+import com.kb.jarvis.core.performance.CapacityResult;
+import com.kb.jarvis.core.performance.CapacitySearch;
+import com.kb.jarvis.core.performance.LoadGenerator;
+import com.kb.jarvis.core.performance.LoadProfile;
+import com.kb.jarvis.core.performance.LoadStage;
+import com.kb.jarvis.core.performance.LoadTestResult;
+import com.kb.jarvis.core.performance.RegressionDetector;
+import com.kb.jarvis.core.performance.RegressionVerdict;
+import com.kb.jarvis.core.service.MicroserviceIntegrationService;
+import com.kb.jarvis.core.service.TestResultService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.HashMap;
+import java.util.stream.Collectors;
 
 /**
  * Performance Execution Service
  * Handles performance testing and load testing execution
+ *
+ * Every test type is an arrival-rate profile run by the in-process {@link LoadGenerator}. Rates are
+ * requests per second; the older user-count parameters (concurrentUsers, maxUsers, ...) are still
+ * accepted and read as rates. The target is the {@code baseUrl} parameter or the service's known
+ * endpoint, and the request is set by {@code path}, {@code method}, {@code body} and {@code headers}.
  */
 @Service
 public class PerformanceExecutionService {
 
     private static final Logger log = LoggerFactory.getLogger(PerformanceExecutionService.class);
 
+    @Autowired
+    private LoadGenerator loadGenerator;
+
+    @Autowired
+    private MicroserviceIntegrationService microserviceIntegrationService;
+
+    @Autowired
+    private RegressionDetector regressionDetector;
+
+    @Autowired
+    private MemoryManager memoryManager;
+
+    @Autowired
+    private ObjectProvider<TestResultService> testResultService;
+
+    @Value("${jarvis.performance.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${jarvis.performance.request-timeout:30s}")
+    private String requestTimeout;
+
     /**
-     * Execute performance test
+     * Execute performance test: explicit {@code stages} (a list of {duration, target} maps, as in a
+     * k6 script) or, without stages, the profile of the named {@code testType}
      */
     public ExecutionResult executePerformanceTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing performance test for service: {}", serviceName);
         
         try {
-            String testType = (String) parameters.getOrDefault("testType", "load");
-            int concurrentUsers = (Integer) parameters.getOrDefault("concurrentUsers", 100);
-            String duration = (String) parameters.getOrDefault("duration", "5m");
-            String loadPattern = (String) parameters.getOrDefault("loadPattern", "ramp_up");
+            String testType = text(parameters, "testType", "load");
+            if (!parameters.containsKey("stages")) {
+                switch (testType.toLowerCase(Locale.ROOT)) {
+                    case "stress":
+                        return executeStressTest(serviceName, parameters);
+                    case "spike":
+                        return executeSpikeTest(serviceName, parameters);
+                    case "volume":
+                        return executeVolumeTest(serviceName, parameters);
+                    case "endurance":
+                    case "soak":
+                        return executeEnduranceTest(serviceName, parameters);
+                    case "capacity":
+                        return executeCapacitySearch(serviceName, parameters);
+                    default:
+                        return executeLoadTest(serviceName, parameters);
+                }
+            }
             
-            log.info("Performance test: {} with {} users for {} using {} pattern", 
-                testType, concurrentUsers, duration, loadPattern);
-            
-            // Simulate performance test execution
-            Thread.sleep(8000); // Simulate longer execution time for performance tests
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("service", serviceName);
-            data.put("testType", testType);
-            data.put("concurrentUsers", concurrentUsers);
-            data.put("duration", duration);
-            data.put("loadPattern", loadPattern);
-            data.put("avgResponseTime", "245ms");
-            data.put("p95ResponseTime", "890ms");
-            data.put("p99ResponseTime", "1.2s");
-            data.put("throughput", "450 req/s");
-            data.put("errorRate", "0.1%");
-            data.put("cpuUtilization", "65%");
-            data.put("memoryUtilization", "78%");
-            data.put("networkThroughput", "125 MB/s");
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Performance test executed successfully")
-                .data(data)
-                .timestamp(LocalDateTime.now())
+            LoadProfile profile = profile("performance-" + serviceName, parameters)
+                .startRate(number(parameters, "startRate", 0))
+                .stages(stages(parameters.get("stages")))
                 .build();
+            return run(serviceName, "PERFORMANCE_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Performance test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Performance test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Performance test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute load test
+     * Execute load test: ramp to the target rate, hold it, ramp down
      */
     public ExecutionResult executeLoadTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing load test for service: {}", serviceName);
         
         try {
-            int maxUsers = (Integer) parameters.getOrDefault("maxUsers", 200);
-            String rampUpTime = (String) parameters.getOrDefault("rampUpTime", "2m");
-            String holdTime = (String) parameters.getOrDefault("holdTime", "5m");
-            
-            // Simulate load test execution
-            Thread.sleep(10000);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("service", serviceName);
-            data.put("testType", "LOAD_TEST");
-            data.put("maxUsers", maxUsers);
-            data.put("rampUpTime", rampUpTime);
-            data.put("holdTime", holdTime);
-            data.put("peakResponseTime", "1.1s");
-            data.put("avgResponseTime", "320ms");
-            data.put("throughput", "380 req/s");
-            data.put("errorRate", "0.05%");
-            data.put("bottlenecks", Arrays.asList("Database connection pool", "Memory allocation"));
-            data.put("recommendations", Arrays.asList(
-                "Increase database connection pool size",
-                "Optimize memory usage in service layer"
-            ));
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Load test executed successfully")
-                .data(data)
-                .timestamp(LocalDateTime.now())
+            double targetRate = rate(parameters, 100, "targetRate", "maxUsers", "concurrentUsers");
+            LoadProfile profile = profile("load-" + serviceName, parameters)
+                .stage(text(parameters, "rampUpTime", "1m"), targetRate)
+                .stage(text(parameters, "holdTime", text(parameters, "duration", "3m")), targetRate)
+                .stage(text(parameters, "rampDownTime", "30s"), 0)
                 .build();
+            return run(serviceName, "LOAD_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Load test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Load test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Load test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute stress test
+     * Execute stress test: climb to the maximum rate in equal steps, holding each step
      */
     public ExecutionResult executeStressTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing stress test for service: {}", serviceName);
         
         try {
-            int stressLevel = (Integer) parameters.getOrDefault("stressLevel", 300);
-            String duration = (String) parameters.getOrDefault("duration", "10m");
-            
-            // Simulate stress test execution
-            Thread.sleep(12000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Stress test executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "STRESS_TEST",
-                    "stressLevel", stressLevel + " users",
-                    "duration", duration,
-                    "breakingPoint", "280 users",
-                    "maxResponseTime", "5.2s",
-                    "errorRateAtBreakingPoint", "15%",
-                    "systemRecoveryTime", "45s",
-                    "failureMode", "Graceful degradation",
-                    "criticalBottlenecks", Arrays.asList(
-                        "Database connection exhaustion",
-                        "Memory leak in cache layer"
-                    )
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
+            double maxRate = rate(parameters, 300, "maxRate", "stressLevel");
+            int steps = Math.max(1, (int) number(parameters, "steps", 4));
+            Duration stepDuration = LoadStage.parseDuration(text(parameters, "stepDuration", "1m"));
+            LoadProfile.Builder builder = profile("stress-" + serviceName, parameters);
+            for (int step = 1; step <= steps; step++) {
+                double stepRate = maxRate * step / steps;
+                builder.stage("10s", stepRate).stage(stepDuration, stepRate);
+            }
+            LoadProfile profile = builder.stage(text(parameters, "rampDownTime", "30s"), 0).build();
+            return run(serviceName, "STRESS_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Stress test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Stress test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Stress test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute spike test
+     * Execute spike test: steady baseline, a near-instant jump to the spike rate, then recovery at baseline
      */
     public ExecutionResult executeSpikeTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing spike test for service: {}", serviceName);
         
         try {
-            int spikeUsers = (Integer) parameters.getOrDefault("spikeUsers", 500);
-            String spikeDuration = (String) parameters.getOrDefault("spikeDuration", "30s");
-            String recoveryTime = (String) parameters.getOrDefault("recoveryTime", "2m");
-            
-            // Simulate spike test execution
-            Thread.sleep(6000);
-            
-            Map<String, Object> data = new HashMap<>();
-            data.put("service", serviceName);
-            data.put("testType", "SPIKE_TEST");
-            data.put("spikeUsers", spikeUsers);
-            data.put("spikeDuration", spikeDuration);
-            data.put("recoveryTime", recoveryTime);
-            data.put("spikeResponseTime", "2.8s");
-            data.put("recoveryResponseTime", "450ms");
-            data.put("autoScalingTriggered", true);
-            data.put("circuitBreakerActivated", false);
-            data.put("dataIntegrity", "MAINTAINED");
-            data.put("userExperience", "ACCEPTABLE");
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Spike test executed successfully")
-                .data(data)
-                .timestamp(LocalDateTime.now())
+            double baselineRate = number(parameters, "baselineRate", 20);
+            double spikeRate = rate(parameters, 500, "spikeRate", "spikeUsers", "concurrentUsers");
+            LoadProfile profile = profile("spike-" + serviceName, parameters)
+                .startRate(baselineRate)
+                .stage(text(parameters, "baselineTime", "30s"), baselineRate)
+                .stage("5s", spikeRate)
+                .stage(text(parameters, "spikeDuration", "30s"), spikeRate)
+                .stage("5s", baselineRate)
+                .stage(text(parameters, "recoveryTime", "1m"), baselineRate)
                 .build();
+            return run(serviceName, "SPIKE_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Spike test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Spike test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Spike test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute volume test
+     * Execute volume test: send {@code dataVolume} requests at a constant rate
      */
     public ExecutionResult executeVolumeTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing volume test for service: {}", serviceName);
         
         try {
-            int dataVolume = (Integer) parameters.getOrDefault("dataVolume", 10000);
-            String testDuration = (String) parameters.getOrDefault("testDuration", "15m");
-            
-            // Simulate volume test execution
-            Thread.sleep(15000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Volume test executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "VOLUME_TEST",
-                    "dataVolume", dataVolume + " records",
-                    "testDuration", testDuration,
-                    "processingRate", "12 records/s",
-                    "memoryUsage", "2.1 GB",
-                    "diskUsage", "850 MB",
-                    "databasePerformance", "STABLE",
-                    "dataConsistency", "MAINTAINED",
-                    "cleanupTime", "2.3s"
-                ))
-                .timestamp(LocalDateTime.now())
+            long dataVolume = (long) number(parameters, "dataVolume", 10000);
+            double targetRate = number(parameters, "targetRate", 100);
+            if (targetRate <= 0) {
+                throw new IllegalArgumentException("targetRate must be positive: " + targetRate);
+            }
+            Duration duration = Duration.ofNanos((long) (dataVolume / targetRate * 1_000_000_000L));
+            LoadProfile profile = profile("volume-" + serviceName, parameters)
+                .startRate(targetRate)
+                .stage(duration, targetRate)
                 .build();
+            return run(serviceName, "VOLUME_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Volume test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Volume test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
+            return failure("Volume test execution failed: " + e.getMessage());
         }
     }
 
     /**
-     * Execute endurance test
+     * Execute endurance test: a steady rate held for a long time
      */
     public ExecutionResult executeEnduranceTest(String serviceName, Map<String, Object> parameters) {
         log.info("Executing endurance test for service: {}", serviceName);
         
         try {
-            String testDuration = (String) parameters.getOrDefault("testDuration", "24h");
-            int steadyLoad = (Integer) parameters.getOrDefault("steadyLoad", 50);
-            
-            // Simulate endurance test execution (shorter for demo)
-            Thread.sleep(5000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Endurance test executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "ENDURANCE_TEST",
-                    "testDuration", testDuration,
-                    "steadyLoad", steadyLoad + " users",
-                    "avgResponseTime", "180ms",
-                    "memoryLeaks", "NONE_DETECTED",
-                    "performanceDegradation", "0.5%",
-                    "systemStability", "EXCELLENT",
-                    "resourceUtilization", "STABLE"
-                ))
-                .timestamp(LocalDateTime.now())
+            double steadyRate = rate(parameters, 50, "steadyRate", "steadyLoad");
+            LoadProfile profile = profile("endurance-" + serviceName, parameters)
+                .stage(text(parameters, "rampUpTime", "1m"), steadyRate)
+                .stage(text(parameters, "testDuration", "30m"), steadyRate)
                 .build();
+            return run(serviceName, "ENDURANCE_TEST", profile, parameters);
         } catch (Exception e) {
             log.error("Endurance test execution failed for {}: {}", serviceName, e.getMessage());
+            return failure("Endurance test execution failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Execute capacity search: find the highest rate that keeps the SLO percentile under its
+     * threshold (default p99 < 500 ms) and errors under budget
+     */
+    public ExecutionResult executeCapacitySearch(String serviceName, Map<String, Object> parameters) {
+        log.info("Executing capacity search for service: {}", serviceName);
+        
+        try {
+            String baseUrl = text(parameters, "baseUrl", microserviceIntegrationService.getServiceEndpoint(serviceName));
+            if (baseUrl == null) {
+                return failure("No endpoint known for service " + serviceName + "; pass a baseUrl parameter");
+            }
+            double sloMs = number(parameters, "sloMs", 500);
+            double maxErrorRate = number(parameters, "maxErrorRate", 0.01);
+            CapacitySearch search = CapacitySearch.builder()
+                .minRate(number(parameters, "minRate", 10))
+                .maxRate(number(parameters, "maxRate", 1000))
+                .probeDuration(LoadStage.parseDuration(text(parameters, "probeDuration", "30s")))
+                .warmupDuration(LoadStage.parseDuration(text(parameters, "warmupDuration", "5s")))
+                .cooldown(LoadStage.parseDuration(text(parameters, "cooldown", "5s")))
+                .sloPercentile(number(parameters, "sloPercentile", 99))
+                .sloMs(sloMs)
+                .maxErrorRate(maxErrorRate)
+                .precision(number(parameters, "precision", 0.05))
+                .maxProbes((int) number(parameters, "maxProbes", 12))
+                .build();
+            // The template's stage is a placeholder; every probe replaces it
+            LoadProfile template = profile("capacity-" + serviceName, parameters)
+                .maxErrorRate(maxErrorRate)
+                .stage("1s", 1)
+                .build();
+            
+            CapacityResult capacity = loadGenerator.searchCapacity(baseUrl, template, search);
+            Map<String, Object> data = new HashMap<>(capacity.toMap());
+            data.put("service", serviceName);
+            data.put("testType", "CAPACITY_SEARCH");
+            data.put("target", template.getMethod() + " " + baseUrl + template.getPath());
+            
             return ExecutionResult.builder()
-                .success(false)
-                .message("Endurance test execution failed: " + e.getMessage())
+                .success(capacity.isFound() && !capacity.isInterrupted())
+                .message("Capacity search " + serviceName + ": " + capacity.describe())
+                .serviceName(serviceName)
+                .data(data)
                 .timestamp(LocalDateTime.now())
                 .build();
+        } catch (Exception e) {
+            log.error("Capacity search failed for {}: {}", serviceName, e.getMessage());
+            return failure("Capacity search failed: " + e.getMessage());
         }
     }
 
@@ -301,4 +282,147 @@ public class PerformanceExecutionService {
             )
         );
     }
+
+    private ExecutionResult run(String serviceName, String testType, LoadProfile profile, Map<String, Object> parameters) {
+        String baseUrl = text(parameters, "baseUrl", microserviceIntegrationService.getServiceEndpoint(serviceName));
+        if (baseUrl == null) {
+            return failure("No endpoint known for service " + serviceName + "; pass a baseUrl parameter");
+        }
+        
+        LocalDateTime startTime = LocalDateTime.now();
+        LoadTestResult result = loadGenerator.run(baseUrl, profile);
+        TestResult testResult = result.toTestResult(serviceName, TestType.PERFORMANCE_TEST, startTime);
+        testResult.setTags(testType);
+        List<RegressionVerdict> regressions = checkRegressions(testResult);
+        publish(testResult);
+        
+        Map<String, Object> data = new HashMap<>(testResult.getPerformanceMetrics());
+        data.put("testResultId", testResult.getTestId());
+        data.put("service", serviceName);
+        data.put("testType", testType);
+        data.put("target", profile.getMethod() + " " + baseUrl + profile.getPath());
+        data.put("stages", profile.getStages().stream().map(LoadStage::toString).toList());
+        
+        boolean passed = result.passesThresholds();
+        String regressionNote = regressions.isEmpty() ? ""
+            : "; regression: " + regressions.stream().map(RegressionVerdict::describe).collect(Collectors.joining("; "));
+        return ExecutionResult.builder()
+            .success(passed && regressions.isEmpty())
+            .message(String.format("%s %s: p95 %.1f ms, error rate %.2f%%, %.1f req/s%s",
+                testType, passed ? "passed" : "failed thresholds",
+                result.getResponseTimeMs(95), result.getErrorRate() * 100, result.getThroughput(), regressionNote))
+            .serviceName(serviceName)
+            .data(data)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+
+    /**
+     * Compare the run with its baseline and record the verdicts in its metrics; a regression fails the test result
+     */
+    private List<RegressionVerdict> checkRegressions(TestResult testResult) {
+        List<RegressionVerdict> verdicts = regressionDetector.evaluate(testResult);
+        testResult.getPerformanceMetrics().put("regressionChecks",
+            verdicts.stream().map(RegressionVerdict::toMap).collect(Collectors.toList()));
+        List<RegressionVerdict> regressions = verdicts.stream()
+            .filter(RegressionVerdict::isRegression)
+            .collect(Collectors.toList());
+        if (!regressions.isEmpty()) {
+            testResult.setStatus(TestStatus.FAILED);
+            testResult.setErrorMessage(regressions.stream().map(RegressionVerdict::describe).collect(Collectors.joining("; ")));
+        }
+        return regressions;
+    }
+
+    private void publish(TestResult result) {
+        memoryManager.addTestResult(result);
+        TestResultService service = testResultService.getIfAvailable();
+        if (service != null) {
+            try {
+                service.saveTestResult(result);
+            } catch (RuntimeException e) {
+                log.warn("Could not save test result {}: {}", result.getTestId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Request template and thresholds shared by every test type
+     */
+    @SuppressWarnings("unchecked")
+    private LoadProfile.Builder profile(String name, Map<String, Object> parameters) {
+        LoadProfile.Builder builder = LoadProfile.builder()
+            .name(name)
+            .method(text(parameters, "method", "GET"))
+            .path(text(parameters, "path", text(parameters, "endpoint", "/actuator/health")))
+            .body(text(parameters, "body", null))
+            .maxInFlight((int) number(parameters, "maxInFlight", maxInFlight))
+            .requestTimeout(LoadStage.parseDuration(text(parameters, "requestTimeout", requestTimeout)))
+            .p95ThresholdMs(number(parameters, "p95ThresholdMs", 500))
+            .maxErrorRate(number(parameters, "maxErrorRate", 0.01));
+        if (parameters.get("headers") instanceof Map) {
+            ((Map<String, Object>) parameters.get("headers"))
+                .forEach((header, value) -> builder.header(header, String.valueOf(value)));
+        }
+        if (parameters.get("body") != null && !parameters.containsKey("headers")) {
+            builder.header("Content-Type", "application/json");
+        }
+        return builder;
+    }
+
+    private static List<LoadStage> stages(Object value) {
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("stages must be a list of {duration, target} entries");
+        }
+        List<LoadStage> stages = new ArrayList<>();
+        for (Object entry : (List<?>) value) {
+            if (!(entry instanceof Map)) {
+                throw new IllegalArgumentException("Invalid stage: " + entry);
+            }
+            Map<?, ?> stage = (Map<?, ?>) entry;
+            stages.add(LoadStage.of(String.valueOf(stage.get("duration")), toDouble(stage.get("target"))));
+        }
+        return stages;
+    }
+
+    /**
+     * First rate parameter present among the keys, in order
+     */
+    private static double rate(Map<String, Object> parameters, double defaultRate, String... keys) {
+        for (String key : keys) {
+            if (parameters.get(key) != null) {
+                return toDouble(parameters.get(key));
+            }
+        }
+        return defaultRate;
+    }
+
+    private static double number(Map<String, Object> parameters, String key, double defaultValue) {
+        Object value = parameters.get(key);
+        return value != null ? toDouble(value) : defaultValue;
+    }
+
+    private static String text(Map<String, Object> parameters, String key, String defaultValue) {
+        Object value = parameters.get(key);
+        return value != null ? String.valueOf(value) : defaultValue;
+    }
+
+    private static double toDouble(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+
+    private static ExecutionResult failure(String message) {
+        return ExecutionResult.builder()
+            .success(false)
+            .message(message)
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
 }
@@ -0,0 +1,159 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.model.TestResult;
+import com.kb.jarvis.core.model.TestStatus;
+import com.kb.jarvis.core.model.TestType;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.TestTag;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * JUnit Platform listener that turns every finished test into a TestResult and hands it to the
+ * sink as soon as it completes, rather than after the whole shard has run.
+ *
+ * A container that fails on its own (e.g. in a @BeforeAll) is reported as one failed result,
+ * since the tests inside it never start.
+ */
+class StreamingTestListener implements TestExecutionListener {
+
+    private static final int MAX_STACK_TRACE_CHARS = 8000;
+
+    private final String serviceName;
+    private final TestType testType;
+    private final Consumer<TestResult> sink;
+    private final Map<String, Long> startNanos = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> startTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger passed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger skipped = new AtomicInteger();
+    private volatile TestPlan testPlan;
+
+    StreamingTestListener(String serviceName, TestType testType, Consumer<TestResult> sink) {
+        this.serviceName = serviceName;
+        this.testType = testType;
+        this.sink = sink;
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        this.testPlan = testPlan;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        startNanos.put(identifier.getUniqueId(), System.nanoTime());
+        startTimes.put(identifier.getUniqueId(), LocalDateTime.now());
+    }
+
+    @Override
+    public void executionSkipped(TestIdentifier identifier, String reason) {
+        if (identifier.isTest()) {
+            skipped.incrementAndGet();
+            LocalDateTime now = LocalDateTime.now();
+            emit(identifier, TestStatus.SKIPPED, now, now, 0, reason, null);
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long started = startNanos.remove(identifier.getUniqueId());
+        LocalDateTime startTime = startTimes.remove(identifier.getUniqueId());
+        boolean containerFailure = identifier.isContainer() && result.getStatus() == TestExecutionResult.Status.FAILED;
+        if (!identifier.isTest() && !containerFailure) {
+            return;
+        }
+
+        long elapsedNanos = started != null ? System.nanoTime() - started : 0;
+        LocalDateTime endTime = LocalDateTime.now();
+        Throwable throwable = result.getThrowable().orElse(null);
+        TestStatus status;
+        switch (result.getStatus()) {
+            case SUCCESSFUL:
+                status = TestStatus.PASSED;
+                passed.incrementAndGet();
+                break;
+            case ABORTED:
+                // Failed assumptions abort a test; JUnit reports those as skipped, and so do we
+                status = TestStatus.SKIPPED;
+                skipped.incrementAndGet();
+                break;
+            default:
+                status = TestStatus.FAILED;
+                failed.incrementAndGet();
+                break;
+        }
+        emit(identifier, status, startTime != null ? startTime : endTime, endTime, elapsedNanos,
+            throwable != null ? String.valueOf(throwable.getMessage()) : null, throwable);
+    }
+
+    int getPassed() {
+        return passed.get();
+    }
+
+    int getFailed() {
+        return failed.get();
+    }
+
+    int getSkipped() {
+        return skipped.get();
+    }
+
+    private void emit(TestIdentifier identifier, TestStatus status, LocalDateTime startTime,
+                      LocalDateTime endTime, long elapsedNanos, String message, Throwable throwable) {
+        sink.accept(TestResult.builder()
+            .testId(identifier.getUniqueId())
+            .testName(testName(identifier))
+            .serviceName(serviceName)
+            .testType(testType)
+            .status(status)
+            .startTime(startTime)
+            .endTime(endTime)
+            .executionTimeMs(elapsedNanos / 1_000_000)
+            .duration(elapsedNanos / 1_000_000_000.0)
+            .errorMessage(message)
+            .stackTrace(throwable != null ? stackTrace(throwable) : null)
+            .tags(tags(identifier))
+            .timestamp(endTime)
+            .createdAt(endTime)
+            .build());
+    }
+
+    private String testName(TestIdentifier identifier) {
+        TestPlan plan = testPlan;
+        if (plan != null) {
+            // Qualify the display name with its class so results from different classes stay apart
+            return plan.getParent(identifier)
+                .map(parent -> parent.getLegacyReportingName() + "#" + identifier.getDisplayName())
+                .orElse(identifier.getDisplayName());
+        }
+        return identifier.getDisplayName();
+    }
+
+    private static String tags(TestIdentifier identifier) {
+        if (identifier.getTags().isEmpty()) {
+            return null;
+        }
+        return identifier.getTags().stream()
+            .map(TestTag::getName)
+            .sorted()
+            .collect(Collectors.joining(","));
+    }
+
+    private static String stackTrace(Throwable throwable) {
+        StringWriter writer = new StringWriter();
+        throwable.printStackTrace(new PrintWriter(writer));
+        String trace = writer.toString();
+        return trace.length() > MAX_STACK_TRACE_CHARS ? trace.substring(0, MAX_STACK_TRACE_CHARS) : trace;
+    }
+}
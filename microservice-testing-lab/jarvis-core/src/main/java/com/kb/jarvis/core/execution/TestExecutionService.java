@@ -1,7 +1,6 @@
 package com.kb.jarvis.core.execution;
 
 import com.kb.jarvis.core.model.*;
-import com.kb.jarvis.core.service.MicroserviceIntegrationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +11,7 @@ import java.util.*;
 
 /**
  * Test Execution Service
- * Handles execution of various test types
+ * Handles execution of various test types by running the compiled agent suites through TestSuiteRunner
  */
 @Service
 public class TestExecutionService {
@@ -20,369 +19,137 @@ public class TestExecutionService {
     private static final Logger log = LoggerFactory.getLogger(TestExecutionService.class);
 
     @Autowired
-    private MicroserviceIntegrationService microserviceIntegrationService;
+    private TestSuiteRunner testSuiteRunner;
 
     /**
      * Execute unit tests
      */
     public ExecutionResult executeUnitTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing unit tests for service: {}", serviceName);
-        
-        try {
-            // Simulate unit test execution
-            // In real implementation, this would call Maven/Gradle test runners
-            Thread.sleep(2000); // Simulate test execution time
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Unit tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "UNIT_TEST",
-                    "testsRun", 45,
-                    "testsPassed", 43,
-                    "testsFailed", 2,
-                    "coverage", "87.5%",
-                    "duration", "2.3s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Unit test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Unit test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.UNIT_TEST, parameters);
     }
 
     /**
      * Execute integration tests
      */
     public ExecutionResult executeIntegrationTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing integration tests for service: {}", serviceName);
-        
-        try {
-            // Simulate integration test execution
-            Thread.sleep(5000); // Simulate longer execution time
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Integration tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "INTEGRATION_TEST",
-                    "testsRun", 12,
-                    "testsPassed", 11,
-                    "testsFailed", 1,
-                    "duration", "4.8s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Integration test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Integration test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.INTEGRATION_TEST, parameters);
     }
 
     /**
      * Execute API tests
      */
     public ExecutionResult executeApiTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing API tests for service: {}", serviceName);
-        
-        try {
-            // Simulate API test execution
-            Thread.sleep(3000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("API tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "API_TEST",
-                    "endpointsTested", 8,
-                    "testsPassed", 8,
-                    "testsFailed", 0,
-                    "avgResponseTime", "145ms",
-                    "duration", "2.9s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("API test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("API test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.API_TEST, parameters);
     }
 
     /**
      * Execute contract tests
      */
     public ExecutionResult executeContractTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing contract tests for service: {}", serviceName);
-        
-        try {
-            // Simulate contract test execution
-            Thread.sleep(2500);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Contract tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "CONTRACT_TEST",
-                    "contractsTested", 5,
-                    "contractsPassed", 5,
-                    "contractsFailed", 0,
-                    "duration", "2.4s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Contract test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Contract test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.CONTRACT_TEST, parameters);
     }
 
     /**
      * Execute end-to-end tests
      */
     public ExecutionResult executeEndToEndTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing end-to-end tests for service: {}", serviceName);
-        
-        try {
-            // Simulate E2E test execution
-            Thread.sleep(8000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("End-to-end tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "END_TO_END_TEST",
-                    "scenariosTested", 3,
-                    "scenariosPassed", 3,
-                    "scenariosFailed", 0,
-                    "duration", "7.8s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("E2E test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("E2E test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.END_TO_END_TEST, parameters);
     }
 
     /**
      * Execute smoke tests
      */
     public ExecutionResult executeSmokeTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing smoke tests for service: {}", serviceName);
-        
-        try {
-            // Simulate smoke test execution
-            Thread.sleep(1500);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Smoke tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "SMOKE_TEST",
-                    "testsRun", 6,
-                    "testsPassed", 6,
-                    "testsFailed", 0,
-                    "duration", "1.4s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Smoke test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Smoke test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.SMOKE_TEST, parameters);
     }
 
     /**
      * Execute regression tests
      */
     public ExecutionResult executeRegressionTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing regression tests for service: {}", serviceName);
-        
-        try {
-            // Simulate regression test execution
-            Thread.sleep(6000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Regression tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "REGRESSION_TEST",
-                    "testsRun", 28,
-                    "testsPassed", 27,
-                    "testsFailed", 1,
-                    "duration", "5.9s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Regression test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Regression test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.REGRESSION_TEST, parameters);
     }
 
     /**
      * Execute exploratory tests
      */
     public ExecutionResult executeExploratoryTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing exploratory tests for service: {}", serviceName);
-        
-        try {
-            // Simulate exploratory test execution
-            Thread.sleep(4000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Exploratory tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "EXPLORATORY_TEST",
-                    "areasExplored", 4,
-                    "issuesFound", 2,
-                    "duration", "3.8s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Exploratory test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Exploratory test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.EXPLORATORY_TEST, parameters);
     }
 
     /**
      * Execute accessibility tests
      */
     public ExecutionResult executeAccessibilityTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing accessibility tests for service: {}", serviceName);
-        
-        try {
-            // Simulate accessibility test execution
-            Thread.sleep(3500);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Accessibility tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "ACCESSIBILITY_TEST",
-                    "pagesTested", 5,
-                    "violationsFound", 1,
-                    "wcagLevel", "AA",
-                    "duration", "3.4s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Accessibility test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Accessibility test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.ACCESSIBILITY_TEST, parameters);
     }
 
     /**
      * Execute compatibility tests
      */
     public ExecutionResult executeCompatibilityTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing compatibility tests for service: {}", serviceName);
-        
-        try {
-            // Simulate compatibility test execution
-            Thread.sleep(5000);
-            
-            return ExecutionResult.builder()
-                .success(true)
-                .message("Compatibility tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "COMPATIBILITY_TEST",
-                    "browsersTested", 4,
-                    "osTested", 3,
-                    "compatibilityIssues", 0,
-                    "duration", "4.9s"
-                ))
-                .timestamp(LocalDateTime.now())
-                .build();
-        } catch (Exception e) {
-            log.error("Compatibility test execution failed for {}: {}", serviceName, e.getMessage());
-            return ExecutionResult.builder()
-                .success(false)
-                .message("Compatibility test execution failed: " + e.getMessage())
-                .timestamp(LocalDateTime.now())
-                .build();
-        }
+        return runSuite(serviceName, TestType.COMPATIBILITY_TEST, parameters);
     }
 
     /**
      * Execute localization tests
      */
     public ExecutionResult executeLocalizationTests(String serviceName, Map<String, Object> parameters) {
-        log.info("Executing localization tests for service: {}", serviceName);
+        return runSuite(serviceName, TestType.LOCALIZATION_TEST, parameters);
+    }
+
+    private ExecutionResult runSuite(String serviceName, TestType testType, Map<String, Object> parameters) {
+        log.info("Executing {} for service: {}", testType.getDisplayName(), serviceName);
         
         try {
-            // Simulate localization test execution
-            Thread.sleep(3000);
+            TestRunSummary summary = testSuiteRunner.run(serviceName, testType, parameters);
+            
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("service", serviceName);
+            data.put("testType", testType.name());
+            data.put("testsRun", summary.getTestsRun());
+            data.put("testsPassed", summary.getTestsPassed());
+            data.put("testsFailed", summary.getTestsFailed());
+            data.put("testsSkipped", summary.getTestsSkipped());
+            data.put("shards", summary.getShardDurationsMs().size());
+            data.put("shardDurationsMs", summary.getShardDurationsMs());
+            data.put("serialDuration", formatSeconds(summary.getSerialDurationMs()));
+            data.put("duration", formatSeconds(summary.getWallClockMs()));
+            data.put("timedOut", summary.isTimedOut());
             
             return ExecutionResult.builder()
-                .success(true)
-                .message("Localization tests executed successfully")
-                .data(Map.of(
-                    "service", serviceName,
-                    "testType", "LOCALIZATION_TEST",
-                    "languagesTested", 3,
-                    "localizationIssues", 0,
-                    "duration", "2.9s"
-                ))
+                .success(summary.isSuccessful())
+                .message(summaryMessage(testType, summary))
+                .data(data)
+                .serviceName(serviceName)
+                .testType(testType)
+                .duration(formatSeconds(summary.getWallClockMs()))
                 .timestamp(LocalDateTime.now())
                 .build();
         } catch (Exception e) {
-            log.error("Localization test execution failed for {}: {}", serviceName, e.getMessage());
+            log.error("{} execution failed for {}: {}", testType.getDisplayName(), serviceName, e.getMessage());
             return ExecutionResult.builder()
                 .success(false)
-                .message("Localization test execution failed: " + e.getMessage())
+                .message(testType.getDisplayName() + " execution failed: " + e.getMessage())
+                .serviceName(serviceName)
+                .testType(testType)
                 .timestamp(LocalDateTime.now())
                 .build();
         }
     }
+
+    private static String summaryMessage(TestType testType, TestRunSummary summary) {
+        if (summary.isTimedOut()) {
+            return testType.getDisplayName() + " run timed out";
+        }
+        if (summary.getTestsRun() == 0) {
+            return "No " + testType.getDisplayName().toLowerCase() + "s found";
+        }
+        return String.format("%s run: %d passed, %d failed, %d skipped",
+            testType.getDisplayName(), summary.getTestsPassed(), summary.getTestsFailed(), summary.getTestsSkipped());
+    }
+
+    private static String formatSeconds(long millis) {
+        return String.format("%.1fs", millis / 1000.0);
+    }
 }
@@ -0,0 +1,79 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.model.TestType;
+
+import java.util.List;
+
+/**
+ * Totals of one sharded suite run
+ */
+public class TestRunSummary {
+
+    private final String serviceName;
+    private final TestType testType;
+    private final int testsPassed;
+    private final int testsFailed;
+    private final int testsSkipped;
+    private final List<Long> shardDurationsMs;
+    private final long wallClockMs;
+    private final boolean timedOut;
+
+    public TestRunSummary(String serviceName, TestType testType, int testsPassed, int testsFailed, int testsSkipped,
+                          List<Long> shardDurationsMs, long wallClockMs, boolean timedOut) {
+        this.serviceName = serviceName;
+        this.testType = testType;
+        this.testsPassed = testsPassed;
+        this.testsFailed = testsFailed;
+        this.testsSkipped = testsSkipped;
+        this.shardDurationsMs = List.copyOf(shardDurationsMs);
+        this.wallClockMs = wallClockMs;
+        this.timedOut = timedOut;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public TestType getTestType() {
+        return testType;
+    }
+
+    public int getTestsRun() {
+        return testsPassed + testsFailed + testsSkipped;
+    }
+
+    public int getTestsPassed() {
+        return testsPassed;
+    }
+
+    public int getTestsFailed() {
+        return testsFailed;
+    }
+
+    public int getTestsSkipped() {
+        return testsSkipped;
+    }
+
+    public List<Long> getShardDurationsMs() {
+        return shardDurationsMs;
+    }
+
+    /**
+     * Sum of the shard durations, i.e. what running them one after another would have taken
+     */
+    public long getSerialDurationMs() {
+        return shardDurationsMs.stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getWallClockMs() {
+        return wallClockMs;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public boolean isSuccessful() {
+        return !timedOut && testsFailed == 0 && getTestsRun() > 0;
+    }
+}
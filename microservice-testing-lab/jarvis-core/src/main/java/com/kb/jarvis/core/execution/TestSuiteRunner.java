@@ -0,0 +1,404 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.memory.MemoryManager;
+import com.kb.jarvis.core.model.TestResult;
+import com.kb.jarvis.core.model.TestType;
+import com.kb.jarvis.core.service.TestResultService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.Filter;
+import org.junit.platform.engine.discovery.ClassNameFilter;
+import org.junit.platform.engine.discovery.DiscoverySelectors;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.TagFilter;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the compiled JUnit suites of the agent modules in-process through the JUnit Platform launcher.
+ *
+ * A run discovers the test classes under the suite's classpath roots, splits them into shards of
+ * roughly equal test count and executes the shards in parallel on a bounded worker pool, so the
+ * wall-clock of a run is that of its slowest shard. Each service may only occupy a limited number
+ * of workers at a time; a run waits for its service's slots before handing a shard to the pool. Every test result is published to memory (and the database, when
+ * TestResultService is available) as soon as the test finishes.
+ *
+ * Suites are configured per service and test type, e.g.
+ * {@code jarvis.execution.suites.user-service.api-test: ../agents/api-testing/user-service-api-tests/target/test-classes}.
+ * Only configured suites are run: a run loads and executes whatever classes its roots contain, so
+ * the roots never come from the request.
+ */
+@Component
+public class TestSuiteRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TestSuiteRunner.class);
+
+    private static final String SUITES_PREFIX = "jarvis.execution.suites.";
+
+    @Value("${jarvis.execution.worker-threads:8}")
+    private int workerThreads;
+
+    @Value("${jarvis.execution.per-service-concurrency:4}")
+    private int perServiceConcurrency;
+
+    @Value("${jarvis.execution.max-shards:4}")
+    private int maxShards;
+
+    @Value("${jarvis.execution.run-timeout-ms:900000}")
+    private long runTimeoutMs;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MemoryManager memoryManager;
+
+    @Autowired
+    private ObjectProvider<TestResultService> testResultService;
+
+    private final Map<String, Semaphore> serviceSlots = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void initialize() {
+        AtomicInteger threadCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "jarvis-test-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Test suite runner started with {} worker(s), {} per service", workerThreads, perServiceConcurrency);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Discover and run the suite of the given service and test type
+     */
+    public TestRunSummary run(String serviceName, TestType testType, Map<String, Object> parameters) throws IOException {
+        List<Path> roots = resolveTestRoots(serviceName, testType, parameters);
+        URLClassLoader loader = createClassLoader(roots, resolveClasspath(serviceName));
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(runTimeoutMs);
+        List<CompletableFuture<ShardOutcome>> shards = new ArrayList<>();
+        boolean scheduled = true;
+        try {
+            List<Filter<?>> filters = filters(parameters);
+            List<List<String>> classShards = shard(discoverTestClasses(loader, roots, filters), shardCount());
+            log.info("Running {} {} test class(es) for {} in {} shard(s)",
+                classShards.stream().mapToInt(List::size).sum(), testType, serviceName, classShards.size());
+
+            // Wait for the service's slots on the calling thread, so a busy service queues its callers
+            // instead of parking pool workers that other services could use
+            Semaphore slots = serviceSlots.computeIfAbsent(serviceName, key -> new Semaphore(perServiceConcurrency, true));
+            for (List<String> classNames : classShards) {
+                if (!acquire(slots, deadline)) {
+                    scheduled = false;
+                    break;
+                }
+                CompletableFuture<ShardOutcome> shard;
+                try {
+                    shard = CompletableFuture.supplyAsync(
+                        () -> runShard(serviceName, testType, loader, classNames, filters), workers);
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    throw e;
+                }
+                shard.whenComplete((outcome, error) -> slots.release());
+                shards.add(shard);
+            }
+        } finally {
+            // Shards that outlive a timed-out run still need the loader; close it once they are all done
+            CompletableFuture.allOf(shards.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((result, error) -> closeQuietly(loader));
+        }
+        return collect(serviceName, testType, shards, started, deadline, !scheduled);
+    }
+
+    /**
+     * Take one of the service's slots, waiting no longer than the run may last
+     */
+    private static boolean acquire(Semaphore slots, long deadline) {
+        try {
+            return slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private TestRunSummary collect(String serviceName, TestType testType, List<CompletableFuture<ShardOutcome>> shards,
+                                   long started, long deadline, boolean unscheduled) {
+        int passed = 0;
+        int failed = 0;
+        int skipped = 0;
+        boolean timedOut = unscheduled;
+        List<Long> shardDurations = new ArrayList<>();
+        for (CompletableFuture<ShardOutcome> shard : shards) {
+            try {
+                ShardOutcome outcome = shard.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                passed += outcome.passed;
+                failed += outcome.failed;
+                skipped += outcome.skipped;
+                shardDurations.add(outcome.durationMs);
+            } catch (TimeoutException e) {
+                // The launcher cannot be stopped mid-test; the shard finishes in the background
+                timedOut = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut = true;
+            } catch (ExecutionException e) {
+                log.error("Test shard for {} failed to run: {}", serviceName, e.getCause().getMessage());
+                failed++;
+            }
+        }
+        long wallClockMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        if (timedOut) {
+            log.warn("{} run for {} exceeded {} ms; unfinished or unscheduled shards were abandoned",
+                testType, serviceName, runTimeoutMs);
+        }
+        return new TestRunSummary(serviceName, testType, passed, failed, skipped, shardDurations, wallClockMs, timedOut);
+    }
+
+    private ShardOutcome runShard(String serviceName, TestType testType, ClassLoader loader,
+                                  List<String> classNames, List<Filter<?>> filters) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(loader);
+            List<DiscoverySelector> selectors = classNames.stream()
+                .map(className -> DiscoverySelectors.selectClass(loader, className))
+                .collect(Collectors.toList());
+            LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectors)
+                .filters(filters.toArray(new Filter<?>[0]))
+                .build();
+
+            StreamingTestListener listener = new StreamingTestListener(serviceName, testType, this::publish);
+            long started = System.nanoTime();
+            LauncherFactory.create().execute(request, listener);
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.debug("Shard of {} class(es) for {} finished in {} ms", classNames.size(), serviceName, durationMs);
+            return new ShardOutcome(listener.getPassed(), listener.getFailed(), listener.getSkipped(), durationMs);
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private void publish(TestResult result) {
+        memoryManager.addTestResult(result);
+        TestResultService service = testResultService.getIfAvailable();
+        if (service != null) {
+            try {
+                service.saveTestResult(result);
+            } catch (RuntimeException e) {
+                log.warn("Could not save test result {}: {}", result.getTestId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Top-level test classes under the roots with the number of tests each contains
+     */
+    private Map<String, Long> discoverTestClasses(ClassLoader loader, List<Path> roots, List<Filter<?>> filters) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try {
+            // Classpath scanning loads the classes it finds through the context class loader
+            thread.setContextClassLoader(loader);
+            Launcher launcher = LauncherFactory.create();
+            TestPlan plan = launcher.discover(LauncherDiscoveryRequestBuilder.request()
+                .selectors(DiscoverySelectors.selectClasspathRoots(Set.copyOf(roots)))
+                .filters(filters.toArray(new Filter<?>[0]))
+                .build());
+
+            Map<String, Long> testCounts = new LinkedHashMap<>();
+            for (TestIdentifier engine : plan.getRoots()) {
+                for (TestIdentifier container : plan.getChildren(engine)) {
+                    container.getSource()
+                        .filter(ClassSource.class::isInstance)
+                        .map(source -> ((ClassSource) source).getClassName())
+                        .ifPresent(className -> testCounts.merge(className,
+                            plan.getDescendants(container).stream().filter(TestIdentifier::isTest).count(), Long::sum));
+                }
+            }
+            return testCounts;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * Split classes into at most {@code count} shards, placing the largest classes first onto the
+     * least loaded shard so the shards finish at about the same time
+     */
+    static List<List<String>> shard(Map<String, Long> testCounts, int count) {
+        int shardCount = Math.max(1, Math.min(count, testCounts.size()));
+        List<List<String>> shards = new ArrayList<>();
+        long[] load = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        testCounts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .forEach(entry -> {
+                int lightest = 0;
+                for (int i = 1; i < shardCount; i++) {
+                    if (load[i] < load[lightest]) {
+                        lightest = i;
+                    }
+                }
+                shards.get(lightest).add(entry.getKey());
+                load[lightest] += Math.max(1, entry.getValue());
+            });
+        shards.removeIf(List::isEmpty);
+        return shards;
+    }
+
+    private int shardCount() {
+        // More shards than a service may run at once would only queue behind its own permits
+        return Math.max(1, Math.min(maxShards, Math.min(perServiceConcurrency, workerThreads)));
+    }
+
+    private List<Filter<?>> filters(Map<String, Object> parameters) {
+        List<Filter<?>> filters = new ArrayList<>();
+        List<String> classNamePatterns = listParameter(parameters, "classNamePattern");
+        filters.add(classNamePatterns.isEmpty()
+            ? ClassNameFilter.includeClassNamePatterns(ClassNameFilter.STANDARD_INCLUDE_PATTERN)
+            : ClassNameFilter.includeClassNamePatterns(classNamePatterns.toArray(new String[0])));
+        List<String> tags = listParameter(parameters, "tags");
+        if (!tags.isEmpty()) {
+            filters.add(TagFilter.includeTags(tags));
+        }
+        List<String> excludedTags = listParameter(parameters, "excludeTags");
+        if (!excludedTags.isEmpty()) {
+            filters.add(TagFilter.excludeTags(excludedTags));
+        }
+        return filters;
+    }
+
+    private List<Path> resolveTestRoots(String serviceName, TestType testType, Map<String, Object> parameters) {
+        if (parameters != null && parameters.containsKey("testClasspath")) {
+            throw new IllegalArgumentException("testClasspath is not accepted per request; configure "
+                + SUITES_PREFIX + serviceName + "." + suiteKey(testType));
+        }
+        List<String> configured = split(environment.getProperty(SUITES_PREFIX + serviceName + "." + suiteKey(testType)));
+        List<Path> roots = configured.stream()
+            .map(Paths::get)
+            .filter(Files::exists)
+            .collect(Collectors.toList());
+        if (roots.isEmpty()) {
+            throw new IllegalStateException("No compiled " + testType.getDisplayName() + " suite found for " + serviceName
+                + (configured.isEmpty() ? "; configure " + SUITES_PREFIX + serviceName + "." + suiteKey(testType)
+                    : " at " + configured));
+        }
+        return roots;
+    }
+
+    /**
+     * Extra jars or directories the suites of a service need at runtime beyond the application classpath
+     */
+    private List<Path> resolveClasspath(String serviceName) {
+        return split(environment.getProperty(SUITES_PREFIX + serviceName + ".classpath")).stream()
+            .map(Paths::get)
+            .collect(Collectors.toList());
+    }
+
+    private static URLClassLoader createClassLoader(List<Path> roots, List<Path> classpath) throws MalformedURLException {
+        List<URL> urls = new ArrayList<>();
+        for (Path path : roots) {
+            urls.add(path.toUri().toURL());
+        }
+        for (Path path : classpath) {
+            urls.add(path.toUri().toURL());
+        }
+        return new URLClassLoader("jarvis-test-suite", urls.toArray(new URL[0]), TestSuiteRunner.class.getClassLoader());
+    }
+
+    private static void closeQuietly(URLClassLoader loader) {
+        try {
+            loader.close();
+        } catch (IOException e) {
+            log.debug("Could not close test suite class loader: {}", e.getMessage());
+        }
+    }
+
+    private static String suiteKey(TestType testType) {
+        return testType.name().toLowerCase().replace('_', '-');
+    }
+
+    private static List<String> listParameter(Map<String, Object> parameters, String name) {
+        Object value = parameters != null ? parameters.get(name) : null;
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).stream().map(String::valueOf).collect(Collectors.toList());
+        }
+        return split(value != null ? value.toString() : null);
+    }
+
+    private static List<String> split(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .collect(Collectors.toList());
+    }
+
+    private static final class ShardOutcome {
+
+        private final int passed;
+        private final int failed;
+        private final int skipped;
+        private final long durationMs;
+
+        private ShardOutcome(int passed, int failed, int skipped, long durationMs) {
+            this.passed = passed;
+            this.failed = failed;
+            this.skipped = skipped;
+            this.durationMs = durationMs;
+        }
+    }
+}
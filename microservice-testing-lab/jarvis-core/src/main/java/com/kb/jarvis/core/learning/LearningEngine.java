@@ -3,6 +3,8 @@ package com.kb.jarvis.core.learning;
 import com.kb.jarvis.core.model.*;
 import com.kb.jarvis.core.memory.MemoryManager;
 import com.kb.jarvis.core.context.ContextManager;
+import com.kb.jarvis.core.context.MetricsCollector;
+import com.kb.jarvis.core.timeseries.MetricHistoryStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +30,9 @@ public class LearningEngine {
     @Autowired
     private ContextManager contextManager;
     
+    @Autowired
+    private MetricHistoryStore metricHistoryStore;
+    
     @Value("${jarvis.learning.min-data-points:10}")
     private int minDataPoints;
     
@@ -150,6 +155,9 @@ public class LearningEngine {
         
         // Trend 4: Service usage trends
         updateServiceUsageTrend(now);
+        
+        // Trend 5: Resource and response time trends from the metric history
+        updateResourceTrends();
     }
     
     private void generateOptimizations(UserIntent intent, AIAnalysis analysis, DecisionAction action) {
@@ -303,6 +311,37 @@ public class LearningEngine {
         memoryManager.addLearningData(learningData);
     }
     
+    private void updateResourceTrends() {
+        updateHistoryTrend("cpu_usage", MetricsCollector.CPU_USAGE);
+        updateHistoryTrend("memory_usage", MetricsCollector.MEMORY_USAGE);
+        updateHistoryTrend("response_time", MetricsCollector.RESPONSE_TIME);
+        updateHistoryTrend("error_rate", MetricsCollector.ERROR_RATE);
+    }
+    
+    private void updateHistoryTrend(String trendName, String metric) {
+        // Last hour against the last day and week; the longer windows are answered from hour rollups
+        Double recent = metricHistoryStore.mean(metric, ChronoUnit.HOURS.getDuration().toMillis());
+        Double daily = metricHistoryStore.mean(metric, ChronoUnit.DAYS.getDuration().toMillis());
+        Double weekly = metricHistoryStore.mean(metric, ChronoUnit.WEEKS.getDuration().toMillis());
+        
+        if (recent == null || daily == null) {
+            return;
+        }
+        
+        TrendDirection direction = determineTrendDirection(recent, daily, weekly != null ? weekly : daily);
+        
+        Trend trend = Trend.builder()
+            .name(trendName)
+            .description("History trend of " + metric)
+            .currentValue(recent)
+            .previousValue(daily)
+            .direction(direction)
+            .confidence(0.7)
+            .build();
+        
+        trendCache.put(trendName, trend);
+    }
+    
     private void generateTestExecutionOptimizations() {
         List<TestResult> results = memoryManager.getTestResults();
         
@@ -536,6 +575,7 @@ public class LearningEngine {
             updatePerformanceTrend(now);
             updateRiskTrend(now);
             updateServiceUsageTrend(now);
+            updateResourceTrends();
             
             // Generate optimizations
             generateTestExecutionOptimizations();
@@ -0,0 +1,135 @@
+package com.kb.jarvis.core.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Fixed-capacity, lock-free ring of the most recent items.
+ *
+ * Writers claim a sequence number with one atomic increment and publish into slot
+ * {@code sequence % capacity}; once the ring is full that overwrites the oldest item. Readers take
+ * a snapshot by walking the last {@code capacity} sequences and keeping the slots that still hold
+ * the sequence they expect, so neither side ever blocks the other. An optional listener is told
+ * about every item that leaves the ring, whether overwritten or removed.
+ */
+public class ConcurrentRingBuffer<T> {
+    
+    private final int capacity;
+    private final AtomicReferenceArray<Cell<T>> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final LongAdder size = new LongAdder();
+    private final Consumer<? super T> evictionListener;
+    
+    public ConcurrentRingBuffer(int capacity) {
+        this(capacity, item -> { });
+    }
+    
+    public ConcurrentRingBuffer(int capacity, Consumer<? super T> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.evictionListener = evictionListener;
+    }
+    
+    public void add(T item) {
+        long sequence = nextSequence.getAndIncrement();
+        int index = (int) (sequence % capacity);
+        Cell<T> cell = new Cell<>(sequence, item);
+        size.increment();
+        for (;;) {
+            Cell<T> current = slots.get(index);
+            // A writer that lapped us already published a newer item; ours counts as evicted
+            if (current != null && current.sequence > sequence) {
+                evicted(item);
+                return;
+            }
+            if (slots.compareAndSet(index, current, cell)) {
+                if (current != null) {
+                    evicted(current.item);
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Items currently in the ring, oldest first
+     */
+    public List<T> snapshot() {
+        long end = nextSequence.get();
+        long start = Math.max(0, end - capacity);
+        List<T> items = new ArrayList<>((int) (end - start));
+        int index = (int) (start % capacity);
+        for (long sequence = start; sequence < end; sequence++) {
+            Cell<T> cell = slots.get(index);
+            if (cell != null && cell.sequence == sequence) {
+                items.add(cell.item);
+            }
+            if (++index == capacity) {
+                index = 0;
+            }
+        }
+        return items;
+    }
+    
+    /**
+     * Items matching the filter, oldest first
+     */
+    public List<T> snapshot(Predicate<? super T> filter) {
+        List<T> items = snapshot();
+        items.removeIf(item -> !filter.test(item));
+        return items;
+    }
+    
+    /**
+     * Clear every slot whose item matches the filter
+     *
+     * @return number of items removed
+     */
+    public int removeIf(Predicate<? super T> filter) {
+        int removed = 0;
+        for (int index = 0; index < capacity; index++) {
+            Cell<T> cell = slots.get(index);
+            // Losing the race to a writer is fine: the slot then holds a newer item
+            if (cell != null && filter.test(cell.item) && slots.compareAndSet(index, cell, null)) {
+                evicted(cell.item);
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Number of items in the ring, maintained on add and eviction rather than counted
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(capacity, size.sum()));
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    private void evicted(T item) {
+        size.decrement();
+        evictionListener.accept(item);
+    }
+    
+    private static final class Cell<T> {
+        
+        private final long sequence;
+        private final T item;
+        
+        private Cell(long sequence, T item) {
+            this.sequence = sequence;
+            this.item = item;
+        }
+    }
+}
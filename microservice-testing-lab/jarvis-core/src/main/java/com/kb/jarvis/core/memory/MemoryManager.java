@@ -1,13 +1,18 @@
 package com.kb.jarvis.core.memory;
 
 import com.kb.jarvis.core.model.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -26,40 +31,119 @@ public class MemoryManager {
     @Value("${jarvis.memory.cleanup-interval:3600000}") // 1 hour
     private long cleanupInterval;
     
-    // Memory storage by type
-    private final Map<String, List<MemoryEntry>> memoryStore = new ConcurrentHashMap<>();
+    @Value("${jarvis.memory.search-result-limit:100}")
+    private int searchResultLimit;
+    
+    @Value("${jarvis.memory.persistence.enabled:false}")
+    private boolean persistenceEnabled;
+    
+    @Value("${jarvis.memory.persistence.directory:./data/jarvis-memory}")
+    private String persistenceDirectory;
+    
+    @Value("${jarvis.memory.persistence.segment-size-bytes:67108864}") // 64 MB
+    private int segmentSizeBytes;
+    
+    private static final int MAX_RECENT_FAILURES = 100;
+    private static final int MAX_TEST_RESULTS = 1000;
+    private static final int MAX_LEARNING_DATA = 500;
+    
+    // Memory storage by type: bounded ring per type with key and timestamp indexes
+    private final Map<String, MemoryRingBuffer> memoryStore = new ConcurrentHashMap<>();
+    
+    // Full-text index over the memory store; entries leave it when the ring evicts or expires them
+    private final MemoryTextIndex textIndex = new MemoryTextIndex();
     
     // Active tests cache
     private final List<ActiveTest> activeTests = Collections.synchronizedList(new ArrayList<>());
     
     // Recent failures cache
-    private final List<TestFailure> recentFailures = Collections.synchronizedList(new ArrayList<>());
+    private final ConcurrentRingBuffer<TestFailure> recentFailures = new ConcurrentRingBuffer<>(MAX_RECENT_FAILURES);
+    
+    // Running counters over the test results cache, kept in step with its inserts and evictions
+    private final TestResultStatistics testResultStatistics = new TestResultStatistics();
     
     // Test results cache
-    private final List<TestResult> testResults = Collections.synchronizedList(new ArrayList<>());
+    private final ConcurrentRingBuffer<TestResult> testResults =
+        new ConcurrentRingBuffer<>(MAX_TEST_RESULTS, testResultStatistics::evict);
     
     // Learning data cache
-    private final List<LearningData> learningData = Collections.synchronizedList(new ArrayList<>());
+    private final ConcurrentRingBuffer<LearningData> learningData = new ConcurrentRingBuffer<>(MAX_LEARNING_DATA);
     
     // Pattern cache
     private final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
     
+    // Write-through log of memory entries and patterns; null when persistence is disabled
+    private volatile MemorySegmentLog segmentLog;
+    
+    @PostConstruct
+    public void recoverPersistentMemory() {
+        if (!persistenceEnabled) {
+            return;
+        }
+        
+        try {
+            long started = System.currentTimeMillis();
+            LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+            MemorySegmentLog recoveredLog = new MemorySegmentLog(Paths.get(persistenceDirectory), segmentSizeBytes);
+            int[] restored = new int[2];
+            
+            recoveredLog.recover(record -> {
+                if (MemoryRecordCodec.kind(record) == MemoryRecordCodec.KIND_PATTERN) {
+                    Pattern pattern = MemoryRecordCodec.decodePattern(record);
+                    patternCache.put(pattern.getName(), pattern);
+                    restored[1]++;
+                } else {
+                    MemoryEntry entry = MemoryRecordCodec.decodeMemoryEntry(record);
+                    // Segments are dropped whole, so a live segment can still hold expired records
+                    if (entry.getTimestamp() == null || !entry.getTimestamp().isBefore(cutoff)) {
+                        insertMemory(entry);
+                        restoreCachedRecord(entry);
+                        restored[0]++;
+                    }
+                }
+            });
+            
+            segmentLog = recoveredLog;
+            log.info("Restored {} memory entries and {} pattern record(s) from {} in {} ms",
+                restored[0], restored[1], persistenceDirectory, System.currentTimeMillis() - started);
+            
+        } catch (Exception e) {
+            log.error("Error recovering persistent memory from {}, continuing in-memory only: {}",
+                persistenceDirectory, e.getMessage(), e);
+        }
+    }
+    
+    @PreDestroy
+    public void closePersistentMemory() {
+        MemorySegmentLog currentLog = segmentLog;
+        if (currentLog != null) {
+            segmentLog = null;
+            currentLog.close();
+        }
+    }
+    
     public void storeMemory(MemoryEntry entry) {
         log.debug("Storing memory entry: {} - {}", entry.getType(), entry.getKey());
         
         try {
-            String type = entry.getType().toString();
-            memoryStore.computeIfAbsent(type, k -> Collections.synchronizedList(new ArrayList<>()))
-                      .add(entry);
-            
-            // Maintain memory size limits
-            enforceMemoryLimits(type);
+            insertMemory(entry);
+            persist(entry.getTimestamp(), MemoryRecordCodec.encode(entry));
             
         } catch (Exception e) {
             log.error("Error storing memory entry: {}", e.getMessage(), e);
         }
     }
     
+    private void insertMemory(MemoryEntry entry) {
+        String type = entry.getType().toString();
+        // Index first so the entry is never evicted from the ring before it is searchable
+        textIndex.add(entry);
+        
+        // The ring enforces the size limit itself by overwriting the oldest entry
+        memoryStore.computeIfAbsent(type, k -> new MemoryRingBuffer(maxEntries, textIndex::remove))
+                  .add(entry);
+    }
+    
     public List<MemoryEntry> retrieveMemory(String key) {
         log.debug("Retrieving memory for key: {}", key);
         
@@ -67,12 +151,8 @@ public class MemoryManager {
             List<MemoryEntry> results = new ArrayList<>();
             
             // Search across all memory types
-            for (List<MemoryEntry> entries : memoryStore.values()) {
-                synchronized (entries) {
-                    results.addAll(entries.stream()
-                        .filter(entry -> entry.getKey().equals(key))
-                        .collect(Collectors.toList()));
-                }
+            for (MemoryRingBuffer entries : memoryStore.values()) {
+                results.addAll(entries.findByKey(key));
             }
             
             return results;
@@ -87,11 +167,9 @@ public class MemoryManager {
         log.debug("Retrieving memory by type: {}", type);
         
         try {
-            List<MemoryEntry> entries = memoryStore.get(type.toString());
+            MemoryRingBuffer entries = memoryStore.get(type.toString());
             if (entries != null) {
-                synchronized (entries) {
-                    return new ArrayList<>(entries);
-                }
+                return entries.entries();
             }
             return Collections.emptyList();
             
@@ -107,12 +185,8 @@ public class MemoryManager {
         try {
             List<MemoryEntry> results = new ArrayList<>();
             
-            for (List<MemoryEntry> entries : memoryStore.values()) {
-                synchronized (entries) {
-                    results.addAll(entries.stream()
-                        .filter(entry -> !entry.getTimestamp().isBefore(start) && !entry.getTimestamp().isAfter(end))
-                        .collect(Collectors.toList()));
-                }
+            for (MemoryRingBuffer entries : memoryStore.values()) {
+                results.addAll(entries.findByTimeRange(start, end));
             }
             
             return results;
@@ -129,11 +203,8 @@ public class MemoryManager {
         try {
             LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
             
-            for (Map.Entry<String, List<MemoryEntry>> entry : memoryStore.entrySet()) {
-                List<MemoryEntry> entries = entry.getValue();
-                synchronized (entries) {
-                    entries.removeIf(memoryEntry -> memoryEntry.getTimestamp().isBefore(cutoff));
-                }
+            for (MemoryRingBuffer entries : memoryStore.values()) {
+                entries.removeOlderThan(cutoff);
             }
             
             // Clean up active tests
@@ -142,25 +213,110 @@ public class MemoryManager {
             }
             
             // Clean up recent failures
-            synchronized (recentFailures) {
-                recentFailures.removeIf(failure -> failure.getTimestamp().isBefore(cutoff));
-            }
+            recentFailures.removeIf(failure -> failure.getTimestamp().isBefore(cutoff));
             
             // Clean up test results
-            synchronized (testResults) {
-                testResults.removeIf(result -> result.getTimestamp().isBefore(cutoff));
-            }
+            testResults.removeIf(result -> result.getTimestamp().isBefore(cutoff));
             
             // Clean up learning data
-            synchronized (learningData) {
-                learningData.removeIf(data -> data.getTimestamp().isBefore(cutoff));
-            }
+            learningData.removeIf(data -> data.getTimestamp().isBefore(cutoff));
+            
+            compactPersistentMemory(cutoff);
             
         } catch (Exception e) {
             log.error("Error cleaning up expired memory: {}", e.getMessage(), e);
         }
     }
     
+    /**
+     * Drop log segments that only hold records past retention. The active segment is sealed once
+     * it spans more than an eighth of the retention window so that it can expire as well.
+     */
+    private void compactPersistentMemory(LocalDateTime cutoff) throws IOException {
+        MemorySegmentLog currentLog = segmentLog;
+        if (currentLog == null) {
+            return;
+        }
+        
+        long rollBefore = toEpochMillis(LocalDateTime.now().minusMinutes(retentionHours * 60L / 8));
+        currentLog.rollIfOlderThan(rollBefore);
+        int deleted = currentLog.deleteSegmentsOlderThan(toEpochMillis(cutoff));
+        if (deleted > 0) {
+            // Patterns never expire; re-append them so they survive the deleted segments. They are
+            // stamped with the compaction time, as an old stamp would make the fresh segment look
+            // due for rolling and deletion again on the next cycle; discoveredAt is in the payload.
+            LocalDateTime compactedAt = LocalDateTime.now();
+            for (Pattern pattern : patternCache.values()) {
+                persist(compactedAt, MemoryRecordCodec.encode(pattern));
+            }
+            log.info("Compacted persistent memory: deleted {} expired segment(s), {} remaining",
+                deleted, currentLog.getSegmentCount());
+        }
+        currentLog.force();
+    }
+    
+    private void persist(LocalDateTime timestamp, byte[] record) {
+        MemorySegmentLog currentLog = segmentLog;
+        if (currentLog == null) {
+            return;
+        }
+        try {
+            currentLog.append(toEpochMillis(timestamp != null ? timestamp : LocalDateTime.now()), record);
+        } catch (Exception e) {
+            log.warn("Error persisting memory record: {}", e.getMessage());
+        }
+    }
+    
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    // Rebuild the typed caches from the memory entries they were recorded as
+    private void restoreCachedRecord(MemoryEntry entry) {
+        Map<String, Object> data = entry.getData();
+        if (data == null || entry.getType() == null) {
+            return;
+        }
+        
+        try {
+            switch (entry.getType()) {
+                case TEST_FAILURE:
+                    recentFailures.add(TestFailure.builder()
+                        .testId((String) data.get("testId"))
+                        .failureType(FailureType.valueOf((String) data.get("failureType")))
+                        .message((String) data.get("message"))
+                        .serviceName((String) data.get("serviceName"))
+                        .timestamp(entry.getTimestamp())
+                        .build());
+                    break;
+                case TEST_RESULT:
+                    cacheTestResult(TestResult.builder()
+                        .testId((String) data.get("testId"))
+                        .status(TestStatus.valueOf((String) data.get("status")))
+                        .duration(((Number) data.get("duration")).doubleValue())
+                        .serviceName((String) data.get("serviceName"))
+                        .testType(TestType.valueOf((String) data.get("testType")))
+                        .timestamp(entry.getTimestamp())
+                        .build());
+                    break;
+                case LEARNING_DATA:
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> learning = (Map<String, Object>) data.get("data");
+                    learningData.add(LearningData.builder()
+                        .type(LearningDataType.valueOf((String) data.get("type")))
+                        .data(learning)
+                        .insights((String) data.get("insights"))
+                        .timestamp(entry.getTimestamp())
+                        .build());
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            log.debug("Could not restore cached record from memory entry {}: {}", entry.getKey(), e.getMessage());
+        }
+    }
+    
     // Active Tests Management
     public List<ActiveTest> getActiveTests() {
         synchronized (activeTests) {
@@ -193,20 +349,12 @@ public class MemoryManager {
     
     // Test Failures Management
     public List<TestFailure> getRecentFailures() {
-        synchronized (recentFailures) {
-            return new ArrayList<>(recentFailures);
-        }
+        return recentFailures.snapshot();
     }
     
     public void addTestFailure(TestFailure failure) {
-        synchronized (recentFailures) {
-            recentFailures.add(failure);
-            
-            // Keep only recent failures (last 100)
-            if (recentFailures.size() > 100) {
-                recentFailures.remove(0);
-            }
-        }
+        // Keep only recent failures (last 100); the ring overwrites the oldest
+        recentFailures.add(failure);
         
         // Store in memory
         MemoryEntry entry = MemoryEntry.builder()
@@ -226,31 +374,17 @@ public class MemoryManager {
     }
     
     public List<TestFailure> getFailuresByService(String serviceName) {
-        synchronized (recentFailures) {
-            return recentFailures.stream()
-                .filter(failure -> serviceName.equals(failure.getServiceName()))
-                .collect(Collectors.toList());
-        }
+        return recentFailures.snapshot(failure -> serviceName.equals(failure.getServiceName()));
     }
     
     public List<TestFailure> getFailuresByType(FailureType failureType) {
-        synchronized (recentFailures) {
-            return recentFailures.stream()
-                .filter(failure -> failureType == failure.getFailureType())
-                .collect(Collectors.toList());
-        }
+        return recentFailures.snapshot(failure -> failureType == failure.getFailureType());
     }
     
     // Test Results Management
     public void addTestResult(TestResult result) {
-        synchronized (testResults) {
-            testResults.add(result);
-            
-            // Keep only recent results (last 1000)
-            if (testResults.size() > 1000) {
-                testResults.remove(0);
-            }
-        }
+        // Keep only recent results (last 1000); the ring overwrites the oldest
+        cacheTestResult(result);
         
         // Store in memory
         MemoryEntry entry = MemoryEntry.builder()
@@ -270,38 +404,28 @@ public class MemoryManager {
         log.info("Added test result: {} - {}", result.getTestId(), result.getStatus());
     }
     
+    private void cacheTestResult(TestResult result) {
+        // Count before inserting so the eviction of this result can never be seen first
+        testResultStatistics.record(result);
+        testResults.add(result);
+    }
+    
     public List<TestResult> getTestResults() {
-        synchronized (testResults) {
-            return new ArrayList<>(testResults);
-        }
+        return testResults.snapshot();
     }
     
     public List<TestResult> getTestResultsByService(String serviceName) {
-        synchronized (testResults) {
-            return testResults.stream()
-                .filter(result -> serviceName.equals(result.getServiceName()))
-                .collect(Collectors.toList());
-        }
+        return testResults.snapshot(result -> serviceName.equals(result.getServiceName()));
     }
     
     public List<TestResult> getTestResultsByType(TestType testType) {
-        synchronized (testResults) {
-            return testResults.stream()
-                .filter(result -> testType == result.getTestType())
-                .collect(Collectors.toList());
-        }
+        return testResults.snapshot(result -> testType == result.getTestType());
     }
     
     // Learning Data Management
     public void addLearningData(LearningData data) {
-        synchronized (learningData) {
-            learningData.add(data);
-            
-            // Keep only recent learning data (last 500)
-            if (learningData.size() > 500) {
-                learningData.remove(0);
-            }
-        }
+        // Keep only recent learning data (last 500); the ring overwrites the oldest
+        learningData.add(data);
         
         // Store in memory
         MemoryEntry entry = MemoryEntry.builder()
@@ -320,22 +444,17 @@ public class MemoryManager {
     }
     
     public List<LearningData> getLearningData() {
-        synchronized (learningData) {
-            return new ArrayList<>(learningData);
-        }
+        return learningData.snapshot();
     }
     
     public List<LearningData> getLearningDataByType(LearningDataType type) {
-        synchronized (learningData) {
-            return learningData.stream()
-                .filter(data -> type == data.getType())
-                .collect(Collectors.toList());
-        }
+        return learningData.snapshot(data -> type == data.getType());
     }
     
     // Pattern Management
     public void storePattern(Pattern pattern) {
         patternCache.put(pattern.getName(), pattern);
+        persist(LocalDateTime.now(), MemoryRecordCodec.encode(pattern));
         log.info("Stored pattern: {} with confidence: {}", pattern.getName(), pattern.getConfidence());
     }
     
@@ -358,10 +477,8 @@ public class MemoryManager {
         Map<String, Object> stats = new HashMap<>();
         
         // Memory store stats
-        for (Map.Entry<String, List<MemoryEntry>> entry : memoryStore.entrySet()) {
-            synchronized (entry.getValue()) {
-                stats.put("memory_" + entry.getKey(), entry.getValue().size());
-            }
+        for (Map.Entry<String, MemoryRingBuffer> entry : memoryStore.entrySet()) {
+            stats.put("memory_" + entry.getKey(), entry.getValue().size());
         }
         
         // Active tests stats
@@ -370,30 +487,24 @@ public class MemoryManager {
         }
         
         // Recent failures stats
-        synchronized (recentFailures) {
-            stats.put("recentFailures", recentFailures.size());
-        }
+        stats.put("recentFailures", recentFailures.size());
         
-        // Test results stats
-        synchronized (testResults) {
-            stats.put("testResults", testResults.size());
-            
-            // Calculate success rate
-            long successfulTests = testResults.stream()
-                .filter(result -> result.getStatus() == TestStatus.PASSED)
-                .count();
-            double successRate = testResults.isEmpty() ? 0.0 : (double) successfulTests / testResults.size();
-            stats.put("testSuccessRate", successRate);
-        }
+        // Test results stats, from running counters
+        stats.put("testResults", testResultStatistics.getTotal());
+        stats.put("testSuccessRate", testResultStatistics.getSuccessRate());
+        stats.put("testResultsByStatus", testResultStatistics.getCountsByStatus());
+        stats.put("testResultsByService", testResultStatistics.getCountsByService());
+        stats.put("testResultsByType", testResultStatistics.getCountsByTestType());
         
         // Learning data stats
-        synchronized (learningData) {
-            stats.put("learningData", learningData.size());
-        }
+        stats.put("learningData", learningData.size());
         
         // Pattern stats
         stats.put("patterns", patternCache.size());
         
+        // Search index stats
+        stats.put("indexedTerms", textIndex.getTermCount());
+        
         return stats;
     }
     
@@ -403,36 +514,17 @@ public class MemoryManager {
         cleanupExpiredMemory();
     }
     
-    private void enforceMemoryLimits(String type) {
-        List<MemoryEntry> entries = memoryStore.get(type);
-        if (entries != null) {
-            synchronized (entries) {
-                while (entries.size() > maxEntries) {
-                    entries.remove(0); // Remove oldest entries
-                }
-            }
-        }
-    }
-    
     // Search functionality
     public List<MemoryEntry> searchMemory(String query) {
-        log.debug("Searching memory for query: {}", query);
+        return searchMemory(query, searchResultLimit);
+    }
+    
+    public List<MemoryEntry> searchMemory(String query, int limit) {
+        log.debug("Searching memory for query: {} (limit {})", query, limit);
         
         try {
-            List<MemoryEntry> results = new ArrayList<>();
-            String lowerQuery = query.toLowerCase();
-            
-            for (List<MemoryEntry> entries : memoryStore.values()) {
-                synchronized (entries) {
-                    results.addAll(entries.stream()
-                        .filter(entry -> 
-                            entry.getKey().toLowerCase().contains(lowerQuery) ||
-                            entry.getData().toString().toLowerCase().contains(lowerQuery))
-                        .collect(Collectors.toList()));
-                }
-            }
-            
-            return results;
+            // Term lookups in the inverted index, best matches first
+            return textIndex.search(query, limit);
             
         } catch (Exception e) {
             log.error("Error searching memory: {}", e.getMessage(), e);
@@ -0,0 +1,268 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+import com.kb.jarvis.core.model.MemoryType;
+import com.kb.jarvis.core.model.Pattern;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the records written to the memory segment log.
+ *
+ * A record is one kind byte followed by its fields. Strings are varint-length-prefixed UTF-8,
+ * integers are zig-zag varints, and arbitrary data values are written with a one-byte tag.
+ * Values the codec does not know (UUIDs, model objects) are stored as their string form.
+ */
+public final class MemoryRecordCodec {
+    
+    public static final byte KIND_MEMORY_ENTRY = 1;
+    public static final byte KIND_PATTERN = 2;
+    
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_BOOLEAN = 5;
+    private static final byte TAG_MAP = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_DATE_TIME = 8;
+    
+    private MemoryRecordCodec() {
+    }
+    
+    public static byte[] encode(MemoryEntry entry) {
+        Writer out = new Writer();
+        out.writeByte(KIND_MEMORY_ENTRY);
+        out.writeString(entry.getKey());
+        out.writeString(entry.getType() != null ? entry.getType().name() : null);
+        writeValue(out, entry.getTimestamp());
+        out.writeVarLong(entry.getTtl());
+        writeValue(out, entry.getValue());
+        writeValue(out, entry.getData());
+        return out.toByteArray();
+    }
+    
+    public static byte[] encode(Pattern pattern) {
+        Writer out = new Writer();
+        out.writeByte(KIND_PATTERN);
+        out.writeString(pattern.getPatternType());
+        out.writeString(pattern.getDescription());
+        out.writeDouble(pattern.getConfidence());
+        writeValue(out, pattern.getExamples());
+        writeValue(out, pattern.getDiscoveredAt());
+        return out.toByteArray();
+    }
+    
+    public static byte kind(ByteBuffer record) {
+        return record.get(record.position());
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static MemoryEntry decodeMemoryEntry(ByteBuffer record) {
+        Reader in = new Reader(record);
+        expectKind(in, KIND_MEMORY_ENTRY);
+        String key = in.readString();
+        String type = in.readString();
+        LocalDateTime timestamp = (LocalDateTime) readValue(in);
+        long ttl = in.readVarLong();
+        Object value = readValue(in);
+        Map<String, Object> data = (Map<String, Object>) readValue(in);
+        return MemoryEntry.builder()
+            .key(key)
+            .type(type != null ? MemoryType.valueOf(type) : null)
+            .timestamp(timestamp)
+            .ttl(ttl)
+            .value(value)
+            .data(data)
+            .build();
+    }
+    
+    @SuppressWarnings("unchecked")
+    public static Pattern decodePattern(ByteBuffer record) {
+        Reader in = new Reader(record);
+        expectKind(in, KIND_PATTERN);
+        return Pattern.builder()
+            .patternType(in.readString())
+            .description(in.readString())
+            .confidence(in.readDouble())
+            .examples((List<String>) readValue(in))
+            .discoveredAt((LocalDateTime) readValue(in))
+            .build();
+    }
+    
+    private static void expectKind(Reader in, byte kind) {
+        byte actual = in.readByte();
+        if (actual != kind) {
+            throw new IllegalArgumentException("Expected record kind " + kind + " but found " + actual);
+        }
+    }
+    
+    private static void writeValue(Writer out, Object value) {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_INT);
+            out.writeVarLong(((Number) value).intValue());
+        } else if (value instanceof Long) {
+            out.writeByte(TAG_LONG);
+            out.writeVarLong((Long) value);
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            out.writeByte(TAG_BOOLEAN);
+            out.writeByte((byte) ((Boolean) value ? 1 : 0));
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            out.writeByte(TAG_DATE_TIME);
+            out.writeVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeVarLong(dateTime.getNano());
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            out.writeByte(TAG_MAP);
+            out.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                out.writeString(String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            out.writeByte(TAG_LIST);
+            out.writeVarLong(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element);
+            }
+        } else {
+            // Strings, enums and anything else round-trip as text
+            out.writeByte(TAG_STRING);
+            out.writeString(value instanceof Enum ? ((Enum<?>) value).name() : value.toString());
+        }
+    }
+    
+    private static Object readValue(Reader in) {
+        byte tag = in.readByte();
+        switch (tag) {
+            case TAG_NULL:
+                return null;
+            case TAG_STRING:
+                return in.readString();
+            case TAG_INT:
+                return (int) in.readVarLong();
+            case TAG_LONG:
+                return in.readVarLong();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BOOLEAN:
+                return in.readByte() != 0;
+            case TAG_DATE_TIME:
+                long epochSecond = in.readVarLong();
+                int nano = (int) in.readVarLong();
+                return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+            case TAG_MAP:
+                int mapSize = (int) in.readVarLong();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < mapSize; i++) {
+                    String key = in.readString();
+                    map.put(key, readValue(in));
+                }
+                return map;
+            case TAG_LIST:
+                int listSize = (int) in.readVarLong();
+                List<Object> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            default:
+                throw new IllegalArgumentException("Unknown value tag " + tag);
+        }
+    }
+    
+    private static final class Writer {
+        
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        
+        void writeByte(byte value) {
+            bytes.write(value);
+        }
+        
+        void writeVarLong(long value) {
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                bytes.write((int) ((zigZag & 0x7F) | 0x80));
+                zigZag >>>= 7;
+            }
+            bytes.write((int) zigZag);
+        }
+        
+        void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes.write((int) (bits >>> shift));
+            }
+        }
+        
+        void writeString(String value) {
+            if (value == null) {
+                writeVarLong(-1);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+        }
+        
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+    
+    private static final class Reader {
+        
+        private final ByteBuffer buffer;
+        
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer.duplicate();
+        }
+        
+        byte readByte() {
+            return buffer.get();
+        }
+        
+        long readVarLong() {
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                zigZag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+        
+        double readDouble() {
+            return Double.longBitsToDouble(buffer.getLong());
+        }
+        
+        String readString() {
+            int length = (int) readVarLong();
+            if (length < 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[length];
+            buffer.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
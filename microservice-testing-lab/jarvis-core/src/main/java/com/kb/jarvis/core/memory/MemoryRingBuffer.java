@@ -0,0 +1,210 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded store for the memory entries of a single type.
+ *
+ * Entries live in a fixed-size ring: once it is full each write overwrites the oldest slot, so
+ * eviction is a slot replacement instead of shifting a list. Two secondary indexes are kept next
+ * to the ring, a key index for exact-key lookups and a timestamp-ordered skip list for range
+ * queries. Writers for one type serialize on that type's lock; readers never take it.
+ */
+public class MemoryRingBuffer {
+    
+    private final int capacity;
+    private final AtomicReferenceArray<Slot> slots;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, Set<Slot>> keyIndex = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Slot, Slot> timeIndex = new ConcurrentSkipListMap<>(
+        Comparator.comparing((Slot slot) -> slot.entry.getTimestamp()).thenComparingLong(slot -> slot.sequence));
+    
+    // Next sequence to write; slot for sequence s is s % capacity
+    private volatile long nextSequence;
+    private volatile int size;
+    
+    private final Consumer<MemoryEntry> evictionListener;
+    
+    public MemoryRingBuffer(int capacity) {
+        this(capacity, entry -> { });
+    }
+    
+    public MemoryRingBuffer(int capacity, Consumer<MemoryEntry> evictionListener) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.evictionListener = evictionListener;
+    }
+    
+    /**
+     * Append an entry, overwriting the oldest one when the ring is full
+     *
+     * @return the evicted entry, or null if nothing was evicted
+     */
+    public MemoryEntry add(MemoryEntry entry) {
+        writeLock.lock();
+        try {
+            long sequence = nextSequence;
+            int index = (int) (sequence % capacity);
+            Slot evicted = slots.get(index);
+            Slot slot = new Slot(sequence, entry);
+            
+            slots.set(index, slot);
+            nextSequence = sequence + 1;
+            if (evicted != null) {
+                unindex(evicted);
+            } else {
+                size++;
+            }
+            index(slot);
+            
+            if (evicted != null) {
+                evictionListener.accept(evicted.entry);
+                return evicted.entry;
+            }
+            return null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Drop every entry whose timestamp is before the cutoff
+     *
+     * @return the removed entries
+     */
+    public List<MemoryEntry> removeOlderThan(LocalDateTime cutoff) {
+        writeLock.lock();
+        try {
+            List<MemoryEntry> removed = new ArrayList<>();
+            for (Slot slot : timeIndex.headMap(Slot.probe(cutoff, Long.MIN_VALUE)).keySet()) {
+                int index = (int) (slot.sequence % capacity);
+                if (slots.compareAndSet(index, slot, null)) {
+                    size--;
+                }
+                unindex(slot);
+                removed.add(slot.entry);
+            }
+            removed.forEach(evictionListener);
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    /**
+     * Snapshot of all live entries, oldest first
+     */
+    public List<MemoryEntry> entries() {
+        long end = nextSequence;
+        long start = Math.max(0, end - capacity);
+        List<MemoryEntry> result = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            Slot slot = slots.get((int) (sequence % capacity));
+            // A concurrent writer may already have reused the slot for a newer sequence
+            if (slot != null && slot.sequence == sequence) {
+                result.add(slot.entry);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Entries stored under the given key, oldest first
+     */
+    public List<MemoryEntry> findByKey(String key) {
+        Set<Slot> matches = keyIndex.get(key);
+        if (matches == null || matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Slot> ordered = new ArrayList<>(matches);
+        ordered.sort(Comparator.comparingLong(slot -> slot.sequence));
+        List<MemoryEntry> result = new ArrayList<>(ordered.size());
+        for (Slot slot : ordered) {
+            result.add(slot.entry);
+        }
+        return result;
+    }
+    
+    /**
+     * Entries with a timestamp in [start, end], in timestamp order
+     */
+    public List<MemoryEntry> findByTimeRange(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return Collections.emptyList();
+        }
+        ConcurrentNavigableMap<Slot, Slot> range = timeIndex.subMap(
+            Slot.probe(start, Long.MIN_VALUE), true, Slot.probe(end, Long.MAX_VALUE), true);
+        List<MemoryEntry> result = new ArrayList<>();
+        for (Slot slot : range.keySet()) {
+            result.add(slot.entry);
+        }
+        return result;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    private void index(Slot slot) {
+        MemoryEntry entry = slot.entry;
+        if (entry.getKey() != null) {
+            keyIndex.computeIfAbsent(entry.getKey(), k -> ConcurrentHashMap.newKeySet()).add(slot);
+        }
+        if (entry.getTimestamp() != null) {
+            timeIndex.put(slot, slot);
+        }
+    }
+    
+    private void unindex(Slot slot) {
+        MemoryEntry entry = slot.entry;
+        if (entry.getKey() != null) {
+            keyIndex.computeIfPresent(entry.getKey(), (k, matches) -> {
+                matches.remove(slot);
+                return matches.isEmpty() ? null : matches;
+            });
+        }
+        if (entry.getTimestamp() != null) {
+            timeIndex.remove(slot);
+        }
+    }
+    
+    /**
+     * Ring slot; identity equality so duplicate entries stay distinct in the indexes
+     */
+    private static final class Slot {
+        
+        private final long sequence;
+        private final MemoryEntry entry;
+        
+        private Slot(long sequence, MemoryEntry entry) {
+            this.sequence = sequence;
+            this.entry = entry;
+        }
+        
+        // Search bound for the time index; MIN/MAX_VALUE sort before/after every stored slot at that instant
+        private static Slot probe(LocalDateTime timestamp, long sequence) {
+            return new Slot(sequence, MemoryEntry.builder().timestamp(timestamp).build());
+        }
+    }
+}
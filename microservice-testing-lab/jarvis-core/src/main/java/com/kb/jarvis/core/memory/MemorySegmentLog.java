@@ -0,0 +1,284 @@
+package com.kb.jarvis.core.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of memory records stored in fixed-size memory-mapped segment files.
+ *
+ * Record layout: int payload length, int CRC32 of the payload, long timestamp (epoch millis), payload.
+ * The length is written last, so a record torn by a crash reads as end-of-segment on recovery.
+ * Segments roll when full; a sealed segment is deleted as a whole once its newest record is older
+ * than the retention cutoff.
+ */
+public class MemorySegmentLog implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(MemorySegmentLog.class);
+    
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_BYTES = 16;
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final List<Segment> sealed = new ArrayList<>();
+    private Segment active;
+    
+    public MemorySegmentLog(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(directory);
+    }
+    
+    /**
+     * Map every existing segment and hand each intact record payload to the consumer, oldest first.
+     * The last segment becomes the active one and new records are appended after its last record.
+     */
+    public synchronized int recover(Consumer<ByteBuffer> consumer) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        
+        int records = 0;
+        for (Path file : files) {
+            Segment segment = Segment.open(file, segmentSize, sequenceOf(file));
+            records += segment.scan(consumer);
+            if (active != null) {
+                active.seal();
+                sealed.add(active);
+            }
+            active = segment;
+        }
+        if (active == null) {
+            active = Segment.open(segmentPath(1), segmentSize, 1);
+        }
+        log.info("Recovered {} memory record(s) from {} segment(s) in {}", records, sealed.size() + 1, directory);
+        return records;
+    }
+    
+    public synchronized void append(long timestampMillis, byte[] payload) throws IOException {
+        if (active == null) {
+            throw new IllegalStateException("Segment log has not been recovered");
+        }
+        if (HEADER_BYTES + payload.length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds segment size " + segmentSize);
+        }
+        if (active.remaining() < HEADER_BYTES + payload.length) {
+            roll();
+        }
+        active.append(timestampMillis, payload);
+    }
+    
+    /**
+     * Seal the active segment if its oldest record is older than the given time, so that it
+     * becomes eligible for deletion instead of pinning old records indefinitely
+     */
+    public synchronized boolean rollIfOlderThan(long timestampMillis) throws IOException {
+        if (active != null && !active.isEmpty() && active.minTimestamp < timestampMillis) {
+            roll();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Seal the active segment unless it is empty, so that everything appended from now on goes to
+     * segments with at least the returned sequence
+     *
+     * @return sequence of the active segment after rolling
+     */
+    public synchronized long rollOver() throws IOException {
+        if (active == null) {
+            throw new IllegalStateException("Segment log has not been recovered");
+        }
+        if (!active.isEmpty()) {
+            roll();
+        }
+        return active.sequence;
+    }
+    
+    /**
+     * Delete sealed segments with a sequence below the given one
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteSegmentsBefore(long sequence) {
+        int deleted = 0;
+        for (Iterator<Segment> it = sealed.iterator(); it.hasNext(); ) {
+            Segment segment = it.next();
+            if (segment.sequence < sequence) {
+                try {
+                    Files.deleteIfExists(segment.file);
+                    it.remove();
+                    deleted++;
+                } catch (IOException e) {
+                    log.warn("Could not delete memory segment {}: {}", segment.file, e.getMessage());
+                }
+            }
+        }
+        return deleted;
+    }
+    
+    /**
+     * Delete sealed segments whose newest record is older than the cutoff
+     *
+     * @return number of segments deleted
+     */
+    public synchronized int deleteSegmentsOlderThan(long cutoffMillis) {
+        int deleted = 0;
+        for (Iterator<Segment> it = sealed.iterator(); it.hasNext(); ) {
+            Segment segment = it.next();
+            if (segment.maxTimestamp < cutoffMillis) {
+                try {
+                    Files.deleteIfExists(segment.file);
+                    it.remove();
+                    deleted++;
+                } catch (IOException e) {
+                    log.warn("Could not delete expired memory segment {}: {}", segment.file, e.getMessage());
+                }
+            }
+        }
+        return deleted;
+    }
+    
+    public synchronized void force() {
+        if (active != null) {
+            active.buffer.force();
+        }
+    }
+    
+    public synchronized int getSegmentCount() {
+        return sealed.size() + (active != null ? 1 : 0);
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (active != null) {
+            active.seal();
+            active = null;
+        }
+    }
+    
+    private void roll() throws IOException {
+        long nextSequence = active.sequence + 1;
+        active.seal();
+        sealed.add(active);
+        active = Segment.open(segmentPath(nextSequence), segmentSize, nextSequence);
+        log.debug("Rolled memory log to segment {}", active.file.getFileName());
+    }
+    
+    private Path segmentPath(long sequence) {
+        return directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    }
+    
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private static final class Segment {
+        
+        private final Path file;
+        private final long sequence;
+        private MappedByteBuffer buffer;
+        private int position;
+        private long minTimestamp = Long.MAX_VALUE;
+        private long maxTimestamp = Long.MIN_VALUE;
+        
+        private Segment(Path file, long sequence, MappedByteBuffer buffer) {
+            this.file = file;
+            this.sequence = sequence;
+            this.buffer = buffer;
+        }
+        
+        static Segment open(Path file, int size, long sequence) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // Mapping past the end grows the file; new space reads as zeros, i.e. end-of-segment
+                int mappedSize = (int) Math.max(size, channel.size());
+                return new Segment(file, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, mappedSize));
+            }
+        }
+        
+        int scan(Consumer<ByteBuffer> consumer) {
+            int records = 0;
+            CRC32 crc = new CRC32();
+            while (buffer.capacity() - position >= HEADER_BYTES) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || length > buffer.capacity() - position - HEADER_BYTES) {
+                    break;
+                }
+                ByteBuffer payload = buffer.duplicate();
+                payload.position(position + HEADER_BYTES).limit(position + HEADER_BYTES + length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                    log.warn("Corrupt memory record at {}:{}; ignoring the rest of the segment", file.getFileName(), position);
+                    break;
+                }
+                track(buffer.getLong(position + 8));
+                try {
+                    consumer.accept(payload.slice());
+                } catch (RuntimeException e) {
+                    log.warn("Skipping unreadable memory record at {}:{}: {}", file.getFileName(), position, e.getMessage());
+                }
+                position += HEADER_BYTES + length;
+                records++;
+            }
+            return records;
+        }
+        
+        int remaining() {
+            return buffer.capacity() - position;
+        }
+        
+        boolean isEmpty() {
+            return position == 0;
+        }
+        
+        void append(long timestampMillis, byte[] payload) {
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putLong(position + 8, timestampMillis);
+            buffer.putInt(position + 4, (int) crc.getValue());
+            // Length last: until it is written the record is invisible to recovery
+            buffer.putInt(position, payload.length);
+            position += HEADER_BYTES + payload.length;
+            track(timestampMillis);
+        }
+        
+        void seal() {
+            if (buffer != null) {
+                buffer.force();
+                // Sealed segments are only needed for their timestamps; let the mapping be collected
+                buffer = null;
+            }
+        }
+        
+        private void track(long timestampMillis) {
+            minTimestamp = Math.min(minTimestamp, timestampMillis);
+            maxTimestamp = Math.max(maxTimestamp, timestampMillis);
+        }
+    }
+}
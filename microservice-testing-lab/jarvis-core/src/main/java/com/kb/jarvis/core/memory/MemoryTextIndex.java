@@ -0,0 +1,207 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index over memory entries for full-text search.
+ *
+ * Each entry is tokenized once when it is stored: its key plus every scalar value reachable from
+ * its data map. Postings map a term to the entries containing it with their term frequency, so a
+ * search only touches the postings of the query terms. Results are ranked by tf-idf.
+ */
+public class MemoryTextIndex {
+    
+    private static final int MAX_TOKEN_LENGTH = 64;
+    private static final int MAX_TERMS_PER_ENTRY = 256;
+    private static final int MAX_DATA_DEPTH = 4;
+    
+    private final Map<String, Map<Document, Integer>> postings = new ConcurrentHashMap<>();
+    private final Map<Document, IndexedDocument> documents = new ConcurrentHashMap<>();
+    
+    /**
+     * Index an entry; indexing the same instance twice needs two removals to drop it
+     */
+    public void add(MemoryEntry entry) {
+        Document document = new Document(entry);
+        documents.compute(document, (k, existing) -> {
+            if (existing != null) {
+                existing.copies++;
+                return existing;
+            }
+            Map<String, Integer> terms = termFrequencies(entry);
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new ConcurrentHashMap<>())
+                        .put(document, term.getValue());
+            }
+            return new IndexedDocument(terms.keySet());
+        });
+    }
+    
+    public void remove(MemoryEntry entry) {
+        Document document = new Document(entry);
+        documents.computeIfPresent(document, (k, existing) -> {
+            if (--existing.copies > 0) {
+                return existing;
+            }
+            for (String term : existing.terms) {
+                postings.computeIfPresent(term, (t, matches) -> {
+                    matches.remove(document);
+                    return matches.isEmpty() ? null : matches;
+                });
+            }
+            return null;
+        });
+    }
+    
+    /**
+     * Entries matching any query term, best tf-idf score first
+     */
+    public List<MemoryEntry> search(String query, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (query != null && !query.isBlank() && query.trim().length() <= MAX_TOKEN_LENGTH) {
+            // Matches the whole-key term, so searching for an exact key ranks that entry first
+            queryTerms.add(query.trim().toLowerCase());
+        }
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        
+        int documentCount = Math.max(1, documents.size());
+        Map<Document, Double> scores = new HashMap<>();
+        for (String term : queryTerms) {
+            Map<Document, Integer> matches = postings.get(term);
+            if (matches == null) {
+                continue;
+            }
+            double idf = Math.log(1.0 + (double) documentCount / matches.size());
+            for (Map.Entry<Document, Integer> match : matches.entrySet()) {
+                scores.merge(match.getKey(), match.getValue() * idf, Double::sum);
+            }
+        }
+        
+        List<Map.Entry<Document, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Document, Double>comparingByValue().reversed());
+        List<MemoryEntry> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = 0; i < ranked.size() && i < limit; i++) {
+            results.add(ranked.get(i).getKey().entry);
+        }
+        return results;
+    }
+    
+    public int getTermCount() {
+        return postings.size();
+    }
+    
+    public int getDocumentCount() {
+        return documents.size();
+    }
+    
+    /**
+     * Lowercased alphanumeric runs; the separators themselves are dropped
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start <= MAX_TOKEN_LENGTH) {
+                    tokens.add(text.substring(start, i).toLowerCase());
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    private static Map<String, Integer> termFrequencies(MemoryEntry entry) {
+        Map<String, Integer> terms = new HashMap<>();
+        if (entry.getKey() != null) {
+            // Whole key as well, so exact keys like "failure_abc-123" are searchable as one term
+            addTerm(terms, entry.getKey().toLowerCase());
+            addTokens(terms, entry.getKey());
+        }
+        collectValues(entry.getData(), terms, 0);
+        return terms;
+    }
+    
+    private static void collectValues(Object value, Map<String, Integer> terms, int depth) {
+        if (value == null || depth > MAX_DATA_DEPTH || terms.size() >= MAX_TERMS_PER_ENTRY) {
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Object nested : map.values()) {
+                collectValues(nested, terms, depth + 1);
+            }
+        } else if (value instanceof Collection<?> collection) {
+            for (Object nested : collection) {
+                collectValues(nested, terms, depth + 1);
+            }
+        } else if (value instanceof Object[] array) {
+            for (Object nested : array) {
+                collectValues(nested, terms, depth + 1);
+            }
+        } else {
+            addTokens(terms, value.toString());
+        }
+    }
+    
+    private static void addTokens(Map<String, Integer> terms, String text) {
+        for (String token : tokenize(text)) {
+            addTerm(terms, token);
+        }
+    }
+    
+    private static void addTerm(Map<String, Integer> terms, String term) {
+        if (term.length() <= MAX_TOKEN_LENGTH && (terms.size() < MAX_TERMS_PER_ENTRY || terms.containsKey(term))) {
+            terms.merge(term, 1, Integer::sum);
+        }
+    }
+    
+    /**
+     * Identity wrapper: MemoryEntry.equals compares values, but the index tracks stored instances
+     */
+    private static final class Document {
+        
+        private final MemoryEntry entry;
+        
+        private Document(MemoryEntry entry) {
+            this.entry = entry;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Document && ((Document) o).entry == entry;
+        }
+        
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(entry);
+        }
+    }
+    
+    private static final class IndexedDocument {
+        
+        private final Set<String> terms;
+        private int copies = 1;
+        
+        private IndexedDocument(Set<String> terms) {
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.TestResult;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running counters over the cached test results, by status, service and test type.
+ *
+ * Counters are incremented when a result enters the cache and decremented when it is evicted or
+ * expires, so reading them never has to walk the cache. LongAdder keeps concurrent updates from
+ * contending on a single counter.
+ */
+public class TestResultStatistics {
+    
+    private static final String UNKNOWN = "UNKNOWN";
+    
+    private final LongAdder total = new LongAdder();
+    private final Map<String, LongAdder> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byService = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byTestType = new ConcurrentHashMap<>();
+    
+    public void record(TestResult result) {
+        update(result, 1);
+    }
+    
+    public void evict(TestResult result) {
+        update(result, -1);
+    }
+    
+    public long getTotal() {
+        return total.sum();
+    }
+    
+    public long getCount(String status) {
+        LongAdder counter = byStatus.get(status);
+        return counter != null ? counter.sum() : 0;
+    }
+    
+    public double getSuccessRate() {
+        long count = total.sum();
+        return count <= 0 ? 0.0 : (double) getCount("PASSED") / count;
+    }
+    
+    public Map<String, Long> getCountsByStatus() {
+        return snapshot(byStatus);
+    }
+    
+    public Map<String, Long> getCountsByService() {
+        return snapshot(byService);
+    }
+    
+    public Map<String, Long> getCountsByTestType() {
+        return snapshot(byTestType);
+    }
+    
+    private void update(TestResult result, long delta) {
+        total.add(delta);
+        increment(byStatus, result.getStatus() != null ? result.getStatus().name() : UNKNOWN, delta);
+        increment(byService, result.getServiceName() != null ? result.getServiceName() : UNKNOWN, delta);
+        increment(byTestType, result.getTestType() != null ? result.getTestType().name() : UNKNOWN, delta);
+    }
+    
+    private static void increment(Map<String, LongAdder> counters, String key, long delta) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+    
+    private static Map<String, Long> snapshot(Map<String, LongAdder> counters) {
+        Map<String, Long> counts = new TreeMap<>();
+        counters.forEach((key, counter) -> {
+            long value = counter.sum();
+            if (value > 0) {
+                counts.put(key, value);
+            }
+        });
+        return counts;
+    }
+}
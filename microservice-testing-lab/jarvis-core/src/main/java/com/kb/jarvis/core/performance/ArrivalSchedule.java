@@ -0,0 +1,92 @@
+package com.kb.jarvis.core.performance;
+
+import java.util.List;
+
+/**
+ * Intended start times of an open-model (arrival-rate) load profile.
+ *
+ * The rate is piecewise linear across the stages, so the number of arrivals in a stage is the area
+ * under that line; the next arrival is where that area reaches one more request. Start times depend
+ * only on the profile, never on how fast the target answers.
+ */
+class ArrivalSchedule {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    // Rounding slack on the accumulated area, so an arrival due exactly at a stage end is not lost
+    private static final double EPSILON = 1e-9;
+
+    private final double[] stageStart;
+    private final double[] stageEnd;
+    private final double[] fromRate;
+    private final double[] toRate;
+    private int stage;
+    private double position;
+
+    ArrivalSchedule(double startRate, List<LoadStage> stages) {
+        int count = stages.size();
+        stageStart = new double[count];
+        stageEnd = new double[count];
+        fromRate = new double[count];
+        toRate = new double[count];
+        double time = 0;
+        double rate = startRate;
+        for (int i = 0; i < count; i++) {
+            LoadStage loadStage = stages.get(i);
+            stageStart[i] = time;
+            time += loadStage.getDuration().toNanos() / NANOS_PER_SECOND;
+            stageEnd[i] = time;
+            fromRate[i] = rate;
+            rate = loadStage.getTargetRate();
+            toRate[i] = rate;
+        }
+    }
+
+    /**
+     * Offset from the start of the run, in nanoseconds, of the next request; -1 once the profile has ended
+     */
+    long next() {
+        double needed = 1.0;
+        while (stage < stageStart.length) {
+            double length = stageEnd[stage] - stageStart[stage];
+            double slope = length > 0 ? (toRate[stage] - fromRate[stage]) / length : 0;
+            double rate = fromRate[stage] + slope * (position - stageStart[stage]);
+            double remaining = stageEnd[stage] - position;
+            double available = rate * remaining + slope / 2 * remaining * remaining;
+            if (available >= needed - EPSILON && remaining > 0) {
+                // Solve slope/2 * x^2 + rate * x = needed for the time x until the next arrival
+                double step;
+                if (needed <= EPSILON) {
+                    step = 0;
+                } else if (Math.abs(slope) < 1e-12) {
+                    step = needed / rate;
+                } else {
+                    step = (-rate + Math.sqrt(Math.max(0, rate * rate + 2 * slope * needed))) / slope;
+                }
+                position = Math.min(stageEnd[stage], position + step);
+                return (long) (position * NANOS_PER_SECOND);
+            }
+            needed -= Math.max(0, available);
+            position = stageEnd[stage];
+            stage++;
+        }
+        return -1;
+    }
+
+    /**
+     * Expected number of requests over the whole profile
+     */
+    double expectedRequests() {
+        double total = 0;
+        for (int i = 0; i < stageStart.length; i++) {
+            total += (fromRate[i] + toRate[i]) / 2 * (stageEnd[i] - stageStart[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Total length of the profile in nanoseconds
+     */
+    long durationNanos() {
+        return stageEnd.length == 0 ? 0 : (long) (stageEnd[stageEnd.length - 1] * NANOS_PER_SECOND);
+    }
+}
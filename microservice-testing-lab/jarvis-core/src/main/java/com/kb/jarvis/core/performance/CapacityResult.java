@@ -0,0 +1,143 @@
+package com.kb.jarvis.core.performance;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link CapacitySearch}: the highest passing rate, the lowest failing rate above it
+ * (null when none failed) and every probe that was run
+ */
+public class CapacityResult {
+
+    private final double sustainableRate;
+    private final Double failingRate;
+    private final boolean ceilingReached;
+    private final double sloPercentile;
+    private final double sloMs;
+    private final double maxErrorRate;
+    private final double sloExceedance;
+    private final double sloExceedanceLower;
+    private final double sloExceedanceUpper;
+    private final boolean interrupted;
+    private final List<Probe> probes;
+
+    CapacityResult(double sustainableRate, Double failingRate, boolean ceilingReached, double sloPercentile,
+                   double sloMs, double maxErrorRate, double sloExceedance, double sloExceedanceLower,
+                   double sloExceedanceUpper, boolean interrupted, List<Probe> probes) {
+        this.sustainableRate = sustainableRate;
+        this.failingRate = failingRate;
+        this.ceilingReached = ceilingReached;
+        this.sloPercentile = sloPercentile;
+        this.sloMs = sloMs;
+        this.maxErrorRate = maxErrorRate;
+        this.sloExceedance = sloExceedance;
+        this.sloExceedanceLower = sloExceedanceLower;
+        this.sloExceedanceUpper = sloExceedanceUpper;
+        this.interrupted = interrupted;
+        this.probes = probes;
+    }
+
+    // Getters
+    public double getSustainableRate() { return sustainableRate; }
+    public Double getFailingRate() { return failingRate; }
+    public boolean isCeilingReached() { return ceilingReached; }
+    public double getSloExceedance() { return sloExceedance; }
+    public double getSloExceedanceLower() { return sloExceedanceLower; }
+    public double getSloExceedanceUpper() { return sloExceedanceUpper; }
+    public boolean isInterrupted() { return interrupted; }
+    public List<Probe> getProbes() { return probes; }
+
+    public boolean isFound() {
+        return sustainableRate > 0;
+    }
+
+    /**
+     * Whether the sustainable rate passed with margin: even the upper end of the interval on the
+     * fraction of requests over the SLO stays within what the SLO percentile allows
+     */
+    public boolean isConfident() {
+        return isFound() && sloExceedanceUpper <= 1 - sloPercentile / 100.0;
+    }
+
+    public String describe() {
+        if (!isFound()) {
+            return String.format("no probe passed p%s < %.0f ms", format(sloPercentile), sloMs);
+        }
+        String upper = failingRate != null ? String.format("below %.1f req/s", failingRate)
+            : ceilingReached ? "search ceiling reached" : "no failing rate found";
+        return String.format("sustains %.1f req/s (%s) at p%s < %.0f ms; %.3f%% of requests over the SLO (95%% CI %.3f-%.3f%%)",
+            sustainableRate, upper, format(sloPercentile), sloMs,
+            sloExceedance * 100, sloExceedanceLower * 100, sloExceedanceUpper * 100);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("sustainableRate", sustainableRate);
+        map.put("failingRate", failingRate);
+        map.put("ceilingReached", ceilingReached);
+        map.put("slo", Map.of("percentile", sloPercentile, "thresholdMs", sloMs, "maxErrorRate", maxErrorRate));
+        map.put("sloExceedance", Map.of("fraction", sloExceedance, "lower95", sloExceedanceLower, "upper95", sloExceedanceUpper));
+        map.put("confident", isConfident());
+        map.put("summary", describe());
+        if (interrupted) {
+            map.put("interrupted", true);
+        }
+        List<Map<String, Object>> probeMaps = new ArrayList<>();
+        probes.forEach(probe -> probeMaps.add(probe.toMap()));
+        map.put("probes", probeMaps);
+        return map;
+    }
+
+    static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+
+    /**
+     * One constant-rate probe of the search
+     */
+    public static class Probe {
+
+        private final double rate;
+        private final boolean passed;
+        private final double sloLatencyMs;
+        private final double errorRate;
+        private final double throughput;
+        private final long requests;
+        private final String limitedBy;
+
+        Probe(double rate, boolean passed, double sloLatencyMs, double errorRate, double throughput, long requests,
+              String limitedBy) {
+            this.rate = rate;
+            this.passed = passed;
+            this.sloLatencyMs = sloLatencyMs;
+            this.errorRate = errorRate;
+            this.throughput = throughput;
+            this.requests = requests;
+            this.limitedBy = limitedBy;
+        }
+
+        public double getRate() { return rate; }
+        public boolean isPassed() { return passed; }
+        public double getSloLatencyMs() { return sloLatencyMs; }
+        public double getErrorRate() { return errorRate; }
+        public double getThroughput() { return throughput; }
+        public long getRequests() { return requests; }
+        public String getLimitedBy() { return limitedBy; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rate", rate);
+            map.put("passed", passed);
+            map.put("sloLatencyMs", sloLatencyMs);
+            map.put("errorRate", errorRate);
+            map.put("throughput", throughput);
+            map.put("requests", requests);
+            if (limitedBy != null) {
+                map.put("limitedBy", limitedBy);
+            }
+            return map;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Closed-loop search for the highest arrival rate a target sustains within its latency SLO and
+ * error budget.
+ *
+ * Each probe holds one constant rate (after an unmeasured warm-up at that rate) and passes when the
+ * SLO percentile and the error rate stay within limits. The rate doubles from the minimum until a
+ * probe fails, which brackets the knee; the bracket is then bisected until it is narrower than the
+ * requested precision or the probe budget runs out. The sustainable rate is the highest passing
+ * probe, the first failing rate bounds it from above, and a Wilson interval on the fraction of
+ * requests over the SLO at the sustainable rate says how safely that probe passed.
+ */
+public class CapacitySearch {
+
+    private static final Logger log = LoggerFactory.getLogger(CapacitySearch.class);
+
+    private static final double Z_95 = 1.959964;
+
+    private double minRate;
+    private double maxRate;
+    private Duration probeDuration;
+    private Duration warmupDuration;
+    private Duration cooldown;
+    private double sloPercentile;
+    private double sloMs;
+    private double maxErrorRate;
+    private double precision;
+    private int maxProbes;
+
+    // Constructor
+    public CapacitySearch() {}
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final CapacitySearch search = new CapacitySearch();
+
+        private Builder() {
+            search.minRate = 10;
+            search.maxRate = 1000;
+            search.probeDuration = Duration.ofSeconds(30);
+            search.warmupDuration = Duration.ofSeconds(5);
+            search.cooldown = Duration.ofSeconds(5);
+            search.sloPercentile = 99;
+            search.sloMs = 500;
+            search.maxErrorRate = 0.01;
+            search.precision = 0.05;
+            search.maxProbes = 12;
+        }
+
+        public Builder minRate(double minRate) {
+            search.minRate = minRate;
+            return this;
+        }
+
+        public Builder maxRate(double maxRate) {
+            search.maxRate = maxRate;
+            return this;
+        }
+
+        public Builder probeDuration(Duration probeDuration) {
+            search.probeDuration = probeDuration;
+            return this;
+        }
+
+        public Builder warmupDuration(Duration warmupDuration) {
+            search.warmupDuration = warmupDuration;
+            return this;
+        }
+
+        public Builder cooldown(Duration cooldown) {
+            search.cooldown = cooldown;
+            return this;
+        }
+
+        public Builder sloPercentile(double sloPercentile) {
+            search.sloPercentile = sloPercentile;
+            return this;
+        }
+
+        public Builder sloMs(double sloMs) {
+            search.sloMs = sloMs;
+            return this;
+        }
+
+        public Builder maxErrorRate(double maxErrorRate) {
+            search.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        public Builder precision(double precision) {
+            search.precision = precision;
+            return this;
+        }
+
+        public Builder maxProbes(int maxProbes) {
+            search.maxProbes = maxProbes;
+            return this;
+        }
+
+        public CapacitySearch build() {
+            if (search.minRate <= 0 || search.maxRate < search.minRate) {
+                throw new IllegalArgumentException("Invalid rate range: " + search.minRate + " - " + search.maxRate);
+            }
+            if (search.sloPercentile <= 0 || search.sloPercentile >= 100) {
+                throw new IllegalArgumentException("sloPercentile must be between 0 and 100: " + search.sloPercentile);
+            }
+            if (search.precision <= 0) {
+                throw new IllegalArgumentException("precision must be positive: " + search.precision);
+            }
+            return search;
+        }
+    }
+
+    /**
+     * Run the search with the template's request; blocks until done or the thread is interrupted
+     */
+    public CapacityResult run(LoadGenerator generator, LoadProfile template, LoadRequestSender sender) {
+        List<CapacityResult.Probe> probes = new ArrayList<>();
+        CapacityResult.Probe bestPass = null;
+        LoadTestResult bestPassResult = null;
+        CapacityResult.Probe firstFail = null;
+
+        // Grow geometrically until a probe fails or the ceiling passes
+        double rate = minRate;
+        while (probes.size() < maxProbes && !Thread.currentThread().isInterrupted()) {
+            LoadTestResult result = probe(generator, template, sender, rate);
+            CapacityResult.Probe probe = toProbe(rate, result);
+            probes.add(probe);
+            if (!probe.isPassed()) {
+                firstFail = probe;
+                break;
+            }
+            bestPass = probe;
+            bestPassResult = result;
+            if (rate >= maxRate) {
+                break;
+            }
+            rate = Math.min(maxRate, rate * 2);
+        }
+
+        // Bisect the bracket around the knee
+        while (bestPass != null && firstFail != null && probes.size() < maxProbes
+            && (firstFail.getRate() - bestPass.getRate()) / bestPass.getRate() > precision
+            && !Thread.currentThread().isInterrupted()) {
+            rate = (bestPass.getRate() + firstFail.getRate()) / 2;
+            LoadTestResult result = probe(generator, template, sender, rate);
+            CapacityResult.Probe probe = toProbe(rate, result);
+            probes.add(probe);
+            if (probe.isPassed()) {
+                bestPass = probe;
+                bestPassResult = result;
+            } else {
+                firstFail = probe;
+            }
+        }
+
+        double[] exceedance = bestPassResult != null ? exceedanceInterval(bestPassResult) : new double[] {0, 0, 0};
+        CapacityResult capacity = new CapacityResult(
+            bestPass != null ? bestPass.getRate() : 0.0,
+            firstFail != null ? firstFail.getRate() : null,
+            bestPass != null && firstFail == null && bestPass.getRate() >= maxRate,
+            sloPercentile, sloMs, maxErrorRate,
+            exceedance[0], exceedance[1], exceedance[2],
+            Thread.currentThread().isInterrupted(), probes);
+        log.info("Capacity search for {} finished after {} probe(s): {}", template.getEndpoint(), probes.size(), capacity.describe());
+        return capacity;
+    }
+
+    private LoadTestResult probe(LoadGenerator generator, LoadProfile template, LoadRequestSender sender, double rate) {
+        if (!warmupDuration.isZero()) {
+            generator.run(template.withStages(template.getName() + "-warmup-" + Math.round(rate), rate,
+                List.of(new LoadStage(warmupDuration, rate))), sender);
+        }
+        LoadTestResult result = generator.run(template.withStages(template.getName() + "-probe-" + Math.round(rate), rate,
+            List.of(new LoadStage(probeDuration, rate))), sender);
+        pause();
+        return result;
+    }
+
+    private CapacityResult.Probe toProbe(double rate, LoadTestResult result) {
+        double latencyMs = result.getResponseTimeMs(sloPercentile);
+        boolean latencyOk = latencyMs <= sloMs;
+        boolean errorsOk = result.getErrorRate() <= maxErrorRate;
+        String limitedBy = !latencyOk ? "latency" : !errorsOk ? "errors" : null;
+        log.info("Capacity probe at {} req/s: p{} {} ms, error rate {}, {}", String.format("%.1f", rate),
+            CapacityResult.format(sloPercentile), latencyMs, String.format("%.4f", result.getErrorRate()), limitedBy == null ? "pass" : "fail (" + limitedBy + ")");
+        return new CapacityResult.Probe(rate, latencyOk && errorsOk && !result.isInterrupted(), latencyMs,
+            result.getErrorRate(), result.getThroughput(), result.getScheduled(), limitedBy);
+    }
+
+    /**
+     * Fraction of requests slower than the SLO with its 95% Wilson score interval
+     */
+    private double[] exceedanceInterval(LoadTestResult result) {
+        Histogram histogram = result.getResponseTime().getHistogram();
+        long total = histogram.getTotalCount();
+        if (total == 0) {
+            return new double[] {0, 0, 0};
+        }
+        long sloMicros = (long) (sloMs * 1000);
+        long over = sloMicros >= histogram.getMaxValue() ? 0 : total - histogram.getCountBetweenValues(0, sloMicros);
+        double fraction = (double) over / total;
+        double z2 = Z_95 * Z_95;
+        double centre = (fraction + z2 / (2 * total)) / (1 + z2 / total);
+        double margin = Z_95 / (1 + z2 / total) * Math.sqrt(fraction * (1 - fraction) / total + z2 / (4.0 * total * total));
+        return new double[] {fraction, Math.max(0, centre - margin), Math.min(1, centre + margin)};
+    }
+
+    private void pause() {
+        if (cooldown.isZero() || cooldown.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(cooldown.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
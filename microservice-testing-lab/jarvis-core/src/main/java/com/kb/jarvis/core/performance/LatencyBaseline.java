@@ -0,0 +1,71 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rolling latency baseline of one service endpoint: the merged histogram of its last accepted runs.
+ * Adding a run adds its histogram and subtracts the one that falls out of the window, so the cost
+ * is independent of how many runs came before.
+ */
+class LatencyBaseline {
+
+    private final int capacity;
+    private final Deque<Run> runs = new ArrayDeque<>();
+    private final Histogram merged = new Histogram(3);
+
+    LatencyBaseline(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * @return false if the run is already part of the baseline
+     */
+    boolean add(String runId, Histogram histogram) {
+        for (Run run : runs) {
+            if (run.id.equals(runId)) {
+                return false;
+            }
+        }
+        Histogram copy = new Histogram(3);
+        copy.add(histogram);
+        runs.addLast(new Run(runId, copy));
+        merged.add(copy);
+        while (runs.size() > capacity) {
+            merged.subtract(runs.removeFirst().histogram);
+        }
+        return true;
+    }
+
+    int getRunCount() {
+        return runs.size();
+    }
+
+    Histogram getMerged() {
+        return merged;
+    }
+
+    /**
+     * Runs in the window, oldest first, for rewriting the persistent log
+     */
+    Map<String, Histogram> getRuns() {
+        Map<String, Histogram> window = new LinkedHashMap<>();
+        runs.forEach(run -> window.put(run.id, run.histogram));
+        return window;
+    }
+
+    private static final class Run {
+
+        private final String id;
+        private final Histogram histogram;
+
+        private Run(String id, Histogram histogram) {
+            this.id = id;
+            this.histogram = histogram;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency recording surface for load and performance runs: one HdrHistogram per endpoint, cut into
+ * intervals.
+ *
+ * Recording is wait-free ({@link Recorder}), so callbacks on client I/O threads never contend. Each
+ * {@link #rollInterval()} swaps out the current histograms as interval snapshots and folds them into
+ * per-endpoint totals. Callers record from the request's intended start time, not the moment it was
+ * actually sent, which keeps a stalled target from hiding its stall (coordinated omission).
+ *
+ * {@link #toMetrics()} is the form stored in {@code TestResult.performanceMetrics}; {@link #merge(Map)}
+ * reads that form back, so results of several nodes or repeated runs combine exactly.
+ */
+public class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+    private final Map<String, LatencySnapshot> totals = new LinkedHashMap<>();
+    private final List<LatencySnapshot> intervals = new ArrayList<>();
+
+    /**
+     * Record one latency in microseconds
+     */
+    public void record(String endpoint, long micros) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(SIGNIFICANT_DIGITS)).recordValue(Math.max(0, micros));
+    }
+
+    /**
+     * Close the current interval of every endpoint that recorded anything
+     *
+     * @return the snapshots of the closed interval
+     */
+    public synchronized List<LatencySnapshot> rollInterval() {
+        List<LatencySnapshot> rolled = new ArrayList<>();
+        recorders.forEach((endpoint, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            if (interval.getTotalCount() > 0) {
+                rolled.add(new LatencySnapshot(endpoint, interval.getStartTimeStamp(), interval.getEndTimeStamp(), interval));
+            }
+        });
+        rolled.forEach(this::add);
+        return rolled;
+    }
+
+    /**
+     * Add the endpoints and intervals of metrics produced by {@link #toMetrics()}
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void merge(Map<String, Object> metrics) {
+        Object intervalMaps = metrics.get("intervals");
+        Object endpointMaps = metrics.get("endpoints");
+        if (intervalMaps instanceof List && !((List<?>) intervalMaps).isEmpty()) {
+            for (Object interval : (List<?>) intervalMaps) {
+                add(LatencySnapshot.fromMap((Map<?, ?>) interval));
+            }
+        } else if (endpointMaps instanceof Map) {
+            // Totals without intervals still merge; they just contribute no interval rows
+            for (Object total : ((Map<String, Object>) endpointMaps).values()) {
+                LatencySnapshot snapshot = LatencySnapshot.fromMap((Map<?, ?>) total);
+                totals.merge(snapshot.getEndpoint(), snapshot,
+                    (a, b) -> LatencySnapshot.merge(a.getEndpoint(), List.of(a, b)));
+            }
+        }
+    }
+
+    /**
+     * Whole-run snapshot per endpoint, covering the intervals rolled so far
+     */
+    public synchronized Map<String, LatencySnapshot> getEndpoints() {
+        return new LinkedHashMap<>(totals);
+    }
+
+    public synchronized List<LatencySnapshot> getIntervals() {
+        return new ArrayList<>(intervals);
+    }
+
+    /**
+     * All endpoints merged
+     */
+    public synchronized LatencySnapshot getTotal() {
+        return LatencySnapshot.merge("*", totals.values());
+    }
+
+    public synchronized Map<String, Object> toMetrics() {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        totals.forEach((endpoint, snapshot) -> endpoints.put(endpoint, snapshot.toMap()));
+        List<Map<String, Object>> intervalMaps = new ArrayList<>();
+        intervals.stream()
+            .sorted(Comparator.comparingLong(LatencySnapshot::getStartTimeMs))
+            .forEach(snapshot -> intervalMaps.add(snapshot.toMap()));
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("unit", "us");
+        metrics.put("encoding", LatencySnapshot.ENCODING);
+        metrics.put("endpoints", endpoints);
+        metrics.put("intervals", intervalMaps);
+        return metrics;
+    }
+
+    private void add(LatencySnapshot interval) {
+        intervals.add(interval);
+        totals.merge(interval.getEndpoint(), LatencySnapshot.merge(interval.getEndpoint(), List.of(interval)),
+            (a, b) -> LatencySnapshot.merge(a.getEndpoint(), List.of(a, b)));
+    }
+}
@@ -0,0 +1,126 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Latency histogram of one endpoint over a time window, in microseconds.
+ *
+ * The serialized form keeps the full histogram (HdrHistogram's compressed encoding, base64) next to
+ * the usual percentiles, so snapshots stored with a test result can be decoded and merged exactly
+ * across nodes and repeated runs instead of averaging their percentiles.
+ */
+public class LatencySnapshot {
+
+    public static final String ENCODING = "hdrhistogram-compressed-base64";
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final String endpoint;
+    private final long startTimeMs;
+    private final long endTimeMs;
+    private final Histogram histogram;
+
+    public LatencySnapshot(String endpoint, long startTimeMs, long endTimeMs, Histogram histogram) {
+        this.endpoint = endpoint;
+        this.startTimeMs = startTimeMs;
+        this.endTimeMs = endTimeMs;
+        this.histogram = histogram;
+    }
+
+    public String getEndpoint() { return endpoint; }
+    public long getStartTimeMs() { return startTimeMs; }
+    public long getEndTimeMs() { return endTimeMs; }
+    public Histogram getHistogram() { return histogram; }
+
+    public long getCount() {
+        return histogram.getTotalCount();
+    }
+
+    /**
+     * Latency at the given percentile in milliseconds
+     */
+    public double getPercentileMs(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double getMeanMs() {
+        return histogram.getTotalCount() > 0 ? histogram.getMean() / 1000.0 : 0.0;
+    }
+
+    public double getMaxMs() {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    /**
+     * Exact merge of several snapshots; the window spans all of them
+     */
+    public static LatencySnapshot merge(String endpoint, Collection<LatencySnapshot> snapshots) {
+        Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+        long start = Long.MAX_VALUE;
+        long end = 0;
+        for (LatencySnapshot snapshot : snapshots) {
+            merged.add(snapshot.histogram);
+            start = Math.min(start, snapshot.startTimeMs);
+            end = Math.max(end, snapshot.endTimeMs);
+        }
+        return new LatencySnapshot(endpoint, start == Long.MAX_VALUE ? 0 : start, end, merged);
+    }
+
+    public static LatencySnapshot empty(String endpoint) {
+        return new LatencySnapshot(endpoint, 0, 0, new Histogram(SIGNIFICANT_DIGITS));
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("endpoint", endpoint);
+        map.put("startTime", startTimeMs);
+        map.put("endTime", endTimeMs);
+        map.put("count", getCount());
+        map.put("meanMs", getMeanMs());
+        map.put("p50Ms", getPercentileMs(50));
+        map.put("p90Ms", getPercentileMs(90));
+        map.put("p95Ms", getPercentileMs(95));
+        map.put("p99Ms", getPercentileMs(99));
+        map.put("p999Ms", getPercentileMs(99.9));
+        map.put("maxMs", getMaxMs());
+        map.put("histogram", encode(histogram));
+        return map;
+    }
+
+    /**
+     * Rebuild a snapshot from {@link #toMap()} output, e.g. read back from a stored test result
+     */
+    public static LatencySnapshot fromMap(Map<?, ?> map) {
+        Object encoded = map.get("histogram");
+        if (!(encoded instanceof String)) {
+            throw new IllegalArgumentException("Latency snapshot has no encoded histogram");
+        }
+        return new LatencySnapshot(String.valueOf(map.get("endpoint")), toLong(map.get("startTime")),
+            toLong(map.get("endTime")), decode((String) encoded));
+    }
+
+    public static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    public static Histogram decode(String encoded) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(encoded)), 0);
+        } catch (DataFormatException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid encoded histogram: " + e.getMessage(), e);
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,209 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator.
+ *
+ * Requests start on the profile's arrival schedule whether or not earlier ones have been answered,
+ * so a slow target shows up as queueing in the response times instead of as a quietly reduced
+ * request rate (coordinated omission). The calling thread only schedules; requests run on the
+ * sender's non-blocking client. When the profile's in-flight limit is reached the request is
+ * dropped and counted as an error rather than delayed.
+ */
+@Component
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final long DRAIN_GRACE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Run a profile against a base URL such as http://localhost:8082, blocking until it finishes
+     */
+    public LoadTestResult run(String baseUrl, LoadProfile profile) {
+        try (WebClientLoadSender sender = new WebClientLoadSender(baseUrl, profile)) {
+            return run(profile, sender);
+        }
+    }
+
+    /**
+     * Search for the sustainable rate of a base URL, reusing one connection pool across all probes
+     */
+    public CapacityResult searchCapacity(String baseUrl, LoadProfile template, CapacitySearch search) {
+        try (WebClientLoadSender sender = new WebClientLoadSender(baseUrl, template)) {
+            return search.run(this, template, sender);
+        }
+    }
+
+    /**
+     * Run a profile through the given sender, blocking until it finishes or the thread is interrupted
+     */
+    public LoadTestResult run(LoadProfile profile, LoadRequestSender sender) {
+        return run(profile, sender, LoadRunListener.NONE);
+    }
+
+    /**
+     * Run a profile through the given sender, reporting each request outcome to the listener as well
+     */
+    public LoadTestResult run(LoadProfile profile, LoadRequestSender sender, LoadRunListener listener) {
+        ArrivalSchedule schedule = new ArrivalSchedule(profile.getStartRate(), profile.getStages());
+        log.info("Starting load profile {}: {} stage(s), ~{} requests over {}", profile.getName(),
+            profile.getStages().size(), Math.round(schedule.expectedRequests()), profile.getDuration());
+
+        String endpoint = profile.getEndpoint();
+        LatencyRecorder responseTimes = new LatencyRecorder();
+        Recorder serviceTimes = new Recorder(3);
+        Set<PendingRequest> pending = ConcurrentHashMap.newKeySet();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        AtomicReference<String> lastError = new AtomicReference<>();
+        long scheduled = 0;
+        long sent = 0;
+        long dropped = 0;
+        boolean interrupted = false;
+
+        long start = System.nanoTime();
+        long intervalNanos = profile.getReportInterval().toNanos();
+        long nextRoll = start + intervalNanos;
+        long offset;
+        while ((offset = schedule.next()) >= 0) {
+            long intendedStart = start + offset;
+            if (!awaitNanoTime(intendedStart)) {
+                interrupted = true;
+                break;
+            }
+            if (intendedStart >= nextRoll) {
+                responseTimes.rollInterval();
+                nextRoll += intervalNanos * Math.max(1, (intendedStart - nextRoll) / intervalNanos);
+            }
+            scheduled++;
+            if (pending.size() >= profile.getMaxInFlight()) {
+                dropped++;
+                listener.onDropped();
+                continue;
+            }
+
+            PendingRequest request = new PendingRequest(intendedStart);
+            pending.add(request);
+            sent++;
+            CompletionStage<Integer> response;
+            try {
+                response = sender.send();
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((status, error) -> {
+                if (!request.finish()) {
+                    return;
+                }
+                long now = System.nanoTime();
+                responseTimes.record(endpoint, (now - request.intendedStart) / 1000);
+                listener.onRequest((now - request.intendedStart) / 1000, status, error);
+                serviceTimes.recordValue(Math.max(0, (now - request.sentAt) / 1000));
+                if (error != null || status == null) {
+                    failed.increment();
+                    lastError.set(error != null ? describe(error) : "no status");
+                } else {
+                    statusCounts.computeIfAbsent(status, code -> new LongAdder()).increment();
+                    if (status >= 400) {
+                        failed.increment();
+                    } else {
+                        succeeded.increment();
+                    }
+                }
+                pending.remove(request);
+            });
+        }
+
+        if (!interrupted) {
+            long deadline = System.nanoTime() + profile.getRequestTimeout().toNanos() + DRAIN_GRACE_NANOS;
+            while (!pending.isEmpty() && System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            interrupted = Thread.currentThread().isInterrupted();
+        }
+
+        // Requests still unanswered waited at least this long; leaving them out would flatter the tail
+        long unfinished = 0;
+        long end = System.nanoTime();
+        for (PendingRequest request : pending) {
+            if (request.finish()) {
+                responseTimes.record(endpoint, (end - request.intendedStart) / 1000);
+                listener.onRequest((end - request.intendedStart) / 1000, null, null);
+                unfinished++;
+            }
+        }
+        responseTimes.rollInterval();
+        Duration elapsed = Duration.ofNanos(end - start);
+
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+
+        LoadTestResult result = new LoadTestResult(profile, scheduled, sent, succeeded.sum(), failed.sum(), dropped,
+            unfinished, statuses, elapsed, responseTimes, serviceTimes.getIntervalHistogram(), interrupted,
+            lastError.get());
+        log.info("Load profile {} finished in {} ms: {} scheduled, {} dropped, p95 {} ms, error rate {}",
+            profile.getName(), elapsed.toMillis(), scheduled, dropped, result.getResponseTimeMs(95),
+            String.format("%.4f", result.getErrorRate()));
+        return result;
+    }
+
+    /**
+     * Park until the given System.nanoTime() value; returns immediately when already past it
+     *
+     * @return false if the thread was interrupted
+     */
+    private static boolean awaitNanoTime(long target) {
+        long remaining;
+        while ((remaining = target - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error.getCause() != null && error instanceof CompletionException
+            ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+
+    /**
+     * A sent request; finished exactly once, by its response or by the end of the run
+     */
+    private static final class PendingRequest {
+
+        private final long intendedStart;
+        private final long sentAt = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private PendingRequest(long intendedStart) {
+            this.intendedStart = intendedStart;
+        }
+
+        boolean finish() {
+            return finished.compareAndSet(false, true);
+        }
+    }
+}
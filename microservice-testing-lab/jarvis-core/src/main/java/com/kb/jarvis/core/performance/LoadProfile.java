@@ -0,0 +1,183 @@
+package com.kb.jarvis.core.performance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a load run sends and how fast: the request template, the arrival-rate stages and the
+ * pass/fail thresholds (defaults follow performance/order-service.k6.js: p95 under 500 ms, under 1% errors)
+ */
+public class LoadProfile {
+
+    private String name;
+    private double startRate;
+    private List<LoadStage> stages;
+    private String method;
+    private String path;
+    private String body;
+    private Map<String, String> headers;
+    private int maxInFlight;
+    private Duration requestTimeout;
+    private Duration reportInterval;
+    private double p95ThresholdMs;
+    private double maxErrorRate;
+
+    // Constructor
+    public LoadProfile() {}
+
+    // Builder pattern
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private final LoadProfile profile = new LoadProfile();
+
+        private Builder() {
+            profile.name = "load";
+            profile.stages = new ArrayList<>();
+            profile.method = "GET";
+            profile.path = "/actuator/health";
+            profile.headers = new LinkedHashMap<>();
+            profile.maxInFlight = 1000;
+            profile.requestTimeout = Duration.ofSeconds(30);
+            profile.reportInterval = Duration.ofSeconds(10);
+            profile.p95ThresholdMs = 500;
+            profile.maxErrorRate = 0.01;
+        }
+
+        public Builder name(String name) {
+            profile.name = name;
+            return this;
+        }
+
+        public Builder startRate(double startRate) {
+            profile.startRate = startRate;
+            return this;
+        }
+
+        public Builder stage(String duration, double targetRate) {
+            profile.stages.add(LoadStage.of(duration, targetRate));
+            return this;
+        }
+
+        public Builder stage(Duration duration, double targetRate) {
+            profile.stages.add(new LoadStage(duration, targetRate));
+            return this;
+        }
+
+        public Builder stages(List<LoadStage> stages) {
+            profile.stages = new ArrayList<>(stages);
+            return this;
+        }
+
+        public Builder method(String method) {
+            profile.method = method;
+            return this;
+        }
+
+        public Builder path(String path) {
+            profile.path = path;
+            return this;
+        }
+
+        public Builder body(String body) {
+            profile.body = body;
+            return this;
+        }
+
+        public Builder header(String name, String value) {
+            profile.headers.put(name, value);
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            profile.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            profile.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder reportInterval(Duration reportInterval) {
+            profile.reportInterval = reportInterval;
+            return this;
+        }
+
+        public Builder p95ThresholdMs(double p95ThresholdMs) {
+            profile.p95ThresholdMs = p95ThresholdMs;
+            return this;
+        }
+
+        public Builder maxErrorRate(double maxErrorRate) {
+            profile.maxErrorRate = maxErrorRate;
+            return this;
+        }
+
+        public LoadProfile build() {
+            if (profile.stages.isEmpty()) {
+                throw new IllegalArgumentException("Load profile " + profile.name + " has no stages");
+            }
+            if (profile.maxInFlight <= 0) {
+                throw new IllegalArgumentException("maxInFlight must be positive: " + profile.maxInFlight);
+            }
+            if (profile.reportInterval.isNegative() || profile.reportInterval.isZero()) {
+                throw new IllegalArgumentException("reportInterval must be positive: " + profile.reportInterval);
+            }
+            return profile;
+        }
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public double getStartRate() { return startRate; }
+    public List<LoadStage> getStages() { return stages; }
+    public String getMethod() { return method; }
+    public String getPath() { return path; }
+    public String getBody() { return body; }
+    public Map<String, String> getHeaders() { return headers; }
+    public int getMaxInFlight() { return maxInFlight; }
+    public Duration getRequestTimeout() { return requestTimeout; }
+    public Duration getReportInterval() { return reportInterval; }
+    public double getP95ThresholdMs() { return p95ThresholdMs; }
+    public double getMaxErrorRate() { return maxErrorRate; }
+
+    /**
+     * Same request template and thresholds with other stages, e.g. for the probes of a capacity search
+     */
+    public LoadProfile withStages(String name, double startRate, List<LoadStage> stages) {
+        LoadProfile copy = new LoadProfile();
+        copy.name = name;
+        copy.startRate = startRate;
+        copy.stages = new ArrayList<>(stages);
+        copy.method = method;
+        copy.path = path;
+        copy.body = body;
+        copy.headers = headers;
+        copy.maxInFlight = maxInFlight;
+        copy.requestTimeout = requestTimeout;
+        copy.reportInterval = reportInterval;
+        copy.p95ThresholdMs = p95ThresholdMs;
+        copy.maxErrorRate = maxErrorRate;
+        return copy;
+    }
+
+    /**
+     * Endpoint key the run's latencies are recorded under, e.g. "POST /api/orders"
+     */
+    public String getEndpoint() {
+        return method.toUpperCase() + " " + path;
+    }
+
+    /**
+     * Total length of the stages
+     */
+    public Duration getDuration() {
+        return stages.stream().map(LoadStage::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+}
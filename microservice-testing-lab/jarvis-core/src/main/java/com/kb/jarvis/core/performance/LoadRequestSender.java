@@ -0,0 +1,12 @@
+package com.kb.jarvis.core.performance;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Sends one request of a load run without blocking and completes with the HTTP status code
+ */
+@FunctionalInterface
+public interface LoadRequestSender {
+
+    CompletionStage<Integer> send();
+}
@@ -0,0 +1,25 @@
+package com.kb.jarvis.core.performance;
+
+/**
+ * Sees every request of a load run as its outcome is known, with the same timing the run's own
+ * result uses. Called on the sender's client threads and the scheduling thread, so implementations
+ * must be thread-safe and must not block.
+ */
+public interface LoadRunListener {
+
+    LoadRunListener NONE = new LoadRunListener() {
+    };
+
+    /**
+     * A sent request finished, timed from its intended start rather than from when it was sent.
+     * Requests still unanswered when the run ends are reported with neither status nor error.
+     */
+    default void onRequest(long responseTimeMicros, Integer status, Throwable error) {
+    }
+
+    /**
+     * A scheduled request was dropped at the profile's in-flight limit instead of being sent
+     */
+    default void onDropped() {
+    }
+}
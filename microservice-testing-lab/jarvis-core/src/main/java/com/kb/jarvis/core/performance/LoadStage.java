@@ -0,0 +1,68 @@
+package com.kb.jarvis.core.performance;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One ramp stage of a load profile: the arrival rate moves linearly to the target over the duration,
+ * like a k6 stage, except that the target is requests per second rather than virtual users
+ */
+public class LoadStage {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(ms|s|m|h)?");
+
+    private final Duration duration;
+    private final double targetRate;
+
+    public LoadStage(Duration duration, double targetRate) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Stage duration must not be negative: " + duration);
+        }
+        if (targetRate < 0) {
+            throw new IllegalArgumentException("Stage target rate must not be negative: " + targetRate);
+        }
+        this.duration = duration;
+        this.targetRate = targetRate;
+    }
+
+    public static LoadStage of(String duration, double targetRate) {
+        return new LoadStage(parseDuration(duration), targetRate);
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    /**
+     * Parse k6-style durations such as "500ms", "30s", "2m" or "1h"; a bare number is seconds
+     */
+    public static Duration parseDuration(String value) {
+        Matcher matcher = DURATION.matcher(value.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+        double amount = Double.parseDouble(matcher.group(1));
+        String unit = matcher.group(2) != null ? matcher.group(2) : "s";
+        switch (unit) {
+            case "ms":
+                return Duration.ofNanos((long) (amount * 1_000_000));
+            case "m":
+                return Duration.ofNanos((long) (amount * 60_000_000_000L));
+            case "h":
+                return Duration.ofNanos((long) (amount * 3_600_000_000_000L));
+            default:
+                return Duration.ofNanos((long) (amount * 1_000_000_000L));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return duration + " -> " + targetRate + " req/s";
+    }
+}
@@ -0,0 +1,178 @@
+package com.kb.jarvis.core.performance;
+
+import com.kb.jarvis.core.model.TestResult;
+import com.kb.jarvis.core.model.TestStatus;
+import com.kb.jarvis.core.model.TestType;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of one load run.
+ *
+ * Response time is measured from when a request was scheduled to start, so a stalled target is
+ * charged for the requests it held up, and is kept per endpoint and interval; service time is
+ * measured from when the request actually went out. Histograms are in microseconds. Requests the generator had to drop because too many
+ * were in flight, and requests still unanswered when the run ended, count as errors.
+ */
+public class LoadTestResult {
+
+    private final LoadProfile profile;
+    private final long scheduled;
+    private final long sent;
+    private final long succeeded;
+    private final long failed;
+    private final long dropped;
+    private final long unfinished;
+    private final Map<Integer, Long> statusCounts;
+    private final Duration elapsed;
+    private final LatencyRecorder responseTimes;
+    private final LatencySnapshot responseTime;
+    private final Histogram serviceTime;
+    private final boolean interrupted;
+    private final String lastError;
+
+    LoadTestResult(LoadProfile profile, long scheduled, long sent, long succeeded, long failed, long dropped,
+                   long unfinished, Map<Integer, Long> statusCounts, Duration elapsed, LatencyRecorder responseTimes,
+                   Histogram serviceTime, boolean interrupted, String lastError) {
+        this.profile = profile;
+        this.scheduled = scheduled;
+        this.sent = sent;
+        this.succeeded = succeeded;
+        this.failed = failed;
+        this.dropped = dropped;
+        this.unfinished = unfinished;
+        this.statusCounts = statusCounts;
+        this.elapsed = elapsed;
+        this.responseTimes = responseTimes;
+        this.responseTime = responseTimes.getTotal();
+        this.serviceTime = serviceTime;
+        this.interrupted = interrupted;
+        this.lastError = lastError;
+    }
+
+    // Getters
+    public LoadProfile getProfile() { return profile; }
+    public long getScheduled() { return scheduled; }
+    public long getSent() { return sent; }
+    public long getSucceeded() { return succeeded; }
+    public long getFailed() { return failed; }
+    public long getDropped() { return dropped; }
+    public long getUnfinished() { return unfinished; }
+    public Map<Integer, Long> getStatusCounts() { return statusCounts; }
+    public Duration getElapsed() { return elapsed; }
+    public LatencyRecorder getResponseTimes() { return responseTimes; }
+    public LatencySnapshot getResponseTime() { return responseTime; }
+    public Histogram getServiceTime() { return serviceTime; }
+    public boolean isInterrupted() { return interrupted; }
+    public String getLastError() { return lastError; }
+
+    public double getErrorRate() {
+        return scheduled > 0 ? (double) (failed + dropped + unfinished) / scheduled : 0.0;
+    }
+
+    /**
+     * Answered requests per second over the whole run
+     */
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? (succeeded + failed) / seconds : 0.0;
+    }
+
+    /**
+     * Response-time percentile in milliseconds
+     */
+    public double getResponseTimeMs(double percentile) {
+        return responseTime.getPercentileMs(percentile);
+    }
+
+    /**
+     * Service-time percentile in milliseconds
+     */
+    public double getServiceTimeMs(double percentile) {
+        return toMillis(serviceTime, percentile);
+    }
+
+    /**
+     * Whether the run met the profile's p95 and error-rate thresholds
+     */
+    public boolean passesThresholds() {
+        return !interrupted
+            && scheduled > 0
+            && getResponseTimeMs(95) <= profile.getP95ThresholdMs()
+            && getErrorRate() <= profile.getMaxErrorRate();
+    }
+
+    public Map<String, Object> toMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("profile", profile.getName());
+        metrics.put("durationMs", elapsed.toMillis());
+        metrics.put("scheduledRequests", scheduled);
+        metrics.put("sentRequests", sent);
+        metrics.put("succeededRequests", succeeded);
+        metrics.put("failedRequests", failed);
+        metrics.put("droppedRequests", dropped);
+        metrics.put("unfinishedRequests", unfinished);
+        metrics.put("statusCodes", statusCounts);
+        metrics.put("errorRate", getErrorRate());
+        metrics.put("throughput", getThroughput());
+        metrics.put("responseTimeMs", percentiles(responseTime.getHistogram()));
+        metrics.put("serviceTimeMs", percentiles(serviceTime));
+        metrics.put("thresholds", Map.of(
+            "p95ResponseTimeMs", profile.getP95ThresholdMs(),
+            "maxErrorRate", profile.getMaxErrorRate()));
+        metrics.put("thresholdsPassed", passesThresholds());
+        metrics.put("latency", responseTimes.toMetrics());
+        if (interrupted) {
+            metrics.put("interrupted", true);
+        }
+        if (lastError != null) {
+            metrics.put("lastError", lastError);
+        }
+        return metrics;
+    }
+
+    /**
+     * The run as a test result, with the serialized latency histograms in its performance metrics
+     */
+    public TestResult toTestResult(String serviceName, TestType testType, LocalDateTime startTime) {
+        return TestResult.builder()
+            .testId(UUID.randomUUID().toString())
+            .testName(profile.getName())
+            .serviceName(serviceName)
+            .testType(testType)
+            .status(passesThresholds() ? TestStatus.PASSED : TestStatus.FAILED)
+            .executionTimeMs(elapsed.toMillis())
+            .duration(elapsed.toNanos() / 1_000_000_000.0)
+            .startTime(startTime)
+            .endTime(startTime.plus(elapsed))
+            .timestamp(LocalDateTime.now())
+            .errorMessage(passesThresholds() ? null : String.format("p95 %.1f ms (limit %.1f), error rate %.4f (limit %.4f)",
+                getResponseTimeMs(95), profile.getP95ThresholdMs(), getErrorRate(), profile.getMaxErrorRate()))
+            .testParameters(Map.of(
+                "endpoint", profile.getEndpoint(),
+                "stages", profile.getStages().stream().map(LoadStage::toString).toList()))
+            .performanceMetrics(toMetrics())
+            .build();
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.getTotalCount());
+        percentiles.put("mean", histogram.getTotalCount() > 0 ? histogram.getMean() / 1000.0 : 0.0);
+        percentiles.put("p50", toMillis(histogram, 50));
+        percentiles.put("p90", toMillis(histogram, 90));
+        percentiles.put("p95", toMillis(histogram, 95));
+        percentiles.put("p99", toMillis(histogram, 99));
+        percentiles.put("max", histogram.getMaxValue() / 1000.0);
+        return percentiles;
+    }
+
+    private static double toMillis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,433 @@
+package com.kb.jarvis.core.performance;
+
+import com.kb.jarvis.core.memory.MemorySegmentLog;
+import com.kb.jarvis.core.model.TestResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+
+/**
+ * Flags performance runs whose latency distribution has shifted up from the recent runs of the same
+ * service endpoint.
+ *
+ * Each endpoint keeps a rolling baseline of its last accepted runs ({@link LatencyBaseline}). A new
+ * run is compared with it by a one-sided Mann-Whitney U test computed directly on the two
+ * histograms, so detection costs one pass over the histogram buckets no matter how long the history
+ * is. A run is a regression when the shift is both significant and large enough (Cliff's delta),
+ * which keeps huge samples from flagging trivial differences. Regressed runs stay out of the
+ * baseline; every other run is appended to it and, when persistence is enabled, to a segment log
+ * that is replayed on startup. When several consecutive runs regress, the shift is taken to be
+ * intended and those runs replace the baseline, so an accepted slowdown is reported only until
+ * then; {@link #resetBaseline} forgets a baseline immediately.
+ */
+@Component
+public class RegressionDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(RegressionDetector.class);
+
+    private static final byte KIND_RUN = 1;
+    private static final byte KIND_RESET = 2;
+
+    @Value("${jarvis.performance.regression.window-runs:20}")
+    private int windowRuns;
+
+    @Value("${jarvis.performance.regression.min-baseline-runs:3}")
+    private int minBaselineRuns;
+
+    @Value("${jarvis.performance.regression.min-samples:20}")
+    private int minSamples;
+
+    @Value("${jarvis.performance.regression.significance:0.01}")
+    private double significance;
+
+    @Value("${jarvis.performance.regression.min-effect-size:0.2}")
+    private double minEffectSize;
+
+    @Value("${jarvis.performance.regression.rebaseline-after-runs:5}")
+    private int rebaselineAfterRuns;
+
+    @Value("${jarvis.performance.regression.persistence.enabled:false}")
+    private boolean persistenceEnabled;
+
+    @Value("${jarvis.performance.regression.persistence.directory:./data/jarvis-performance-baselines}")
+    private String persistenceDirectory;
+
+    @Value("${jarvis.performance.regression.persistence.segment-size-bytes:8388608}") // 8 MB
+    private int segmentSizeBytes;
+
+    private final Map<String, LatencyBaseline> baselines = new ConcurrentHashMap<>();
+
+    // Consecutive regressed runs per endpoint, guarded by the lock of the endpoint's baseline; kept in
+    // memory only, so a restart starts counting again
+    private final Map<String, LatencyBaseline> shifted = new ConcurrentHashMap<>();
+
+    // Null when persistence is disabled. Records are appended under the log's own lock, which also
+    // guards the two fields below; it is never held while waiting for a baseline's lock
+    private volatile MemorySegmentLog baselineLog;
+    private long loggedRecords;
+    private boolean compacting;
+
+    @PostConstruct
+    public void recoverBaselines() {
+        if (!persistenceEnabled) {
+            return;
+        }
+        try {
+            MemorySegmentLog recoveredLog = new MemorySegmentLog(Paths.get(persistenceDirectory), segmentSizeBytes);
+            loggedRecords = recoveredLog.recover(this::replay);
+            baselineLog = recoveredLog;
+            log.info("Restored {} performance baseline(s) from {} record(s) in {}",
+                baselines.size(), loggedRecords, persistenceDirectory);
+        } catch (Exception e) {
+            log.error("Error recovering performance baselines from {}, continuing in-memory only: {}",
+                persistenceDirectory, e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void closeBaselines() {
+        MemorySegmentLog currentLog = baselineLog;
+        if (currentLog != null) {
+            baselineLog = null;
+            currentLog.close();
+        }
+    }
+
+    /**
+     * Check every endpoint histogram stored in a performance test result
+     */
+    @SuppressWarnings("unchecked")
+    public List<RegressionVerdict> evaluate(TestResult result) {
+        List<RegressionVerdict> verdicts = new ArrayList<>();
+        Map<String, Object> metrics = result.getPerformanceMetrics();
+        Object latency = metrics != null ? metrics.get("latency") : null;
+        Object endpoints = latency instanceof Map ? ((Map<String, Object>) latency).get("endpoints") : null;
+        if (!(endpoints instanceof Map)) {
+            return verdicts;
+        }
+        String runId = result.getTestId() != null ? result.getTestId() : String.valueOf(result.getId());
+        for (Object snapshotMap : ((Map<String, Object>) endpoints).values()) {
+            LatencySnapshot snapshot = LatencySnapshot.fromMap((Map<?, ?>) snapshotMap);
+            verdicts.add(evaluate(result.getServiceName(), snapshot.getEndpoint(), runId, snapshot.getHistogram()));
+        }
+        return verdicts;
+    }
+
+    /**
+     * Compare one run of an endpoint with its baseline, then fold the run into the baseline unless it
+     * regressed; the last of {@code rebaseline-after-runs} consecutive regressed runs replaces the
+     * baseline with those runs
+     */
+    public RegressionVerdict evaluate(String serviceName, String endpoint, String runId, Histogram sample) {
+        String key = key(serviceName, endpoint);
+        RegressionVerdict verdict;
+        boolean rebaselined = false;
+        List<byte[]> records = new ArrayList<>();
+        while (true) {
+            LatencyBaseline baseline = baselines.computeIfAbsent(key, k -> new LatencyBaseline(windowRuns));
+            synchronized (baseline) {
+                if (baselines.get(key) != baseline) {
+                    // Reset or replaced since it was looked up
+                    continue;
+                }
+                verdict = compare(serviceName, endpoint, baseline, sample);
+                if (verdict.isRegression()) {
+                    rebaselined = trackShift(key, runId, sample, records);
+                } else if (verdict.getOutcome() != RegressionVerdict.Outcome.INSUFFICIENT_SAMPLES) {
+                    shifted.remove(key);
+                    if (baseline.add(runId, sample)) {
+                        records.add(encodeRun(key, runId, sample));
+                    }
+                }
+                break;
+            }
+        }
+        records.forEach(this::persist);
+        if (rebaselined) {
+            log.warn("Performance regression: {}; {} consecutive shifted runs replace the baseline",
+                verdict.describe(), rebaselineAfterRuns);
+        } else if (verdict.isRegression()) {
+            log.warn("Performance regression: {}", verdict.describe());
+        } else {
+            log.debug("Performance check: {}", verdict.describe());
+        }
+        return verdict;
+    }
+
+    /**
+     * Count a regressed run towards replacing the baseline; called under the lock of the endpoint's
+     * baseline, which it swaps for the shifted runs once there are enough of them
+     *
+     * @return whether the baseline was replaced
+     */
+    private boolean trackShift(String key, String runId, Histogram sample, List<byte[]> records) {
+        if (rebaselineAfterRuns <= 0) {
+            return false;
+        }
+        LatencyBaseline shift = shifted.computeIfAbsent(key, k -> new LatencyBaseline(windowRuns));
+        shift.add(runId, sample);
+        if (shift.getRunCount() < rebaselineAfterRuns) {
+            return false;
+        }
+        shifted.remove(key);
+        records.add(encodeReset(key));
+        shift.getRuns().forEach((id, histogram) -> records.add(encodeRun(key, id, histogram)));
+        baselines.put(key, shift);
+        return true;
+    }
+
+    /**
+     * Forget an endpoint's baseline, e.g. after an intended performance change; the next runs rebuild it
+     */
+    public boolean resetBaseline(String serviceName, String endpoint) {
+        String key = key(serviceName, endpoint);
+        shifted.remove(key);
+        boolean removed = baselines.remove(key) != null;
+        if (removed) {
+            persist(encodeReset(key));
+        }
+        return removed;
+    }
+
+    public Map<String, Object> getBaselineSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        baselines.forEach((key, baseline) -> {
+            synchronized (baseline) {
+                Histogram merged = baseline.getMerged();
+                LatencyBaseline shift = shifted.get(key);
+                summary.put(key, Map.of(
+                    "runs", baseline.getRunCount(),
+                    "shiftedRuns", shift != null ? shift.getRunCount() : 0,
+                    "count", merged.getTotalCount(),
+                    "p50Ms", merged.getValueAtPercentile(50) / 1000.0,
+                    "p95Ms", merged.getValueAtPercentile(95) / 1000.0));
+            }
+        });
+        return summary;
+    }
+
+    private RegressionVerdict compare(String serviceName, String endpoint, LatencyBaseline baseline, Histogram sample) {
+        Histogram reference = baseline.getMerged();
+        long n1 = sample.getTotalCount();
+        long n2 = reference.getTotalCount();
+        if (n1 < minSamples) {
+            return verdict(serviceName, endpoint, RegressionVerdict.Outcome.INSUFFICIENT_SAMPLES, baseline, sample, 1.0, 0.0);
+        }
+        if (baseline.getRunCount() < minBaselineRuns || n2 < minSamples) {
+            return verdict(serviceName, endpoint, RegressionVerdict.Outcome.INSUFFICIENT_BASELINE, baseline, sample, 1.0, 0.0);
+        }
+
+        // Rank-sum of the sample over the union of both histograms' buckets; equal buckets are ties
+        Histogram union = new Histogram(3);
+        union.add(sample);
+        union.add(reference);
+        double rankBelow = 0;
+        double sampleRankSum = 0;
+        double tieTerm = 0;
+        for (HistogramIterationValue bucket : union.recordedValues()) {
+            long value = bucket.getValueIteratedTo();
+            long inSample = countAt(sample, value);
+            long total = bucket.getCountAtValueIteratedTo();
+            sampleRankSum += inSample * (rankBelow + (total + 1) / 2.0);
+            rankBelow += total;
+            tieTerm += (double) total * total * total - total;
+        }
+        double u = sampleRankSum - n1 * (n1 + 1) / 2.0;
+        double n = n1 + n2;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / (n * (n - 1)));
+        double z = variance > 0 ? (u - mean - 0.5) / Math.sqrt(variance) : 0.0;
+        double pValue = upperTail(z);
+        double effectSize = 2.0 * u / (n1 * (double) n2) - 1.0;
+
+        RegressionVerdict.Outcome outcome = pValue < significance && effectSize >= minEffectSize
+            ? RegressionVerdict.Outcome.REGRESSION
+            : RegressionVerdict.Outcome.NO_REGRESSION;
+        return verdict(serviceName, endpoint, outcome, baseline, sample, pValue, effectSize);
+    }
+
+    private static RegressionVerdict verdict(String serviceName, String endpoint, RegressionVerdict.Outcome outcome,
+                                             LatencyBaseline baseline, Histogram sample, double pValue, double effectSize) {
+        Histogram reference = baseline.getMerged();
+        return new RegressionVerdict(serviceName, endpoint, outcome, baseline.getRunCount(), reference.getTotalCount(),
+            sample.getTotalCount(), pValue, effectSize,
+            reference.getValueAtPercentile(50) / 1000.0, reference.getValueAtPercentile(95) / 1000.0,
+            sample.getValueAtPercentile(50) / 1000.0, sample.getValueAtPercentile(95) / 1000.0);
+    }
+
+    private static long countAt(Histogram histogram, long value) {
+        if (histogram.getTotalCount() == 0 || value > histogram.highestEquivalentValue(histogram.getMaxValue())) {
+            return 0;
+        }
+        return histogram.getCountAtValue(value);
+    }
+
+    /**
+     * P(Z > z) for a standard normal variable
+     */
+    private static double upperTail(double z) {
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    // Chebyshev approximation of erfc, fractional error below 1.2e-7
+    private static double erfc(double x) {
+        double t = 1.0 / (1.0 + 0.5 * Math.abs(x));
+        double r = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+            + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+            + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2 - r;
+    }
+
+    private void replay(ByteBuffer record) {
+        byte kind = record.get();
+        String key = readString(record);
+        if (kind == KIND_RESET) {
+            baselines.remove(key);
+            return;
+        }
+        String runId = readString(record);
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(record, 0);
+            baselines.computeIfAbsent(key, k -> new LatencyBaseline(windowRuns)).add(runId, histogram);
+        } catch (DataFormatException e) {
+            log.warn("Skipping unreadable baseline record for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private void persist(byte[] record) {
+        MemorySegmentLog currentLog = baselineLog;
+        if (currentLog == null) {
+            return;
+        }
+        try {
+            long firstKeptSegment = -1;
+            synchronized (currentLog) {
+                currentLog.append(System.currentTimeMillis(), record);
+                loggedRecords++;
+                if (!compacting && loggedRecords > Math.max(4 * liveRuns(), 256)) {
+                    compacting = true;
+                    firstKeptSegment = currentLog.rollOver();
+                    loggedRecords = 0;
+                }
+            }
+            if (firstKeptSegment >= 0) {
+                compact(currentLog, firstKeptSegment);
+            }
+        } catch (Exception e) {
+            log.warn("Error persisting performance baseline record: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrite the live windows after the segment the log was rolled to and drop the segments before
+     * it. Every record in the dropped segments was added to its baseline before the roll, so it is
+     * either in the snapshot or already out of the window; records appended since the roll are kept.
+     * Replay skips runs it has already seen, so a crash part-way only leaves duplicates behind.
+     */
+    private void compact(MemorySegmentLog currentLog, long firstKeptSegment) throws IOException {
+        try {
+            // Snapshot each window under its own lock before taking the log's
+            Map<String, LatencyBaseline> snapshotted = new LinkedHashMap<>();
+            Map<String, List<byte[]>> records = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyBaseline> entry : baselines.entrySet()) {
+                List<byte[]> runRecords = new ArrayList<>();
+                synchronized (entry.getValue()) {
+                    entry.getValue().getRuns().forEach((runId, histogram) ->
+                        runRecords.add(encodeRun(entry.getKey(), runId, histogram)));
+                }
+                snapshotted.put(entry.getKey(), entry.getValue());
+                records.put(entry.getKey(), runRecords);
+            }
+
+            synchronized (currentLog) {
+                long rewritten = 0;
+                for (Map.Entry<String, List<byte[]>> entry : records.entrySet()) {
+                    // A baseline reset since the snapshot has its reset record appended after this point
+                    if (baselines.get(entry.getKey()) != snapshotted.get(entry.getKey())) {
+                        continue;
+                    }
+                    for (byte[] record : entry.getValue()) {
+                        currentLog.append(System.currentTimeMillis(), record);
+                        rewritten++;
+                    }
+                }
+                int deleted = currentLog.deleteSegmentsBefore(firstKeptSegment);
+                loggedRecords += rewritten;
+                currentLog.force();
+                log.info("Compacted performance baselines: {} run(s) kept, {} segment(s) deleted", rewritten, deleted);
+            }
+        } finally {
+            synchronized (currentLog) {
+                compacting = false;
+            }
+        }
+    }
+
+    private long liveRuns() {
+        long live = 0;
+        for (LatencyBaseline baseline : baselines.values()) {
+            live += baseline.getRunCount();
+        }
+        return live;
+    }
+
+    private static byte[] encodeRun(String key, String runId, Histogram histogram) {
+        ByteBuffer compressed = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(compressed);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(length + 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(KIND_RUN);
+            writeString(out, key);
+            writeString(out, runId);
+            out.write(compressed.array(), 0, length);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeReset(String key) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(KIND_RESET);
+            writeString(out, key);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(encoded.length);
+        out.write(encoded);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] encoded = new byte[buffer.getInt()];
+        buffer.get(encoded);
+        return new String(encoded, StandardCharsets.UTF_8);
+    }
+
+    private static String key(String serviceName, String endpoint) {
+        return serviceName + " " + endpoint;
+    }
+}
@@ -0,0 +1,89 @@
+package com.kb.jarvis.core.performance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Result of comparing one endpoint of a performance run with its baseline.
+ *
+ * The effect size is Cliff's delta: the probability that a request of the run is slower than a
+ * baseline request minus the probability that it is faster, from -1 to 1, 0 meaning no shift.
+ */
+public class RegressionVerdict {
+
+    public enum Outcome { REGRESSION, NO_REGRESSION, INSUFFICIENT_BASELINE, INSUFFICIENT_SAMPLES }
+
+    private final String serviceName;
+    private final String endpoint;
+    private final Outcome outcome;
+    private final int baselineRuns;
+    private final long baselineCount;
+    private final long sampleCount;
+    private final double pValue;
+    private final double effectSize;
+    private final double baselineP50Ms;
+    private final double baselineP95Ms;
+    private final double p50Ms;
+    private final double p95Ms;
+
+    RegressionVerdict(String serviceName, String endpoint, Outcome outcome, int baselineRuns, long baselineCount,
+                      long sampleCount, double pValue, double effectSize, double baselineP50Ms, double baselineP95Ms,
+                      double p50Ms, double p95Ms) {
+        this.serviceName = serviceName;
+        this.endpoint = endpoint;
+        this.outcome = outcome;
+        this.baselineRuns = baselineRuns;
+        this.baselineCount = baselineCount;
+        this.sampleCount = sampleCount;
+        this.pValue = pValue;
+        this.effectSize = effectSize;
+        this.baselineP50Ms = baselineP50Ms;
+        this.baselineP95Ms = baselineP95Ms;
+        this.p50Ms = p50Ms;
+        this.p95Ms = p95Ms;
+    }
+
+    // Getters
+    public String getServiceName() { return serviceName; }
+    public String getEndpoint() { return endpoint; }
+    public Outcome getOutcome() { return outcome; }
+    public int getBaselineRuns() { return baselineRuns; }
+    public long getBaselineCount() { return baselineCount; }
+    public long getSampleCount() { return sampleCount; }
+    public double getPValue() { return pValue; }
+    public double getEffectSize() { return effectSize; }
+    public double getBaselineP50Ms() { return baselineP50Ms; }
+    public double getBaselineP95Ms() { return baselineP95Ms; }
+    public double getP50Ms() { return p50Ms; }
+    public double getP95Ms() { return p95Ms; }
+
+    public boolean isRegression() {
+        return outcome == Outcome.REGRESSION;
+    }
+
+    public String describe() {
+        if (outcome == Outcome.INSUFFICIENT_BASELINE || outcome == Outcome.INSUFFICIENT_SAMPLES) {
+            return String.format("%s %s: %s (%d baseline run(s), %d sample(s))",
+                serviceName, endpoint, outcome, baselineRuns, sampleCount);
+        }
+        return String.format("%s %s: %s, p50 %.1f -> %.1f ms, p95 %.1f -> %.1f ms, effect size %.2f, p=%.2g",
+            serviceName, endpoint, outcome, baselineP50Ms, p50Ms, baselineP95Ms, p95Ms, effectSize, pValue);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("service", serviceName);
+        map.put("endpoint", endpoint);
+        map.put("outcome", outcome.name());
+        map.put("baselineRuns", baselineRuns);
+        map.put("baselineCount", baselineCount);
+        map.put("sampleCount", sampleCount);
+        map.put("pValue", pValue);
+        map.put("effectSize", effectSize);
+        map.put("baselineP50Ms", baselineP50Ms);
+        map.put("baselineP95Ms", baselineP95Ms);
+        map.put("p50Ms", p50Ms);
+        map.put("p95Ms", p95Ms);
+        return map;
+    }
+}
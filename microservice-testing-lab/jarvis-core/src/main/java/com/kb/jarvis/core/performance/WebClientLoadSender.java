@@ -0,0 +1,52 @@
+package com.kb.jarvis.core.performance;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Sends the profile's request template through a non-blocking WebClient on its own connection pool,
+ * sized to the profile's in-flight limit so the pool never queues requests the generator has released
+ */
+public class WebClientLoadSender implements LoadRequestSender, AutoCloseable {
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final LoadProfile profile;
+    private final HttpMethod method;
+
+    public WebClientLoadSender(String baseUrl, LoadProfile profile) {
+        this.profile = profile;
+        this.method = HttpMethod.valueOf(profile.getMethod().toUpperCase());
+        this.connectionProvider = ConnectionProvider.builder("jarvis-load-" + profile.getName())
+            .maxConnections(profile.getMaxInFlight())
+            .pendingAcquireMaxCount(-1)
+            .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .responseTimeout(profile.getRequestTimeout());
+        this.webClient = WebClient.builder()
+            .baseUrl(baseUrl)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    @Override
+    public CompletionStage<Integer> send() {
+        WebClient.RequestBodySpec request = webClient.method(method).uri(profile.getPath());
+        profile.getHeaders().forEach((name, value) -> request.header(name, value));
+        WebClient.RequestHeadersSpec<?> exchange = profile.getBody() != null ? request.bodyValue(profile.getBody()) : request;
+        return exchange
+            .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+            .timeout(profile.getRequestTimeout())
+            .toFuture();
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+}
@@ -1,18 +1,30 @@
 package com.kb.jarvis.core.service;
 
 import com.kb.jarvis.core.model.*;
+import com.kb.jarvis.core.performance.LatencyRecorder;
+import com.kb.jarvis.core.performance.LoadGenerator;
+import com.kb.jarvis.core.performance.LoadProfile;
+import com.kb.jarvis.core.performance.LoadTestResult;
+import com.kb.jarvis.core.performance.RegressionDetector;
+import com.kb.jarvis.core.performance.RegressionVerdict;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import com.kb.jarvis.core.model.RiskLevel;
 
 @Service
@@ -21,7 +33,26 @@ public class MicroserviceIntegrationService {
     private static final Logger logger = LoggerFactory.getLogger(MicroserviceIntegrationService.class);
     
     @Autowired
-    private RestTemplate restTemplate;
+    private LoadGenerator loadGenerator;
+    
+    @Autowired
+    private RegressionDetector regressionDetector;
+    
+    @Value("${jarvis.health.connect-timeout-ms:2000}")
+    private long healthConnectTimeoutMs;
+    
+    @Value("${jarvis.health.read-timeout-ms:3000}")
+    private long healthReadTimeoutMs;
+    
+    @Value("${jarvis.health.cache-ttl-ms:5000}")
+    private long healthCacheTtlMs;
+    
+    // Pooled keep-alive connections shared by every health probe
+    private HttpClient healthClient;
+    
+    private final Object healthCycleLock = new Object();
+    private CompletableFuture<SystemHealth> healthCycle;
+    private volatile long healthCheckedAt;
     
     // Microservice endpoints
     private static final Map<String, String> SERVICE_ENDPOINTS = Map.of(
@@ -41,91 +72,149 @@ public class MicroserviceIntegrationService {
         "notification-service", "http://localhost:8084/actuator/health"
     );
     
+    /**
+     * Base URL of a known microservice, or null if the service is unknown
+     */
+    public String getServiceEndpoint(String serviceName) {
+        return SERVICE_ENDPOINTS.get(serviceName);
+    }
+    
+    /**
+     * Health endpoint URLs of all known microservices by service name
+     */
+    public Map<String, String> getHealthEndpoints() {
+        return HEALTH_ENDPOINTS;
+    }
+    
+    @PostConstruct
+    void initHealthClient() {
+        healthClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(healthConnectTimeoutMs))
+            .build();
+    }
+    
     /**
      * Check health of all microservices
+     *
+     * All services are probed concurrently, each bounded by the connect and read timeouts, so one
+     * hung service costs at most one timeout. The result is cached for jarvis.health.cache-ttl-ms and
+     * concurrent callers join the probe cycle already in flight instead of starting their own.
      */
     public SystemHealth checkAllServicesHealth() {
+        CompletableFuture<SystemHealth> cycle;
+        synchronized (healthCycleLock) {
+            if (healthCycle == null
+                || (healthCycle.isDone() && System.nanoTime() - healthCheckedAt > TimeUnit.MILLISECONDS.toNanos(healthCacheTtlMs))) {
+                healthCycle = probeAllServices().whenComplete((health, error) -> healthCheckedAt = System.nanoTime());
+            }
+            cycle = healthCycle;
+        }
+        return cycle.join();
+    }
+    
+    private CompletableFuture<SystemHealth> probeAllServices() {
         logger.info("🔍 Checking health of all microservices...");
         
-        Map<String, ServiceHealth> serviceHealthMap = new HashMap<>();
-        List<String> issues = new ArrayList<>();
+        Map<String, CompletableFuture<ServiceHealth>> probes = new LinkedHashMap<>();
+        HEALTH_ENDPOINTS.forEach((serviceName, healthUrl) -> probes.put(serviceName, checkServiceHealth(serviceName, healthUrl)));
         
-        // Check each service health
-        for (Map.Entry<String, String> entry : HEALTH_ENDPOINTS.entrySet()) {
-            String serviceName = entry.getKey();
-            String healthUrl = entry.getValue();
+        return CompletableFuture.allOf(probes.values().toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            Map<String, ServiceHealth> serviceHealthMap = new HashMap<>();
+            List<String> issues = new ArrayList<>();
+            probes.forEach((serviceName, probe) -> {
+                ServiceHealth serviceHealth = probe.join();
+                serviceHealthMap.put(serviceName, serviceHealth);
+                if (serviceHealth.getStatus() != HealthStatus.HEALTHY) {
+                    issues.add(serviceName + ": " + serviceHealth.getStatus()
+                        + (serviceHealth.getMessage() != null ? " (" + serviceHealth.getMessage() + ")" : ""));
+                }
+            });
             
-            ServiceHealth serviceHealth = checkServiceHealth(serviceName, healthUrl);
-            serviceHealthMap.put(serviceName, serviceHealth);
+            // Determine overall system health
+            HealthStatus overallStatus = issues.isEmpty() ? HealthStatus.HEALTHY : HealthStatus.DEGRADED;
+            double overallScore = serviceHealthMap.values().stream()
+                .mapToDouble(ServiceHealth::getAvailability)
+                .average()
+                .orElse(0.0);
             
-            if (serviceHealth.getStatus() != HealthStatus.HEALTHY) {
-                issues.add(serviceName + ": " + serviceHealth.getStatus());
-            }
-        }
-        
-        // Determine overall system health
-        HealthStatus overallStatus = issues.isEmpty() ? HealthStatus.HEALTHY : HealthStatus.DEGRADED;
-        double overallScore = serviceHealthMap.values().stream()
-            .mapToDouble(ServiceHealth::getAvailability)
-            .average()
-            .orElse(0.0);
-        
-        SystemHealth systemHealth = SystemHealth.builder()
-            .overallStatus(overallStatus)
-            .serviceHealth(serviceHealthMap)
-            .issues(issues)
-            .lastCheck(LocalDateTime.now())
-            .build();
-        
-        logger.info("📊 System Health: {} (Score: {})", overallStatus, overallScore);
-        return systemHealth;
+            SystemHealth systemHealth = SystemHealth.builder()
+                .overallStatus(overallStatus)
+                .serviceHealth(serviceHealthMap)
+                .issues(issues)
+                .lastCheck(LocalDateTime.now())
+                .build();
+            
+            logger.info("📊 System Health: {} (Score: {})", overallStatus, overallScore);
+            return systemHealth;
+        });
     }
     
     /**
-     * Check health of a specific service
+     * Check health of a specific service; never completes exceptionally
      */
-    private ServiceHealth checkServiceHealth(String serviceName, String healthUrl) {
-        try {
-            ResponseEntity<String> response = restTemplate.getForEntity(healthUrl, String.class);
-            
-            HealthStatus status = response.getStatusCode() == HttpStatus.OK ? 
-                HealthStatus.HEALTHY : HealthStatus.UNHEALTHY;
-            
-            return ServiceHealth.builder()
-                .serviceName(serviceName)
-                .status(status)
-                .responseTime(100.0) // Mock response time
-                .availability(status == HealthStatus.HEALTHY ? 100.0 : 0.0)
-                .build();
+    CompletableFuture<ServiceHealth> checkServiceHealth(String serviceName, String healthUrl) {
+        long start = System.nanoTime();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(healthUrl))
+            .timeout(Duration.ofMillis(healthReadTimeoutMs))
+            .GET()
+            .build();
+        
+        return healthClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            // Safety net in case the connection stalls after the response headers
+            .orTimeout(healthConnectTimeoutMs + healthReadTimeoutMs, TimeUnit.MILLISECONDS)
+            .handle((response, error) -> {
+                double responseTime = (System.nanoTime() - start) / 1_000_000.0;
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                    logger.warn("⚠️ Service {} health check failed: {}", serviceName, cause.toString());
+                    return ServiceHealth.builder()
+                        .serviceName(serviceName)
+                        .status(HealthStatus.UNHEALTHY)
+                        .responseTime(responseTime)
+                        .availability(0.0)
+                        .message(cause.getClass().getSimpleName())
+                        .timestamp(LocalDateTime.now())
+                        .build();
+                }
                 
-        } catch (Exception e) {
-            logger.warn("⚠️ Service {} health check failed: {}", serviceName, e.getMessage());
-            
-            return ServiceHealth.builder()
-                .serviceName(serviceName)
-                .status(HealthStatus.UNHEALTHY)
-                .responseTime(0.0)
-                .availability(0.0)
-                .build();
-        }
+                boolean healthy = response.statusCode() >= 200 && response.statusCode() < 300;
+                return ServiceHealth.builder()
+                    .serviceName(serviceName)
+                    .status(healthy ? HealthStatus.HEALTHY : HealthStatus.UNHEALTHY)
+                    .responseTime(responseTime)
+                    .availability(healthy ? 100.0 : 0.0)
+                    .message(healthy ? null : "HTTP " + response.statusCode())
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            });
     }
     
     /**
      * Execute performance tests on specified services
+     *
+     * Each service gets a short constant-rate run (parameters targetRate, duration, path); the
+     * combined result merges every service's latency histograms exactly.
      */
     public TestResult executePerformanceTests(List<String> services, Map<String, Object> parameters) {
         logger.info("🚀 Executing performance tests on services: {}", services);
         
         List<String> testResults = new ArrayList<>();
+        Map<String, Object> serviceMetrics = new LinkedHashMap<>();
+        LatencyRecorder latency = new LatencyRecorder();
         TestStatus overallStatus = TestStatus.PASSED;
+        LocalDateTime startTime = LocalDateTime.now();
         
         for (String service : services) {
             try {
                 String serviceUrl = SERVICE_ENDPOINTS.get(service);
                 if (serviceUrl != null) {
-                    // Simulate performance test
-                    TestResult serviceResult = simulatePerformanceTest(service, serviceUrl, parameters);
-                    testResults.add(service + ": " + serviceResult.getStatus());
+                    TestResult serviceResult = runPerformanceTest(service, serviceUrl, parameters);
+                    testResults.add(service + ": " + serviceResult.getStatus()
+                        + (serviceResult.getErrorMessage() != null ? " - " + serviceResult.getErrorMessage() : ""));
+                    serviceMetrics.put(service, serviceResult.getPerformanceMetrics());
+                    latency.merge(latencyOf(serviceResult));
                     
                     if (serviceResult.getStatus() == TestStatus.FAILED) {
                         overallStatus = TestStatus.FAILED;
@@ -140,51 +229,52 @@ public class MicroserviceIntegrationService {
             }
         }
         
+        Map<String, Object> performanceMetrics = new LinkedHashMap<>();
+        performanceMetrics.put("services", serviceMetrics);
+        performanceMetrics.put("latency", latency.toMetrics());
         return TestResult.builder()
             .testType(TestType.PERFORMANCE_TEST)
             .status(overallStatus)
             .testOutput(Map.of("results", testResults))
-            .startTime(LocalDateTime.now())
+            .performanceMetrics(performanceMetrics)
+            .startTime(startTime)
+            .endTime(LocalDateTime.now())
             .build();
     }
     
     /**
-     * Simulate performance test execution
+     * Run a constant-rate load profile against one service
      */
-    private TestResult simulatePerformanceTest(String serviceName, String serviceUrl, Map<String, Object> parameters) {
-        try {
-            // Simulate test execution time
-            Thread.sleep(1000);
-            
-            // Mock performance metrics
-            double responseTime = 150.0 + Math.random() * 100;
-            double throughput = 1000.0 + Math.random() * 500;
-            double errorRate = Math.random() * 0.05;
-            
-            TestStatus status = errorRate < 0.02 ? TestStatus.PASSED : TestStatus.FAILED;
-            
-            List<String> results = Arrays.asList(
-                "Response Time: " + String.format("%.2f", responseTime) + "ms",
-                "Throughput: " + String.format("%.0f", throughput) + " req/sec",
-                "Error Rate: " + String.format("%.2f", errorRate * 100) + "%"
-            );
-            
-            return TestResult.builder()
-                .testType(TestType.PERFORMANCE_TEST)
-                .status(status)
-                .testOutput(Map.of("results", results))
-                .startTime(LocalDateTime.now())
-                .build();
-                
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            return TestResult.builder()
-                .testType(TestType.PERFORMANCE_TEST)
-                .status(TestStatus.FAILED)
-                .testOutput(Map.of("results", Arrays.asList("Test interrupted")))
-                .startTime(LocalDateTime.now())
-                .build();
+    private TestResult runPerformanceTest(String serviceName, String serviceUrl, Map<String, Object> parameters) {
+        double targetRate = parameters.get("targetRate") instanceof Number
+            ? ((Number) parameters.get("targetRate")).doubleValue() : 20.0;
+        LoadProfile profile = LoadProfile.builder()
+            .name("performance-" + serviceName)
+            .path(String.valueOf(parameters.getOrDefault("path", "/actuator/health")))
+            .startRate(targetRate)
+            .stage(String.valueOf(parameters.getOrDefault("duration", "30s")), targetRate)
+            .build();
+        
+        LocalDateTime startTime = LocalDateTime.now();
+        LoadTestResult result = loadGenerator.run(serviceUrl, profile);
+        TestResult testResult = result.toTestResult(serviceName, TestType.PERFORMANCE_TEST, startTime);
+        
+        List<RegressionVerdict> verdicts = regressionDetector.evaluate(testResult);
+        testResult.getPerformanceMetrics().put("regressionChecks",
+            verdicts.stream().map(RegressionVerdict::toMap).collect(Collectors.toList()));
+        for (RegressionVerdict verdict : verdicts) {
+            if (verdict.isRegression()) {
+                testResult.setStatus(TestStatus.FAILED);
+                testResult.setErrorMessage(verdict.describe());
+            }
         }
+        return testResult;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> latencyOf(TestResult result) {
+        Object latency = result.getPerformanceMetrics() != null ? result.getPerformanceMetrics().get("latency") : null;
+        return latency instanceof Map ? (Map<String, Object>) latency : Map.of();
     }
     
     /**
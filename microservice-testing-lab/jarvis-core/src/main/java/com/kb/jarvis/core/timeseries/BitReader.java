@@ -0,0 +1,40 @@
+package com.kb.jarvis.core.timeseries;
+
+/**
+ * Reads a stream written by {@link BitWriter}.
+ */
+final class BitReader {
+
+    private final byte[] buffer;
+    private long position;
+
+    BitReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    boolean readBit() {
+        return readBits(1) != 0;
+    }
+
+    long readBits(int count) {
+        long value = 0;
+        while (count > 0) {
+            int index = (int) (position >>> 3);
+            int available = 8 - (int) (position & 7);
+            int take = Math.min(available, count);
+            int bits = (buffer[index] >>> (available - take)) & ((1 << take) - 1);
+            value = (value << take) | bits;
+            position += take;
+            count -= take;
+        }
+        return value;
+    }
+
+    /**
+     * Read {@code count} bits as a two's complement number
+     */
+    long readSigned(int count) {
+        long value = readBits(count);
+        return (value << (64 - count)) >> (64 - count);
+    }
+}
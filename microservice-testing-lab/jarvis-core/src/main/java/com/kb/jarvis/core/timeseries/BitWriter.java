@@ -0,0 +1,55 @@
+package com.kb.jarvis.core.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * Append-only bit stream, most significant bit first.
+ */
+final class BitWriter {
+
+    private byte[] buffer;
+    private long bitLength;
+
+    BitWriter(int initialBytes) {
+        this.buffer = new byte[Math.max(8, initialBytes)];
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Write the low {@code count} bits of {@code value}, 0 to 64 of them
+     */
+    void writeBits(long value, int count) {
+        ensureCapacity(bitLength + count);
+        while (count > 0) {
+            int index = (int) (bitLength >>> 3);
+            int free = 8 - (int) (bitLength & 7);
+            int take = Math.min(free, count);
+            int bits = (int) ((value >>> (count - take)) & ((1 << take) - 1));
+            buffer[index] |= (byte) (bits << (free - take));
+            bitLength += take;
+            count -= take;
+        }
+    }
+
+    long bitLength() {
+        return bitLength;
+    }
+
+    int byteLength() {
+        return (int) ((bitLength + 7) >>> 3);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, byteLength());
+    }
+
+    private void ensureCapacity(long bits) {
+        int needed = (int) ((bits + 7) >>> 3);
+        if (needed > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(needed, buffer.length * 2));
+        }
+    }
+}
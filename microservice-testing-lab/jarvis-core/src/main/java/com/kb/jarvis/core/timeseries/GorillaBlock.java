@@ -0,0 +1,207 @@
+package com.kb.jarvis.core.timeseries;
+
+/**
+ * A block of rows compressed as in Facebook's Gorilla: delta-of-delta timestamps and XOR'd doubles.
+ *
+ * Each row is an epoch-second timestamp plus a fixed number of value columns. A timestamp is
+ * stored as the change of its delta: a single 0 bit when rows arrive at a steady interval, or a
+ * short prefix and 7, 9, 12 or 64 bits otherwise. Each value is XOR'd with the previous value of
+ * its column: a 0 bit when unchanged, otherwise the meaningful bits, reusing the previous leading
+ * and trailing zero window when they fit. A block is written by one thread; readers decode an
+ * immutable {@link Snapshot}.
+ */
+final class GorillaBlock {
+
+    private final int columns;
+    private final BitWriter bits = new BitWriter(64);
+    private final long[] previousValues;
+    private final int[] previousLeading;
+    private final int[] previousTrailing;
+    private int rows;
+    private long firstTimestamp;
+    private long previousTimestamp;
+    private long previousDelta;
+
+    GorillaBlock(int columns) {
+        this.columns = columns;
+        this.previousValues = new long[columns];
+        this.previousLeading = new int[columns];
+        this.previousTrailing = new int[columns];
+    }
+
+    /**
+     * Append a row; timestamps must not go backwards
+     */
+    void append(long timestamp, double[] values) {
+        if (rows == 0) {
+            firstTimestamp = timestamp;
+            bits.writeBits(timestamp, 64);
+            for (int column = 0; column < columns; column++) {
+                long raw = Double.doubleToRawLongBits(values[column]);
+                bits.writeBits(raw, 64);
+                previousValues[column] = raw;
+                previousLeading[column] = -1;
+            }
+        } else {
+            long delta = timestamp - previousTimestamp;
+            writeDeltaOfDelta(delta - previousDelta);
+            previousDelta = delta;
+            for (int column = 0; column < columns; column++) {
+                writeValue(column, Double.doubleToRawLongBits(values[column]));
+            }
+        }
+        previousTimestamp = timestamp;
+        rows++;
+    }
+
+    int rows() {
+        return rows;
+    }
+
+    long firstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long lastTimestamp() {
+        return previousTimestamp;
+    }
+
+    int sizeInBytes() {
+        return bits.byteLength();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(bits.toByteArray(), columns, rows, firstTimestamp, previousTimestamp);
+    }
+
+    private void writeDeltaOfDelta(long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            bits.writeBit(false);
+        } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+            bits.writeBits(0b10, 2);
+            bits.writeBits(deltaOfDelta, 7);
+        } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+            bits.writeBits(0b110, 3);
+            bits.writeBits(deltaOfDelta, 9);
+        } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+            bits.writeBits(0b1110, 4);
+            bits.writeBits(deltaOfDelta, 12);
+        } else {
+            bits.writeBits(0b1111, 4);
+            bits.writeBits(deltaOfDelta, 64);
+        }
+    }
+
+    private void writeValue(int column, long raw) {
+        long xor = raw ^ previousValues[column];
+        previousValues[column] = raw;
+        if (xor == 0) {
+            bits.writeBit(false);
+            return;
+        }
+        bits.writeBit(true);
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (previousLeading[column] >= 0 && leading >= previousLeading[column] && trailing >= previousTrailing[column]) {
+            // The meaningful bits fit in the previous window
+            bits.writeBit(false);
+            bits.writeBits(xor >>> previousTrailing[column], 64 - previousLeading[column] - previousTrailing[column]);
+        } else {
+            int length = 64 - leading - trailing;
+            bits.writeBit(true);
+            bits.writeBits(leading, 5);
+            bits.writeBits(length - 1, 6);
+            bits.writeBits(xor >>> trailing, length);
+            previousLeading[column] = leading;
+            previousTrailing[column] = trailing;
+        }
+    }
+
+    /**
+     * Receives decoded rows; the values array is reused between rows
+     */
+    interface RowConsumer {
+        void accept(long timestamp, double[] values);
+    }
+
+    /**
+     * Immutable copy of a block that can be decoded without holding the writer's lock
+     */
+    static final class Snapshot {
+
+        private final byte[] data;
+        private final int columns;
+        private final int rows;
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+
+        Snapshot(byte[] data, int columns, int rows, long firstTimestamp, long lastTimestamp) {
+            this.data = data;
+            this.columns = columns;
+            this.rows = rows;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+        }
+
+        int rows() { return rows; }
+        long firstTimestamp() { return firstTimestamp; }
+        long lastTimestamp() { return lastTimestamp; }
+        int sizeInBytes() { return data.length; }
+
+        boolean overlaps(long fromTimestamp, long toTimestamp) {
+            return rows > 0 && firstTimestamp < toTimestamp && lastTimestamp >= fromTimestamp;
+        }
+
+        void forEach(RowConsumer consumer) {
+            BitReader in = new BitReader(data);
+            long[] values = new long[columns];
+            int[] leading = new int[columns];
+            int[] trailing = new int[columns];
+            double[] row = new double[columns];
+            long timestamp = 0;
+            long delta = 0;
+            for (int index = 0; index < rows; index++) {
+                if (index == 0) {
+                    timestamp = in.readBits(64);
+                    for (int column = 0; column < columns; column++) {
+                        values[column] = in.readBits(64);
+                    }
+                } else {
+                    delta += readDeltaOfDelta(in);
+                    timestamp += delta;
+                    for (int column = 0; column < columns; column++) {
+                        if (in.readBit()) {
+                            if (in.readBit()) {
+                                leading[column] = (int) in.readBits(5);
+                                int length = (int) in.readBits(6) + 1;
+                                trailing[column] = 64 - leading[column] - length;
+                            }
+                            int length = 64 - leading[column] - trailing[column];
+                            values[column] ^= in.readBits(length) << trailing[column];
+                        }
+                    }
+                }
+                for (int column = 0; column < columns; column++) {
+                    row[column] = Double.longBitsToDouble(values[column]);
+                }
+                consumer.accept(timestamp, row);
+            }
+        }
+
+        private static long readDeltaOfDelta(BitReader in) {
+            if (!in.readBit()) {
+                return 0;
+            }
+            if (!in.readBit()) {
+                return in.readSigned(7);
+            }
+            if (!in.readBit()) {
+                return in.readSigned(9);
+            }
+            if (!in.readBit()) {
+                return in.readSigned(12);
+            }
+            return in.readBits(64);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kb.jarvis.core.timeseries;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded, in-memory history of every metric Jarvis collects.
+ *
+ * Each series keeps raw points at one-second resolution with minute and hour rollups, all
+ * Gorilla-compressed, so a steady metric costs a few bits per point. Range queries return the
+ * buckets of one tier; aggregates over long ranges read hour rollups and only touch finer tiers
+ * at the edges.
+ */
+@Component
+public class MetricHistoryStore {
+
+    @Value("${jarvis.timeseries.raw-retention-hours:6}")
+    private long rawRetentionHours;
+
+    @Value("${jarvis.timeseries.minute-retention-hours:168}")
+    private long minuteRetentionHours;
+
+    @Value("${jarvis.timeseries.hour-retention-hours:2160}")
+    private long hourRetentionHours;
+
+    @Value("${jarvis.timeseries.max-series:10000}")
+    private int maxSeries;
+
+    private final Map<String, TimeSeries> series = new ConcurrentHashMap<>();
+
+    /**
+     * Append a point; returns false when it is older than the series' latest point, is NaN, or
+     * would create a series beyond the configured limit
+     */
+    public boolean record(String name, long timestampMs, double value) {
+        TimeSeries timeSeries = series.get(name);
+        if (timeSeries == null) {
+            if (series.size() >= maxSeries) {
+                return false;
+            }
+            timeSeries = series.computeIfAbsent(name, key -> new TimeSeries(retentionMs()));
+        }
+        return timeSeries.record(timestampMs, value);
+    }
+
+    /**
+     * Buckets of a series in [fromMs, toMs) at the given resolution, oldest first
+     */
+    public List<Rollup> query(String name, long fromMs, long toMs, Resolution resolution) {
+        TimeSeries timeSeries = series.get(name);
+        return timeSeries != null ? timeSeries.query(fromMs, toMs, resolution) : Collections.emptyList();
+    }
+
+    /**
+     * Count, sum, minimum and maximum of a series over [fromMs, toMs); empty when there is no data
+     */
+    public Rollup aggregate(String name, long fromMs, long toMs) {
+        TimeSeries timeSeries = series.get(name);
+        return timeSeries != null ? timeSeries.aggregate(fromMs, toMs) : new Rollup(fromMs);
+    }
+
+    /**
+     * Mean of a series over the last {@code windowMs}, or null when there is no data
+     */
+    public Double mean(String name, long windowMs) {
+        long now = System.currentTimeMillis();
+        Rollup rollup = aggregate(name, now - windowMs, now + 1);
+        return rollup.isEmpty() ? null : rollup.getMean();
+    }
+
+    public boolean contains(String name) {
+        return series.containsKey(name);
+    }
+
+    public Set<String> getSeriesNames() {
+        return new TreeSet<>(series.keySet());
+    }
+
+    public Map<String, Object> getStatistics() {
+        long rawPoints = 0;
+        long bytes = 0;
+        for (TimeSeries timeSeries : series.values()) {
+            rawPoints += timeSeries.rows(Resolution.SECOND);
+            bytes += timeSeries.sizeInBytes();
+        }
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("series", series.size());
+        statistics.put("rawPoints", rawPoints);
+        statistics.put("compressedBytes", bytes);
+        statistics.put("bytesPerRawPoint", rawPoints > 0 ? (double) bytes / rawPoints : 0.0);
+        statistics.put("retentionHours", Map.of("second", rawRetentionHours, "minute", minuteRetentionHours, "hour", hourRetentionHours));
+        return statistics;
+    }
+
+    public Map<String, Object> getSeriesStatistics(String name) {
+        TimeSeries timeSeries = series.get(name);
+        return timeSeries != null ? timeSeries.getStatistics() : Collections.emptyMap();
+    }
+
+    private long[] retentionMs() {
+        long hour = Resolution.HOUR.getMillis();
+        return new long[] {rawRetentionHours * hour, minuteRetentionHours * hour, hourRetentionHours * hour};
+    }
+}
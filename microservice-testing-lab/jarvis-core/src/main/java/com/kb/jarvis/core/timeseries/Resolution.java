@@ -0,0 +1,37 @@
+package com.kb.jarvis.core.timeseries;
+
+/**
+ * Storage tiers of a series: raw points at one-second resolution and their minute and hour rollups
+ */
+public enum Resolution {
+
+    SECOND(1_000L),
+    MINUTE(60_000L),
+    HOUR(3_600_000L);
+
+    private final long millis;
+
+    Resolution(long millis) {
+        this.millis = millis;
+    }
+
+    public long getMillis() {
+        return millis;
+    }
+
+    long getSeconds() {
+        return millis / 1000;
+    }
+
+    /**
+     * Finest resolution that answers a range with at most {@code maxPoints} buckets
+     */
+    public static Resolution forRange(long rangeMs, int maxPoints) {
+        for (Resolution resolution : values()) {
+            if (rangeMs / resolution.millis <= maxPoints) {
+                return resolution;
+            }
+        }
+        return HOUR;
+    }
+}
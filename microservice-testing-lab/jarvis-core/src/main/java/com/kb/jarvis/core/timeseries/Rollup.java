@@ -0,0 +1,96 @@
+package com.kb.jarvis.core.timeseries;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Count, sum, minimum and maximum of the points in a bucket starting at {@link #getTimestampMs()}.
+ * A raw point is a rollup of one.
+ */
+public class Rollup {
+
+    static final int COLUMNS = 4;
+
+    private final long timestampMs;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    Rollup(long timestampMs) {
+        this.timestampMs = timestampMs;
+    }
+
+    static Rollup ofPoint(long timestampMs, double value) {
+        Rollup rollup = new Rollup(timestampMs);
+        rollup.add(value);
+        return rollup;
+    }
+
+    /**
+     * Rollup decoded from its stored columns
+     */
+    static Rollup ofColumns(long timestampMs, double[] columns) {
+        Rollup rollup = new Rollup(timestampMs);
+        rollup.count = (long) columns[0];
+        rollup.sum = columns[1];
+        rollup.min = columns[2];
+        rollup.max = columns[3];
+        return rollup;
+    }
+
+    void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    void merge(Rollup other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    double[] toColumns() {
+        return new double[] {count, sum, min, max};
+    }
+
+    Rollup copy(long atTimestampMs) {
+        Rollup copy = new Rollup(atTimestampMs);
+        copy.merge(this);
+        return copy;
+    }
+
+    // Getters
+    public long getTimestampMs() { return timestampMs; }
+    public long getCount() { return count; }
+    public double getSum() { return sum; }
+    public double getMin() { return count > 0 ? min : Double.NaN; }
+    public double getMax() { return count > 0 ? max : Double.NaN; }
+
+    public double getMean() {
+        return count > 0 ? sum / count : Double.NaN;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("timestamp", timestampMs);
+        map.put("count", count);
+        if (count > 0) {
+            map.put("mean", getMean());
+            map.put("min", min);
+            map.put("max", max);
+            map.put("sum", sum);
+        }
+        return map;
+    }
+}
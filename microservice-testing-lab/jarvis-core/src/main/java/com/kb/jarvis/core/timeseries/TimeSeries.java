@@ -0,0 +1,249 @@
+package com.kb.jarvis.core.timeseries;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One metric's history in three tiers: raw points at one-second resolution, minute rollups and
+ * hour rollups, each a chain of Gorilla blocks with its own retention.
+ *
+ * Recording a point appends it to the raw tier and folds it into the open minute; a minute is
+ * appended to its tier when the first point of a later minute arrives, and folded into the open
+ * hour the same way. Open buckets are included in queries, so rollups are complete up to the
+ * latest point. Points older than the latest one are rejected, as the encoding is append-only.
+ */
+final class TimeSeries {
+
+    private static final long[] BLOCK_SPAN_SECONDS = {2 * 3600L, 24 * 3600L, 30 * 24 * 3600L};
+
+    private final Tier[] tiers = new Tier[Resolution.values().length];
+    private final double[] rawRow = new double[1];
+    private Rollup openMinute;
+    private Rollup openHour;
+    private long lastTimestampMs = Long.MIN_VALUE;
+
+    TimeSeries(long[] retentionMs) {
+        for (Resolution resolution : Resolution.values()) {
+            int columns = resolution == Resolution.SECOND ? 1 : Rollup.COLUMNS;
+            long retentionSeconds = retentionMs[resolution.ordinal()] / 1000;
+            long span = Math.min(BLOCK_SPAN_SECONDS[resolution.ordinal()], Math.max(resolution.getSeconds(), retentionSeconds));
+            tiers[resolution.ordinal()] = new Tier(columns, span, retentionSeconds);
+        }
+    }
+
+    synchronized boolean record(long timestampMs, double value) {
+        if (timestampMs < lastTimestampMs || Double.isNaN(value)) {
+            return false;
+        }
+        lastTimestampMs = timestampMs;
+        rawRow[0] = value;
+        tiers[Resolution.SECOND.ordinal()].append(Math.floorDiv(timestampMs, 1000L), rawRow);
+
+        long minuteStart = bucketStart(timestampMs, Resolution.MINUTE);
+        if (openMinute != null && openMinute.getTimestampMs() != minuteStart) {
+            closeMinute();
+        }
+        if (openMinute == null) {
+            openMinute = new Rollup(minuteStart);
+        }
+        openMinute.add(value);
+        return true;
+    }
+
+    /**
+     * Buckets of one tier starting in [fromMs, toMs), oldest first
+     */
+    List<Rollup> query(long fromMs, long toMs, Resolution resolution) {
+        List<GorillaBlock.Snapshot> blocks;
+        List<Rollup> open;
+        long fromSeconds = Math.floorDiv(fromMs, 1000L);
+        long toSeconds = Math.floorDiv(toMs - 1, 1000L) + 1;
+        synchronized (this) {
+            blocks = tiers[resolution.ordinal()].blocks(fromSeconds, toSeconds);
+            open = openBuckets(resolution);
+        }
+
+        List<Rollup> buckets = new ArrayList<>();
+        for (GorillaBlock.Snapshot block : blocks) {
+            block.forEach((timestamp, values) -> {
+                long timestampMs = timestamp * 1000;
+                if (timestampMs >= fromMs && timestampMs < toMs) {
+                    buckets.add(resolution == Resolution.SECOND
+                        ? Rollup.ofPoint(timestampMs, values[0])
+                        : Rollup.ofColumns(timestampMs, values));
+                }
+            });
+        }
+        for (Rollup bucket : open) {
+            if (bucket.getTimestampMs() >= fromMs && bucket.getTimestampMs() < toMs) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Rollup of [fromMs, toMs) from the coarsest buckets that fit wholly inside the range, with
+     * finer tiers filling the edges; edges older than a finer tier's retention are left out
+     */
+    Rollup aggregate(long fromMs, long toMs) {
+        Rollup total = new Rollup(fromMs);
+        accumulate(total, fromMs, toMs, Resolution.HOUR);
+        return total;
+    }
+
+    synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        for (Resolution resolution : Resolution.values()) {
+            Tier tier = tiers[resolution.ordinal()];
+            Map<String, Object> tierStatistics = new LinkedHashMap<>();
+            tierStatistics.put("rows", tier.rows());
+            tierStatistics.put("bytes", tier.sizeInBytes());
+            statistics.put(resolution.name().toLowerCase(), tierStatistics);
+        }
+        return statistics;
+    }
+
+    synchronized long rows(Resolution resolution) {
+        return tiers[resolution.ordinal()].rows();
+    }
+
+    synchronized long sizeInBytes() {
+        long bytes = 0;
+        for (Tier tier : tiers) {
+            bytes += tier.sizeInBytes();
+        }
+        return bytes;
+    }
+
+    private void accumulate(Rollup total, long fromMs, long toMs, Resolution resolution) {
+        if (fromMs >= toMs) {
+            return;
+        }
+        if (resolution == Resolution.SECOND) {
+            query(fromMs, toMs, resolution).forEach(total::merge);
+            return;
+        }
+        Resolution finer = Resolution.values()[resolution.ordinal() - 1];
+        long width = resolution.getMillis();
+        long start = Math.floorDiv(fromMs + width - 1, width) * width;
+        long end = Math.floorDiv(toMs, width) * width;
+        if (start >= end) {
+            accumulate(total, fromMs, toMs, finer);
+            return;
+        }
+        accumulate(total, fromMs, start, finer);
+        query(start, end, resolution).forEach(total::merge);
+        accumulate(total, end, toMs, finer);
+    }
+
+    private void closeMinute() {
+        tiers[Resolution.MINUTE.ordinal()].append(openMinute.getTimestampMs() / 1000, openMinute.toColumns());
+        long hourStart = bucketStart(openMinute.getTimestampMs(), Resolution.HOUR);
+        if (openHour != null && openHour.getTimestampMs() != hourStart) {
+            tiers[Resolution.HOUR.ordinal()].append(openHour.getTimestampMs() / 1000, openHour.toColumns());
+            openHour = null;
+        }
+        if (openHour == null) {
+            openHour = new Rollup(hourStart);
+        }
+        openHour.merge(openMinute);
+        openMinute = null;
+    }
+
+    /**
+     * Copies of the buckets of a tier that are still accumulating
+     */
+    private List<Rollup> openBuckets(Resolution resolution) {
+        List<Rollup> open = new ArrayList<>(2);
+        if (resolution == Resolution.MINUTE && openMinute != null) {
+            open.add(openMinute.copy(openMinute.getTimestampMs()));
+        } else if (resolution == Resolution.HOUR) {
+            Rollup hour = openHour != null ? openHour.copy(openHour.getTimestampMs()) : null;
+            if (openMinute != null) {
+                long minuteHour = bucketStart(openMinute.getTimestampMs(), Resolution.HOUR);
+                if (hour != null && hour.getTimestampMs() == minuteHour) {
+                    hour.merge(openMinute);
+                } else {
+                    if (hour != null) {
+                        open.add(hour);
+                    }
+                    hour = openMinute.copy(minuteHour);
+                }
+            }
+            if (hour != null) {
+                open.add(hour);
+            }
+        }
+        return open;
+    }
+
+    private static long bucketStart(long timestampMs, Resolution resolution) {
+        return Math.floorDiv(timestampMs, resolution.getMillis()) * resolution.getMillis();
+    }
+
+    /**
+     * Sealed blocks plus the block being written, dropping sealed blocks past the retention
+     */
+    private static final class Tier {
+
+        private final int columns;
+        private final long blockSpanSeconds;
+        private final long retentionSeconds;
+        private final Deque<GorillaBlock.Snapshot> sealed = new ArrayDeque<>();
+        private GorillaBlock active;
+
+        Tier(int columns, long blockSpanSeconds, long retentionSeconds) {
+            this.columns = columns;
+            this.blockSpanSeconds = blockSpanSeconds;
+            this.retentionSeconds = retentionSeconds;
+        }
+
+        void append(long timestamp, double[] values) {
+            if (active != null && timestamp - active.firstTimestamp() >= blockSpanSeconds) {
+                sealed.addLast(active.snapshot());
+                active = null;
+            }
+            if (active == null) {
+                active = new GorillaBlock(columns);
+            }
+            active.append(timestamp, values);
+            while (!sealed.isEmpty() && sealed.peekFirst().lastTimestamp() < timestamp - retentionSeconds) {
+                sealed.removeFirst();
+            }
+        }
+
+        List<GorillaBlock.Snapshot> blocks(long fromSeconds, long toSeconds) {
+            List<GorillaBlock.Snapshot> blocks = new ArrayList<>();
+            for (GorillaBlock.Snapshot block : sealed) {
+                if (block.overlaps(fromSeconds, toSeconds)) {
+                    blocks.add(block);
+                }
+            }
+            if (active != null && active.rows() > 0 && active.firstTimestamp() < toSeconds && active.lastTimestamp() >= fromSeconds) {
+                blocks.add(active.snapshot());
+            }
+            return blocks;
+        }
+
+        long rows() {
+            long rows = active != null ? active.rows() : 0;
+            for (GorillaBlock.Snapshot block : sealed) {
+                rows += block.rows();
+            }
+            return rows;
+        }
+
+        long sizeInBytes() {
+            long bytes = active != null ? active.sizeInBytes() : 0;
+            for (GorillaBlock.Snapshot block : sealed) {
+                bytes += block.sizeInBytes();
+            }
+            return bytes;
+        }
+    }
+}
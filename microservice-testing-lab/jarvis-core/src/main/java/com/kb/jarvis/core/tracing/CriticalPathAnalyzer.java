@@ -0,0 +1,255 @@
+package com.kb.jarvis.core.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Breaks a trace down into where its time went.
+ *
+ * The critical path is the chain of work the request actually waited on. It is built backwards
+ * from the end of the root span: the last child to finish is on the path up to its own end, and
+ * the walk continues from that child's start with the children that finished before it. Time not
+ * covered by any child on the path is the span's own work. Children are clipped to their parent's
+ * window, which also absorbs clock skew between services. Each span's self time (its duration
+ * minus the union of its children) is reported alongside.
+ *
+ * The {@link TraceStore} only holds acyclic traces, but a trace without a root (every span's parent
+ * present, i.e. a cycle) is still tolerated: its summary has no root fields and its analysis an
+ * empty path.
+ */
+public final class CriticalPathAnalyzer {
+
+    private CriticalPathAnalyzer() {
+    }
+
+    /**
+     * Summary of a trace without the path: its root, duration and services
+     */
+    public static Map<String, Object> summarize(String traceId, List<Span> spans) {
+        Set<String> spanIds = new HashSet<>();
+        for (Span span : spans) {
+            spanIds.add(span.getSpanId());
+        }
+        List<Span> roots = new ArrayList<>();
+        for (Span span : spans) {
+            if (span.getParentId() == null || !spanIds.contains(span.getParentId())) {
+                roots.add(span);
+            }
+        }
+        Span root = findRoot(roots);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("traceId", traceId);
+        summary.put("service", root != null ? root.getService() : null);
+        summary.put("name", root != null ? root.getName() : null);
+        summary.put("startMicros", root != null ? root.getStartMicros() : 0L);
+        summary.put("durationMicros", root != null ? root.getDurationMicros() : 0L);
+        summary.put("spanCount", spans.size());
+        summary.put("services", services(spans));
+        summary.put("error", spans.stream().anyMatch(Span::isError));
+        return summary;
+    }
+
+    /**
+     * The summary plus the critical path, its split by service and by operation, and every span
+     * with its depth and self time in tree order
+     */
+    public static Map<String, Object> analyze(String traceId, List<Span> spans) {
+        Map<String, Span> byId = new HashMap<>();
+        for (Span span : spans) {
+            byId.putIfAbsent(span.getSpanId(), span);
+        }
+        Map<String, List<Span>> children = new HashMap<>();
+        List<Span> roots = new ArrayList<>();
+        for (Span span : byId.values()) {
+            if (span.getParentId() != null && byId.containsKey(span.getParentId())) {
+                children.computeIfAbsent(span.getParentId(), key -> new ArrayList<>()).add(span);
+            } else {
+                roots.add(span);
+            }
+        }
+        Span root = findRoot(roots);
+        Map<String, Object> analysis = summarize(traceId, spans);
+        if (root == null) {
+            analysis.put("criticalPath", List.of());
+            analysis.put("byService", List.of());
+            analysis.put("byOperation", List.of());
+            analysis.put("spans", List.of());
+            return analysis;
+        }
+
+        List<Segment> path = new ArrayList<>();
+        walk(root, root.getStartMicros(), root.getEndMicros(), children, path);
+        List<Segment> merged = merge(path);
+
+        long total = Math.max(1, root.getDurationMicros());
+        Map<String, Long> byService = new LinkedHashMap<>();
+        Map<String, Long> byOperation = new LinkedHashMap<>();
+        List<Map<String, Object>> criticalPath = new ArrayList<>();
+        for (Segment segment : merged) {
+            long duration = segment.end - segment.start;
+            byService.merge(segment.span.getService(), duration, Long::sum);
+            byOperation.merge(segment.span.getService() + " " + segment.span.getName(), duration, Long::sum);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("spanId", segment.span.getSpanId());
+            entry.put("service", segment.span.getService());
+            entry.put("name", segment.span.getName());
+            entry.put("offsetMicros", segment.start - root.getStartMicros());
+            entry.put("durationMicros", duration);
+            entry.put("share", share(duration, total));
+            criticalPath.add(entry);
+        }
+
+        List<Map<String, Object>> tree = new ArrayList<>();
+        for (Span top : sortedByStart(roots)) {
+            addTree(top, 0, root.getStartMicros(), children, tree);
+        }
+
+        analysis.put("criticalPath", criticalPath);
+        analysis.put("byService", breakdown("service", byService, total));
+        analysis.put("byOperation", breakdown("operation", byOperation, total));
+        analysis.put("spans", tree);
+        return analysis;
+    }
+
+    /**
+     * Append the path through {@code span} within [from, to), latest first
+     */
+    private static void walk(Span span, long from, long to, Map<String, List<Span>> children,
+                             List<Segment> path) {
+        long cursor = to;
+        List<Span> byEnd = new ArrayList<>(children.getOrDefault(span.getSpanId(), List.of()));
+        byEnd.sort(Comparator.comparingLong(Span::getEndMicros).reversed());
+        for (Span child : byEnd) {
+            if (cursor <= from) {
+                break;
+            }
+            long childStart = Math.max(child.getStartMicros(), from);
+            long childEnd = Math.min(child.getEndMicros(), cursor);
+            if (childEnd <= childStart) {
+                // Ran entirely alongside a later child already on the path
+                continue;
+            }
+            if (childEnd < cursor) {
+                path.add(new Segment(span, childEnd, cursor));
+            }
+            walk(child, childStart, childEnd, children, path);
+            cursor = childStart;
+        }
+        if (cursor > from) {
+            path.add(new Segment(span, from, cursor));
+        }
+    }
+
+    /**
+     * Reverse the latest-first path and join adjacent pieces of the same span
+     */
+    private static List<Segment> merge(List<Segment> path) {
+        List<Segment> merged = new ArrayList<>();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Segment segment = path.get(i);
+            Segment last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last.span == segment.span && last.end == segment.start) {
+                merged.set(merged.size() - 1, new Segment(last.span, last.start, segment.end));
+            } else if (segment.end > segment.start) {
+                merged.add(segment);
+            }
+        }
+        return merged;
+    }
+
+    private static void addTree(Span span, int depth, long traceStart, Map<String, List<Span>> children,
+                                List<Map<String, Object>> tree) {
+        List<Span> spanChildren = sortedByStart(children.getOrDefault(span.getSpanId(), List.of()));
+        Map<String, Object> entry = span.toMap();
+        entry.put("depth", depth);
+        entry.put("offsetMicros", span.getStartMicros() - traceStart);
+        entry.put("selfMicros", selfTime(span, spanChildren));
+        tree.add(entry);
+        for (Span child : spanChildren) {
+            addTree(child, depth + 1, traceStart, children, tree);
+        }
+    }
+
+    /**
+     * Duration not covered by any child; children are sorted by start
+     */
+    private static long selfTime(Span span, List<Span> children) {
+        long covered = 0;
+        long coveredUntil = span.getStartMicros();
+        for (Span child : children) {
+            long start = Math.max(child.getStartMicros(), coveredUntil);
+            long end = Math.min(child.getEndMicros(), span.getEndMicros());
+            if (end > start) {
+                covered += end - start;
+                coveredUntil = end;
+            }
+        }
+        return span.getDurationMicros() - covered;
+    }
+
+    /**
+     * The root span: one without a known parent, preferring the longest and then the earliest
+     */
+    private static Span findRoot(List<Span> candidates) {
+        Span root = null;
+        for (Span span : candidates) {
+            if (root == null || span.getDurationMicros() > root.getDurationMicros()
+                    || (span.getDurationMicros() == root.getDurationMicros()
+                        && span.getStartMicros() < root.getStartMicros())) {
+                root = span;
+            }
+        }
+        return root;
+    }
+
+    private static List<Span> sortedByStart(List<Span> spans) {
+        List<Span> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(Span::getStartMicros));
+        return sorted;
+    }
+
+    private static List<String> services(List<Span> spans) {
+        TreeSet<String> services = new TreeSet<>();
+        for (Span span : spans) {
+            services.add(span.getService());
+        }
+        return new ArrayList<>(services);
+    }
+
+    private static List<Map<String, Object>> breakdown(String key, Map<String, Long> micros, long total) {
+        List<Map<String, Object>> breakdown = new ArrayList<>();
+        micros.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .forEach(entry -> {
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put(key, entry.getKey());
+                    item.put("durationMicros", entry.getValue());
+                    item.put("share", share(entry.getValue(), total));
+                    breakdown.add(item);
+                });
+        return breakdown;
+    }
+
+    private static double share(long micros, long total) {
+        return Math.round(10000.0 * micros / total) / 10000.0;
+    }
+
+    private static final class Segment {
+        private final Span span;
+        private final long start;
+        private final long end;
+
+        Segment(Span span, long start, long end) {
+            this.span = span;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.kb.jarvis.core.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation reported by a service: a request it served ({@code SERVER}) or a call it
+ * made while serving one ({@code CLIENT}). Times are epoch microseconds.
+ */
+public class Span {
+    private String traceId;
+    private String spanId;
+    private String parentId;
+    private String service;
+    private String name;
+    private String kind;
+    private long startMicros;
+    private long durationMicros;
+    private boolean error;
+
+    public Span() {}
+
+    // Getter methods
+    public String getTraceId() { return traceId; }
+    public String getSpanId() { return spanId; }
+    public String getParentId() { return parentId; }
+    public String getService() { return service; }
+    public String getName() { return name; }
+    public String getKind() { return kind; }
+    public long getStartMicros() { return startMicros; }
+    public long getDurationMicros() { return durationMicros; }
+    public boolean isError() { return error; }
+
+    public long getEndMicros() { return startMicros + durationMicros; }
+
+    // Setter methods
+    public void setTraceId(String traceId) { this.traceId = traceId; }
+    public void setSpanId(String spanId) { this.spanId = spanId; }
+    public void setParentId(String parentId) { this.parentId = parentId; }
+    public void setService(String service) { this.service = service; }
+    public void setName(String name) { this.name = name; }
+    public void setKind(String kind) { this.kind = kind; }
+    public void setStartMicros(long startMicros) { this.startMicros = startMicros; }
+    public void setDurationMicros(long durationMicros) { this.durationMicros = durationMicros; }
+    public void setError(boolean error) { this.error = error; }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("spanId", spanId);
+        map.put("parentId", parentId);
+        map.put("service", service);
+        map.put("name", name);
+        map.put("kind", kind);
+        map.put("startMicros", startMicros);
+        map.put("durationMicros", durationMicros);
+        map.put("error", error);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return "Span{" + service + " " + name + " " + spanId + " " + durationMicros + "us}";
+    }
+}
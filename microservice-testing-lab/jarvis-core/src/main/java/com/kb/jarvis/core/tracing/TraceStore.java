@@ -0,0 +1,161 @@
+package com.kb.jarvis.core.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded, in-memory collection of the spans the services report, grouped by trace.
+ *
+ * Traces are kept in the order they were first seen; once {@code max-traces} are held the oldest
+ * is evicted for each new one, and a trace stops accepting spans at {@code max-spans-per-trace}.
+ * Spans of one trace may arrive from several services in separate batches, in any order. A span
+ * whose parent chain leads back to itself is rejected, so every held trace is a forest: it always
+ * has a root, even while some parents have not arrived yet.
+ */
+@Component
+public class TraceStore {
+
+    private static final Pattern TRACE_ID = Pattern.compile("[0-9a-f]{32}");
+    private static final Pattern SPAN_ID = Pattern.compile("[0-9a-f]{16}");
+    private static final int MAX_NAME_LENGTH = 200;
+
+    @Value("${jarvis.tracing.max-traces:10000}")
+    private int maxTraces;
+
+    @Value("${jarvis.tracing.max-spans-per-trace:1000}")
+    private int maxSpansPerTrace;
+
+    // Guarded by itself; insertion order is first-seen order
+    private final LinkedHashMap<String, Trace> traces = new LinkedHashMap<>();
+    private long acceptedSpans;
+    private long rejectedSpans;
+    private long evictedTraces;
+
+    /**
+     * Add a batch of spans; returns how many were accepted. Spans with malformed ids, negative
+     * durations, a span id already seen in their trace or a parent chain that cycles back to them
+     * are rejected.
+     */
+    public int add(List<Span> spans) {
+        int accepted = 0;
+        synchronized (traces) {
+            for (Span span : spans) {
+                if (span == null || !isValid(span)) {
+                    continue;
+                }
+                if (span.getName().length() > MAX_NAME_LENGTH) {
+                    span.setName(span.getName().substring(0, MAX_NAME_LENGTH));
+                }
+                Trace trace = traces.get(span.getTraceId());
+                if (trace == null) {
+                    trace = new Trace();
+                    traces.put(span.getTraceId(), trace);
+                    evictOldest();
+                }
+                if (trace.spans.size() < maxSpansPerTrace && !trace.byId.containsKey(span.getSpanId())
+                        && !trace.closesCycle(span)) {
+                    trace.byId.put(span.getSpanId(), span);
+                    trace.spans.add(span);
+                    accepted++;
+                }
+            }
+            acceptedSpans += accepted;
+            rejectedSpans += spans.size() - accepted;
+        }
+        return accepted;
+    }
+
+    /**
+     * The spans of a trace, or null when it is not (or no longer) held
+     */
+    public List<Span> getSpans(String traceId) {
+        synchronized (traces) {
+            Trace trace = traces.get(traceId);
+            return trace != null ? new ArrayList<>(trace.spans) : null;
+        }
+    }
+
+    /**
+     * Up to {@code limit} of the most recently seen traces whose spans match {@code filter},
+     * newest first, each as a copy of its spans
+     */
+    public List<List<Span>> recent(int limit, Predicate<List<Span>> filter) {
+        List<List<Span>> recent = new ArrayList<>();
+        synchronized (traces) {
+            List<Trace> all = new ArrayList<>(traces.values());
+            for (int i = all.size() - 1; i >= 0 && recent.size() < limit; i--) {
+                List<Span> spans = Collections.unmodifiableList(all.get(i).spans);
+                if (filter.test(spans)) {
+                    recent.add(new ArrayList<>(spans));
+                }
+            }
+        }
+        return recent;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        synchronized (traces) {
+            int spans = 0;
+            for (Trace trace : traces.values()) {
+                spans += trace.spans.size();
+            }
+            statistics.put("traces", traces.size());
+            statistics.put("spans", spans);
+            statistics.put("maxTraces", maxTraces);
+            statistics.put("acceptedSpans", acceptedSpans);
+            statistics.put("rejectedSpans", rejectedSpans);
+            statistics.put("evictedTraces", evictedTraces);
+        }
+        return statistics;
+    }
+
+    private void evictOldest() {
+        Iterator<Trace> iterator = traces.values().iterator();
+        while (traces.size() > maxTraces && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictedTraces++;
+        }
+    }
+
+    private static boolean isValid(Span span) {
+        return span.getTraceId() != null && TRACE_ID.matcher(span.getTraceId()).matches()
+                && span.getSpanId() != null && SPAN_ID.matcher(span.getSpanId()).matches()
+                && (span.getParentId() == null || SPAN_ID.matcher(span.getParentId()).matches())
+                && !span.getSpanId().equals(span.getParentId())
+                && span.getService() != null && span.getName() != null
+                && span.getStartMicros() > 0 && span.getDurationMicros() >= 0;
+    }
+
+    private static final class Trace {
+        private final List<Span> spans = new ArrayList<>();
+        private final Map<String, Span> byId = new HashMap<>();
+
+        /**
+         * Whether the span's id appears among its held ancestors; the held spans are acyclic, so
+         * the walk ends at the first ancestor that has not arrived
+         */
+        private boolean closesCycle(Span span) {
+            String parentId = span.getParentId();
+            while (parentId != null) {
+                if (parentId.equals(span.getSpanId())) {
+                    return true;
+                }
+                Span parent = byId.get(parentId);
+                parentId = parent != null ? parent.getParentId() : null;
+            }
+            return false;
+        }
+    }
+}
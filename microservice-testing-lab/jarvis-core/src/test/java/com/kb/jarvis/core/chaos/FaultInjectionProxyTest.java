@@ -0,0 +1,160 @@
+package com.kb.jarvis.core.chaos;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectionProxyTest {
+
+    private static final Duration LATENCY = Duration.ofMillis(300);
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final AtomicInteger hits = new AtomicInteger();
+    private HttpServer target;
+    private FaultInjectionProxy proxy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        target = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        target.createContext("/ping", exchange -> {
+            hits.incrementAndGet();
+            byte[] body = "pong".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        target.start();
+        proxy = FaultInjectionProxy.forBaseUrl("http://127.0.0.1:" + target.getAddress().getPort(), 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxy.close();
+        target.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should relay requests untouched until faults are set")
+    void shouldRelayWithoutFaults() throws Exception {
+        // When
+        HttpResponse<String> response = send(Duration.ofSeconds(5));
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertEquals("pong", response.body());
+        assertEquals(1, hits.get());
+        assertEquals(0L, proxy.getStatistics().get("delayed"));
+    }
+
+    @Test
+    @DisplayName("Should delay each HTTP request by the configured latency")
+    void shouldDelayRequests() throws Exception {
+        // Given
+        proxy.setFaults(FaultSpec.builder().latency(LATENCY).build());
+
+        // When
+        long started = System.nanoTime();
+        HttpResponse<String> response = send(Duration.ofSeconds(5));
+        long elapsed = System.nanoTime() - started;
+
+        // Then
+        assertEquals(200, response.statusCode());
+        assertTrue(elapsed >= LATENCY.toNanos(), "Request took " + Duration.ofNanos(elapsed));
+        assertEquals(1L, proxy.getStatistics().get("delayed"));
+    }
+
+    @Test
+    @DisplayName("Should reset connections without reaching the target")
+    void shouldDropConnections() {
+        // Given
+        proxy.setFaults(FaultSpec.builder().resetRate(1.0).build());
+
+        // When / Then
+        assertThrows(IOException.class, () -> send(Duration.ofSeconds(5)));
+        assertEquals(0, hits.get());
+        // The client may retry the GET on a new connection, which is reset as well
+        assertEquals(proxy.getStatistics().get("connections"), proxy.getStatistics().get("resets"));
+        assertNotEquals(0L, proxy.getStatistics().get("resets"));
+    }
+
+    @Test
+    @DisplayName("Should answer with the injected status or not at all")
+    void shouldInjectErrorsAndTimeouts() throws Exception {
+        // Given
+        proxy.setFaults(FaultSpec.builder().errorRate(1.0).errorStatus(503).build());
+        HttpResponse<String> error = send(Duration.ofSeconds(5));
+        proxy.setFaults(FaultSpec.builder().timeoutRate(1.0).build());
+
+        // When / Then
+        assertEquals(503, error.statusCode());
+        assertThrows(HttpTimeoutException.class, () -> send(LATENCY));
+        assertEquals(0, hits.get());
+        assertEquals(1L, proxy.getStatistics().get("errorResponses"));
+        assertEquals(1L, proxy.getStatistics().get("timeouts"));
+    }
+
+    @Test
+    @DisplayName("Should delay the first response chunk of a TCP connection")
+    void shouldDelayTcpResponses() throws Exception {
+        try (ServerSocket echo = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+            Thread server = new Thread(() -> {
+                try (Socket socket = echo.accept()) {
+                    InputStream in = socket.getInputStream();
+                    socket.getOutputStream().write(in.read());
+                } catch (IOException e) {
+                    // The test fails on the client side
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            try (FaultInjectionProxy tcp = new FaultInjectionProxy("127.0.0.1", echo.getLocalPort(), 0, false)) {
+                // Given
+                tcp.setFaults(FaultSpec.builder().latency(LATENCY).build());
+
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), tcp.getPort())) {
+                    socket.setSoTimeout(5000);
+
+                    // When
+                    long started = System.nanoTime();
+                    socket.getOutputStream().write(42);
+                    int echoed = socket.getInputStream().read();
+                    long elapsed = System.nanoTime() - started;
+
+                    // Then
+                    assertEquals(42, echoed);
+                    assertTrue(elapsed >= LATENCY.toNanos(), "Echo took " + Duration.ofNanos(elapsed));
+                }
+            }
+        }
+    }
+
+    private HttpResponse<String> send(Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(proxy.getBaseUrl() + "/ping"))
+            .timeout(timeout)
+            .GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
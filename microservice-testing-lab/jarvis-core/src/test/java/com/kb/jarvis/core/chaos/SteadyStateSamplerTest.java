@@ -0,0 +1,108 @@
+package com.kb.jarvis.core.chaos;
+
+import com.kb.jarvis.core.performance.LoadGenerator;
+import com.kb.jarvis.core.performance.LoadProfile;
+import com.kb.jarvis.core.performance.LoadRequestSender;
+import com.kb.jarvis.core.performance.LoadTestResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SteadyStateSamplerTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(100);
+
+    private final LoadGenerator loadGenerator = new LoadGenerator();
+
+    @Test
+    @DisplayName("Should count requests dropped at the in-flight limit as errors")
+    void shouldCountDroppedRequestsAsErrors() throws Exception {
+        // Given a target slower than the arrival rate allows with this in-flight limit
+        LoadRequestSender slowTarget = delayed(300, 200);
+        LoadProfile profile = LoadProfile.builder()
+            .name("dropping")
+            .startRate(50)
+            .stage("1s", 50)
+            .maxInFlight(2)
+            .requestTimeout(Duration.ofSeconds(2))
+            .build();
+
+        // When
+        LoadTestResult result;
+        List<SteadyStateSample> samples;
+        SteadyStateSampler sampler = sampler(0.1);
+        try (sampler) {
+            sampler.start();
+            result = loadGenerator.run(profile, slowTarget, sampler);
+            Thread.sleep(INTERVAL.toMillis() * 3);
+        }
+        samples = sampler.report().getSamples();
+
+        // Then every scheduled request was seen, and every dropped one as an error
+        assertTrue(result.getDropped() > 0);
+        assertEquals(result.getScheduled(), samples.stream().mapToLong(SteadyStateSample::getRequests).sum());
+        assertEquals(result.getDropped() + result.getFailed() + result.getUnfinished(),
+            samples.stream().mapToLong(SteadyStateSample::getErrors).sum());
+        assertTrue(samples.stream().anyMatch(sample -> !sample.getViolations().isEmpty()));
+    }
+
+    @Test
+    @DisplayName("Should time requests from their intended start rather than from when they were sent")
+    void shouldTimeFromIntendedStart() throws Exception {
+        // Given a sender that blocks the scheduling thread, so later requests go out late
+        LoadRequestSender blocking = () -> {
+            sleep(100);
+            return CompletableFuture.completedFuture(200);
+        };
+        LoadProfile profile = LoadProfile.builder()
+            .name("late")
+            .startRate(50)
+            .stage("500ms", 50)
+            .requestTimeout(Duration.ofSeconds(2))
+            .build();
+
+        // When
+        List<SteadyStateSample> samples;
+        SteadyStateSampler sampler = sampler(0.0);
+        try (sampler) {
+            sampler.start();
+            loadGenerator.run(profile, blocking, sampler);
+            Thread.sleep(INTERVAL.toMillis() * 3);
+        }
+        samples = sampler.report().getSamples();
+
+        // Then the queueing behind the blocked sends shows up in the latency
+        double worstP95Ms = samples.stream().mapToDouble(SteadyStateSample::getP95Ms).max().orElse(0);
+        assertTrue(worstP95Ms > 1000, "p95 was " + worstP95Ms + " ms");
+    }
+
+    private static SteadyStateSampler sampler(double maxErrorRate) {
+        SteadyStateHypothesis hypothesis = SteadyStateHypothesis.builder()
+            .maxP95Ms(10_000)
+            .maxErrorRate(maxErrorRate)
+            .requireHealthy(false)
+            .build();
+        return new SteadyStateSampler(hypothesis, Map.of(), INTERVAL);
+    }
+
+    private static LoadRequestSender delayed(long delayMs, int status) {
+        Executor later = CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS);
+        return () -> CompletableFuture.supplyAsync(() -> status, later);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
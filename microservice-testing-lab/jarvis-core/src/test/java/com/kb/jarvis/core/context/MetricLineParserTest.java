@@ -0,0 +1,163 @@
+package com.kb.jarvis.core.context;
+
+import com.kb.jarvis.core.performance.LatencySnapshot;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricLineParserTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private MetricLineParser parser;
+    private List<Sample> samples;
+
+    @BeforeEach
+    void setUp() {
+        parser = new MetricLineParser();
+        samples = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Should parse names, values and optional timestamps")
+    void shouldParseSamples() throws IOException {
+        // When
+        parse("cpu.usage 42.5 1699999999000\nheap_used 1024\r\n# comment\n\nlatency.p95 -0.25");
+
+        // Then
+        assertEquals(3, parser.getAccepted());
+        assertEquals(0, parser.getRejected());
+        assertEquals(new Sample("order-service.cpu.usage", 1699999999000L, 42.5), samples.get(0));
+        assertEquals(new Sample("order-service.heap_used", NOW, 1024), samples.get(1));
+        assertEquals(new Sample("order-service.latency.p95", NOW, -0.25), samples.get(2));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed lines without failing the batch")
+    void shouldRejectMalformedLines() throws IOException {
+        // When
+        parse("ok 1\nno-value\nbad value\nbad$name 1\nneg 1 -5\nnan NaN\n. \nok 2");
+
+        // Then
+        assertEquals(2, parser.getAccepted());
+        assertEquals(6, parser.getRejected());
+        assertEquals(2.0, samples.get(1).value());
+    }
+
+    @Test
+    @DisplayName("Should fall back to Double.parseDouble for long fractions, exponents and long mantissas")
+    void shouldParseValuesBeyondTheFastPath() throws IOException {
+        // When
+        parse("tiny 0.00000000000000000000000123\nexp 1.5e3\nlong 12345678901234567890.5\ninf Infinity\nmax 0.1234567890123456789012");
+
+        // Then
+        assertEquals(5, parser.getAccepted());
+        assertEquals(1.23e-24, samples.get(0).value());
+        assertEquals(1500.0, samples.get(1).value());
+        assertEquals(12345678901234567890.5, samples.get(2).value());
+        assertEquals(Double.POSITIVE_INFINITY, samples.get(3).value());
+        assertEquals(0.1234567890123456789012, samples.get(4).value());
+    }
+
+    @Test
+    @DisplayName("Should convert plain decimals exactly as Double.parseDouble does")
+    void shouldMatchDoubleParseDouble() throws IOException {
+        // Given
+        Random random = new Random(7);
+        StringBuilder body = new StringBuilder();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String value = BigDecimal.valueOf(random.nextLong(1_000_000_000_000L), random.nextInt(12)).toPlainString();
+            values.add(value);
+            body.append("m").append(i % 50).append(' ').append(value).append('\n');
+        }
+
+        // When
+        parse(body.toString());
+
+        // Then
+        assertEquals(values.size(), parser.getAccepted());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(Double.parseDouble(values.get(i)), samples.get(i).value(), values.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle lines split across reads and skip overlong lines")
+    void shouldHandleLinesAcrossReads() throws IOException {
+        // Given a stream handing out a few bytes at a time, with one line longer than the limit
+        String body = "first 1\n" + "x".repeat(20_000) + " 2\nsecond 3\n";
+        InputStream trickle = new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+
+        // When
+        parser.parse(trickle, "svc", NOW, (name, timestampMs, value) -> samples.add(new Sample(name, timestampMs, value)));
+
+        // Then
+        assertEquals(2, parser.getAccepted());
+        assertEquals(1, parser.getRejected());
+        assertEquals("svc.second", samples.get(1).name());
+    }
+
+    @Test
+    @DisplayName("Should decode histogram samples and reject them where histograms are not accepted")
+    void shouldParseHistograms() throws IOException {
+        // Given
+        Histogram latencies = new Histogram(3);
+        for (int i = 1; i <= 1000; i++) {
+            latencies.recordValue(i * 37L);
+        }
+        String body = "http.latency hdr:" + LatencySnapshot.encode(latencies) + " 1699999999000\nhttp.requests 1000\n";
+        List<Histogram> histograms = new ArrayList<>();
+
+        // When
+        parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)), "order-service", NOW,
+            new MetricLineParser.SampleConsumer() {
+                @Override
+                public void accept(String name, long timestampMs, double value) {
+                    samples.add(new Sample(name, timestampMs, value));
+                }
+
+                @Override
+                public void acceptHistogram(String name, long timestampMs, Histogram histogram) {
+                    assertEquals("order-service.http.latency", name);
+                    assertEquals(1699999999000L, timestampMs);
+                    histograms.add(histogram);
+                }
+            });
+
+        // Then
+        assertEquals(2, parser.getAccepted());
+        assertEquals(latencies, histograms.get(0));
+        assertEquals(1, samples.size());
+
+        // And a plain consumer counts the histogram and a corrupt one as rejected
+        parse(body + "broken hdr:not-base64\n");
+        assertEquals(1, parser.getAccepted());
+        assertEquals(2, parser.getRejected());
+    }
+
+    private void parse(String body) throws IOException {
+        parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.US_ASCII)), "order-service", NOW,
+            (name, timestampMs, value) -> samples.add(new Sample(name, timestampMs, value)));
+    }
+
+    private record Sample(String name, long timestampMs, double value) {
+    }
+}
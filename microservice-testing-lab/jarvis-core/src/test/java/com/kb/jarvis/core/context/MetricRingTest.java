@@ -0,0 +1,99 @@
+package com.kb.jarvis.core.context;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricRingTest {
+
+    @Test
+    @DisplayName("Should keep the newest points in order once the ring wraps around")
+    void shouldOverwriteOldestPoints() {
+        // Given
+        MetricRing ring = new MetricRing(4);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            ring.record(1000 + i, i);
+        }
+
+        // Then
+        assertEquals(4, ring.size());
+        assertEquals(List.of(6.0, 7.0, 8.0, 9.0), values(ring.snapshot()));
+        assertEquals(9.0, ring.latest().getValue());
+        assertEquals(1009, ring.latest().getTimestampMs());
+        assertEquals(7.0, ring.back(2).getValue());
+        assertEquals(6.0, ring.back(3).getValue());
+        assertNull(ring.back(4));
+    }
+
+    @Test
+    @DisplayName("Should report an empty or partly filled ring without phantom points")
+    void shouldHandlePartlyFilledRing() {
+        MetricRing ring = new MetricRing(4);
+        assertNull(ring.latest());
+        assertTrue(ring.snapshot().isEmpty());
+        assertNull(ring.back(0));
+
+        ring.record(1, 1.5);
+        ring.record(2, 2.5);
+
+        assertEquals(2, ring.size());
+        assertEquals(List.of(1.5, 2.5), values(ring.snapshot()));
+        assertEquals(1.5, ring.back(1).getValue());
+        assertNull(ring.back(2));
+        assertThrows(IllegalArgumentException.class, () -> new MetricRing(0));
+    }
+
+    @Test
+    @DisplayName("Should only hand out published points while writers race past the capacity")
+    void shouldStayConsistentUnderConcurrentWriters() throws Exception {
+        // Given writers that each record increasing values of their own residue class
+        MetricRing ring = new MetricRing(16);
+        int writers = 4;
+        int perWriter = 50_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perWriter; i++) {
+                    ring.record(i, i * writers + writer);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        // When reading while they write
+        start.countDown();
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            List<MetricRing.Point> snapshot = ring.snapshot();
+            assertTrue(snapshot.size() <= 16);
+            MetricRing.Point latest = ring.latest();
+            assertTrue(latest == null || latest.getValue() < writers * perWriter);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Then
+        assertEquals(16, ring.size());
+        assertEquals(16, ring.snapshot().size());
+    }
+
+    private static List<Double> values(List<MetricRing.Point> points) {
+        return points.stream().map(MetricRing.Point::getValue).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,139 @@
+package com.kb.jarvis.core.context;
+
+import com.kb.jarvis.core.model.HealthStatus;
+import com.kb.jarvis.core.model.ServiceHealth;
+import com.kb.jarvis.core.model.SystemHealth;
+import com.kb.jarvis.core.service.MicroserviceIntegrationService;
+import com.kb.jarvis.core.timeseries.MetricHistoryStore;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricsCollectorTest {
+
+    private MicroserviceIntegrationService integrationService;
+    private MetricHistoryStore historyStore;
+    private MetricsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        integrationService = mock(MicroserviceIntegrationService.class);
+        historyStore = new MetricHistoryStore();
+        ReflectionTestUtils.setField(historyStore, "rawRetentionHours", 6L);
+        ReflectionTestUtils.setField(historyStore, "minuteRetentionHours", 168L);
+        ReflectionTestUtils.setField(historyStore, "hourRetentionHours", 2160L);
+        ReflectionTestUtils.setField(historyStore, "maxSeries", 10_000);
+
+        collector = new MetricsCollector();
+        ReflectionTestUtils.setField(collector, "microserviceIntegrationService", integrationService);
+        ReflectionTestUtils.setField(collector, "metricHistoryStore", historyStore);
+        ReflectionTestUtils.setField(collector, "metricHistory", 4);
+        ReflectionTestUtils.setField(collector, "maxMetrics", 3);
+        ReflectionTestUtils.setField(collector, "healthMonitoring", true);
+        ReflectionTestUtils.setField(collector, "performanceMonitoring", false);
+    }
+
+    @Test
+    @DisplayName("Should drop and count samples of metrics beyond the ring cap")
+    void shouldCapRings() {
+        // When
+        for (int i = 0; i < 10; i++) {
+            collector.recordPushed("order-service.metric-" + (i % 5), 1000 + i, i);
+        }
+
+        // Then the first three names get rings, the rest are dropped
+        assertEquals(3, collector.getMetricNames().size());
+        assertEquals(4, collector.getDroppedSamples());
+        assertTrue(collector.recordPushed("order-service.metric-0", 2000, 1));
+        assertFalse(collector.recordPushed("order-service.metric-9", 2000, 1));
+        assertNull(collector.getRing("order-service.metric-9"));
+        assertFalse(historyStore.contains("order-service.metric-9"));
+    }
+
+    @Test
+    @DisplayName("Should merge pushed latency histograms per service and across services")
+    void shouldMergePushedHistograms() {
+        // Given two instances of one service with different latency profiles and a second service
+        ReflectionTestUtils.setField(collector, "maxMetrics", 100);
+        ReflectionTestUtils.setField(collector, "healthMonitoring", false);
+        Histogram fast = new Histogram(3);
+        Histogram slow = new Histogram(3);
+        Histogram other = new Histogram(3);
+        Histogram union = new Histogram(3);
+        for (int i = 1; i <= 990; i++) {
+            fast.recordValue(i * 10L);
+        }
+        for (int i = 1; i <= 10; i++) {
+            slow.recordValue(500_000L + i * 1000L);
+            other.recordValue(20_000L);
+        }
+        union.add(fast);
+        union.add(slow);
+
+        // When
+        collector.recordPushedHistogram("order-service.http.latency", 1000, fast);
+        collector.recordPushedHistogram("order-service.http.latency", 1000, slow);
+        collector.recordPushedHistogram("user-service.http.latency", 1000, other);
+        collector.collect();
+
+        // Then the percentiles are those of the union, not the max of either instance's
+        assertEquals(1000.0, collector.latest("order-service.http.latency.count"));
+        assertEquals(union.getValueAtPercentile(99) / 1000.0, collector.latest("order-service.http.latency.p99"));
+        assertEquals(union.getMaxValue() / 1000.0, collector.latest("order-service.http.latency.max"));
+        assertEquals(1010.0, collector.latest(MetricsCollector.LATENCY + ".count"));
+        union.add(other);
+        assertEquals(union.getValueAtPercentile(95) / 1000.0, collector.latest(MetricsCollector.LATENCY + ".p95"));
+
+        // And a cycle without pushes records nothing new
+        collector.collect();
+        assertEquals(1, collector.getRing("order-service.http.latency.count").snapshot().size());
+    }
+
+    @Test
+    @DisplayName("Should report availability over the collected health history as a percentage")
+    void shouldReportAvailabilityAsPercentage() {
+        // Given three healthy probes and one failed one
+        when(integrationService.checkAllServicesHealth()).thenReturn(
+            health(HealthStatus.HEALTHY), health(HealthStatus.HEALTHY),
+            health(HealthStatus.UNHEALTHY), health(HealthStatus.HEALTHY));
+        for (int cycle = 0; cycle < 4; cycle++) {
+            collector.collect();
+        }
+        ContextManager contextManager = new ContextManager();
+        ReflectionTestUtils.setField(contextManager, "metricsCollector", collector);
+        ReflectionTestUtils.setField(contextManager, "microserviceIntegrationService", integrationService);
+
+        // When
+        ServiceHealth health = contextManager.getServiceHealth("user-service");
+
+        // Then
+        assertEquals(List.of(1.0, 1.0, 0.0, 1.0), collector.getRing("user-service.health.up").snapshot().stream()
+            .map(MetricRing.Point::getValue).toList());
+        assertEquals(75.0, health.getAvailability());
+        assertEquals(HealthStatus.HEALTHY, health.getStatus());
+    }
+
+    private static SystemHealth health(HealthStatus status) {
+        ServiceHealth service = ServiceHealth.builder()
+            .serviceName("user-service")
+            .status(status)
+            .responseTime(12.0)
+            .availability(status == HealthStatus.HEALTHY ? 100.0 : 0.0)
+            .timestamp(LocalDateTime.now())
+            .build();
+        return SystemHealth.builder()
+            .status(status)
+            .serviceHealth(Map.of("user-service", service))
+            .timestamp(LocalDateTime.now())
+            .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.kb.jarvis.core.controller;
+
+import com.kb.jarvis.core.context.MetricsIngestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MetricsControllerTest {
+
+    private MetricsIngestionService ingestionService;
+    private IngestTokenVerifier tokenVerifier;
+    private MetricsController controller;
+
+    @BeforeEach
+    void setUp() {
+        ingestionService = mock(MetricsIngestionService.class);
+        tokenVerifier = new IngestTokenVerifier();
+        ReflectionTestUtils.setField(tokenVerifier, "token", "s3cret");
+        controller = new MetricsController();
+        ReflectionTestUtils.setField(controller, "metricsIngestionService", ingestionService);
+        ReflectionTestUtils.setField(controller, "ingestTokenVerifier", tokenVerifier);
+    }
+
+    @Test
+    @DisplayName("Should ingest a batch carrying the shared token")
+    void shouldIngestWithToken() throws IOException {
+        // Given
+        when(ingestionService.ingest(eq("order-service"), any(InputStream.class), eq(false)))
+            .thenReturn(Map.of("service", "order-service", "accepted", 1L, "rejected", 0L));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = controller.ingest("order-service", null, "Bearer s3cret", request());
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(1L, response.getBody().get("accepted"));
+    }
+
+    @Test
+    @DisplayName("Should refuse batches without the shared token before reading them")
+    void shouldRefuseWithoutToken() throws IOException {
+        // When
+        ResponseEntity<Map<String, Object>> missing = controller.ingest("order-service", null, null, request());
+        ResponseEntity<Map<String, Object>> wrong = controller.ingest("order-service", null, "Bearer s3cres", request());
+        ResponseEntity<Map<String, Object>> scheme = controller.ingest("order-service", null, "Basic s3cret", request());
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, missing.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, wrong.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, scheme.getStatusCode());
+        verify(ingestionService, never()).ingest(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should refuse every batch while no token is configured")
+    void shouldRefuseWhenTokenUnset() throws IOException {
+        // Given
+        ReflectionTestUtils.setField(tokenVerifier, "token", "");
+
+        // When
+        ResponseEntity<Map<String, Object>> response = controller.ingest("order-service", null, "Bearer ", request());
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verify(ingestionService, never()).ingest(any(), any(), anyBoolean());
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/metrics/ingest");
+        request.setContent("cpu.usage 42\n".getBytes(StandardCharsets.US_ASCII));
+        return request;
+    }
+}
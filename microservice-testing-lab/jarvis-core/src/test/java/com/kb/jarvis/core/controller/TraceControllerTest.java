@@ -0,0 +1,119 @@
+package com.kb.jarvis.core.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kb.jarvis.core.tracing.TraceStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceControllerTest {
+
+    private static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+    private static final String CYCLIC_TRACE_ID = "fedcba9876543210fedcba9876543210";
+    private static final String AUTHORIZATION = "Bearer s3cret";
+
+    private TraceController controller;
+
+    @BeforeEach
+    void setUp() {
+        TraceStore traceStore = new TraceStore();
+        ReflectionTestUtils.setField(traceStore, "maxTraces", 100);
+        ReflectionTestUtils.setField(traceStore, "maxSpansPerTrace", 100);
+        controller = new TraceController();
+        ReflectionTestUtils.setField(controller, "traceStore", traceStore);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        IngestTokenVerifier tokenVerifier = new IngestTokenVerifier();
+        ReflectionTestUtils.setField(tokenVerifier, "token", "s3cret");
+        ReflectionTestUtils.setField(controller, "ingestTokenVerifier", tokenVerifier);
+    }
+
+    @Test
+    @DisplayName("Should ingest a gzipped batch and keep listing traces after a cyclic batch")
+    @SuppressWarnings("unchecked")
+    void shouldIngestAndListTraces() throws IOException {
+        // Given
+        ResponseEntity<Map<String, Object>> first = controller.ingest("gzip", AUTHORIZATION, request(gzip(
+            span(TRACE_ID, "000000000000000a", null, "gateway", 0, 100) + ","
+                + span(TRACE_ID, "000000000000000b", "000000000000000a", "order-service", 10, 50))));
+        ResponseEntity<Map<String, Object>> cyclic = controller.ingest(null, AUTHORIZATION, request(
+            span(CYCLIC_TRACE_ID, "000000000000000c", "000000000000000d", "order-service", 0, 10) + ","
+                + span(CYCLIC_TRACE_ID, "000000000000000d", "000000000000000c", "order-service", 0, 10)));
+
+        // When
+        ResponseEntity<Map<String, Object>> recent = controller.getRecentTraces(50, null, null);
+        ResponseEntity<Map<String, Object>> trace = controller.getTrace(TRACE_ID);
+
+        // Then
+        assertEquals(HttpStatus.ACCEPTED, first.getStatusCode());
+        assertEquals(2, first.getBody().get("accepted"));
+        assertEquals(1, cyclic.getBody().get("accepted"));
+        assertEquals(1, cyclic.getBody().get("rejected"));
+        assertEquals(HttpStatus.OK, recent.getStatusCode());
+        List<Map<String, Object>> traces = (List<Map<String, Object>>) recent.getBody().get("traces");
+        assertEquals(2, traces.size());
+        assertEquals("order-service", traces.get(0).get("service"));
+        assertEquals("gateway", traces.get(1).get("service"));
+        assertEquals(3, ((List<?>) trace.getBody().get("criticalPath")).size());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getTrace("ffffffffffffffffffffffffffffffff").getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should reject a body that is not an array of spans")
+    void shouldRejectUnreadableBody() throws IOException {
+        assertEquals(HttpStatus.BAD_REQUEST, controller.ingest(null, AUTHORIZATION,
+            request("{\"spans\": 1}".getBytes(StandardCharsets.UTF_8))).getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should refuse spans without the shared ingest token")
+    void shouldRefuseWithoutToken() throws IOException {
+        // When
+        ResponseEntity<Map<String, Object>> missing = controller.ingest(null, null,
+            request(span(TRACE_ID, "000000000000000a", null, "gateway", 0, 100)));
+        ResponseEntity<Map<String, Object>> wrong = controller.ingest(null, "Bearer guess",
+            request(span(TRACE_ID, "000000000000000a", null, "gateway", 0, 100)));
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, missing.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, wrong.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getTrace(TRACE_ID).getStatusCode());
+    }
+
+    private static MockHttpServletRequest request(String spans) {
+        return request(("[" + spans + "]").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest request(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/traces/spans");
+        request.setContent(body);
+        return request;
+    }
+
+    private static byte[] gzip(String spans) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(("[" + spans + "]").getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String span(String traceId, String spanId, String parentId, String service, long offset, long duration) {
+        return String.format("{\"traceId\":\"%s\",\"spanId\":\"%s\",\"parentId\":%s,\"service\":\"%s\","
+                + "\"name\":\"GET /orders/{id}\",\"kind\":\"SERVER\",\"startMicros\":%d,\"durationMicros\":%d,\"error\":false}",
+            traceId, spanId, parentId == null ? "null" : "\"" + parentId + "\"", service,
+            1_700_000_000_000_000L + offset, duration);
+    }
+}
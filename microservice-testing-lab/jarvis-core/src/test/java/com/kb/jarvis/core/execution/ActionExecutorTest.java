@@ -0,0 +1,154 @@
+package com.kb.jarvis.core.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionExecutorTest {
+
+    private ActionExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ActionExecutor();
+        // A single I/O thread, so a second I/O task runs on the submitting thread
+        ReflectionTestUtils.setField(executor, "ioMaxThreads", 1);
+        ReflectionTestUtils.setField(executor, "cpuThreads", 1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("Should refuse tasks submitted for an execution after it was cancelled")
+    void shouldRefuseTasksOfCancelledExecution() {
+        // Given
+        executor.cancel("exec-1");
+        AtomicBoolean ran = new AtomicBoolean();
+
+        // When
+        CompletableFuture<String> result = executor.submit("exec-1", ActionExecutor.Workload.CPU, () -> {
+            ran.set(true);
+            return "done";
+        });
+
+        // Then
+        assertTrue(result.isCancelled());
+        assertFalse(ran.get());
+        assertFalse(executor.isActive("exec-1"));
+    }
+
+    @Test
+    @DisplayName("Should keep the caller interrupted when a task it ran itself is cancelled")
+    void shouldKeepCallerInterruptedWhenCallerRunsTaskIsCancelled() throws Exception {
+        // Given the only I/O thread is busy with another execution
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch busy = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocker = executor.submit("other", ActionExecutor.Workload.IO, () -> {
+            busy.countDown();
+            return awaitQuietly(release);
+        });
+        assertTrue(busy.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch started = new CountDownLatch(1);
+        Thread canceller = new Thread(() -> {
+            if (awaitQuietly(started)) {
+                executor.cancel("exec-1");
+            }
+        });
+        canceller.setDaemon(true);
+        canceller.start();
+
+        // When this thread runs the step itself and the execution is cancelled meanwhile
+        CompletableFuture<String> step = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            Thread caller = Thread.currentThread();
+            CompletableFuture<String> future = executor.submit("exec-1", ActionExecutor.Workload.IO, () -> {
+                assertSame(caller, Thread.currentThread());
+                started.countDown();
+                try {
+                    Thread.sleep(10_000);
+                    return "finished";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return "interrupted";
+                }
+            });
+            // Then the interrupt meant for the execution is still visible to the caller
+            assertTrue(Thread.interrupted());
+            return future;
+        });
+
+        assertTrue(step.isCancelled());
+        assertTrue(executor.submit("exec-1", ActionExecutor.Workload.IO, () -> "next step").isCancelled());
+
+        release.countDown();
+        assertTrue(blocker.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should not leave a pool thread interrupted after its task was cancelled")
+    void shouldClearInterruptOnPoolThread() throws Exception {
+        // Given a CPU task that is cancelled while running
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> cancelled = executor.submit("exec-1", ActionExecutor.Workload.CPU, () -> {
+            started.countDown();
+            return awaitQuietly(new CountDownLatch(1));
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.cancel("exec-1");
+        assertTrue(cancelled.isCancelled());
+
+        // When the same single CPU thread runs the next task
+        CompletableFuture<Boolean> next = executor.submit("exec-2", ActionExecutor.Workload.CPU,
+            () -> Thread.currentThread().isInterrupted());
+
+        // Then
+        assertFalse(next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should interrupt a running task when its future is cancelled")
+    void shouldInterruptTaskWhenFutureIsCancelled() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Boolean> task = executor.submit("exec-1", ActionExecutor.Workload.CPU, () -> {
+            started.countDown();
+            if (!awaitQuietly(new CountDownLatch(1))) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        task.cancel(true);
+
+        // Then
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertFalse(executor.isActive("exec-1"));
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.kb.jarvis.core.execution;
+
+import com.kb.jarvis.core.model.ExecutionResult;
+import com.kb.jarvis.core.model.ExecutionStep;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DagStepSchedulerTest {
+
+    @Test
+    @DisplayName("Should order steps after the steps and services they depend on")
+    void shouldOrderStepsTopologically() {
+        // Given steps listed before their dependencies, one by step ID and one by service
+        List<ExecutionStep> steps = List.of(
+            step("report", "jarvis", "5 minutes", "tests"),
+            step("tests", "order-service", "5 minutes", "user-service"),
+            step("users", "user-service", "5 minutes"),
+            step("db", "postgres", "1 minute", "database"));
+
+        // When
+        List<String> order = names(new DagStepScheduler(steps).getTopologicalOrder());
+
+        // Then
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf("users") < order.indexOf("tests"));
+        assertTrue(order.indexOf("tests") < order.indexOf("report"));
+    }
+
+    @Test
+    @DisplayName("Should break a dependency cycle at its earliest step and still run every step")
+    void shouldBreakCycles() {
+        // Given
+        List<ExecutionStep> steps = List.of(
+            step("a", "svc-a", "1 minute", "c"),
+            step("b", "svc-b", "1 minute", "a"),
+            step("c", "svc-c", "1 minute", "b"));
+        DagStepScheduler scheduler = new DagStepScheduler(steps);
+
+        // When
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        List<ExecutionResult> results = scheduler.execute(1, recording(started, Set.of()), step -> false);
+
+        // Then
+        assertEquals(List.of("a", "b", "c"), names(scheduler.getTopologicalOrder()));
+        assertEquals(List.of("a", "b", "c"), started);
+        assertTrue(results.stream().allMatch(ExecutionResult::isSuccess));
+    }
+
+    @Test
+    @DisplayName("Should skip everything downstream of a failed step and run the rest")
+    void shouldSkipDownstreamOfFailedStep() {
+        // Given build -> deploy -> smoke, and an independent lint step
+        List<ExecutionStep> steps = List.of(
+            step("build", "svc-build", "1 minute"),
+            step("deploy", "svc-deploy", "1 minute", "build"),
+            step("smoke", "svc-smoke", "1 minute", "deploy"),
+            step("lint", "svc-lint", "1 minute"));
+
+        // When build fails
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        List<ExecutionResult> results = new DagStepScheduler(steps)
+            .execute(2, recording(started, Set.of("build")), step -> false);
+
+        // Then
+        assertEquals(Set.of("build", "lint"), Set.copyOf(started));
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(1).getMessage().contains("dependency build failed"));
+        assertTrue(results.get(2).getMessage().contains("dependency build failed"));
+        assertTrue(results.get(3).isSuccess());
+    }
+
+    @Test
+    @DisplayName("Should start no further steps once a critical step fails")
+    void shouldStopAfterCriticalFailure() {
+        // Given independent steps run one at a time, the first of which is critical and fails
+        List<ExecutionStep> steps = List.of(
+            step("health", "svc-health", "10 minutes"),
+            step("a", "svc-a", "1 minute"),
+            step("b", "svc-b", "1 minute"));
+
+        // When
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        List<ExecutionResult> results = new DagStepScheduler(steps)
+            .execute(1, recording(started, Set.of("health")), step -> step.getStepName().equals("health"));
+
+        // Then
+        assertEquals(List.of("health"), started);
+        assertTrue(results.get(1).getMessage().contains("critical step failed"));
+        assertTrue(results.get(2).getMessage().contains("critical step failed"));
+    }
+
+    @Test
+    @DisplayName("Should start the step heading the longest remaining chain first")
+    void shouldPrioritizeCriticalPath() {
+        // Given a short standalone step listed first and a long chain behind a short head
+        List<ExecutionStep> steps = List.of(
+            step("quick", "svc-quick", "2 minutes"),
+            step("head", "svc-head", "1 minute"),
+            step("tail", "svc-tail", "30 minutes", "head"));
+        DagStepScheduler scheduler = new DagStepScheduler(steps);
+
+        // When
+        List<String> started = Collections.synchronizedList(new ArrayList<>());
+        scheduler.execute(1, recording(started, Set.of()), step -> false);
+
+        // Then
+        assertEquals(List.of("head", "tail", "quick"), started);
+        assertEquals(31 * 60_000L, scheduler.getCriticalPathMillis());
+        assertEquals(33 * 60_000L, scheduler.getSerialMillis());
+    }
+
+    @Test
+    @DisplayName("Should never run more steps at once than the parallelism allows")
+    void shouldCapParallelism() {
+        // Given eight independent steps that each take a while
+        List<ExecutionStep> steps = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            steps.add(step("step-" + i, "svc-" + i, "1 minute"));
+        }
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Function<ExecutionStep, CompletableFuture<ExecutionResult>> runner = step -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                running.decrementAndGet();
+                return success(step);
+            }, CompletableFuture.delayedExecutor(30, TimeUnit.MILLISECONDS));
+        };
+
+        // When
+        List<ExecutionResult> results = new DagStepScheduler(steps).execute(3, runner, step -> false);
+
+        // Then
+        assertEquals(3, maxRunning.get());
+        assertTrue(results.stream().allMatch(ExecutionResult::isSuccess));
+    }
+
+    @Test
+    @DisplayName("Should cancel the running steps and stay interrupted when the execution is interrupted")
+    void shouldCancelRunningStepsOnInterrupt() throws Exception {
+        // Given two steps that never finish on their own and one waiting behind them
+        List<ExecutionStep> steps = List.of(
+            step("a", "svc-a", "1 minute"),
+            step("b", "svc-b", "1 minute"),
+            step("c", "svc-c", "1 minute", "a"));
+        List<CompletableFuture<ExecutionResult>> running = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(2);
+        Function<ExecutionStep, CompletableFuture<ExecutionResult>> runner = step -> {
+            CompletableFuture<ExecutionResult> future = new CompletableFuture<>();
+            running.add(future);
+            started.countDown();
+            return future;
+        };
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CompletableFuture<List<ExecutionResult>> results = new CompletableFuture<>();
+        Thread execution = new Thread(() -> {
+            List<ExecutionResult> stepResults = new DagStepScheduler(steps).execute(2, runner, step -> false);
+            interrupted.set(Thread.currentThread().isInterrupted());
+            results.complete(stepResults);
+        });
+        execution.setDaemon(true);
+        execution.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        execution.interrupt();
+
+        // Then
+        List<ExecutionResult> stepResults = results.get(5, TimeUnit.SECONDS);
+        assertTrue(interrupted.get());
+        assertEquals(2, running.size());
+        assertTrue(running.stream().allMatch(CompletableFuture::isCancelled));
+        assertTrue(stepResults.stream().noneMatch(ExecutionResult::isSuccess));
+        assertTrue(stepResults.stream().allMatch(result -> result.getMessage().contains("execution was cancelled")));
+    }
+
+    @Test
+    @DisplayName("Should parse estimated durations, taking the upper bound of a range")
+    void shouldParseDurations() {
+        assertEquals(5 * 60_000L, DagStepScheduler.parseDuration("1-5 minutes"));
+        assertEquals(30_000L, DagStepScheduler.parseDuration("30 seconds"));
+        assertEquals(2 * 3_600_000L, DagStepScheduler.parseDuration("2 hours"));
+        assertEquals(5 * 60_000L, DagStepScheduler.parseDuration(null));
+    }
+
+    private static Function<ExecutionStep, CompletableFuture<ExecutionResult>> recording(List<String> started,
+                                                                                         Set<String> failing) {
+        return step -> {
+            started.add(step.getStepName());
+            return failing.contains(step.getStepName())
+                ? CompletableFuture.failedFuture(new IllegalStateException(step.getStepName() + " broke"))
+                : CompletableFuture.completedFuture(success(step));
+        };
+    }
+
+    private static ExecutionResult success(ExecutionStep step) {
+        return ExecutionResult.builder()
+            .success(true)
+            .message(step.getStepName() + " passed")
+            .serviceName(step.getServiceName())
+            .build();
+    }
+
+    private static ExecutionStep step(String name, String service, String estimate, String... dependencies) {
+        return ExecutionStep.builder()
+            .stepId(name)
+            .stepName(name)
+            .serviceName(service)
+            .estimatedDuration(estimate)
+            .dependencies(List.of(dependencies))
+            .build();
+    }
+
+    private static List<String> names(List<ExecutionStep> steps) {
+        return steps.stream().map(ExecutionStep::getStepName).collect(Collectors.toList());
+    }
+}
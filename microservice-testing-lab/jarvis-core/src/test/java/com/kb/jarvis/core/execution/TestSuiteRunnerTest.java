@@ -0,0 +1,67 @@
+package com.kb.jarvis.core.execution;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestSuiteRunnerTest {
+
+    @Test
+    @DisplayName("Should place the largest classes first onto the least loaded shard")
+    void shouldBalanceShardsByTestCount() {
+        // Given
+        Map<String, Long> testCounts = counts("SmallTest", 1L, "LargeTest", 10L, "MediumTest", 6L, "OtherMediumTest", 5L);
+
+        // When
+        List<List<String>> shards = TestSuiteRunner.shard(testCounts, 2);
+
+        // Then both shards carry 11 tests
+        assertEquals(List.of(List.of("LargeTest", "SmallTest"), List.of("MediumTest", "OtherMediumTest")), shards);
+    }
+
+    @Test
+    @DisplayName("Should never create more shards than there are classes")
+    void shouldCapShardsAtClassCount() {
+        // When
+        List<List<String>> shards = TestSuiteRunner.shard(counts("FirstTest", 3L, "SecondTest", 2L), 8);
+
+        // Then
+        assertEquals(List.of(List.of("FirstTest"), List.of("SecondTest")), shards);
+    }
+
+    @Test
+    @DisplayName("Should put every class in one shard when a single shard is requested")
+    void shouldKeepOneShard() {
+        // When
+        List<List<String>> zero = TestSuiteRunner.shard(counts("FirstTest", 3L, "SecondTest", 2L), 0);
+        List<List<String>> one = TestSuiteRunner.shard(counts("FirstTest", 3L, "SecondTest", 2L), 1);
+
+        // Then
+        assertEquals(List.of(List.of("FirstTest", "SecondTest")), zero);
+        assertEquals(zero, one);
+    }
+
+    @Test
+    @DisplayName("Should count classes without tests as one test each and return no shards for no classes")
+    void shouldHandleEmptyClasses() {
+        // When
+        List<List<String>> shards = TestSuiteRunner.shard(counts("FirstTest", 0L, "SecondTest", 0L, "ThirdTest", 0L), 2);
+
+        // Then
+        assertEquals(List.of(List.of("FirstTest", "ThirdTest"), List.of("SecondTest")), shards);
+        assertTrue(TestSuiteRunner.shard(Map.of(), 4).isEmpty());
+    }
+
+    private static Map<String, Long> counts(Object... classesAndCounts) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < classesAndCounts.length; i += 2) {
+            counts.put((String) classesAndCounts[i], (Long) classesAndCounts[i + 1]);
+        }
+        return counts;
+    }
+}
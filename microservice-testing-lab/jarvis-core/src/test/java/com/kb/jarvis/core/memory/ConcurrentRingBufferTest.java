@@ -0,0 +1,123 @@
+package com.kb.jarvis.core.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentRingBufferTest {
+
+    @Test
+    @DisplayName("Should keep the most recent items, oldest first, and report each overwritten one")
+    void shouldOverwriteOldestItems() {
+        // Given
+        List<Integer> evicted = new ArrayList<>();
+        ConcurrentRingBuffer<Integer> ring = new ConcurrentRingBuffer<>(3, evicted::add);
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            ring.add(i);
+        }
+
+        // Then
+        assertEquals(List.of(4, 5, 6), ring.snapshot());
+        assertEquals(List.of(0, 1, 2, 3), evicted);
+        assertEquals(3, ring.size());
+        assertEquals(List.of(4, 6), ring.snapshot(item -> item % 2 == 0));
+    }
+
+    @Test
+    @DisplayName("Should report removed items and keep the size in step")
+    void shouldRemoveMatchingItems() {
+        // Given
+        List<Integer> evicted = new ArrayList<>();
+        ConcurrentRingBuffer<Integer> ring = new ConcurrentRingBuffer<>(5, evicted::add);
+        for (int i = 0; i < 5; i++) {
+            ring.add(i);
+        }
+
+        // When
+        int removed = ring.removeIf(item -> item % 2 == 1);
+
+        // Then
+        assertEquals(2, removed);
+        assertEquals(List.of(1, 3), evicted);
+        assertEquals(List.of(0, 2, 4), ring.snapshot());
+        assertEquals(3, ring.size());
+
+        // Adding into the freed slots evicts nothing until the ring wraps onto a live item
+        ring.add(5);
+        ring.add(6);
+        assertEquals(List.of(1, 3, 0), evicted);
+        assertEquals(List.of(2, 4, 5, 6), ring.snapshot());
+        assertEquals(4, ring.size());
+    }
+
+    @Test
+    @DisplayName("Should count every item exactly once as kept or evicted under concurrent writers")
+    void shouldBalanceAddsAndEvictionsUnderContention() {
+        // Given
+        int writers = 4;
+        int perWriter = 20_000;
+        AtomicInteger evictions = new AtomicInteger();
+        Set<Integer> evicted = ConcurrentHashMap.newKeySet();
+        ConcurrentRingBuffer<Integer> ring = new ConcurrentRingBuffer<>(64, item -> {
+            evictions.incrementAndGet();
+            evicted.add(item);
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(writers, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // When
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int base = w * perWriter;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        ring.add(base + i);
+                        if (i % 1000 == 0) {
+                            ring.snapshot();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        });
+        pool.shutdownNow();
+
+        // Then
+        List<Integer> kept = ring.snapshot();
+        assertEquals(64, kept.size());
+        assertEquals(64, ring.size());
+        assertEquals(writers * perWriter - 64, evictions.get());
+        assertEquals(evictions.get(), evicted.size());
+        kept.forEach(item -> assertFalse(evicted.contains(item), "kept item " + item + " was also evicted"));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentRingBuffer<String>(0));
+    }
+}
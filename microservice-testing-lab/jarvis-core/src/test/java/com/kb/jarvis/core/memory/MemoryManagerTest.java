@@ -0,0 +1,88 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryManagerTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private MemoryManager manager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A log holding a pattern discovered long before the retention window
+        LocalDateTime discoveredAt = LocalDateTime.now().minusDays(30);
+        Pattern pattern = Pattern.builder()
+            .patternType("slow-checkout")
+            .description("Checkout slows down under load")
+            .confidence(0.9)
+            .examples(List.of("order-service"))
+            .discoveredAt(discoveredAt)
+            .build();
+        try (MemorySegmentLog log = new MemorySegmentLog(directory, SEGMENT_SIZE)) {
+            log.recover(payload -> { });
+            log.append(discoveredAt.toInstant(ZoneOffset.UTC).toEpochMilli(), MemoryRecordCodec.encode(pattern));
+        }
+        manager = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.closePersistentMemory();
+    }
+
+    @Test
+    @DisplayName("Should re-append patterns once on compaction instead of rolling a segment every cycle")
+    void shouldSettleAfterCompaction() throws IOException {
+        // When
+        manager.cleanupExpiredMemory();
+        List<Path> afterFirst = segments();
+        manager.cleanupExpiredMemory();
+        manager.cleanupExpiredMemory();
+
+        // Then the pattern's old discovery time no longer makes its segment due for rolling
+        assertEquals(1, afterFirst.size());
+        assertEquals(afterFirst, segments());
+        manager.closePersistentMemory();
+        manager = open();
+        Pattern restored = manager.getPattern("slow-checkout");
+        assertNotNull(restored);
+        assertTrue(restored.getDiscoveredAt().isBefore(LocalDateTime.now().minusDays(29)));
+    }
+
+    private MemoryManager open() {
+        MemoryManager memoryManager = new MemoryManager();
+        ReflectionTestUtils.setField(memoryManager, "maxEntries", 100);
+        ReflectionTestUtils.setField(memoryManager, "retentionHours", 1);
+        ReflectionTestUtils.setField(memoryManager, "persistenceEnabled", true);
+        ReflectionTestUtils.setField(memoryManager, "persistenceDirectory", directory.toString());
+        ReflectionTestUtils.setField(memoryManager, "segmentSizeBytes", SEGMENT_SIZE);
+        memoryManager.recoverPersistentMemory();
+        return memoryManager;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
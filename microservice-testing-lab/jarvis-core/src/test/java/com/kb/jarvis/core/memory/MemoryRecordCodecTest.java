@@ -0,0 +1,131 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+import com.kb.jarvis.core.model.MemoryType;
+import com.kb.jarvis.core.model.Pattern;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryRecordCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a memory entry with every kind of value")
+    void shouldRoundTripMemoryEntry() {
+        // Given
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("retries", 3);
+        nested.put("tags", List.of("smoke", "ünïcödé ✓"));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("service", "order-service");
+        data.put("durationMs", 1234567890123L);
+        data.put("delta", -42);
+        data.put("successRate", 0.975);
+        data.put("passed", true);
+        data.put("finishedAt", LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_456_789));
+        data.put("details", nested);
+        data.put("missing", null);
+        MemoryEntry entry = MemoryEntry.builder()
+            .key("test-result-1")
+            .type(MemoryType.TEST_RESULT)
+            .timestamp(LocalDateTime.of(2024, 5, 17, 9, 31))
+            .ttl(86_400)
+            .value(List.of(1, 2L, "three"))
+            .data(data)
+            .build();
+
+        // When
+        MemoryEntry decoded = MemoryRecordCodec.decodeMemoryEntry(ByteBuffer.wrap(MemoryRecordCodec.encode(entry)));
+
+        // Then
+        assertEquals("test-result-1", decoded.getKey());
+        assertEquals(MemoryType.TEST_RESULT, decoded.getType());
+        assertEquals(entry.getTimestamp(), decoded.getTimestamp());
+        assertEquals(86_400, decoded.getTtl());
+        assertEquals(List.of(1, 2L, "three"), decoded.getValue());
+        assertEquals(data, decoded.getData());
+        assertEquals(List.copyOf(data.keySet()), List.copyOf(decoded.getData().keySet()));
+    }
+
+    @Test
+    @DisplayName("Should round-trip an entry with no type, value or data")
+    void shouldRoundTripSparseEntry() {
+        // Given
+        MemoryEntry entry = MemoryEntry.builder().key("bare").ttl(-1).build();
+
+        // When
+        MemoryEntry decoded = MemoryRecordCodec.decodeMemoryEntry(ByteBuffer.wrap(MemoryRecordCodec.encode(entry)));
+
+        // Then
+        assertEquals("bare", decoded.getKey());
+        assertNull(decoded.getType());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getValue());
+        assertNull(decoded.getData());
+        assertEquals(-1, decoded.getTtl());
+    }
+
+    @Test
+    @DisplayName("Should store values the codec does not know as their string form")
+    void shouldStoreUnknownValuesAsText() {
+        // Given
+        UUID id = UUID.randomUUID();
+        MemoryEntry entry = MemoryEntry.builder()
+            .key("ids")
+            .value(Map.of("id", id, "type", MemoryType.SYSTEM_METRIC))
+            .build();
+
+        // When
+        MemoryEntry decoded = MemoryRecordCodec.decodeMemoryEntry(ByteBuffer.wrap(MemoryRecordCodec.encode(entry)));
+
+        // Then
+        assertEquals(Map.of("id", id.toString(), "type", "SYSTEM_METRIC"), decoded.getValue());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a pattern and report its record kind")
+    void shouldRoundTripPattern() {
+        // Given
+        Pattern pattern = Pattern.builder()
+            .patternType("TIMEOUT_CLUSTER")
+            .description("Timeouts cluster after deployments")
+            .confidence(0.87)
+            .examples(List.of("order-service 14:02", "user-service 14:05"))
+            .discoveredAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5))
+            .build();
+        ByteBuffer record = ByteBuffer.wrap(MemoryRecordCodec.encode(pattern));
+
+        // When
+        byte kind = MemoryRecordCodec.kind(record);
+        Pattern decoded = MemoryRecordCodec.decodePattern(record);
+
+        // Then
+        assertEquals(MemoryRecordCodec.KIND_PATTERN, kind);
+        assertEquals(0, record.position());
+        assertEquals("TIMEOUT_CLUSTER", decoded.getPatternType());
+        assertEquals("Timeouts cluster after deployments", decoded.getDescription());
+        assertEquals(0.87, decoded.getConfidence());
+        assertEquals(pattern.getExamples(), decoded.getExamples());
+        assertEquals(pattern.getDiscoveredAt(), decoded.getDiscoveredAt());
+    }
+
+    @Test
+    @DisplayName("Should reject a record of another kind or a truncated record")
+    void shouldRejectWrongKindAndTruncatedRecords() {
+        // Given
+        byte[] entry = MemoryRecordCodec.encode(MemoryEntry.builder().key("some-key").data(Map.of("a", "b")).build());
+        ByteBuffer truncated = ByteBuffer.wrap(entry, 0, entry.length - 3).slice();
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> MemoryRecordCodec.decodePattern(ByteBuffer.wrap(entry)));
+        assertThrows(RuntimeException.class, () -> MemoryRecordCodec.decodeMemoryEntry(truncated));
+    }
+}
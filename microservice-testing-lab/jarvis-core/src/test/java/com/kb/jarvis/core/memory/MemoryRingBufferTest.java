@@ -0,0 +1,158 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+import com.kb.jarvis.core.model.MemoryType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryRingBufferTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Test
+    @DisplayName("Should overwrite the oldest entry once full and report it to the listener")
+    void shouldEvictOldestWhenFull() {
+        // Given
+        List<MemoryEntry> evicted = new ArrayList<>();
+        MemoryRingBuffer buffer = new MemoryRingBuffer(3, evicted::add);
+        MemoryEntry first = entry("a", 0);
+
+        // When
+        assertNull(buffer.add(first));
+        assertNull(buffer.add(entry("b", 1)));
+        assertNull(buffer.add(entry("c", 2)));
+        MemoryEntry returned = buffer.add(entry("d", 3));
+
+        // Then
+        assertSame(first, returned);
+        assertEquals(List.of(first), evicted);
+        assertEquals(List.of("b", "c", "d"), keys(buffer.entries()));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should drop evicted entries from the key and time indexes")
+    void shouldUnindexEvictedEntries() {
+        // Given
+        MemoryRingBuffer buffer = new MemoryRingBuffer(2);
+        buffer.add(entry("same", 0));
+        buffer.add(entry("same", 1));
+
+        // When
+        buffer.add(entry("other", 2));
+
+        // Then
+        List<MemoryEntry> same = buffer.findByKey("same");
+        assertEquals(1, same.size());
+        assertEquals(T0.plusMinutes(1), same.get(0).getTimestamp());
+        assertEquals(List.of("same", "other"), keys(buffer.findByTimeRange(T0, T0.plusHours(1))));
+        assertTrue(buffer.findByTimeRange(T0, T0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep duplicate entry instances apart in the indexes")
+    void shouldIndexDuplicateInstancesSeparately() {
+        // Given two equal entries
+        MemoryRingBuffer buffer = new MemoryRingBuffer(2);
+        buffer.add(entry("dup", 5));
+        buffer.add(entry("dup", 5));
+
+        // When the older one is evicted
+        buffer.add(entry("next", 6));
+
+        // Then the newer copy is still found
+        assertEquals(1, buffer.findByKey("dup").size());
+        assertEquals(2, buffer.findByTimeRange(T0.plusMinutes(5), T0.plusMinutes(6)).size());
+    }
+
+    @Test
+    @DisplayName("Should remove entries older than the cutoff from the ring and indexes")
+    void shouldRemoveOlderThanCutoff() {
+        // Given
+        List<MemoryEntry> evicted = new ArrayList<>();
+        MemoryRingBuffer buffer = new MemoryRingBuffer(5, evicted::add);
+        for (int minute = 0; minute < 5; minute++) {
+            buffer.add(entry("key-" + minute, minute));
+        }
+
+        // When
+        List<MemoryEntry> removed = buffer.removeOlderThan(T0.plusMinutes(2));
+
+        // Then
+        assertEquals(List.of("key-0", "key-1"), keys(removed));
+        assertEquals(removed, evicted);
+        assertEquals(3, buffer.size());
+        assertEquals(List.of("key-2", "key-3", "key-4"), keys(buffer.entries()));
+        assertTrue(buffer.findByKey("key-0").isEmpty());
+        assertEquals(3, buffer.findByTimeRange(T0, T0.plusHours(1)).size());
+    }
+
+    @Test
+    @DisplayName("Should keep ring, indexes, size and evictions consistent with a reference model")
+    void shouldMatchReferenceModel() {
+        // Given
+        Random random = new Random(3);
+        List<MemoryEntry> evicted = new ArrayList<>();
+        MemoryRingBuffer buffer = new MemoryRingBuffer(16, evicted::add);
+        List<MemoryEntry> model = new ArrayList<>();
+        List<MemoryEntry> modelEvicted = new ArrayList<>();
+
+        for (int step = 0; step < 2000; step++) {
+            // When
+            if (random.nextInt(20) == 0) {
+                LocalDateTime cutoff = T0.plusMinutes(random.nextInt(step + 1));
+                buffer.removeOlderThan(cutoff);
+                model.removeIf(entry -> {
+                    boolean old = entry.getTimestamp().isBefore(cutoff);
+                    if (old) {
+                        modelEvicted.add(entry);
+                    }
+                    return old;
+                });
+            } else {
+                MemoryEntry entry = entry("key-" + random.nextInt(10), random.nextInt(step + 1));
+                if (buffer.add(entry) != null) {
+                    modelEvicted.add(model.remove(0));
+                }
+                model.add(entry);
+            }
+
+            // Then
+            assertEquals(model.size(), buffer.size(), "step " + step);
+            assertEquals(model.size(), buffer.entries().size(), "step " + step);
+            assertEquals(modelEvicted.size(), evicted.size(), "step " + step);
+        }
+        for (int key = 0; key < 10; key++) {
+            String name = "key-" + key;
+            assertEquals(model.stream().filter(entry -> entry.getKey().equals(name)).count(),
+                buffer.findByKey(name).size());
+        }
+        assertEquals(model.size(), buffer.findByTimeRange(T0, T0.plusYears(1)).size());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive capacity")
+    void shouldRejectInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new MemoryRingBuffer(0));
+    }
+
+    private static MemoryEntry entry(String key, int minute) {
+        return MemoryEntry.builder()
+            .key(key)
+            .type(MemoryType.SYSTEM_METRIC)
+            .timestamp(T0.plusMinutes(minute))
+            .build();
+    }
+
+    private static List<String> keys(List<MemoryEntry> entries) {
+        return entries.stream().map(MemoryEntry::getKey).collect(Collectors.toList());
+    }
+}
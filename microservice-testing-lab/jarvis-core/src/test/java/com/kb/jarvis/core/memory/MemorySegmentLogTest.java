@@ -0,0 +1,253 @@
+package com.kb.jarvis.core.memory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemorySegmentLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+    private static final int HEADER_BYTES = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should recover every record in order across rolled segments")
+    void shouldRecoverRecordsAcrossSegments() throws IOException {
+        // Given
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> fail("log should start empty"));
+            for (int i = 0; i < 40; i++) {
+                log.append(1_000 + i, record(i));
+            }
+            assertTrue(log.getSegmentCount() > 1);
+        }
+
+        // When
+        List<String> recovered = new ArrayList<>();
+        int count;
+        try (MemorySegmentLog log = open()) {
+            count = log.recover(payload -> recovered.add(text(payload)));
+        }
+
+        // Then
+        assertEquals(40, count);
+        assertEquals(expected(0, 40), recovered);
+    }
+
+    @Test
+    @DisplayName("Should append after the last recovered record")
+    void shouldAppendAfterRecovery() throws IOException {
+        // Given
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> { });
+            log.append(1, record(0));
+            log.append(2, record(1));
+        }
+
+        // When
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> { });
+            log.append(3, record(2));
+        }
+
+        // Then
+        assertEquals(expected(0, 3), recoverAll());
+    }
+
+    @Test
+    @DisplayName("Should ignore a torn record whose length was never written")
+    void shouldIgnoreRecordWithoutLength() throws IOException {
+        // Given two records, then a third with everything but its length on disk
+        int tail = writeRecords(2);
+        byte[] payload = record(2);
+        ByteBuffer torn = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        torn.putInt(0).putInt(crc(payload)).putLong(3).put(payload).flip();
+        write(firstSegment(), tail, torn);
+
+        // When
+        List<String> recovered = recoverAll();
+
+        // Then
+        assertEquals(expected(0, 2), recovered);
+    }
+
+    @Test
+    @DisplayName("Should stop at a record whose payload does not match its CRC and overwrite it on append")
+    void shouldStopAtCorruptRecord() throws IOException {
+        // Given three records, the second with a flipped payload byte
+        writeRecords(3);
+        int second = HEADER_BYTES + record(0).length;
+        write(firstSegment(), second + HEADER_BYTES, ByteBuffer.wrap(new byte[] {'X'}));
+
+        // When
+        List<String> recovered = new ArrayList<>();
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> recovered.add(text(payload)));
+            log.append(9, "replacement".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // Then
+        assertEquals(expected(0, 1), recovered);
+        assertEquals(List.of("record-000", "replacement"), recoverAll());
+    }
+
+    @Test
+    @DisplayName("Should stop at a length that runs past the end of the segment")
+    void shouldStopAtLengthPastSegmentEnd() throws IOException {
+        // Given
+        int tail = writeRecords(2);
+        write(firstSegment(), tail, ByteBuffer.allocate(4).putInt(0, SEGMENT_SIZE));
+
+        // Then
+        assertEquals(expected(0, 2), recoverAll());
+    }
+
+    @Test
+    @DisplayName("Should skip a record the consumer cannot read and keep recovering")
+    void shouldSkipUnreadableRecord() throws IOException {
+        // Given
+        writeRecords(3);
+
+        // When
+        List<String> recovered = new ArrayList<>();
+        int count;
+        try (MemorySegmentLog log = open()) {
+            count = log.recover(payload -> {
+                String text = text(payload);
+                if (text.equals("record-001")) {
+                    throw new IllegalArgumentException("unreadable");
+                }
+                recovered.add(text);
+            });
+        }
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(List.of("record-000", "record-002"), recovered);
+    }
+
+    @Test
+    @DisplayName("Should delete only sealed segments older than the cutoff")
+    void shouldDeleteExpiredSealedSegments() throws IOException {
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> { });
+            log.append(100, record(0));
+            assertTrue(log.rollIfOlderThan(150));
+            log.append(200, record(1));
+
+            // The active segment is never deleted, however old
+            assertEquals(1, log.deleteSegmentsOlderThan(Long.MAX_VALUE));
+            assertEquals(1, log.getSegmentCount());
+            assertFalse(log.rollIfOlderThan(150));
+        }
+        assertEquals(expected(1, 2), recoverAll());
+    }
+
+    @Test
+    @DisplayName("Should keep every segment from the rolled-over sequence on")
+    void shouldDeleteSegmentsBeforeRollOver() throws IOException {
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> { });
+            for (int i = 0; i < 20; i++) {
+                log.append(i, record(i));
+            }
+            long firstKept = log.rollOver();
+            assertEquals(firstKept, log.rollOver());
+            log.append(20, record(20));
+
+            assertTrue(log.deleteSegmentsBefore(firstKept) > 0);
+            assertEquals(1, log.getSegmentCount());
+        }
+        assertEquals(expected(20, 21), recoverAll());
+    }
+
+    @Test
+    @DisplayName("Should refuse records larger than a segment and appends before recovery")
+    void shouldRejectInvalidAppends() throws IOException {
+        try (MemorySegmentLog log = open()) {
+            assertThrows(IllegalStateException.class, () -> log.append(1, record(0)));
+            log.recover(payload -> { });
+            assertThrows(IllegalArgumentException.class, () -> log.append(1, new byte[SEGMENT_SIZE]));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new MemorySegmentLog(directory, HEADER_BYTES));
+    }
+
+    private MemorySegmentLog open() throws IOException {
+        return new MemorySegmentLog(directory, SEGMENT_SIZE);
+    }
+
+    /**
+     * Write records 0..count-1 into a fresh log and return the offset just past the last one
+     */
+    private int writeRecords(int count) throws IOException {
+        int tail = 0;
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> { });
+            for (int i = 0; i < count; i++) {
+                log.append(i + 1, record(i));
+                tail += HEADER_BYTES + record(i).length;
+            }
+        }
+        return tail;
+    }
+
+    private List<String> recoverAll() throws IOException {
+        List<String> recovered = new ArrayList<>();
+        try (MemorySegmentLog log = open()) {
+            log.recover(payload -> recovered.add(text(payload)));
+        }
+        return recovered;
+    }
+
+    private Path firstSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().findFirst().orElseThrow();
+        }
+    }
+
+    private static void write(Path file, int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] record(int i) {
+        return String.format("record-%03d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> expected = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            expected.add(String.format("record-%03d", i));
+        }
+        return expected;
+    }
+
+    private static String text(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,144 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.MemoryEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryTextIndexTest {
+
+    @Test
+    @DisplayName("Should find entries by key tokens, the whole key and nested data values")
+    void shouldSearchKeysAndData() {
+        // Given
+        MemoryTextIndex index = new MemoryTextIndex();
+        MemoryEntry failure = entry("failure_abc-123", Map.of(
+            "service", "order-service",
+            "details", Map.of("errors", List.of("Connection refused", "Timeout"))));
+        MemoryEntry metric = entry("metric_cpu", Map.of("service", "user-service"));
+        index.add(failure);
+        index.add(metric);
+
+        // Then
+        assertEquals(List.of(failure), index.search("failure_abc-123", 10));
+        assertEquals(List.of(failure), index.search("REFUSED", 10));
+        assertEquals(List.of(metric), index.search("cpu", 10));
+        assertEquals(2, index.search("service", 10).size());
+        assertTrue(index.search("missing", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search("service", 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank the entry with more and rarer matching terms first")
+    void shouldRankByTfIdf() {
+        // Given
+        MemoryTextIndex index = new MemoryTextIndex();
+        MemoryEntry once = entry("one", Map.of("text", "timeout in payment gateway"));
+        MemoryEntry twice = entry("two", Map.of("text", "timeout then timeout again"));
+        MemoryEntry common = entry("three", Map.of("text", "payment ok"));
+        index.add(once);
+        index.add(twice);
+        index.add(common);
+
+        // Then
+        assertEquals(List.of(twice, once), index.search("timeout", 10));
+        assertEquals(once, index.search("timeout gateway", 1).get(0));
+    }
+
+    @Test
+    @DisplayName("Should drop a removed entry's postings and terms no other entry uses")
+    void shouldUnindexOnRemove() {
+        // Given
+        MemoryTextIndex index = new MemoryTextIndex();
+        MemoryEntry first = entry("alpha", Map.of("text", "shared unique"));
+        MemoryEntry second = entry("beta", Map.of("text", "shared"));
+        index.add(first);
+        index.add(second);
+        int terms = index.getTermCount();
+
+        // When
+        index.remove(first);
+
+        // Then
+        assertEquals(1, index.getDocumentCount());
+        assertEquals(terms - 2, index.getTermCount());
+        assertEquals(List.of(second), index.search("shared", 10));
+        assertTrue(index.search("unique", 10).isEmpty());
+        assertTrue(index.search("alpha", 10).isEmpty());
+
+        index.remove(second);
+        assertEquals(0, index.getDocumentCount());
+        assertEquals(0, index.getTermCount());
+    }
+
+    @Test
+    @DisplayName("Should track instances, so equal entries and double adds need their own removals")
+    void shouldCountCopiesPerInstance() {
+        // Given two equal entries, one of them added twice
+        MemoryTextIndex index = new MemoryTextIndex();
+        MemoryEntry first = entry("same", Map.of("text", "value"));
+        MemoryEntry equal = entry("same", Map.of("text", "value"));
+        index.add(first);
+        index.add(first);
+        index.add(equal);
+
+        // When
+        index.remove(first);
+
+        // Then
+        assertEquals(2, index.search("value", 10).size());
+        index.remove(equal);
+        assertEquals(List.of(first), index.search("value", 10));
+        index.remove(first);
+        assertTrue(index.search("value", 10).isEmpty());
+        index.remove(first);
+        assertEquals(0, index.getDocumentCount());
+    }
+
+    @Test
+    @DisplayName("Should leave the index empty when a ring evicts everything it indexed")
+    void shouldStayInStepWithRingEvictions() {
+        // Given a ring that unindexes what it evicts, as the memory manager wires it
+        MemoryTextIndex index = new MemoryTextIndex();
+        MemoryRingBuffer ring = new MemoryRingBuffer(4, index::remove);
+        for (int i = 0; i < 50; i++) {
+            MemoryEntry entry = entry("entry-" + i, Map.of("text", "token" + (i % 7)));
+            index.add(entry);
+            ring.add(entry);
+        }
+
+        // Then only the live entries remain searchable
+        assertEquals(4, index.getDocumentCount());
+        List<MemoryEntry> results = index.search("entry-45", 10);
+        assertEquals(4, results.size());
+        assertTrue(results.containsAll(ring.entries()));
+        assertEquals(ring.entries().get(3), index.search("entry-49", 1).get(0));
+
+        // When the ring is emptied
+        ring.removeOlderThan(LocalDateTime.MAX);
+        assertEquals(0, index.getDocumentCount());
+        assertEquals(0, index.getTermCount());
+    }
+
+    @Test
+    @DisplayName("Should split text into lowercased alphanumeric tokens")
+    void shouldTokenize() {
+        assertEquals(List.of("order", "service", "503", "gateway"), MemoryTextIndex.tokenize("Order-Service: 503 (Gateway)"));
+        assertTrue(MemoryTextIndex.tokenize(null).isEmpty());
+        assertTrue(MemoryTextIndex.tokenize("x".repeat(65)).isEmpty());
+    }
+
+    private static MemoryEntry entry(String key, Map<String, Object> data) {
+        return MemoryEntry.builder()
+            .key(key)
+            .timestamp(LocalDateTime.of(2024, 1, 1, 0, 0))
+            .data(data)
+            .build();
+    }
+}
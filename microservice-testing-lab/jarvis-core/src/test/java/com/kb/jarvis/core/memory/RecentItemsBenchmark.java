@@ -0,0 +1,122 @@
+package com.kb.jarvis.core.memory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrent add/read throughput of the MemoryManager recent-item caches: the previous
+ * synchronized ArrayList with remove(0) eviction against ConcurrentRingBuffer.
+ *
+ * Each group runs three writers and one reader taking full snapshots, as LearningEngine does.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *     -Dexec.mainClass=com.kb.jarvis.core.memory.RecentItemsBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecentItemsBenchmark {
+    
+    @State(Scope.Group)
+    public static class SynchronizedListState {
+        
+        @Param({"100", "1000"})
+        int capacity;
+        
+        List<Long> items;
+        
+        @Setup
+        public void setup() {
+            items = Collections.synchronizedList(new ArrayList<>());
+            for (long i = 0; i < capacity; i++) {
+                items.add(i);
+            }
+        }
+        
+        void add(Long item) {
+            synchronized (items) {
+                items.add(item);
+                if (items.size() > capacity) {
+                    items.remove(0);
+                }
+            }
+        }
+        
+        List<Long> snapshot() {
+            synchronized (items) {
+                return new ArrayList<>(items);
+            }
+        }
+    }
+    
+    @State(Scope.Group)
+    public static class RingBufferState {
+        
+        @Param({"100", "1000"})
+        int capacity;
+        
+        ConcurrentRingBuffer<Long> items;
+        
+        @Setup
+        public void setup() {
+            items = new ConcurrentRingBuffer<>(capacity);
+            for (long i = 0; i < capacity; i++) {
+                items.add(i);
+            }
+        }
+    }
+    
+    @Benchmark
+    @Group("synchronizedList")
+    @GroupThreads(3)
+    public void synchronizedListAdd(SynchronizedListState state) {
+        state.add(System.nanoTime());
+    }
+    
+    @Benchmark
+    @Group("synchronizedList")
+    @GroupThreads(1)
+    public List<Long> synchronizedListRead(SynchronizedListState state) {
+        return state.snapshot();
+    }
+    
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(3)
+    public void ringBufferAdd(RingBufferState state) {
+        state.items.add(System.nanoTime());
+    }
+    
+    @Benchmark
+    @Group("ringBuffer")
+    @GroupThreads(1)
+    public List<Long> ringBufferRead(RingBufferState state) {
+        return state.items.snapshot();
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(RecentItemsBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
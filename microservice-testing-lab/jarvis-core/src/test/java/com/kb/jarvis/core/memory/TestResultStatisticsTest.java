@@ -0,0 +1,105 @@
+package com.kb.jarvis.core.memory;
+
+import com.kb.jarvis.core.model.TestResult;
+import com.kb.jarvis.core.model.TestStatus;
+import com.kb.jarvis.core.model.TestType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestResultStatisticsTest {
+
+    @Test
+    @DisplayName("Should count recorded results by status, service and test type")
+    void shouldCountRecordedResults() {
+        // Given
+        TestResultStatistics statistics = new TestResultStatistics();
+
+        // When
+        statistics.record(result(TestStatus.PASSED, "order-service", TestType.UNIT_TEST));
+        statistics.record(result(TestStatus.PASSED, "order-service", TestType.API_TEST));
+        statistics.record(result(TestStatus.FAILED, "user-service", TestType.UNIT_TEST));
+        statistics.record(result(null, null, null));
+
+        // Then
+        assertEquals(4, statistics.getTotal());
+        assertEquals(0.5, statistics.getSuccessRate());
+        assertEquals(Map.of("FAILED", 1L, "PASSED", 2L, "UNKNOWN", 1L), statistics.getCountsByStatus());
+        assertEquals(Map.of("UNKNOWN", 1L, "order-service", 2L, "user-service", 1L), statistics.getCountsByService());
+        assertEquals(Map.of("API_TEST", 1L, "UNIT_TEST", 2L, "UNKNOWN", 1L), statistics.getCountsByTestType());
+    }
+
+    @Test
+    @DisplayName("Should return every counter to zero when each recorded result is evicted")
+    void shouldBeSymmetricOnEvict() {
+        // Given
+        TestResultStatistics statistics = new TestResultStatistics();
+        TestResult passed = result(TestStatus.PASSED, "order-service", TestType.UNIT_TEST);
+        TestResult failed = result(TestStatus.FAILED, null, TestType.API_TEST);
+        statistics.record(passed);
+        statistics.record(failed);
+
+        // When
+        statistics.evict(failed);
+        statistics.evict(passed);
+
+        // Then
+        assertEquals(0, statistics.getTotal());
+        assertEquals(0.0, statistics.getSuccessRate());
+        assertEquals(0, statistics.getCount("PASSED"));
+        assertTrue(statistics.getCountsByStatus().isEmpty());
+        assertTrue(statistics.getCountsByService().isEmpty());
+        assertTrue(statistics.getCountsByTestType().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match a recount of the cache it is wired to as results are evicted")
+    void shouldMatchRecountOfRing() {
+        // Given a ring that evicts into the statistics, as the memory manager wires them
+        Random random = new Random(5);
+        TestResultStatistics statistics = new TestResultStatistics();
+        ConcurrentRingBuffer<TestResult> cache = new ConcurrentRingBuffer<>(50, statistics::evict);
+        TestStatus[] statuses = TestStatus.values();
+        String[] services = {"order-service", "user-service", "product-service"};
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            TestResult result = result(statuses[random.nextInt(statuses.length)],
+                services[random.nextInt(services.length)], TestType.UNIT_TEST);
+            statistics.record(result);
+            cache.add(result);
+            if (i % 97 == 0) {
+                cache.removeIf(cached -> cached.getStatus() == TestStatus.SKIPPED);
+            }
+        }
+
+        // Then
+        List<TestResult> cached = cache.snapshot();
+        Map<String, Long> byStatus = new HashMap<>();
+        Map<String, Long> byService = new HashMap<>();
+        for (TestResult result : cached) {
+            byStatus.merge(result.getStatus().name(), 1L, Long::sum);
+            byService.merge(result.getServiceName(), 1L, Long::sum);
+        }
+        assertEquals(cached.size(), statistics.getTotal());
+        assertEquals(byStatus, statistics.getCountsByStatus());
+        assertEquals(byService, statistics.getCountsByService());
+        assertEquals(Map.of("UNIT_TEST", (long) cached.size()), statistics.getCountsByTestType());
+        assertEquals((double) byStatus.getOrDefault("PASSED", 0L) / cached.size(), statistics.getSuccessRate());
+    }
+
+    private static TestResult result(TestStatus status, String service, TestType testType) {
+        TestResult result = new TestResult();
+        result.setStatus(status);
+        result.setServiceName(service);
+        result.setTestType(testType);
+        return result;
+    }
+}
@@ -0,0 +1,76 @@
+package com.kb.jarvis.core.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArrivalScheduleTest {
+
+    @Test
+    @DisplayName("Should schedule the final arrival of a ramp that lands on the stage end")
+    void shouldKeepArrivalAtRampEnd() {
+        // When
+        List<Long> offsets = offsets(0, List.of(LoadStage.of("10s", 10)));
+
+        // Then
+        assertEquals(50, offsets.size());
+        assertEquals(10_000_000_000L, offsets.get(offsets.size() - 1), 1_000);
+    }
+
+    @Test
+    @DisplayName("Should schedule every arrival of a constant fractional rate")
+    void shouldKeepArrivalsOfFractionalRate() {
+        // When
+        List<Long> offsets = offsets(0.3, List.of(LoadStage.of("10s", 0.3)));
+
+        // Then
+        assertEquals(3, offsets.size());
+        assertEquals(10_000_000_000L, offsets.get(2), 1_000);
+    }
+
+    @Test
+    @DisplayName("Should match the expected request count across stages")
+    void shouldMatchExpectedRequests() {
+        // Given
+        List<LoadStage> stages = List.of(LoadStage.of("3s", 7), LoadStage.of("5s", 7), LoadStage.of("2s", 0),
+            LoadStage.of("1s", 0), LoadStage.of("4s", 2.5));
+        ArrivalSchedule schedule = new ArrivalSchedule(1, stages);
+
+        // When
+        List<Long> offsets = offsets(1, stages);
+
+        // Then
+        assertEquals(Math.floor(schedule.expectedRequests() + 1e-6), offsets.size());
+        for (int i = 1; i < offsets.size(); i++) {
+            assertTrue(offsets.get(i) >= offsets.get(i - 1), "offsets must not decrease");
+        }
+        assertTrue(offsets.get(offsets.size() - 1) <= schedule.durationNanos());
+    }
+
+    @Test
+    @DisplayName("Should space a constant rate evenly")
+    void shouldSpaceConstantRateEvenly() {
+        // When
+        List<Long> offsets = offsets(4, List.of(LoadStage.of("2s", 4)));
+
+        // Then
+        assertEquals(8, offsets.size());
+        for (int i = 0; i < offsets.size(); i++) {
+            assertEquals((i + 1) * 250_000_000L, offsets.get(i), 1_000);
+        }
+    }
+
+    private static List<Long> offsets(double startRate, List<LoadStage> stages) {
+        ArrivalSchedule schedule = new ArrivalSchedule(startRate, stages);
+        List<Long> offsets = new ArrayList<>();
+        long offset;
+        while ((offset = schedule.next()) >= 0) {
+            offsets.add(offset);
+        }
+        return offsets;
+    }
+}
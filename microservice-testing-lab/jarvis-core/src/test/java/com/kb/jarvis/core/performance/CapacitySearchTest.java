@@ -0,0 +1,133 @@
+package com.kb.jarvis.core.performance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapacitySearchTest {
+
+    private final LoadProfile template = LoadProfile.builder().name("capacity").path("/api/orders").stage("1s", 1).build();
+
+    /**
+     * Real generator that tells the stubbed sender which rate is being probed
+     */
+    private static class RateAwareGenerator extends LoadGenerator {
+
+        private volatile double rate;
+
+        @Override
+        public LoadTestResult run(LoadProfile profile, LoadRequestSender sender) {
+            rate = profile.getStartRate();
+            return super.run(profile, sender);
+        }
+    }
+
+    @Test
+    @DisplayName("Should double until errors appear and then bisect the bracket down to the precision")
+    void shouldBracketAndBisectOnErrors() {
+        // Given a target that starts failing above 1000 req/s
+        RateAwareGenerator generator = new RateAwareGenerator();
+        LoadRequestSender sender = () -> CompletableFuture.completedFuture(generator.rate > 1000 ? 503 : 200);
+
+        // When
+        CapacityResult result = search(100, 6400, 20).run(generator, template, sender);
+
+        // Then
+        assertEquals(List.of(100.0, 200.0, 400.0, 800.0, 1600.0, 1200.0, 1000.0, 1100.0, 1050.0), rates(result));
+        assertEquals(1000.0, result.getSustainableRate());
+        assertEquals(1050.0, result.getFailingRate());
+        assertFalse(result.isCeilingReached());
+        assertEquals("errors", result.getProbes().get(4).getLimitedBy());
+        assertEquals(0.0, result.getSloExceedance());
+    }
+
+    @Test
+    @DisplayName("Should fail probes on the SLO percentile when the target slows down past the knee")
+    void shouldBracketOnLatency() {
+        // Given a target that answers after 100 ms above 400 req/s
+        RateAwareGenerator generator = new RateAwareGenerator();
+        LoadRequestSender sender = () -> generator.rate > 400
+            ? CompletableFuture.supplyAsync(() -> 200, CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS))
+            : CompletableFuture.completedFuture(200);
+
+        // When
+        CapacityResult result = search(100, 6400, 6).run(generator, template, sender);
+
+        // Then
+        assertEquals(List.of(100.0, 200.0, 400.0, 800.0, 600.0, 500.0), rates(result));
+        assertEquals(400.0, result.getSustainableRate());
+        assertEquals(500.0, result.getFailingRate());
+        CapacityResult.Probe failed = result.getProbes().get(3);
+        assertEquals("latency", failed.getLimitedBy());
+        assertTrue(failed.getSloLatencyMs() >= 100, "p99 " + failed.getSloLatencyMs());
+    }
+
+    @Test
+    @DisplayName("Should stop at the ceiling when every probe passes")
+    void shouldStopAtCeiling() {
+        // Given
+        LoadRequestSender sender = () -> CompletableFuture.completedFuture(200);
+
+        // When
+        CapacityResult result = search(100, 300, 20).run(new LoadGenerator(), template, sender);
+
+        // Then the last step is clamped to the ceiling
+        assertEquals(List.of(100.0, 200.0, 300.0), rates(result));
+        assertEquals(300.0, result.getSustainableRate());
+        assertNull(result.getFailingRate());
+        assertTrue(result.isCeilingReached());
+        // A 200 ms probe is too few requests to show that at most 1% exceed the SLO
+        assertEquals(0.0, result.getSloExceedance());
+        assertTrue(result.getSloExceedanceUpper() > 0.01);
+        assertFalse(result.isConfident());
+    }
+
+    @Test
+    @DisplayName("Should report nothing found when the minimum rate already fails")
+    void shouldReportNotFound() {
+        // Given
+        LoadRequestSender sender = () -> CompletableFuture.completedFuture(500);
+
+        // When
+        CapacityResult result = search(100, 6400, 20).run(new LoadGenerator(), template, sender);
+
+        // Then
+        assertEquals(List.of(100.0), rates(result));
+        assertFalse(result.isFound());
+        assertEquals(100.0, result.getFailingRate());
+        assertFalse(result.isCeilingReached());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or inverted rate range")
+    void shouldRejectInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> CapacitySearch.builder().minRate(0).build());
+        assertThrows(IllegalArgumentException.class, () -> CapacitySearch.builder().minRate(200).maxRate(100).build());
+        assertThrows(IllegalArgumentException.class, () -> CapacitySearch.builder().sloPercentile(100).build());
+    }
+
+    private static CapacitySearch search(double minRate, double maxRate, int maxProbes) {
+        return CapacitySearch.builder()
+            .minRate(minRate)
+            .maxRate(maxRate)
+            .probeDuration(Duration.ofMillis(200))
+            .warmupDuration(Duration.ZERO)
+            .cooldown(Duration.ZERO)
+            .sloPercentile(99)
+            .sloMs(50)
+            .maxErrorRate(0.01)
+            .precision(0.05)
+            .maxProbes(maxProbes)
+            .build();
+    }
+
+    private static List<Double> rates(CapacityResult result) {
+        return result.getProbes().stream().map(CapacityResult.Probe::getRate).toList();
+    }
+}
@@ -0,0 +1,109 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    @DisplayName("Should fold rolled intervals into per-endpoint totals, skipping idle endpoints")
+    void shouldAccumulateIntervals() {
+        // Given
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("GET /orders", 1_000);
+        recorder.record("GET /orders", 3_000);
+        recorder.record("POST /orders", 10_000);
+
+        // When
+        List<LatencySnapshot> firstInterval = recorder.rollInterval();
+        recorder.record("GET /orders", 5_000);
+        List<LatencySnapshot> secondInterval = recorder.rollInterval();
+
+        // Then
+        assertEquals(2, firstInterval.size());
+        assertEquals(1, secondInterval.size());
+        assertEquals(3, recorder.getIntervals().size());
+        assertEquals(3, recorder.getEndpoints().get("GET /orders").getCount());
+        assertEquals(1, recorder.getEndpoints().get("POST /orders").getCount());
+        assertEquals(4, recorder.getTotal().getCount());
+        assertTrue(recorder.rollInterval().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should merge the metrics of several runs into the same result as one run of all values")
+    void shouldMergeRunsExactly() {
+        // Given two runs and a reference run that saw every value of both
+        Random random = new Random(4);
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        LatencyRecorder reference = new LatencyRecorder();
+        for (int interval = 0; interval < 5; interval++) {
+            for (int i = 0; i < 400; i++) {
+                String endpoint = i % 3 == 0 ? "POST /orders" : "GET /orders";
+                long micros = 500 + random.nextInt(random.nextInt(10) == 0 ? 3_000_000 : 40_000);
+                (i % 2 == 0 ? first : second).record(endpoint, micros);
+                reference.record(endpoint, micros);
+            }
+            first.rollInterval();
+            second.rollInterval();
+            reference.rollInterval();
+        }
+
+        // When
+        LatencyRecorder merged = new LatencyRecorder();
+        merged.merge(first.toMetrics());
+        merged.merge(second.toMetrics());
+
+        // Then
+        assertEquals(20, merged.getIntervals().size());
+        for (String endpoint : List.of("GET /orders", "POST /orders")) {
+            Histogram expected = reference.getEndpoints().get(endpoint).getHistogram();
+            assertEquals(expected, merged.getEndpoints().get(endpoint).getHistogram(), endpoint);
+        }
+        assertEquals(reference.getTotal().getHistogram(), merged.getTotal().getHistogram());
+        assertEquals(reference.getTotal().getPercentileMs(99.9), merged.getTotal().getPercentileMs(99.9));
+    }
+
+    @Test
+    @DisplayName("Should merge totals that carry no intervals")
+    @SuppressWarnings("unchecked")
+    void shouldMergeTotalsWithoutIntervals() {
+        // Given
+        LatencyRecorder source = new LatencyRecorder();
+        source.record("GET /users", 2_000);
+        source.record("GET /users", 4_000);
+        source.rollInterval();
+        Map<String, Object> metrics = source.toMetrics();
+        metrics.put("intervals", List.of());
+
+        // When
+        LatencyRecorder merged = new LatencyRecorder();
+        merged.merge(metrics);
+        merged.merge(metrics);
+
+        // Then
+        assertTrue(merged.getIntervals().isEmpty());
+        assertEquals(4, merged.getEndpoints().get("GET /users").getCount());
+        assertEquals("us", metrics.get("unit"));
+        assertEquals(LatencySnapshot.ENCODING, metrics.get("encoding"));
+        assertTrue(((Map<String, Object>) metrics.get("endpoints")).containsKey("GET /users"));
+    }
+
+    @Test
+    @DisplayName("Should clamp negative latencies to zero")
+    void shouldClampNegativeLatencies() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record("api", -5);
+        recorder.rollInterval();
+
+        assertEquals(1, recorder.getTotal().getCount());
+        assertEquals(0.0, recorder.getTotal().getMaxMs());
+    }
+}
@@ -0,0 +1,78 @@
+package com.kb.jarvis.core.performance;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencySnapshotTest {
+
+    @Test
+    @DisplayName("Should rebuild the exact histogram from its map form after a JSON round trip")
+    void shouldRoundTripThroughJson() throws Exception {
+        // Given
+        LatencySnapshot snapshot = new LatencySnapshot("GET /api/orders", 1_000L, 61_000L, histogram(new Random(1), 5000));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // When
+        String json = objectMapper.writeValueAsString(snapshot.toMap());
+        Map<String, Object> stored = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        LatencySnapshot restored = LatencySnapshot.fromMap(stored);
+
+        // Then
+        assertEquals("GET /api/orders", restored.getEndpoint());
+        assertEquals(1_000L, restored.getStartTimeMs());
+        assertEquals(61_000L, restored.getEndTimeMs());
+        assertEquals(snapshot.getHistogram(), restored.getHistogram());
+        assertEquals(snapshot.getPercentileMs(99), restored.getPercentileMs(99));
+        assertEquals(5000, ((Number) stored.get("count")).longValue());
+    }
+
+    @Test
+    @DisplayName("Should merge snapshots into the histogram of all their values, spanning their windows")
+    void shouldMergeExactly() {
+        // Given
+        Random random = new Random(2);
+        Histogram first = histogram(random, 3000);
+        Histogram second = histogram(random, 7000);
+        Histogram all = first.copy();
+        all.add(second);
+
+        // When
+        LatencySnapshot merged = LatencySnapshot.merge("api", List.of(
+            new LatencySnapshot("api", 5_000, 6_000, first),
+            new LatencySnapshot("api", 2_000, 3_000, second)));
+
+        // Then
+        assertEquals(all, merged.getHistogram());
+        assertEquals(10_000, merged.getCount());
+        assertEquals(2_000, merged.getStartTimeMs());
+        assertEquals(6_000, merged.getEndTimeMs());
+        assertEquals(0, LatencySnapshot.merge("none", List.of()).getCount());
+        assertEquals(0.0, LatencySnapshot.empty("none").getMeanMs());
+    }
+
+    @Test
+    @DisplayName("Should reject a map without a readable histogram")
+    void shouldRejectInvalidHistogram() {
+        assertThrows(IllegalArgumentException.class, () -> LatencySnapshot.fromMap(Map.of("endpoint", "api")));
+        assertThrows(IllegalArgumentException.class, () -> LatencySnapshot.fromMap(Map.of("histogram", "bm90IGEgaGlzdG9ncmFt")));
+        assertThrows(IllegalArgumentException.class, () -> LatencySnapshot.decode("%%%"));
+    }
+
+    static Histogram histogram(Random random, int values) {
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < values; i++) {
+            // Mostly fast with a long tail, in microseconds
+            histogram.recordValue(random.nextInt(10) == 0 ? 50_000 + random.nextInt(2_000_000) : 1_000 + random.nextInt(20_000));
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,130 @@
+package com.kb.jarvis.core.performance;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadGeneratorTest {
+
+    private final LoadGenerator loadGenerator = new LoadGenerator();
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.createContext("/api/orders", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("X-Run") + " " + body);
+            respond(exchange, 201);
+        });
+        server.createContext("/broken", exchange -> respond(exchange, 500));
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200);
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should send the profile's request template on schedule through the WebClient sender")
+    void shouldSendRequestTemplate() {
+        // Given
+        LoadProfile profile = LoadProfile.builder()
+            .name("orders")
+            .method("POST")
+            .path("/api/orders")
+            .header("X-Run", "load-1")
+            .header("Content-Type", "application/json")
+            .body("{\"productId\":1}")
+            .startRate(20)
+            .stage("1s", 20)
+            .requestTimeout(Duration.ofSeconds(5))
+            .build();
+
+        // When
+        LoadTestResult result = loadGenerator.run(baseUrl, profile);
+
+        // Then
+        assertEquals(20, result.getScheduled());
+        assertEquals(20, result.getSucceeded());
+        assertEquals(0, result.getDropped());
+        assertEquals(20L, result.getStatusCounts().get(201));
+        assertEquals(20, received.size());
+        assertTrue(received.stream().allMatch("POST load-1 {\"productId\":1}"::equals), received::toString);
+        assertEquals(20, result.getResponseTime().getHistogram().getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should count error statuses as failures")
+    void shouldCountErrorStatuses() {
+        // Given
+        LoadProfile profile = LoadProfile.builder().path("/broken").startRate(10).stage("1s", 10).build();
+
+        // When
+        LoadTestResult result = loadGenerator.run(baseUrl, profile);
+
+        // Then
+        assertEquals(10, result.getFailed());
+        assertEquals(10L, result.getStatusCounts().get(500));
+        assertEquals(1.0, result.getErrorRate());
+        assertFalse(result.passesThresholds());
+    }
+
+    @Test
+    @DisplayName("Should drop arrivals over the in-flight limit instead of delaying them")
+    void shouldDropArrivalsOverInFlightLimit() {
+        // Given responses slower than the whole profile
+        LoadProfile profile = LoadProfile.builder()
+            .path("/slow")
+            .startRate(10)
+            .stage("1s", 10)
+            .maxInFlight(2)
+            .requestTimeout(Duration.ofSeconds(5))
+            .build();
+
+        // When
+        LoadTestResult result = loadGenerator.run(baseUrl, profile);
+
+        // Then
+        assertEquals(10, result.getScheduled());
+        assertEquals(2, result.getSent());
+        assertEquals(8, result.getDropped());
+        assertEquals(2, result.getSucceeded());
+        assertTrue(result.getResponseTimeMs(50) >= 1500, "response time includes the server's delay");
+    }
+
+    private static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,177 @@
+package com.kb.jarvis.core.performance;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegressionDetectorTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<RegressionDetector> detectors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        detectors.forEach(RegressionDetector::closeBaselines);
+    }
+
+    @Test
+    @DisplayName("Should restore every live window after compacting into several segments")
+    void shouldRestoreBaselinesAfterCompaction() {
+        // Given a log small enough that the compacted windows span several segments
+        RegressionDetector detector = detector(1024);
+        Random random = new Random(42);
+        for (int run = 0; run < 400; run++) {
+            detector.evaluate("user-service", "GET /users/" + (run % 10), "run-" + run, sample(random, 1000));
+        }
+        Map<String, Object> before = detector.getBaselineSummary();
+        detector.closeBaselines();
+
+        // When
+        RegressionDetector restored = detector(1024);
+
+        // Then
+        assertEquals(10, before.size());
+        assertEquals(before, restored.getBaselineSummary());
+    }
+
+    @Test
+    @DisplayName("Should not deadlock when a compaction runs alongside evaluations")
+    void shouldNotDeadlockWhileCompacting() {
+        RegressionDetector detector = detector(4096);
+        // Daemon workers, so a deadlock fails the test instead of hanging the build
+        ExecutorService pool = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    int offset = thread;
+                    futures.add(pool.submit(() -> {
+                        Random random = new Random(offset);
+                        for (int run = 0; run < 1000; run++) {
+                            detector.evaluate("order-service", "POST /orders/" + (run % 3),
+                                "run-" + offset + "-" + run, sample(random, 1000));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(3, detector.getBaselineSummary().size());
+    }
+
+    @Test
+    @DisplayName("Should replace the baseline with the shifted runs once enough consecutive runs regress")
+    void shouldRebaselineAfterConsecutiveRegressions() {
+        // Given a baseline at 1 ms
+        RegressionDetector detector = detector(1 << 20);
+        Random random = new Random(7);
+        for (int run = 0; run < 3; run++) {
+            detector.evaluate("order-service", "GET /orders", "base-" + run, sample(random, 1000));
+        }
+
+        // When an intended slowdown to 3 ms keeps showing up
+        List<RegressionVerdict.Outcome> outcomes = new ArrayList<>();
+        for (int run = 0; run < 4; run++) {
+            outcomes.add(detector.evaluate("order-service", "GET /orders", "slow-" + run, sample(random, 3000)).getOutcome());
+        }
+
+        // Then the third regressed run becomes part of the new baseline and later ones pass
+        assertEquals(List.of(RegressionVerdict.Outcome.REGRESSION, RegressionVerdict.Outcome.REGRESSION,
+            RegressionVerdict.Outcome.REGRESSION, RegressionVerdict.Outcome.NO_REGRESSION), outcomes);
+        detector.closeBaselines();
+        RegressionDetector restored = detector(1 << 20);
+        assertEquals(RegressionVerdict.Outcome.NO_REGRESSION,
+            restored.evaluate("order-service", "GET /orders", "slow-4", sample(random, 3000)).getOutcome());
+    }
+
+    @Test
+    @DisplayName("Should restart the count of shifted runs after a run within the baseline")
+    void shouldRequireConsecutiveRegressions() {
+        RegressionDetector detector = detector(1 << 20);
+        Random random = new Random(8);
+        for (int run = 0; run < 3; run++) {
+            detector.evaluate("order-service", "GET /orders", "base-" + run, sample(random, 1000));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (int run = 0; run < 2; run++) {
+                assertTrue(detector.evaluate("order-service", "GET /orders", "slow-" + round + "-" + run,
+                    sample(random, 3000)).isRegression());
+            }
+            assertFalse(detector.evaluate("order-service", "GET /orders", "ok-" + round,
+                sample(random, 1000)).isRegression());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rebuild a reset baseline from the next runs, also after a restart")
+    void shouldResetBaseline() {
+        // Given
+        RegressionDetector detector = detector(1 << 20);
+        Random random = new Random(9);
+        for (int run = 0; run < 3; run++) {
+            detector.evaluate("order-service", "GET /orders", "base-" + run, sample(random, 1000));
+        }
+
+        // When
+        boolean reset = detector.resetBaseline("order-service", "GET /orders");
+
+        // Then
+        assertTrue(reset);
+        assertFalse(detector.resetBaseline("order-service", "GET /orders"));
+        assertEquals(RegressionVerdict.Outcome.INSUFFICIENT_BASELINE,
+            detector.evaluate("order-service", "GET /orders", "slow-0", sample(random, 3000)).getOutcome());
+        detector.closeBaselines();
+        Map<String, Object> summary = detector(1 << 20).getBaselineSummary();
+        assertEquals(1, ((Map<?, ?>) summary.get("order-service GET /orders")).get("runs"));
+    }
+
+    private RegressionDetector detector(int segmentSizeBytes) {
+        RegressionDetector detector = new RegressionDetector();
+        ReflectionTestUtils.setField(detector, "windowRuns", 3);
+        ReflectionTestUtils.setField(detector, "minBaselineRuns", 3);
+        ReflectionTestUtils.setField(detector, "minSamples", 20);
+        ReflectionTestUtils.setField(detector, "significance", 0.01);
+        ReflectionTestUtils.setField(detector, "minEffectSize", 0.2);
+        ReflectionTestUtils.setField(detector, "rebaselineAfterRuns", 3);
+        ReflectionTestUtils.setField(detector, "persistenceEnabled", true);
+        ReflectionTestUtils.setField(detector, "persistenceDirectory", directory.toString());
+        ReflectionTestUtils.setField(detector, "segmentSizeBytes", segmentSizeBytes);
+        detector.recoverBaselines();
+        detectors.add(detector);
+        return detector;
+    }
+
+    private static Histogram sample(Random random, long medianMicros) {
+        Histogram histogram = new Histogram(3);
+        for (int i = 0; i < 50; i++) {
+            histogram.recordValue(medianMicros / 2 + random.nextInt((int) medianMicros));
+        }
+        return histogram;
+    }
+}
@@ -0,0 +1,119 @@
+package com.kb.jarvis.core.service;
+
+import com.kb.jarvis.core.model.HealthStatus;
+import com.kb.jarvis.core.model.ServiceHealth;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicroserviceIntegrationServiceTest {
+
+    private static final long READ_TIMEOUT_MS = 300;
+
+    private final ExecutorService handlers = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private MicroserviceIntegrationService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/up", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/down", exchange -> {
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        server.createContext("/hang", exchange -> {
+            try {
+                Thread.sleep(READ_TIMEOUT_MS * 10);
+                exchange.sendResponseHeaders(200, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.setExecutor(handlers);
+        server.start();
+
+        service = new MicroserviceIntegrationService();
+        ReflectionTestUtils.setField(service, "healthConnectTimeoutMs", 500L);
+        ReflectionTestUtils.setField(service, "healthReadTimeoutMs", READ_TIMEOUT_MS);
+        service.initHealthClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should report a service answering 2xx as healthy")
+    void shouldReportHealthyService() {
+        // When
+        ServiceHealth health = probe("/up");
+
+        // Then
+        assertEquals(HealthStatus.HEALTHY, health.getStatus());
+        assertEquals(100.0, health.getAvailability());
+        assertNull(health.getMessage());
+        assertEquals("user-service", health.getServiceName());
+    }
+
+    @Test
+    @DisplayName("Should report an error status or a refused connection as unhealthy")
+    void shouldReportServiceDown() throws IOException {
+        // Given a port nobody listens on
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            closedPort = socket.getLocalPort();
+        }
+
+        // When
+        ServiceHealth failing = probe("/down");
+        ServiceHealth refused = service.checkServiceHealth("user-service",
+            "http://127.0.0.1:" + closedPort + "/actuator/health").join();
+
+        // Then
+        assertEquals(HealthStatus.UNHEALTHY, failing.getStatus());
+        assertEquals(0.0, failing.getAvailability());
+        assertEquals("HTTP 503", failing.getMessage());
+        assertEquals(HealthStatus.UNHEALTHY, refused.getStatus());
+        assertEquals("ConnectException", refused.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should give up on a hung service after the read timeout instead of failing the probe")
+    void shouldTimeOutHungService() {
+        // When
+        long started = System.nanoTime();
+        ServiceHealth health = probe("/hang");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        // Then
+        assertEquals(HealthStatus.UNHEALTHY, health.getStatus());
+        assertEquals("HttpTimeoutException", health.getMessage());
+        assertTrue(elapsedMs >= READ_TIMEOUT_MS && elapsedMs < READ_TIMEOUT_MS * 10, "Probe took " + elapsedMs + " ms");
+    }
+
+    private ServiceHealth probe(String path) {
+        return service.checkServiceHealth("user-service",
+            "http://127.0.0.1:" + server.getAddress().getPort() + path).join();
+    }
+}
@@ -0,0 +1,111 @@
+package com.kb.jarvis.core.timeseries;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GorillaBlockTest {
+
+    @Test
+    @DisplayName("Should decode exactly the rows that were appended, bit for bit")
+    void shouldRoundTripIrregularRows() {
+        // Given timestamps with steady runs, repeats and jumps of every encoded width, and values
+        // that repeat, drift, jump and hit the special doubles
+        Random random = new Random(7);
+        long[] jumps = {0, 1, -1, 63, -64, 64, 255, -256, 256, 2047, -2048, 2048, 1_000_000};
+        double[] specials = {0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+            Double.MIN_VALUE, Double.MAX_VALUE, -1.5};
+        List<Long> timestamps = new ArrayList<>();
+        List<double[]> rows = new ArrayList<>();
+        long timestamp = 1_700_000_000L;
+        long delta = 10;
+        double[] previous = {42.0, 0.25, 1e9};
+        for (int i = 0; i < 2000; i++) {
+            if (i % 50 == 0) {
+                delta = Math.max(0, delta + jumps[random.nextInt(jumps.length)]);
+            }
+            timestamp += delta;
+            double[] row = previous.clone();
+            int choice = random.nextInt(4);
+            if (choice == 1) {
+                row[0] += random.nextInt(5) - 2;
+            } else if (choice == 2) {
+                row[1] = random.nextGaussian() * 1e6;
+            } else if (choice == 3) {
+                row[2] = specials[random.nextInt(specials.length)];
+            }
+            timestamps.add(timestamp);
+            rows.add(row);
+            previous = row;
+        }
+
+        GorillaBlock block = new GorillaBlock(3);
+        for (int i = 0; i < rows.size(); i++) {
+            block.append(timestamps.get(i), rows.get(i));
+        }
+
+        // When
+        List<Long> decodedTimestamps = new ArrayList<>();
+        List<double[]> decodedRows = new ArrayList<>();
+        block.snapshot().forEach((ts, values) -> {
+            decodedTimestamps.add(ts);
+            decodedRows.add(values.clone());
+        });
+
+        // Then
+        assertEquals(timestamps, decodedTimestamps);
+        for (int i = 0; i < rows.size(); i++) {
+            for (int column = 0; column < 3; column++) {
+                assertEquals(Double.doubleToRawLongBits(rows.get(i)[column]),
+                    Double.doubleToRawLongBits(decodedRows.get(i)[column]), "row " + i + " column " + column);
+            }
+        }
+        assertEquals(timestamps.get(0), block.firstTimestamp());
+        assertEquals(timestamps.get(timestamps.size() - 1), block.lastTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should spend about two bits per row on a steady interval with an unchanged value")
+    void shouldCompressSteadyRows() {
+        // Given
+        GorillaBlock block = new GorillaBlock(1);
+
+        // When
+        for (int i = 0; i < 4000; i++) {
+            block.append(1_000 + i * 10L, new double[] {12.5});
+        }
+
+        // Then: 16 header bytes, one delta-of-delta for the second row, then 2 bits per row
+        assertEquals(4000, block.rows());
+        assertTrue(block.sizeInBytes() <= 16 + 2 + 4000 / 4 + 1, "size " + block.sizeInBytes());
+    }
+
+    @Test
+    @DisplayName("Should keep decoding a snapshot unchanged after more rows are appended")
+    void shouldKeepSnapshotsImmutable() {
+        // Given
+        GorillaBlock block = new GorillaBlock(1);
+        block.append(100, new double[] {1});
+        block.append(160, new double[] {2});
+        GorillaBlock.Snapshot snapshot = block.snapshot();
+
+        // When
+        block.append(220, new double[] {3});
+
+        // Then
+        List<Double> values = new ArrayList<>();
+        snapshot.forEach((ts, row) -> values.add(row[0]));
+        assertEquals(List.of(1.0, 2.0), values);
+        assertEquals(2, snapshot.rows());
+        assertEquals(160, snapshot.lastTimestamp());
+        assertTrue(snapshot.overlaps(160, 161));
+        assertFalse(snapshot.overlaps(161, 300));
+        assertFalse(snapshot.overlaps(0, 100));
+        assertFalse(new GorillaBlock(1).snapshot().overlaps(0, Long.MAX_VALUE));
+    }
+}
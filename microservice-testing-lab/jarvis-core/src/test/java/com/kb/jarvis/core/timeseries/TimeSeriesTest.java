@@ -0,0 +1,119 @@
+package com.kb.jarvis.core.timeseries;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeSeriesTest {
+
+    private static final long DAY_MS = 24 * 3_600_000L;
+    private static final long[] KEEP_EVERYTHING = {30 * DAY_MS, 30 * DAY_MS, 30 * DAY_MS};
+
+    @Test
+    @DisplayName("Should aggregate any range to the same rollup as the raw points in it")
+    void shouldAggregateLikeBruteForce() {
+        // Given five hours of integer-valued points with gaps, bursts and several points per second
+        Random random = new Random(11);
+        TimeSeries series = new TimeSeries(KEEP_EVERYTHING);
+        List<long[]> points = new ArrayList<>();
+        long timestampMs = 3_600_000L * 1000 + 1234;
+        long end = timestampMs + 5 * 3_600_000L;
+        while (timestampMs < end) {
+            long value = random.nextInt(2001) - 1000;
+            assertTrue(series.record(timestampMs, value));
+            points.add(new long[] {timestampMs, value});
+            int gap = random.nextInt(10);
+            timestampMs += gap == 0 ? 0 : gap < 8 ? random.nextInt(3000) : random.nextInt(900_000);
+        }
+        long first = points.get(0)[0];
+
+        for (int i = 0; i < 300; i++) {
+            // Second-aligned ranges, as the raw tier stores whole seconds
+            long fromMs = (first / 1000 + random.nextInt(5 * 3600 + 60) - 30) * 1000;
+            long toMs = fromMs + (i % 3 == 0 ? random.nextInt(120) : random.nextInt(4 * 3600)) * 1000L;
+
+            // When
+            Rollup aggregate = series.aggregate(fromMs, toMs);
+
+            // Then
+            Rollup expected = new Rollup(fromMs);
+            for (long[] point : points) {
+                if (point[0] >= fromMs && point[0] < toMs) {
+                    expected.add(point[1]);
+                }
+            }
+            String range = "[" + fromMs + ", " + toMs + ")";
+            assertEquals(expected.getCount(), aggregate.getCount(), range);
+            assertEquals(expected.getSum(), aggregate.getSum(), range);
+            assertEquals(expected.getMin(), aggregate.getMin(), range);
+            assertEquals(expected.getMax(), aggregate.getMax(), range);
+        }
+    }
+
+    @Test
+    @DisplayName("Should include the open minute and hour in rollup queries")
+    void shouldQueryOpenBuckets() {
+        // Given
+        TimeSeries series = new TimeSeries(KEEP_EVERYTHING);
+        series.record(0, 1);
+        series.record(30_000, 3);
+        series.record(61_000, 10);
+
+        // When
+        List<Rollup> minutes = series.query(0, 120_000, Resolution.MINUTE);
+        List<Rollup> hours = series.query(0, 3_600_000, Resolution.HOUR);
+        List<Rollup> seconds = series.query(0, 120_000, Resolution.SECOND);
+
+        // Then
+        assertEquals(2, minutes.size());
+        assertEquals(0, minutes.get(0).getTimestampMs());
+        assertEquals(2, minutes.get(0).getCount());
+        assertEquals(4.0, minutes.get(0).getSum());
+        assertEquals(60_000, minutes.get(1).getTimestampMs());
+        assertEquals(10.0, minutes.get(1).getMax());
+        assertEquals(1, hours.size());
+        assertEquals(3, hours.get(0).getCount());
+        assertEquals(1.0, hours.get(0).getMin());
+        assertEquals(3, seconds.size());
+        assertEquals(61_000, seconds.get(2).getTimestampMs());
+    }
+
+    @Test
+    @DisplayName("Should reject points older than the latest one and NaN values")
+    void shouldRejectOutOfOrderPoints() {
+        // Given
+        TimeSeries series = new TimeSeries(KEEP_EVERYTHING);
+        assertTrue(series.record(5_000, 1));
+
+        // Then
+        assertFalse(series.record(4_999, 2));
+        assertFalse(series.record(6_000, Double.NaN));
+        assertTrue(series.record(5_000, 3));
+        assertEquals(2, series.rows(Resolution.SECOND));
+    }
+
+    @Test
+    @DisplayName("Should drop raw blocks past their retention while rollups keep the history")
+    void shouldApplyRetentionPerTier() {
+        // Given raw points kept for ten minutes, and a point every second for an hour
+        TimeSeries series = new TimeSeries(new long[] {600_000L, DAY_MS, DAY_MS});
+        for (long second = 0; second < 3600; second++) {
+            series.record(second * 1000, 1);
+        }
+
+        // When
+        List<Rollup> oldRaw = series.query(0, 60_000, Resolution.SECOND);
+        List<Rollup> minutes = series.query(0, 3_600_000, Resolution.MINUTE);
+
+        // Then
+        assertTrue(oldRaw.isEmpty());
+        assertTrue(series.rows(Resolution.SECOND) < 3600);
+        assertEquals(60, minutes.size());
+        assertEquals(3600, minutes.stream().mapToLong(Rollup::getCount).sum());
+    }
+}
@@ -0,0 +1,138 @@
+package com.kb.jarvis.core.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CriticalPathAnalyzerTest {
+
+    static final String TRACE_ID = "0123456789abcdef0123456789abcdef";
+    static final long T0 = 1_700_000_000_000_000L;
+
+    @Test
+    @DisplayName("Should put every span of a linear chain on the path around its child")
+    void shouldFollowLinearChain() {
+        // Given gateway -> order-service -> database
+        List<Span> spans = List.of(
+            span("000000000000000a", null, "gateway", "GET /orders/{id}", 0, 100),
+            span("000000000000000b", "000000000000000a", "order-service", "GET /orders/{id}", 10, 80),
+            span("000000000000000c", "000000000000000b", "order-service", "SELECT orders", 20, 30));
+
+        // When
+        Map<String, Object> analysis = CriticalPathAnalyzer.analyze(TRACE_ID, spans);
+
+        // Then
+        assertEquals(List.of("a 0-10", "b 10-20", "c 20-50", "b 50-90", "a 90-100"), path(analysis));
+        assertEquals(Map.of("gateway", 20L, "order-service", 80L), byService(analysis));
+        assertEquals("gateway", analysis.get("service"));
+        assertEquals(100L, analysis.get("durationMicros"));
+        assertEquals(List.of(20L, 50L, 30L), selfTimes(analysis));
+        assertEquals(List.of(0, 1, 2), depths(analysis));
+    }
+
+    @Test
+    @DisplayName("Should follow the last-finishing of parallel children and skip the one it overlapped")
+    void shouldFollowLatestParallelChild() {
+        // Given two calls fanned out at once, then a sequential one
+        List<Span> spans = List.of(
+            span("000000000000000a", null, "gateway", "POST /checkout", 0, 200),
+            span("000000000000000b", "000000000000000a", "user-service", "GET /users/{id}", 10, 50),
+            span("000000000000000c", "000000000000000a", "product-service", "GET /products/{id}", 10, 70),
+            span("000000000000000d", "000000000000000a", "order-service", "POST /orders", 100, 80));
+
+        // When
+        Map<String, Object> analysis = CriticalPathAnalyzer.analyze(TRACE_ID, spans);
+
+        // Then user-service finished while product-service was still running
+        assertEquals(List.of("a 0-10", "c 10-80", "a 80-100", "d 100-180", "a 180-200"), path(analysis));
+        assertFalse(byService(analysis).containsKey("user-service"));
+        // Self time subtracts the union of the overlapping children only once
+        assertEquals(50L, selfTimes(analysis).get(0));
+    }
+
+    @Test
+    @DisplayName("Should root a trace with missing parents at the longest orphan and clip skewed children")
+    void shouldHandleOrphans() {
+        // Given the gateway span never arrived, and a child reports past its parent's end
+        List<Span> spans = List.of(
+            span("000000000000000b", "000000000000000a", "order-service", "GET /orders/{id}", 10, 80),
+            span("000000000000000e", "000000000000000a", "notification-service", "POST /notify", 20, 5),
+            span("000000000000000c", "000000000000000b", "order-service", "SELECT orders", 70, 40));
+
+        // When
+        Map<String, Object> summary = CriticalPathAnalyzer.summarize(TRACE_ID, spans);
+        Map<String, Object> analysis = CriticalPathAnalyzer.analyze(TRACE_ID, spans);
+
+        // Then
+        assertEquals("order-service", summary.get("service"));
+        assertEquals(80L, summary.get("durationMicros"));
+        assertEquals(List.of("b 0-60", "c 60-80"), path(analysis));
+        assertEquals(List.of("notification-service", "order-service"), summary.get("services"));
+        assertEquals(3, ((List<?>) analysis.get("spans")).size());
+    }
+
+    @Test
+    @DisplayName("Should summarize and analyze a trace without a root instead of failing")
+    void shouldTolerateCycle() {
+        // Given two spans that are each other's parent
+        List<Span> spans = List.of(
+            span("000000000000000a", "000000000000000b", "gateway", "GET /", 0, 100),
+            span("000000000000000b", "000000000000000a", "order-service", "GET /", 10, 50));
+
+        // When
+        Map<String, Object> summary = CriticalPathAnalyzer.summarize(TRACE_ID, spans);
+        Map<String, Object> analysis = CriticalPathAnalyzer.analyze(TRACE_ID, spans);
+
+        // Then
+        assertNull(summary.get("service"));
+        assertEquals(2, summary.get("spanCount"));
+        assertEquals(List.of(), analysis.get("criticalPath"));
+        assertEquals(List.of(), analysis.get("spans"));
+    }
+
+    static Span span(String spanId, String parentId, String service, String name, long offset, long duration) {
+        Span span = new Span();
+        span.setTraceId(TRACE_ID);
+        span.setSpanId(spanId);
+        span.setParentId(parentId);
+        span.setService(service);
+        span.setName(name);
+        span.setKind("SERVER");
+        span.setStartMicros(T0 + offset);
+        span.setDurationMicros(duration);
+        return span;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> entries(Map<String, Object> analysis, String key) {
+        return (List<Map<String, Object>>) analysis.get(key);
+    }
+
+    private static List<String> path(Map<String, Object> analysis) {
+        return entries(analysis, "criticalPath").stream()
+            .map(entry -> {
+                String spanId = (String) entry.get("spanId");
+                long offset = (Long) entry.get("offsetMicros");
+                return spanId.substring(15) + " " + offset + "-" + (offset + (Long) entry.get("durationMicros"));
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static Map<String, Long> byService(Map<String, Object> analysis) {
+        return entries(analysis, "byService").stream()
+            .collect(Collectors.toMap(item -> (String) item.get("service"), item -> (Long) item.get("durationMicros")));
+    }
+
+    private static List<Long> selfTimes(Map<String, Object> analysis) {
+        return entries(analysis, "spans").stream().map(entry -> (Long) entry.get("selfMicros")).collect(Collectors.toList());
+    }
+
+    private static List<Integer> depths(Map<String, Object> analysis) {
+        return entries(analysis, "spans").stream().map(entry -> (Integer) entry.get("depth")).collect(Collectors.toList());
+    }
+}
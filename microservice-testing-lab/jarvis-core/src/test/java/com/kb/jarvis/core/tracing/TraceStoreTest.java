@@ -0,0 +1,73 @@
+package com.kb.jarvis.core.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static com.kb.jarvis.core.tracing.CriticalPathAnalyzerTest.TRACE_ID;
+import static com.kb.jarvis.core.tracing.CriticalPathAnalyzerTest.span;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceStoreTest {
+
+    private TraceStore traceStore;
+
+    @BeforeEach
+    void setUp() {
+        traceStore = new TraceStore();
+        ReflectionTestUtils.setField(traceStore, "maxTraces", 2);
+        ReflectionTestUtils.setField(traceStore, "maxSpansPerTrace", 3);
+    }
+
+    @Test
+    @DisplayName("Should reject a span whose parent chain leads back to it, across batches")
+    void shouldRejectCycles() {
+        // Given a child that arrived before its parent
+        assertEquals(1, traceStore.add(List.of(span("000000000000000b", "000000000000000a", "order-service", "GET /", 10, 50))));
+
+        // When the parent claims the child as its own parent
+        int accepted = traceStore.add(List.of(
+            span("000000000000000a", "000000000000000b", "gateway", "GET /", 0, 100),
+            span("000000000000000c", "000000000000000c", "gateway", "GET /", 0, 100)));
+
+        // Then
+        assertEquals(0, accepted);
+        assertEquals(1, traceStore.getSpans(TRACE_ID).size());
+        assertEquals(2L, traceStore.getStatistics().get("rejectedSpans"));
+    }
+
+    @Test
+    @DisplayName("Should accept spans of a trace in any order and keep its span limit")
+    void shouldAssembleTraceFromBatches() {
+        traceStore.add(List.of(span("000000000000000c", "000000000000000b", "order-service", "SELECT", 20, 10)));
+        traceStore.add(List.of(
+            span("000000000000000b", "000000000000000a", "order-service", "GET /", 10, 50),
+            span("000000000000000a", null, "gateway", "GET /", 0, 100),
+            span("000000000000000a", null, "gateway", "GET /", 0, 100),
+            span("000000000000000d", "000000000000000a", "user-service", "GET /", 5, 1)));
+
+        assertEquals(3, traceStore.getSpans(TRACE_ID).size());
+        assertEquals("gateway", CriticalPathAnalyzer.summarize(TRACE_ID, traceStore.getSpans(TRACE_ID)).get("service"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed spans and evict the oldest trace beyond the limit")
+    void shouldValidateAndEvict() {
+        Span badId = span("xyz", null, "gateway", "GET /", 0, 1);
+        Span negative = span("000000000000000a", null, "gateway", "GET /", 0, -1);
+        assertEquals(0, traceStore.add(List.of(badId, negative)));
+
+        for (int trace = 1; trace <= 3; trace++) {
+            Span span = span("000000000000000a", null, "gateway", "GET /", 0, 1);
+            span.setTraceId(String.format("%032x", trace));
+            traceStore.add(List.of(span));
+        }
+
+        assertNull(traceStore.getSpans(String.format("%032x", 1)));
+        assertEquals(2, traceStore.recent(10, spans -> true).size());
+        assertEquals(1L, traceStore.getStatistics().get("evictedTraces"));
+    }
+}
@@ -0,0 +1,160 @@
+package com.kb.gateway_service.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends finished spans of sampled requests to the Jarvis trace collector.
+ *
+ * Event-loop threads only offer a span to a bounded queue and never wait; when the queue is full
+ * the span is dropped and counted. A single daemon thread drains the queue into batches of up to
+ * {@code batch-size} spans, or whatever arrived within {@code flush-interval-ms}, and posts each as
+ * gzipped JSON with the shared ingest token. Batches that cannot be delivered are dropped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jarvis.tracing", name = "enabled", havingValue = "true")
+@Slf4j
+public class SpanReporter {
+
+    public record Span(String traceId, String spanId, String parentId, String service, String name,
+                       String kind, long startMicros, long durationMicros, boolean error) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final String service;
+    private final URI spansUri;
+    private final String token;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Duration timeout;
+    private final BlockingQueue<Span> queue;
+    private final HttpClient client;
+    private final AtomicLong dropped = new AtomicLong();
+    private Thread sender;
+    private volatile boolean running;
+
+    public SpanReporter(ObjectMapper objectMapper,
+                        @Value("${spring.application.name}") String service,
+                        @Value("${jarvis.tracing.url:${jarvis.metrics.url:http://localhost:8085}}") String url,
+                        @Value("${jarvis.tracing.token:${jarvis.metrics.token:}}") String token,
+                        @Value("${jarvis.tracing.queue-capacity:8192}") int queueCapacity,
+                        @Value("${jarvis.tracing.batch-size:256}") int batchSize,
+                        @Value("${jarvis.tracing.flush-interval-ms:1000}") long flushIntervalMs,
+                        @Value("${jarvis.tracing.timeout-ms:2000}") long timeoutMs) {
+        this.objectMapper = objectMapper;
+        this.service = service;
+        this.spansUri = URI.create(url + "/api/traces/spans");
+        this.token = token;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        sender = new Thread(this::run, "jarvis-span-reporter");
+        sender.setDaemon(true);
+        sender.start();
+        log.info("Reporting sampled spans to {}", spansUri);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        sender.interrupt();
+    }
+
+    /**
+     * Queue a finished span of this service; {@code startMicros} is epoch microseconds
+     */
+    public void report(TraceContext context, String name, String kind, long startMicros, long durationMicros,
+                       boolean error) {
+        Span span = new Span(context.getTraceId(), context.getSpanId(), context.getParentId(), service, name,
+                kind, startMicros, durationMicros, error);
+        if (!queue.offer(span) && dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Span queue full, {} span(s) dropped so far", dropped.get());
+        }
+    }
+
+    /**
+     * Epoch microseconds for a span starting now
+     */
+    public static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000 + now.getNano() / 1000;
+    }
+
+    private void run() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Span first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    Span next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | IOException e) {
+                log.debug("Could not report {} span(s): {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<Span> batch) throws IOException, InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.size() * 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, batch);
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(spansUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(bytes.toByteArray()));
+        if (!token.isEmpty()) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            log.debug("Span batch to {} rejected with status {}", spansUri, response.statusCode());
+        }
+    }
+}
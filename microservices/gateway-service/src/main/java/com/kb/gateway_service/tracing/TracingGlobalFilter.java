@@ -0,0 +1,81 @@
+package com.kb.gateway_service.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Opens the server span of every routed request and passes it downstream as the
+ * {@code traceparent} header, so each service's spans join the gateway's trace.
+ *
+ * The sampling decision is made here for new traces and travels with the header; the header is
+ * forwarded for unsampled requests too, so services do not re-sample them. Only sampled spans
+ * are timed and reported. Spans are named after the matched route's path pattern and id rather
+ * than the request path, so ids in URLs do not turn into one span name each.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jarvis.tracing", name = "enabled", havingValue = "true")
+public class TracingGlobalFilter implements GlobalFilter, Ordered {
+
+    private final SpanReporter spanReporter;
+    private final double sampleRate;
+
+    public TracingGlobalFilter(SpanReporter spanReporter,
+                               @Value("${jarvis.tracing.sample-rate:0.1}") double sampleRate) {
+        this.spanReporter = spanReporter;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        TraceContext context = TraceContext.fromHeader(request.getHeaders().getFirst(TraceContext.HEADER), sampleRate);
+        String traceparent = context.toHeader();
+        ServerWebExchange traced = exchange.mutate()
+                .request(builder -> builder.headers(headers -> headers.set(TraceContext.HEADER, traceparent)))
+                .build();
+        traced.getResponse().getHeaders().set(TraceContext.HEADER, traceparent);
+        if (!context.isSampled()) {
+            return chain.filter(traced);
+        }
+
+        String method = request.getMethod().name();
+        long startMicros = SpanReporter.nowMicros();
+        long start = System.nanoTime();
+        return chain.filter(traced)
+            .doFinally(signalType -> {
+                String name = method + " " + routeName(traced);
+                HttpStatusCode status = traced.getResponse().getStatusCode();
+                boolean error = signalType == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                spanReporter.report(context, name, "SERVER", startMicros, (System.nanoTime() - start) / 1000, error);
+            });
+    }
+
+    /**
+     * The path pattern the request matched and the route it was sent to, e.g.
+     * {@code /api/orders/** -> order-service}
+     */
+    static String routeName(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String pattern = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR);
+        if (route == null) {
+            return pattern != null ? pattern : "unrouted";
+        }
+        return (pattern != null ? pattern : "*") + " -> " + route.getId();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
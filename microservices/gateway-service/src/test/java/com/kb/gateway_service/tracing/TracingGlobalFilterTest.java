@@ -0,0 +1,85 @@
+package com.kb.gateway_service.tracing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TracingGlobalFilterTest {
+
+    private SpanReporter spanReporter;
+    private TracingGlobalFilter filter;
+
+    @BeforeEach
+    void setup() {
+        spanReporter = mock(SpanReporter.class);
+        filter = new TracingGlobalFilter(spanReporter, 1.0);
+    }
+
+    @Test
+    void filter_ShouldNameSpanAfterRoutePattern_WhenPathCarriesIds() {
+        MockServerWebExchange first = routed("/api/orders/42");
+        MockServerWebExchange second = routed("/api/orders/43");
+
+        filter.filter(first, respondWith(HttpStatus.OK)).block();
+        filter.filter(second, respondWith(HttpStatus.OK)).block();
+
+        ArgumentCaptor<String> names = ArgumentCaptor.forClass(String.class);
+        verify(spanReporter, times(2)).report(any(TraceContext.class), names.capture(), eq("SERVER"),
+            anyLong(), anyLong(), eq(false));
+        assertEquals("GET /api/orders/** -> order-service", names.getAllValues().get(0));
+        assertEquals(names.getAllValues().get(0), names.getAllValues().get(1));
+    }
+
+    @Test
+    void filter_ShouldPropagateTraceparentAndFlagServerErrors() {
+        MockServerWebExchange exchange = routed("/api/orders/42");
+        String[] forwarded = new String[1];
+
+        filter.filter(exchange, routedExchange -> {
+            forwarded[0] = routedExchange.getRequest().getHeaders().getFirst(TraceContext.HEADER);
+            routedExchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+            return Mono.empty();
+        }).block();
+
+        assertNotNull(forwarded[0]);
+        assertEquals(forwarded[0], exchange.getResponse().getHeaders().getFirst(TraceContext.HEADER));
+        verify(spanReporter).report(any(TraceContext.class), anyString(), eq("SERVER"), anyLong(), anyLong(), eq(true));
+    }
+
+    @Test
+    void routeName_ShouldNotUseRawPath_WhenNoRouteMatched() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/unknown/123").build());
+
+        assertEquals("unrouted", TracingGlobalFilter.routeName(exchange));
+    }
+
+    private static MockServerWebExchange routed(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        Route route = Route.async()
+            .id("order-service")
+            .uri("http://localhost:8083")
+            .predicate(routedExchange -> true)
+            .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_PREDICATE_MATCHED_PATH_ATTR, "/api/orders/**");
+        return exchange;
+    }
+
+    private static GatewayFilterChain respondWith(HttpStatus status) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+}
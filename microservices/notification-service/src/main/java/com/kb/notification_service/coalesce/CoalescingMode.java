@@ -0,0 +1,6 @@
+package com.kb.notification_service.coalesce;
+
+public enum CoalescingMode {
+    LATEST,
+    DIGEST
+}
@@ -0,0 +1,325 @@
+package com.kb.notification_service.coalesce;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.dto.NotificationRequest;
+import com.kb.notification_service.entity.CoalescedNotification;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.repository.CoalescedNotificationRepository;
+import com.kb.notification_service.service.NotificationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collapses bursts of notifications that share a user, type and dedup key. The first request of a
+ * burst opens a window; everything arriving for the same key before it closes is folded in, and a
+ * single notification is created when the window expires, carrying the latest content or, in
+ * DIGEST mode, a summary of the collapsed messages.
+ *
+ * The wheel only decides when a burst is due. What it would flush to is stored in
+ * {@code coalesced_notifications} every {@code persist-interval-ms}, one write per burst that
+ * changed rather than per request, and the row is deleted in the transaction that creates the
+ * notification; requests of the last interval are only held in memory. A row outliving its deadline
+ * by more than a window, because the instance holding it stopped or its flush failed, is flushed by
+ * {@link #sweepOverdue()}; after {@code max-flush-attempts} failures it is dead-lettered and left
+ * in the table. If the sweep of another instance delivered a stored burst that is still pending
+ * here, the burst is dropped and its latest request starts a new window, so nothing already
+ * delivered goes out twice.
+ */
+@Component
+@Slf4j
+public class NotificationCoalescer {
+
+    private static final int MESSAGE_MAX_LENGTH = 1000;
+    private static final int SWEEP_BATCH_SIZE = 100;
+
+    private final NotificationService notificationService;
+    private final CoalescedNotificationRepository coalescedNotificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProperties.CoalescingConfig config;
+    private final TimeWheel<CoalescingKey, PendingNotification> wheel;
+    // Bursts changed since they were last stored, each queued once until it is stored again
+    private final Queue<PendingNotification> unsaved = new ConcurrentLinkedQueue<>();
+
+    public NotificationCoalescer(@Lazy NotificationService notificationService,
+                                 CoalescedNotificationRepository coalescedNotificationRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 NotificationProperties properties) {
+        this.notificationService = notificationService;
+        this.coalescedNotificationRepository = coalescedNotificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getCoalescing();
+        this.wheel = new TimeWheel<>(config.getTickMs(), config.getWheelSize(), config.getMaxPendingKeys(),
+            System.currentTimeMillis());
+    }
+
+    /**
+     * Holds the request back for coalescing.
+     *
+     * @return false when the request is not eligible (no dedup key, coalescing disabled or the
+     *         wheel is full) and must be created by the caller right away
+     */
+    public boolean submit(NotificationRequest request) {
+        if (!config.isEnabled() || request.getDedupKey() == null || request.getDedupKey().isBlank()) {
+            return false;
+        }
+        PendingNotification fresh = new PendingNotification(request, config.getDigestMaxEntries());
+        fresh.snapshot = new Snapshot(fresh.toRequest(config.getMode()), 1);
+        // The merge runs under the wheel's lock, so the snapshot taken there is consistent
+        PendingNotification[] held = {fresh};
+        boolean accepted = wheel.offer(fresh.key, fresh, System.currentTimeMillis() + config.getWindowMs(),
+            (existing, newer) -> {
+                PendingNotification merged = existing.merge(newer);
+                merged.snapshot = new Snapshot(merged.toRequest(config.getMode()), merged.count);
+                held[0] = merged;
+                return merged;
+            });
+        if (!accepted) {
+            log.warn("Coalescing capacity of {} keys reached, sending notification for user {} directly",
+                config.getMaxPendingKeys(), request.getUserId());
+            return false;
+        }
+        if (held[0].unsaved.compareAndSet(false, true)) {
+            unsaved.add(held[0]);
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.coalescing.tick-ms:250}")
+    public void flushDue() {
+        flush(wheel.advance(System.currentTimeMillis()));
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(wheel.drain());
+    }
+
+    /**
+     * Stores the bursts that changed since the last run, one write each
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.persist-interval-ms:1000}")
+    public void persistPending() {
+        PendingNotification pending;
+        while ((pending = unsaved.poll()) != null) {
+            persist(pending);
+        }
+    }
+
+    /**
+     * Flushes held rows whose deadline passed more than a window ago: left by an instance that
+     * stopped before flushing them, or whose flush failed.
+     */
+    @Scheduled(fixedDelayString = "${notification.coalescing.sweep-interval-ms:60000}")
+    public void sweepOverdue() {
+        LocalDateTime overdue = LocalDateTime.now().minus(Duration.ofMillis(config.getWindowMs()));
+        List<CoalescedNotification> rows = coalescedNotificationRepository.findOverdue(overdue, SWEEP_BATCH_SIZE);
+        int flushed = 0;
+        for (CoalescedNotification row : rows) {
+            NotificationRequest request = new NotificationRequest(row.getUserId(), row.getTitle(), row.getMessage(),
+                row.getType(), row.getRecipientEmail(), row.getRecipientPhone(), row.getMetadata(), null);
+            if (create(row.getId(), request)) {
+                flushed++;
+            }
+        }
+        if (flushed > 0) {
+            log.info("Flushed {} overdue coalesced notification(s)", flushed);
+        }
+    }
+
+    /**
+     * Writes the burst's current content to its row, unless the burst has been flushed in the
+     * meantime or a later snapshot is already stored.
+     */
+    private void persist(PendingNotification pending) {
+        NotificationRequest restart = null;
+        synchronized (pending) {
+            // Cleared first, so a request merged from here on queues the burst again
+            pending.unsaved.set(false);
+            Snapshot snapshot = pending.snapshot;
+            if (pending.flushed || snapshot.count <= pending.persistedCount) {
+                return;
+            }
+            try {
+                if (pending.rowId != null && !coalescedNotificationRepository.update(pending.rowId, snapshot.request, snapshot.count)) {
+                    // The sweep of another instance delivered the stored burst; merging on would
+                    // deliver those requests again, so end this burst and restart from its latest
+                    pending.flushed = true;
+                    wheel.remove(pending.key, pending);
+                    // No merge can reach the burst any more, whether removed here or by a flush
+                    restart = pending.latest;
+                } else {
+                    if (pending.rowId == null) {
+                        pending.rowId = coalescedNotificationRepository.insert(snapshot.request, pending.key.dedupKey,
+                            snapshot.count, LocalDateTime.now().plus(Duration.ofMillis(config.getWindowMs())));
+                    }
+                    pending.persistedCount = snapshot.count;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not store coalesced notification for user {}, holding it in memory only",
+                    snapshot.request.getUserId(), e);
+            }
+        }
+        if (restart != null && !submit(restart)) {
+            create(null, restart);
+        }
+    }
+
+    private void flush(List<PendingNotification> due) {
+        int flushed = 0;
+        for (PendingNotification pending : due) {
+            Long rowId;
+            synchronized (pending) {
+                if (pending.flushed) {
+                    // Ended by persist() after its stored row was delivered elsewhere
+                    continue;
+                }
+                pending.flushed = true;
+                rowId = pending.rowId;
+            }
+            if (create(rowId, pending.toRequest(config.getMode()))) {
+                flushed++;
+            }
+        }
+        if (flushed > 0) {
+            log.debug("Flushed {} coalesced notification(s)", flushed);
+        }
+    }
+
+    /**
+     * Creates the notification and deletes its held row in one transaction. A failure leaves the
+     * row in place for the sweep to retry.
+     *
+     * @return true when the notification was created here
+     */
+    private boolean create(Long rowId, NotificationRequest request) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (rowId != null && !coalescedNotificationRepository.delete(rowId)) {
+                    return false;
+                }
+                notificationService.createNotification(request);
+                return true;
+            }));
+        } catch (Exception e) {
+            if (rowId == null) {
+                log.error("Failed to create coalesced notification for user {}", request.getUserId(), e);
+                return false;
+            }
+            log.error("Failed to create coalesced notification for user {}, held row {} will be retried",
+                request.getUserId(), rowId, e);
+            try {
+                coalescedNotificationRepository.recordFailure(rowId, config.getMaxFlushAttempts(), LocalDateTime.now());
+            } catch (RuntimeException recordFailure) {
+                log.warn("Could not record flush failure of held row {}", rowId, recordFailure);
+            }
+            return false;
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final NotificationRequest request;
+        private final int count;
+
+        private Snapshot(NotificationRequest request, int count) {
+            this.request = request;
+            this.count = count;
+        }
+    }
+
+    private static final class CoalescingKey {
+
+        private final Long userId;
+        private final NotificationType type;
+        private final String dedupKey;
+
+        private CoalescingKey(Long userId, NotificationType type, String dedupKey) {
+            this.userId = userId;
+            this.type = type;
+            this.dedupKey = dedupKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CoalescingKey)) {
+                return false;
+            }
+            CoalescingKey other = (CoalescingKey) o;
+            return Objects.equals(userId, other.userId) && type == other.type && Objects.equals(dedupKey, other.dedupKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, type, dedupKey);
+        }
+    }
+
+    /**
+     * The latest request of a burst plus the most recent messages, newest first, for digests.
+     */
+    static final class PendingNotification {
+
+        private final CoalescingKey key;
+        private NotificationRequest latest;
+        private final Deque<String> recentMessages = new ArrayDeque<>();
+        private final int maxMessages;
+        private int count = 1;
+        // Written under the wheel's lock with every merge, read when the burst is stored
+        private volatile Snapshot snapshot;
+        private final AtomicBoolean unsaved = new AtomicBoolean();
+        // Guarded by this
+        private Long rowId;
+        private int persistedCount;
+        private boolean flushed;
+
+        PendingNotification(NotificationRequest request, int maxMessages) {
+            this.key = new CoalescingKey(request.getUserId(), request.getType(), request.getDedupKey());
+            this.latest = request;
+            this.maxMessages = Math.max(1, maxMessages);
+            this.recentMessages.addFirst(request.getMessage());
+        }
+
+        PendingNotification merge(PendingNotification newer) {
+            latest = newer.latest;
+            count += newer.count;
+            newer.recentMessages.descendingIterator().forEachRemaining(recentMessages::addFirst);
+            while (recentMessages.size() > maxMessages) {
+                recentMessages.removeLast();
+            }
+            return this;
+        }
+
+        NotificationRequest toRequest(CoalescingMode mode) {
+            NotificationRequest request = new NotificationRequest(latest.getUserId(), latest.getTitle(), latest.getMessage(),
+                latest.getType(), latest.getRecipientEmail(), latest.getRecipientPhone(), latest.getMetadata(), null);
+            if (mode == CoalescingMode.DIGEST && count > 1) {
+                request.setTitle(latest.getTitle() + " (" + count + " updates)");
+                String digest = String.join("\n", recentMessages);
+                request.setMessage(digest.length() > MESSAGE_MAX_LENGTH ? digest.substring(0, MESSAGE_MAX_LENGTH) : digest);
+            }
+            return request;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.kb.notification_service.coalesce;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+/**
+ * Bounded hashed timing wheel of keyed values. A key is scheduled once, with the deadline of its
+ * first arrival; later arrivals for the same key are merged into the pending value without moving
+ * the deadline, so a burst is held for at most one window. Deadlines beyond one revolution simply
+ * stay in their bucket until the wheel comes round to them again.
+ */
+public class TimeWheel<K, V> {
+
+    private final long tickMillis;
+    private final int capacity;
+    private final List<Set<K>> buckets;
+    private final Map<K, Slot<V>> pending = new HashMap<>();
+    private long lastTick;
+
+    public TimeWheel(long tickMillis, int wheelSize, int capacity, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("tickMillis, wheelSize and capacity must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.capacity = capacity;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules the value, or merges it into the value already pending for the key.
+     *
+     * @return false when the key is new and the wheel is at capacity; the caller must then handle
+     *         the value itself
+     */
+    public synchronized boolean offer(K key, V value, long deadlineMillis, BinaryOperator<V> merge) {
+        Slot<V> slot = pending.get(key);
+        if (slot != null) {
+            slot.value = merge.apply(slot.value, value);
+            return true;
+        }
+        if (pending.size() >= capacity) {
+            return false;
+        }
+        // Never schedule into a bucket that has already been swept
+        long deadlineTick = Math.max(ceilDiv(deadlineMillis, tickMillis), lastTick + 1);
+        pending.put(key, new Slot<>(value, deadlineTick));
+        buckets.get(bucketIndex(deadlineTick)).add(key);
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time and removes every value whose deadline has passed.
+     */
+    public synchronized List<V> advance(long nowMillis) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= lastTick || pending.isEmpty()) {
+            lastTick = Math.max(lastTick, nowTick);
+            return Collections.emptyList();
+        }
+
+        List<V> expired = new ArrayList<>();
+        long ticks = Math.min(nowTick - lastTick, buckets.size());
+        for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+            Iterator<K> keys = buckets.get(bucketIndex(tick)).iterator();
+            while (keys.hasNext()) {
+                K key = keys.next();
+                Slot<V> slot = pending.get(key);
+                if (slot.deadlineTick <= nowTick) {
+                    keys.remove();
+                    pending.remove(key);
+                    expired.add(slot.value);
+                }
+            }
+        }
+        lastTick = nowTick;
+        return expired;
+    }
+
+    /**
+     * Unschedules the key if the given value is still the one pending for it.
+     *
+     * @return false when the key is no longer pending or now holds another value
+     */
+    public synchronized boolean remove(K key, V value) {
+        Slot<V> slot = pending.get(key);
+        if (slot == null || slot.value != value) {
+            return false;
+        }
+        pending.remove(key);
+        buckets.get(bucketIndex(slot.deadlineTick)).remove(key);
+        return true;
+    }
+
+    /**
+     * Removes and returns every pending value regardless of deadline.
+     */
+    public synchronized List<V> drain() {
+        List<V> values = new ArrayList<>(pending.size());
+        pending.values().forEach(slot -> values.add(slot.value));
+        pending.clear();
+        buckets.forEach(Set::clear);
+        return values;
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    private static final class Slot<V> {
+
+        private V value;
+        private final long deadlineTick;
+
+        private Slot(V value, long deadlineTick) {
+            this.value = value;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.kb.notification_service.config;
+
+import com.kb.notification_service.coalesce.CoalescingMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "notification")
+@Data
+public class NotificationProperties {
+    
+    private DispatchConfig dispatch = new DispatchConfig();
+    private BroadcastConfig broadcast = new BroadcastConfig();
+    private PushConfig push = new PushConfig();
+    private UnreadConfig unread = new UnreadConfig();
+    private QueryConfig query = new QueryConfig();
+    private RetentionConfig retention = new RetentionConfig();
+    private CoalescingConfig coalescing = new CoalescingConfig();
+    
+    @Data
+    public static class DispatchConfig {
+        private boolean enabled = true;
+        private int workersPerChannel = 2;
+        private int batchSize = 100;
+        private long pollIntervalMs = 500;
+        private long leaseMs = 60000;
+        private int maxAttempts = 5;
+        private long initialBackoffMs = 1000;
+        private double backoffMultiplier = 2.0;
+        private long maxBackoffMs = 300000;
+    }
+    
+    @Data
+    public static class BroadcastConfig {
+        private int batchSize = 1000;
+        private int workers = 2;
+        private int queueCapacity = 16;
+        private int maxRecipients = 500000;
+    }
+    
+    @Data
+    public static class PushConfig {
+        private long emitterTimeoutMs = 1800000;
+        private long heartbeatIntervalMs = 15000;
+        private int maxConnections = 50000;
+        private int maxConnectionsPerUser = 5;
+    }
+    
+    @Data
+    public static class UnreadConfig {
+        private boolean reconcileOnStartup = true;
+        private long refreshIntervalMs = 10000;
+    }
+    
+    @Data
+    public static class QueryConfig {
+        private int maxPageSize = 500;
+    }
+    
+    @Data
+    public static class RetentionConfig {
+        private boolean enabled = true;
+        private int readRetentionDays = 30;
+        private int batchSize = 1000;
+        private boolean archive = false;
+    }
+    
+    @Data
+    public static class CoalescingConfig {
+        private boolean enabled = true;
+        private long windowMs = 10000;
+        private long tickMs = 250;
+        private int wheelSize = 512;
+        private int maxPendingKeys = 100000;
+        private CoalescingMode mode = CoalescingMode.LATEST;
+        private int digestMaxEntries = 10;
+        private long persistIntervalMs = 1000;
+        private long sweepIntervalMs = 60000;
+        private int maxFlushAttempts = 5;
+    }
+}
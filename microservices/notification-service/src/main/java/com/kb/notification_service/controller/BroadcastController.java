@@ -0,0 +1,30 @@
+package com.kb.notification_service.controller;
+
+import com.kb.notification_service.dto.BroadcastJobResponse;
+import com.kb.notification_service.dto.BroadcastRequest;
+import com.kb.notification_service.service.BroadcastService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/notifications/broadcasts")
+@RequiredArgsConstructor
+public class BroadcastController {
+
+    private final BroadcastService broadcastService;
+
+    @PostMapping
+    public ResponseEntity<BroadcastJobResponse> startBroadcast(@Valid @RequestBody BroadcastRequest broadcastRequest) {
+        BroadcastJobResponse response = broadcastService.startBroadcast(broadcastRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BroadcastJobResponse> getBroadcastJob(@PathVariable Long jobId) {
+        BroadcastJobResponse response = broadcastService.getBroadcastJob(jobId);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,5 +1,6 @@
 package com.kb.notification_service.controller;
 
+import com.kb.notification_service.dto.NotificationPageResponse;
 import com.kb.notification_service.dto.NotificationRequest;
 import com.kb.notification_service.dto.NotificationResponse;
 import com.kb.notification_service.entity.NotificationStatus;
@@ -32,8 +33,8 @@ public class NotificationController {
 
     @PostMapping("/send")
     public ResponseEntity<NotificationResponse> sendNotification(@Valid @RequestBody NotificationRequest notificationRequest) {
-        notificationService.sendNotification(notificationRequest);
-        return ResponseEntity.status(HttpStatus.ACCEPTED).build();
+        NotificationResponse response = notificationService.sendNotification(notificationRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
     }
 
     @GetMapping("/{id}")
@@ -55,6 +56,15 @@ public class NotificationController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/user/{userId}/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByUserId(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByUserId(userId, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/user/{userId}/status/{status}")
     public ResponseEntity<List<NotificationResponse>> getNotificationsByUserIdAndStatus(
             @PathVariable Long userId, @PathVariable NotificationStatus status) {
@@ -62,24 +72,60 @@ public class NotificationController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/user/{userId}/status/{status}/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByUserIdAndStatus(
+            @PathVariable Long userId, @PathVariable NotificationStatus status,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByUserIdAndStatus(userId, status, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/status/{status}")
     public ResponseEntity<List<NotificationResponse>> getNotificationsByStatus(@PathVariable NotificationStatus status) {
         List<NotificationResponse> responses = notificationService.getNotificationsByStatus(status);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/status/{status}/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByStatus(
+            @PathVariable NotificationStatus status,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByStatus(status, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/type/{type}")
     public ResponseEntity<List<NotificationResponse>> getNotificationsByType(@PathVariable NotificationType type) {
         List<NotificationResponse> responses = notificationService.getNotificationsByType(type);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/type/{type}/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByType(
+            @PathVariable NotificationType type,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByType(type, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<List<NotificationResponse>> getNotificationsByEmail(@PathVariable String email) {
         List<NotificationResponse> responses = notificationService.getNotificationsByEmail(email);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/email/{email}/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByEmail(
+            @PathVariable String email,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByEmail(email, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/date-range")
     public ResponseEntity<List<NotificationResponse>> getNotificationsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -88,6 +134,18 @@ public class NotificationController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/date-range/scroll")
+    public ResponseEntity<NotificationPageResponse> scrollNotificationsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+        NotificationPageResponse response = notificationService.scrollNotificationsByDateRange(
+            startDate, endDate, beforeCreatedAt, before, limit);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/status")
     public ResponseEntity<NotificationResponse> updateNotificationStatus(
             @PathVariable Long id, @RequestParam NotificationStatus status) {
@@ -0,0 +1,156 @@
+package com.kb.notification_service.counter;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
+import com.kb.notification_service.repository.UnreadCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread counts kept in memory so the unread-count endpoint never touches the database.
+ * Deltas raised inside a transaction are merged per user, written to the summary table in one
+ * batch just before commit and applied to the map only once the commit succeeded. On startup the
+ * summary table is rebuilt from the notifications table and loaded, which also repairs any drift.
+ * The summary table is the source of truth: with several replicas each one only sees its own
+ * deltas, so the map is reloaded from the table every {@code refresh-interval-ms} and a count
+ * changed by another replica is visible here within that interval.
+ */
+@Component
+@Slf4j
+public class UnreadCounterStore implements SmartInitializingSingleton {
+
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final UnreadCounterRepository unreadCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProperties.UnreadConfig config;
+
+    public UnreadCounterStore(UnreadCounterRepository unreadCounterRepository,
+                              PlatformTransactionManager transactionManager,
+                              NotificationProperties properties) {
+        this.unreadCounterRepository = unreadCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getUnread();
+    }
+
+    public long getUnreadCount(Long userId) {
+        AtomicLong counter = counters.get(userId);
+        return counter == null ? 0 : counter.get();
+    }
+
+    @EventListener
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingDeltas pending = (PendingDeltas) TransactionSynchronizationManager.getResource(this);
+            if (pending == null) {
+                pending = new PendingDeltas();
+                TransactionSynchronizationManager.bindResource(this, pending);
+                TransactionSynchronizationManager.registerSynchronization(pending);
+            }
+            pending.add(event.getUserId(), event.getDelta());
+        } else {
+            Map<Long, Long> deltas = Map.of(event.getUserId(), event.getDelta());
+            unreadCounterRepository.applyDeltas(deltas);
+            applyInMemory(deltas);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (config.isReconcileOnStartup()) {
+            reconcile();
+        }
+    }
+
+    /**
+     * Rebuilds the summary table from the notifications table and reloads the in-memory map.
+     */
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        Map<Long, Long> counts = transactionTemplate.execute(status -> {
+            unreadCounterRepository.rebuildFromNotifications();
+            return unreadCounterRepository.findAllNonZero();
+        });
+        counters.clear();
+        if (counts != null) {
+            counts.forEach((userId, count) -> counters.put(userId, new AtomicLong(count)));
+        }
+        log.info("Reconciled unread counters for {} users in {} ms", counters.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads the map from the summary table, picking up deltas committed by other replicas.
+     */
+    @Scheduled(fixedDelayString = "${notification.unread.refresh-interval-ms:10000}",
+        initialDelayString = "${notification.unread.refresh-interval-ms:10000}")
+    public void refresh() {
+        Map<Long, Long> counts = unreadCounterRepository.findAllNonZero();
+        counters.keySet().retainAll(counts.keySet());
+        counts.forEach((userId, count) -> counters.compute(userId, (id, counter) -> {
+            if (counter == null) {
+                return new AtomicLong(count);
+            }
+            counter.set(count);
+            return counter;
+        }));
+    }
+
+    private void applyInMemory(Map<Long, Long> deltas) {
+        deltas.forEach((userId, delta) -> counters.compute(userId, (id, counter) -> {
+            long updated = Math.max(0, (counter == null ? 0 : counter.get()) + delta);
+            if (updated == 0) {
+                return null;
+            }
+            if (counter == null) {
+                return new AtomicLong(updated);
+            }
+            counter.set(updated);
+            return counter;
+        }));
+    }
+
+    /**
+     * Deltas collected within one transaction. Runs ahead of other synchronizations so that
+     * after-commit listeners, such as the push stream, already observe the new count.
+     */
+    private final class PendingDeltas implements TransactionSynchronization {
+
+        private final Map<Long, Long> deltas = new HashMap<>();
+
+        void add(Long userId, long delta) {
+            deltas.merge(userId, delta, Long::sum);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            unreadCounterRepository.applyDeltas(deltas);
+        }
+
+        @Override
+        public void afterCommit() {
+            applyInMemory(deltas);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(UnreadCounterStore.this);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kb.notification_service.dispatch;
+
+import com.kb.notification_service.entity.Notification;
+import com.kb.notification_service.entity.NotificationType;
+
+/**
+ * Delivers notifications over one channel. The dispatcher looks senders up by {@link #channel()};
+ * only in-app delivery has a real sender out of the box, so email, SMS and push stay PENDING until
+ * a bean is provided for them (the {@code stub} profile registers logging stand-ins).
+ */
+public interface ChannelSender {
+    
+    NotificationType channel();
+    
+    /**
+     * Delivers a single notification. Throwing marks the attempt as failed and schedules a retry.
+     */
+    void send(Notification notification) throws Exception;
+}
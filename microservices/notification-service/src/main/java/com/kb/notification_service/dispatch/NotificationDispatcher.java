@@ -0,0 +1,207 @@
+package com.kb.notification_service.dispatch;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.entity.Notification;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.repository.NotificationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue-backed delivery of PENDING notifications. Each channel gets its own worker pool; a worker
+ * claims a batch with {@code FOR UPDATE SKIP LOCKED}, leases it by pushing {@code nextAttemptAt}
+ * forward, sends outside the transaction and then writes all outcomes back in bulk. A worker that
+ * dies mid-batch simply lets the lease expire so another worker picks the rows up again.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher {
+
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationProperties.DispatchConfig config;
+    private final Map<NotificationType, ChannelSender> senders = new EnumMap<>(NotificationType.class);
+    private final Map<NotificationType, ScheduledExecutorService> workerPools = new EnumMap<>(NotificationType.class);
+
+    public NotificationDispatcher(NotificationRepository notificationRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  NotificationProperties properties,
+                                  List<ChannelSender> channelSenders) {
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.config = properties.getDispatch();
+        for (ChannelSender sender : channelSenders) {
+            ChannelSender previous = senders.put(sender.channel(), sender);
+            if (previous != null) {
+                log.warn("Replacing {} sender {} with {}", sender.channel(),
+                    previous.getClass().getSimpleName(), sender.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            log.info("Notification dispatch is disabled");
+            return;
+        }
+        for (NotificationType channel : NotificationType.values()) {
+            if (!senders.containsKey(channel)) {
+                log.warn("No sender registered for channel {}; its notifications will stay PENDING until one is provided",
+                    channel);
+                continue;
+            }
+            ScheduledExecutorService pool = Executors.newScheduledThreadPool(
+                config.getWorkersPerChannel(), workerThreadFactory(channel));
+            for (int i = 0; i < config.getWorkersPerChannel(); i++) {
+                pool.scheduleWithFixedDelay(() -> drain(channel), 0, config.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+            }
+            workerPools.put(channel, pool);
+        }
+        log.info("Notification dispatch started with {} worker(s) per channel for {}",
+            config.getWorkersPerChannel(), workerPools.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        workerPools.values().forEach(ScheduledExecutorService::shutdown);
+        for (Map.Entry<NotificationType, ScheduledExecutorService> entry : workerPools.entrySet()) {
+            try {
+                if (!entry.getValue().awaitTermination(5, TimeUnit.SECONDS)) {
+                    entry.getValue().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                entry.getValue().shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerPools.clear();
+    }
+
+    /**
+     * Claims and delivers one batch for the given channel.
+     *
+     * @return the number of notifications claimed
+     */
+    public int dispatchBatch(NotificationType channel) {
+        ChannelSender sender = senders.get(channel);
+        if (sender == null) {
+            return 0;
+        }
+
+        List<Notification> batch = claimBatch(channel);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> sent = new ArrayList<>(batch.size());
+        Map<Integer, List<Long>> retries = new TreeMap<>();
+        Map<Integer, List<Long>> exhausted = new TreeMap<>();
+
+        for (Notification notification : batch) {
+            try {
+                sender.send(notification);
+                sent.add(notification.getId());
+            } catch (Exception e) {
+                int attempts = (notification.getAttempts() == null ? 0 : notification.getAttempts()) + 1;
+                if (attempts >= config.getMaxAttempts()) {
+                    log.error("Giving up on notification {} after {} attempt(s)", notification.getId(), attempts, e);
+                    exhausted.computeIfAbsent(attempts, k -> new ArrayList<>()).add(notification.getId());
+                } else {
+                    log.warn("Attempt {} failed for notification {}: {}", attempts, notification.getId(), e.getMessage());
+                    retries.computeIfAbsent(attempts, k -> new ArrayList<>()).add(notification.getId());
+                }
+            }
+        }
+
+        recordOutcomes(sent, retries, exhausted);
+        log.debug("Dispatched {} {} notification(s): {} sent, {} retrying, {} failed", batch.size(), channel,
+            sent.size(), retries.values().stream().mapToInt(List::size).sum(),
+            exhausted.values().stream().mapToInt(List::size).sum());
+        return batch.size();
+    }
+
+    /**
+     * Delay before the given attempt number is retried: exponential in the number of failed
+     * attempts, capped at {@code maxBackoffMs}.
+     */
+    long backoffMillis(int attempts) {
+        double delay = config.getInitialBackoffMs() * Math.pow(config.getBackoffMultiplier(), Math.max(0, attempts - 1));
+        return (long) Math.min(delay, config.getMaxBackoffMs());
+    }
+
+    private void drain(NotificationType channel) {
+        try {
+            int claimed;
+            do {
+                claimed = dispatchBatch(channel);
+            } while (claimed >= config.getBatchSize() && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            // Never let an exception escape, it would cancel the scheduled worker
+            log.error("Dispatch worker for {} failed", channel, e);
+        }
+    }
+
+    private List<Notification> claimBatch(NotificationType channel) {
+        List<Notification> batch = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Notification> claimed = notificationRepository.claimDispatchBatch(
+                channel.name(), now, config.getBatchSize());
+            if (!claimed.isEmpty()) {
+                notificationRepository.leaseForDispatch(ids(claimed), now.plus(config.getLeaseMs(), ChronoUnit.MILLIS));
+            }
+            return claimed;
+        });
+        return batch == null ? Collections.emptyList() : batch;
+    }
+
+    private void recordOutcomes(List<Long> sent, Map<Integer, List<Long>> retries, Map<Integer, List<Long>> exhausted) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!sent.isEmpty()) {
+                notificationRepository.markDispatched(sent, now, NotificationStatus.PENDING, NotificationStatus.SENT);
+            }
+            retries.forEach((attempts, ids) -> notificationRepository.scheduleRetry(
+                ids, attempts, now.plus(backoffMillis(attempts), ChronoUnit.MILLIS)));
+            exhausted.forEach((attempts, ids) -> notificationRepository.markDispatchFailed(
+                ids, attempts, NotificationStatus.PENDING, NotificationStatus.FAILED));
+        });
+    }
+
+    private static List<Long> ids(List<Notification> notifications) {
+        List<Long> ids = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            ids.add(notification.getId());
+        }
+        return ids;
+    }
+
+    private static ThreadFactory workerThreadFactory(NotificationType channel) {
+        AtomicInteger counter = new AtomicInteger();
+        String prefix = "dispatch-" + channel.name().toLowerCase() + "-";
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.kb.notification_service.dispatch.sender;
+
+import com.kb.notification_service.dispatch.ChannelSender;
+import com.kb.notification_service.dto.NotificationResponse;
+import com.kb.notification_service.entity.Notification;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.push.PushConnectionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivers in-app notifications over the user's open Server-Sent Event streams. Users that are
+ * not connected pick the notification up from the REST endpoints the next time they load.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InAppChannelSender implements ChannelSender {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+
+    private final PushConnectionRegistry pushConnectionRegistry;
+    private final ModelMapper modelMapper;
+
+    @Override
+    public NotificationType channel() {
+        return NotificationType.IN_APP;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        if (!pushConnectionRegistry.isConnected(notification.getUserId())) {
+            log.debug("User {} has no open stream, in-app notification {} will be fetched on demand",
+                notification.getUserId(), notification.getId());
+            return;
+        }
+        NotificationResponse response = modelMapper.map(notification, NotificationResponse.class);
+        response.setStatus(NotificationStatus.SENT);
+        response.setSentAt(LocalDateTime.now());
+        pushConnectionRegistry.push(notification.getUserId(), NOTIFICATION_EVENT, response);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kb.notification_service.dispatch.sender;
+
+import com.kb.notification_service.dispatch.ChannelSender;
+import com.kb.notification_service.entity.Notification;
+import com.kb.notification_service.entity.NotificationType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs push notifications instead of delivering them. Only registered under the {@code stub}
+ * profile, for local runs; without a real sender for the channel its notifications stay PENDING
+ * rather than being marked as sent.
+ */
+@Component
+@Profile("stub")
+@Slf4j
+public class StubPushChannelSender implements ChannelSender {
+
+    @Override
+    public NotificationType channel() {
+        return NotificationType.PUSH;
+    }
+
+    @Override
+    public void send(Notification notification) {
+        log.info("[stub] Not sending push notification to user: {}", notification.getUserId());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kb.notification_service.dto;
+
+import com.kb.notification_service.entity.BroadcastStatus;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.entity.NotificationType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastJobResponse {
+    
+    private Long id;
+    private String title;
+    private NotificationType type;
+    private BroadcastStatus status;
+    private Integer totalRecipients;
+    private Integer insertedCount;
+    private Map<NotificationStatus, Long> deliveryCounts;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,25 @@
+package com.kb.notification_service.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastRecipient {
+    
+    @NotNull(message = "User ID is required")
+    @Positive(message = "User ID must be positive")
+    private Long userId;
+    
+    @NotBlank(message = "Recipient email is required")
+    @Email(message = "Invalid email format")
+    private String recipientEmail;
+    
+    private String recipientPhone;
+}
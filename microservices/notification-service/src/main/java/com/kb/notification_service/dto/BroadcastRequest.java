@@ -0,0 +1,32 @@
+package com.kb.notification_service.dto;
+
+import com.kb.notification_service.entity.NotificationType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BroadcastRequest {
+    
+    @NotBlank(message = "Title is required")
+    private String title;
+    
+    @NotBlank(message = "Message is required")
+    private String message;
+    
+    @NotNull(message = "Notification type is required")
+    private NotificationType type;
+    
+    private String metadata;
+    
+    @NotEmpty(message = "At least one recipient is required")
+    private List<@Valid BroadcastRecipient> recipients;
+}
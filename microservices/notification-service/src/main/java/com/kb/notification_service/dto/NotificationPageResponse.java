@@ -0,0 +1,24 @@
+package com.kb.notification_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of a keyset-paged listing. Pass {@code nextCursor} back as {@code before} to fetch the
+ * following page; it is null once the listing is exhausted. Listings ordered by creation time also
+ * need {@code nextCreatedAt} back as {@code beforeCreatedAt}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPageResponse {
+    
+    private List<NotificationResponse> items;
+    private Long nextCursor;
+    private LocalDateTime nextCreatedAt;
+    private boolean hasMore;
+}
@@ -34,4 +34,10 @@ public class NotificationRequest {
     private String recipientPhone;
     
     private String metadata;
+    
+    /**
+     * Optional. Sends with the same user, type and dedup key inside the coalescing window are
+     * collapsed into a single notification.
+     */
+    private String dedupKey;
 } 
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.kb.notification_service.entity;
+
+public enum BroadcastStatus {
+    QUEUED,
+    INSERTING,
+    COMPLETED,
+    FAILED
+}
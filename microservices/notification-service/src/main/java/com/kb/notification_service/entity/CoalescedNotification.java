@@ -0,0 +1,68 @@
+package com.kb.notification_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification held back by the coalescer, stored as the notification its burst would flush to
+ * right now and updated in place as later requests are folded in. The row is deleted in the same
+ * transaction that creates the notification, so a held notification survives a restart or a
+ * failed flush; rows left past their {@code flushAt} are picked up by the coalescer's sweep.
+ */
+@Entity
+@Table(name = "coalesced_notifications", indexes = {
+    @Index(name = "idx_coalesced_notifications_flush_at", columnList = "dead_lettered, flush_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoalescedNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private String recipientEmail;
+
+    @Column
+    private String recipientPhone;
+
+    @Column(length = 500)
+    private String metadata;
+
+    @Column(nullable = false)
+    private String dedupKey;
+
+    @Column(nullable = false)
+    private Integer updateCount;
+
+    @Column(nullable = false)
+    private LocalDateTime flushAt;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * Set once flushing failed {@code max-flush-attempts} times; the row is then left for manual replay.
+     */
+    @Column(nullable = false)
+    private Boolean deadLettered = false;
+}
@@ -8,7 +8,17 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_id", columnList = "user_id, id"),
+    @Index(name = "idx_notifications_user_status", columnList = "user_id, status, id"),
+    @Index(name = "idx_notifications_status", columnList = "status, id"),
+    @Index(name = "idx_notifications_type_status", columnList = "type, status, id"),
+    @Index(name = "idx_notifications_type_id", columnList = "type, id"),
+    @Index(name = "idx_notifications_recipient_email", columnList = "recipient_email, id"),
+    @Index(name = "idx_notifications_created_at", columnList = "created_at, id"),
+    @Index(name = "idx_notifications_status_read_at", columnList = "status, read_at"),
+    @Index(name = "idx_notifications_job_status", columnList = "job_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -53,11 +63,23 @@ public class Notification {
     @Column(length = 500)
     private String metadata;
     
+    @Column
+    private Integer attempts;
+    
+    @Column
+    private LocalDateTime nextAttemptAt;
+    
+    @Column
+    private Long jobId;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = NotificationStatus.PENDING;
         }
+        if (attempts == null) {
+            attempts = 0;
+        }
     }
 } 
\ No newline at end of file
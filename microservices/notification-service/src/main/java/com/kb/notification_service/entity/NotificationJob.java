@@ -0,0 +1,63 @@
+package com.kb.notification_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false)
+    private String title;
+    
+    @Column(nullable = false, length = 1000)
+    private String message;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+    
+    @Column(length = 500)
+    private String metadata;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BroadcastStatus status;
+    
+    @Column(nullable = false)
+    private Integer totalRecipients;
+    
+    @Column(nullable = false)
+    private Integer insertedCount;
+    
+    @Column(length = 1000)
+    private String errorMessage;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column
+    private LocalDateTime completedAt;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) {
+            status = BroadcastStatus.QUEUED;
+        }
+        if (insertedCount == null) {
+            insertedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.kb.notification_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * A recipient of a broadcast job, staged when the job is accepted so that the job survives a
+ * restart and never holds its recipient list in memory. {@code seq} is the recipient's position in
+ * the request; the job's {@code insertedCount} is the next position to turn into a notification.
+ */
+@Entity
+@Table(name = "notification_job_recipients")
+@IdClass(NotificationJobRecipient.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationJobRecipient {
+    
+    @Id
+    private Long jobId;
+    
+    @Id
+    private Integer seq;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false)
+    private String recipientEmail;
+    
+    @Column
+    private String recipientPhone;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long jobId;
+        private Integer seq;
+    }
+}
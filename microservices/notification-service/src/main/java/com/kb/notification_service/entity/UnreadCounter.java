@@ -0,0 +1,28 @@
+package com.kb.notification_service.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notification_unread_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCounter {
+    
+    @Id
+    private Long userId;
+    
+    @Column(nullable = false)
+    private Long unreadCount;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
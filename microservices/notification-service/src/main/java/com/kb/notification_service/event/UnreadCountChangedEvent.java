@@ -0,0 +1,16 @@
+package com.kb.notification_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published whenever a user's unread notification count changes. Listeners run after the
+ * surrounding transaction commits, so they only ever see changes that were persisted.
+ */
+@Data
+@AllArgsConstructor
+public class UnreadCountChangedEvent {
+    
+    private Long userId;
+    private long delta;
+}
@@ -0,0 +1,8 @@
+package com.kb.notification_service.exception;
+
+public class BroadcastCapacityExceededException extends RuntimeException {
+    
+    public BroadcastCapacityExceededException(String message) {
+        super(message);
+    }
+}
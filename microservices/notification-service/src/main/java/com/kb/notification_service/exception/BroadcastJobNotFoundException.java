@@ -0,0 +1,8 @@
+package com.kb.notification_service.exception;
+
+public class BroadcastJobNotFoundException extends RuntimeException {
+    
+    public BroadcastJobNotFoundException(String message) {
+        super(message);
+    }
+}
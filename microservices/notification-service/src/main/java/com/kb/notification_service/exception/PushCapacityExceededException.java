@@ -0,0 +1,8 @@
+package com.kb.notification_service.exception;
+
+public class PushCapacityExceededException extends RuntimeException {
+    
+    public PushCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kb.notification_service.push;
+
+import com.kb.notification_service.counter.UnreadCounterStore;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationPushListener {
+
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final PushConnectionRegistry pushConnectionRegistry;
+    private final UnreadCounterStore unreadCounterStore;
+
+    @TransactionalEventListener
+    public void onUnreadCountChanged(UnreadCountChangedEvent event) {
+        if (!pushConnectionRegistry.isConnected(event.getUserId())) {
+            return;
+        }
+        pushConnectionRegistry.push(event.getUserId(), UNREAD_COUNT_EVENT, Map.of(
+            "delta", event.getDelta(),
+            "count", unreadCounterStore.getUnreadCount(event.getUserId())));
+    }
+}
@@ -0,0 +1,107 @@
+package com.kb.notification_service.push;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.exception.PushCapacityExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open Server-Sent Event streams keyed by user. Idle streams are async servlet requests, so they
+ * hold no thread, only the emitter and its entry here; pushing to a user is a single map lookup.
+ */
+@Component
+@Slf4j
+public class PushConnectionRegistry {
+
+    private final Map<Long, Set<SseEmitter>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final NotificationProperties.PushConfig config;
+
+    public PushConnectionRegistry(NotificationProperties properties) {
+        this.config = properties.getPush();
+    }
+
+    public SseEmitter register(Long userId) {
+        if (connectionCount.get() >= config.getMaxConnections()) {
+            throw new PushCapacityExceededException("Push connection limit of " + config.getMaxConnections() + " reached");
+        }
+
+        SseEmitter emitter = new SseEmitter(config.getEmitterTimeoutMs());
+        connections.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> userEmitters = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            if (userEmitters.size() >= config.getMaxConnectionsPerUser()) {
+                throw new IllegalArgumentException("Too many open notification streams for user: " + userId);
+            }
+            userEmitters.add(emitter);
+            return userEmitters;
+        });
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        return emitter;
+    }
+
+    /**
+     * Sends an event to every open stream of the user. A no-op when the user is not connected.
+     */
+    public void push(Long userId, String eventName, Object data) {
+        Set<SseEmitter> emitters = connections.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping push stream for user {}: {}", userId, e.getMessage());
+                remove(userId, emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    public boolean isConnected(Long userId) {
+        return connections.containsKey(userId);
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    /**
+     * Keeps intermediaries from closing idle streams and flushes out clients that went away
+     * without closing their connection.
+     */
+    @Scheduled(fixedDelayString = "${notification.push.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        connections.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    remove(userId, emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        connections.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                connectionCount.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
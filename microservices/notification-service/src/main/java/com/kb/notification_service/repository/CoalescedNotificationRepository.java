@@ -0,0 +1,98 @@
+package com.kb.notification_service.repository;
+
+import com.kb.notification_service.dto.NotificationRequest;
+import com.kb.notification_service.entity.CoalescedNotification;
+import com.kb.notification_service.entity.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC access to held-back notifications. Written on every coalesced request, so each call is a
+ * single statement rather than a JPA load-and-merge.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CoalescedNotificationRepository {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO coalesced_notifications (user_id, title, message, type, recipient_email, recipient_phone, " +
+        "metadata, dedup_key, update_count, flush_at, attempts, dead_lettered) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, false) RETURNING id";
+
+    private static final String UPDATE_SQL =
+        "UPDATE coalesced_notifications SET title = ?, message = ?, recipient_email = ?, recipient_phone = ?, " +
+        "metadata = ?, update_count = ? WHERE id = ? AND NOT dead_lettered";
+
+    private static final String FIND_OVERDUE_SQL =
+        "SELECT * FROM coalesced_notifications WHERE NOT dead_lettered AND flush_at < ? ORDER BY flush_at LIMIT ?";
+
+    private static final String RECORD_FAILURE_SQL =
+        "UPDATE coalesced_notifications SET attempts = attempts + 1, dead_lettered = (attempts + 1 >= ?), " +
+        "flush_at = ? WHERE id = ?";
+
+    private static final RowMapper<CoalescedNotification> ROW_MAPPER = (rs, rowNum) -> new CoalescedNotification(
+        rs.getLong("id"), rs.getLong("user_id"), rs.getString("title"), rs.getString("message"),
+        NotificationType.valueOf(rs.getString("type")), rs.getString("recipient_email"),
+        rs.getString("recipient_phone"), rs.getString("metadata"), rs.getString("dedup_key"),
+        rs.getInt("update_count"), rs.getTimestamp("flush_at").toLocalDateTime(), rs.getInt("attempts"),
+        rs.getBoolean("dead_lettered"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stores the notification a burst currently flushes to and returns the row id.
+     */
+    public Long insert(NotificationRequest request, String dedupKey, int updateCount, LocalDateTime flushAt) {
+        return jdbcTemplate.queryForObject(INSERT_SQL, Long.class,
+            request.getUserId(), request.getTitle(), request.getMessage(), request.getType().name(),
+            request.getRecipientEmail(), nullableString(request.getRecipientPhone()),
+            nullableString(request.getMetadata()), dedupKey, updateCount, Timestamp.valueOf(flushAt));
+    }
+
+    /**
+     * Replaces the held content of a row.
+     *
+     * @return false when the row is gone, i.e. it has already been flushed
+     */
+    public boolean update(Long id, NotificationRequest request, int updateCount) {
+        return jdbcTemplate.update(UPDATE_SQL,
+            request.getTitle(), request.getMessage(), request.getRecipientEmail(),
+            nullableString(request.getRecipientPhone()), nullableString(request.getMetadata()),
+            updateCount, id) > 0;
+    }
+
+    /**
+     * Deletes a row, locking it until the surrounding transaction ends. Only the caller that gets
+     * true may create the notification, so a row is never flushed twice.
+     */
+    public boolean delete(Long id) {
+        return jdbcTemplate.update("DELETE FROM coalesced_notifications WHERE id = ?", id) > 0;
+    }
+
+    /**
+     * Rows that should have been flushed before {@code before}, oldest first.
+     */
+    public List<CoalescedNotification> findOverdue(LocalDateTime before, int limit) {
+        return jdbcTemplate.query(FIND_OVERDUE_SQL, ROW_MAPPER, Timestamp.valueOf(before), limit);
+    }
+
+    /**
+     * Counts a failed flush and moves the row's deadline to {@code retryAt}; the row is dead-lettered
+     * once it has failed {@code maxAttempts} times.
+     */
+    public void recordFailure(Long id, int maxAttempts, LocalDateTime retryAt) {
+        jdbcTemplate.update(RECORD_FAILURE_SQL, maxAttempts, Timestamp.valueOf(retryAt), id);
+    }
+
+    private static Object nullableString(String value) {
+        return value != null ? value : new SqlParameterValue(Types.VARCHAR, null);
+    }
+}
@@ -0,0 +1,106 @@
+package com.kb.notification_service.repository;
+
+import com.kb.notification_service.dto.BroadcastRecipient;
+import com.kb.notification_service.entity.NotificationJob;
+import com.kb.notification_service.entity.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JDBC batch access for broadcast jobs. Bypasses JPA so staging recipients is a multi-row round
+ * trip per batch, and turning staged recipients into notifications is a single
+ * {@code INSERT ... SELECT} that never brings the rows into the JVM.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBulkRepository {
+
+    private static final String STAGE_SQL =
+        "INSERT INTO notification_job_recipients (job_id, seq, user_id, recipient_email, recipient_phone) " +
+        "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String LOCK_JOB_SQL =
+        "SELECT inserted_count FROM notification_jobs WHERE id = ? FOR UPDATE";
+
+    private static final String INSERT_STAGED_SQL =
+        "INSERT INTO notifications (user_id, title, message, type, status, recipient_email, " +
+        "recipient_phone, created_at, metadata, attempts, job_id) " +
+        "SELECT r.user_id, ?, ?, ?, ?, r.recipient_email, r.recipient_phone, ?, ?, 0, r.job_id " +
+        "FROM notification_job_recipients r WHERE r.job_id = ? AND r.seq >= ? AND r.seq < ? ORDER BY r.seq " +
+        "RETURNING user_id";
+
+    private static final String DELETE_STAGED_SQL =
+        "DELETE FROM notification_job_recipients WHERE job_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stages recipients of a job, numbering them from {@code firstSeq} in list order.
+     */
+    public void stageRecipients(Long jobId, int firstSeq, List<BroadcastRecipient> recipients) {
+        jdbcTemplate.batchUpdate(STAGE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                BroadcastRecipient recipient = recipients.get(i);
+                ps.setLong(1, jobId);
+                ps.setInt(2, firstSeq + i);
+                ps.setLong(3, recipient.getUserId());
+                ps.setString(4, recipient.getRecipientEmail());
+                setNullableString(ps, 5, recipient.getRecipientPhone());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return recipients.size();
+            }
+        });
+    }
+
+    /**
+     * Locks the job row for the rest of the transaction and returns how many recipients have been
+     * turned into notifications, or null when the job no longer exists. Holding the lock while
+     * inserting keeps two workers resuming the same job from inserting a batch twice.
+     */
+    public Integer lockInsertedCount(Long jobId) {
+        List<Integer> counts = jdbcTemplate.queryForList(LOCK_JOB_SQL, Integer.class, jobId);
+        return counts.isEmpty() ? null : counts.get(0);
+    }
+
+    /**
+     * Inserts one PENDING notification from the job's template for each staged recipient with
+     * {@code fromSeq <= seq < toSeq}.
+     *
+     * @return the user ids of the inserted notifications
+     */
+    public List<Long> insertStaged(NotificationJob job, int fromSeq, int toSeq) {
+        return jdbcTemplate.queryForList(INSERT_STAGED_SQL, Long.class,
+            job.getTitle(), job.getMessage(), job.getType().name(), NotificationStatus.PENDING.name(),
+            Timestamp.valueOf(LocalDateTime.now()), nullableString(job.getMetadata()), job.getId(), fromSeq, toSeq);
+    }
+
+    public int deleteStaged(Long jobId) {
+        return jdbcTemplate.update(DELETE_STAGED_SQL, jobId);
+    }
+
+    private static Object nullableString(String value) {
+        return value != null ? value : new SqlParameterValue(Types.VARCHAR, null);
+    }
+
+    private static void setNullableString(PreparedStatement ps, int index, String value) throws SQLException {
+        if (value != null) {
+            ps.setString(index, value);
+        } else {
+            ps.setNull(index, Types.VARCHAR);
+        }
+    }
+}
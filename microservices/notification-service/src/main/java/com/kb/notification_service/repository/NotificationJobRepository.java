@@ -0,0 +1,31 @@
+package com.kb.notification_service.repository;
+
+import com.kb.notification_service.entity.BroadcastStatus;
+import com.kb.notification_service.entity.NotificationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+    
+    List<NotificationJob> findByStatusInOrderByIdAsc(Collection<BroadcastStatus> statuses);
+    
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.insertedCount = j.insertedCount + :inserted WHERE j.id = :id")
+    int incrementInsertedCount(@Param("id") Long id, @Param("inserted") int inserted);
+    
+    @Modifying
+    @Query("UPDATE NotificationJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+            "j.completedAt = :completedAt WHERE j.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") BroadcastStatus status,
+                     @Param("errorMessage") String errorMessage,
+                     @Param("completedAt") LocalDateTime completedAt);
+}
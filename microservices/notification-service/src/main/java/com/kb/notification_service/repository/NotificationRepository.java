@@ -6,9 +6,13 @@ import com.kb.notification_service.entity.NotificationType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -29,4 +33,70 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Page<Notification> findByUserId(Long userId, Pageable pageable);
     
     long countByUserIdAndStatus(Long userId, NotificationStatus status);
-} 
\ No newline at end of file
+    
+    // Keyset (seek) variants: newest first, resuming below the last id the caller has seen
+    
+    List<Notification> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Pageable pageable);
+    
+    List<Notification> findByUserIdAndStatusAndIdLessThanOrderByIdDesc(Long userId, NotificationStatus status, Long beforeId, Pageable pageable);
+    
+    List<Notification> findByStatusAndIdLessThanOrderByIdDesc(NotificationStatus status, Long beforeId, Pageable pageable);
+    
+    List<Notification> findByTypeAndIdLessThanOrderByIdDesc(NotificationType type, Long beforeId, Pageable pageable);
+    
+    List<Notification> findByRecipientEmailAndIdLessThanOrderByIdDesc(String recipientEmail, Long beforeId, Pageable pageable);
+    
+    // Date ranges page in (created_at, id) order so the scan follows idx_notifications_created_at;
+    // the cursor carries both values, so the page resumes correctly even if the cursor row is gone
+    
+    List<Notification> findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    
+    @Query(value = "SELECT * FROM notifications WHERE created_at BETWEEN :startDate AND :endDate " +
+            "AND (created_at, id) < (:beforeCreatedAt, :beforeId) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findByCreatedAtBetweenBefore(@Param("startDate") LocalDateTime startDate,
+                                                    @Param("endDate") LocalDateTime endDate,
+                                                    @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                    @Param("beforeId") Long beforeId,
+                                                    @Param("limit") int limit);
+    
+    @Query("SELECT n.status, COUNT(n) FROM Notification n WHERE n.jobId = :jobId GROUP BY n.status")
+    List<Object[]> countByJobIdGroupByStatus(@Param("jobId") Long jobId);
+    
+    /**
+     * Locks the next batch of due PENDING notifications for one channel. Rows already locked by
+     * another dispatcher are skipped, so concurrent workers never claim the same notification.
+     */
+    @Query(value = "SELECT * FROM notifications WHERE type = :type AND status = 'PENDING' " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> claimDispatchBatch(@Param("type") String type,
+                                          @Param("now") LocalDateTime now,
+                                          @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.nextAttemptAt = :leaseUntil WHERE n.id IN :ids")
+    int leaseForDispatch(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :sent, n.sentAt = :sentAt, n.nextAttemptAt = NULL " +
+            "WHERE n.id IN :ids AND n.status = :pending")
+    int markDispatched(@Param("ids") Collection<Long> ids,
+                       @Param("sentAt") LocalDateTime sentAt,
+                       @Param("pending") NotificationStatus pending,
+                       @Param("sent") NotificationStatus sent);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.attempts = :attempts, n.nextAttemptAt = :nextAttemptAt WHERE n.id IN :ids")
+    int scheduleRetry(@Param("ids") Collection<Long> ids,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+    
+    @Modifying
+    @Query("UPDATE Notification n SET n.status = :failed, n.attempts = :attempts, n.nextAttemptAt = NULL " +
+            "WHERE n.id IN :ids AND n.status = :pending")
+    int markDispatchFailed(@Param("ids") Collection<Long> ids,
+                           @Param("attempts") int attempts,
+                           @Param("pending") NotificationStatus pending,
+                           @Param("failed") NotificationStatus failed);
+}
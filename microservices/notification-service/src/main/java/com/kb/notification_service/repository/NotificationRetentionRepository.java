@@ -0,0 +1,45 @@
+package com.kb.notification_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Batched removal of old READ notifications. Each call is a single statement, so every batch
+ * commits on its own and never holds locks on more than {@code batchSize} rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRetentionRepository {
+    
+    private static final String COLUMNS =
+        "id, user_id, title, message, type, status, recipient_email, recipient_phone, created_at, " +
+        "sent_at, read_at, metadata, attempts, next_attempt_at, job_id";
+    
+    private static final String EXPIRED_BATCH =
+        "SELECT id FROM notifications WHERE status = 'READ' AND read_at < ? ORDER BY read_at LIMIT ? FOR UPDATE SKIP LOCKED";
+    
+    private static final String PURGE_SQL =
+        "DELETE FROM notifications WHERE id IN (" + EXPIRED_BATCH + ")";
+    
+    private static final String ARCHIVE_SQL =
+        "WITH moved AS (DELETE FROM notifications WHERE id IN (" + EXPIRED_BATCH + ") RETURNING " + COLUMNS + ") " +
+        "INSERT INTO notifications_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void createArchiveTableIfMissing() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS notifications_archive (LIKE notifications INCLUDING DEFAULTS)");
+    }
+    
+    public int purgeReadBefore(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff), batchSize);
+    }
+    
+    public int archiveReadBefore(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update(ARCHIVE_SQL, Timestamp.valueOf(cutoff), batchSize);
+    }
+}
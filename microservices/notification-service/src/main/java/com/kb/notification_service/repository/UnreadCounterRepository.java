@@ -0,0 +1,73 @@
+package com.kb.notification_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Summary table of unread notifications per user. Written with atomic upserts so concurrent
+ * transactions adjusting the same user never lose an increment.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UnreadCounterRepository {
+    
+    private static final String APPLY_DELTA_SQL =
+        "INSERT INTO notification_unread_counters (user_id, unread_count, updated_at) VALUES (?, GREATEST(?, 0), now()) " +
+        "ON CONFLICT (user_id) DO UPDATE SET unread_count = GREATEST(notification_unread_counters.unread_count + ?, 0), " +
+        "updated_at = now()";
+    
+    // Conflicts with the row locks taken by APPLY_DELTA_SQL but not with plain reads, so the
+    // rebuild waits for in-flight upserts to commit and holds back new ones until it commits
+    private static final String LOCK_SQL =
+        "LOCK TABLE notification_unread_counters IN SHARE ROW EXCLUSIVE MODE";
+    
+    private static final String REBUILD_SQL =
+        "INSERT INTO notification_unread_counters (user_id, unread_count, updated_at) " +
+        "SELECT user_id, COUNT(*), now() FROM notifications WHERE status <> 'READ' GROUP BY user_id " +
+        "ON CONFLICT (user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count, updated_at = now()";
+    
+    private static final String CLEAR_STALE_SQL =
+        "UPDATE notification_unread_counters c SET unread_count = 0, updated_at = now() " +
+        "WHERE c.unread_count <> 0 AND NOT EXISTS " +
+        "(SELECT 1 FROM notifications n WHERE n.user_id = c.user_id AND n.status <> 'READ')";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public void applyDeltas(Map<Long, Long> deltas) {
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> {
+            if (delta != 0) {
+                args.add(new Object[]{userId, delta, delta});
+            }
+        });
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+        }
+    }
+    
+    /**
+     * Recomputes every counter from the notifications table, discarding any drift. Must run inside
+     * a transaction: the table lock keeps concurrent deltas from landing between the recount and
+     * the commit, where they would be either lost or counted twice.
+     */
+    public void rebuildFromNotifications() {
+        jdbcTemplate.execute(LOCK_SQL);
+        jdbcTemplate.update(REBUILD_SQL);
+        jdbcTemplate.update(CLEAR_STALE_SQL);
+    }
+    
+    public Map<Long, Long> findAllNonZero() {
+        Map<Long, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, unread_count FROM notification_unread_counters WHERE unread_count > 0",
+            rs -> {
+                counts.put(rs.getLong(1), rs.getLong(2));
+            });
+        return counts;
+    }
+}
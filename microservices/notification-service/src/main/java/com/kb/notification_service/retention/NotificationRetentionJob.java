@@ -0,0 +1,56 @@
+package com.kb.notification_service.retention;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.repository.NotificationRetentionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keeps the hot notifications table small by moving READ notifications older than the retention
+ * window out of it, either into {@code notifications_archive} or by deleting them outright.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private final NotificationRetentionRepository retentionRepository;
+    private final NotificationProperties.RetentionConfig config;
+
+    public NotificationRetentionJob(NotificationRetentionRepository retentionRepository,
+                                    NotificationProperties properties) {
+        this.retentionRepository = retentionRepository;
+        this.config = properties.getRetention();
+    }
+
+    @Scheduled(cron = "${notification.retention.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (config.isEnabled()) {
+            purgeExpired();
+        }
+    }
+
+    /**
+     * @return the number of notifications archived or deleted
+     */
+    public long purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(config.getReadRetentionDays());
+        if (config.isArchive()) {
+            retentionRepository.createArchiveTableIfMissing();
+        }
+
+        long total = 0;
+        int removed;
+        do {
+            removed = config.isArchive()
+                ? retentionRepository.archiveReadBefore(cutoff, config.getBatchSize())
+                : retentionRepository.purgeReadBefore(cutoff, config.getBatchSize());
+            total += removed;
+        } while (removed >= config.getBatchSize() && !Thread.currentThread().isInterrupted());
+
+        log.info("{} {} READ notifications older than {}", config.isArchive() ? "Archived" : "Purged", total, cutoff);
+        return total;
+    }
+}
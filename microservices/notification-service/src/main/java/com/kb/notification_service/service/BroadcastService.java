@@ -0,0 +1,11 @@
+package com.kb.notification_service.service;
+
+import com.kb.notification_service.dto.BroadcastJobResponse;
+import com.kb.notification_service.dto.BroadcastRequest;
+
+public interface BroadcastService {
+    
+    BroadcastJobResponse startBroadcast(BroadcastRequest broadcastRequest);
+    
+    BroadcastJobResponse getBroadcastJob(Long jobId);
+}
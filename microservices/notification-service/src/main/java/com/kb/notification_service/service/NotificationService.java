@@ -1,5 +1,6 @@
 package com.kb.notification_service.service;
 
+import com.kb.notification_service.dto.NotificationPageResponse;
 import com.kb.notification_service.dto.NotificationRequest;
 import com.kb.notification_service.dto.NotificationResponse;
 import com.kb.notification_service.entity.NotificationStatus;
@@ -30,6 +31,19 @@ public interface NotificationService {
     
     Page<NotificationResponse> getNotificationsByUserIdPaginated(Long userId, Pageable pageable);
     
+    NotificationPageResponse scrollNotificationsByUserId(Long userId, Long before, int limit);
+    
+    NotificationPageResponse scrollNotificationsByUserIdAndStatus(Long userId, NotificationStatus status, Long before, int limit);
+    
+    NotificationPageResponse scrollNotificationsByStatus(NotificationStatus status, Long before, int limit);
+    
+    NotificationPageResponse scrollNotificationsByType(NotificationType type, Long before, int limit);
+    
+    NotificationPageResponse scrollNotificationsByEmail(String recipientEmail, Long before, int limit);
+    
+    NotificationPageResponse scrollNotificationsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                            LocalDateTime beforeCreatedAt, Long before, int limit);
+    
     NotificationResponse updateNotificationStatus(Long id, NotificationStatus status);
     
     NotificationResponse markAsRead(Long id);
@@ -40,5 +54,5 @@ public interface NotificationService {
     
     long getUnreadCountByUserId(Long userId);
     
-    void sendNotification(NotificationRequest notificationRequest);
+    NotificationResponse sendNotification(NotificationRequest notificationRequest);
 } 
\ No newline at end of file
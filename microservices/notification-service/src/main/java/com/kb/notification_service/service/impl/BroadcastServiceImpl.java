@@ -0,0 +1,208 @@
+package com.kb.notification_service.service.impl;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.dto.BroadcastJobResponse;
+import com.kb.notification_service.dto.BroadcastRecipient;
+import com.kb.notification_service.dto.BroadcastRequest;
+import com.kb.notification_service.entity.BroadcastStatus;
+import com.kb.notification_service.entity.NotificationJob;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
+import com.kb.notification_service.exception.BroadcastCapacityExceededException;
+import com.kb.notification_service.exception.BroadcastJobNotFoundException;
+import com.kb.notification_service.repository.NotificationBulkRepository;
+import com.kb.notification_service.repository.NotificationJobRepository;
+import com.kb.notification_service.repository.NotificationRepository;
+import com.kb.notification_service.service.BroadcastService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a single template out to many recipients. The request thread records the job and stages its
+ * recipients in one transaction, then queues the job id on a bounded background pool; when that
+ * queue is full the broadcast is refused rather than buffered. Workers turn staged recipients into
+ * PENDING notifications a batch at a time under a lock on the job row, recording progress in
+ * {@code insertedCount}, so a job interrupted by a restart is resumed where it stopped.
+ */
+@Service
+@Slf4j
+public class BroadcastServiceImpl implements BroadcastService {
+
+    private static final List<BroadcastStatus> UNFINISHED = List.of(BroadcastStatus.QUEUED, BroadcastStatus.INSERTING);
+
+    private final NotificationJobRepository jobRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationBulkRepository bulkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationProperties.BroadcastConfig config;
+    private final ThreadPoolExecutor executor;
+
+    public BroadcastServiceImpl(NotificationJobRepository jobRepository,
+                                NotificationRepository notificationRepository,
+                                NotificationBulkRepository bulkRepository,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                NotificationProperties properties) {
+        this.jobRepository = jobRepository;
+        this.notificationRepository = notificationRepository;
+        this.bulkRepository = bulkRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.config = properties.getBroadcast();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(config.getWorkers(), config.getWorkers(), 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()), runnable -> {
+                Thread thread = new Thread(runnable, "broadcast-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @Override
+    public BroadcastJobResponse startBroadcast(BroadcastRequest broadcastRequest) {
+        List<BroadcastRecipient> recipients = broadcastRequest.getRecipients();
+        if (recipients.size() > config.getMaxRecipients()) {
+            throw new IllegalArgumentException("Broadcast exceeds the maximum of " + config.getMaxRecipients() + " recipients");
+        }
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new BroadcastCapacityExceededException("Too many broadcasts in progress, retry later");
+        }
+        log.info("Starting {} broadcast to {} recipients", broadcastRequest.getType(), recipients.size());
+
+        NotificationJob savedJob = transactionTemplate.execute(status -> {
+            NotificationJob job = new NotificationJob();
+            job.setTitle(broadcastRequest.getTitle());
+            job.setMessage(broadcastRequest.getMessage());
+            job.setType(broadcastRequest.getType());
+            job.setMetadata(broadcastRequest.getMetadata());
+            job.setTotalRecipients(recipients.size());
+            NotificationJob saved = jobRepository.save(job);
+            for (int from = 0; from < recipients.size(); from += config.getBatchSize()) {
+                bulkRepository.stageRecipients(saved.getId(), from,
+                    recipients.subList(from, Math.min(from + config.getBatchSize(), recipients.size())));
+            }
+            return saved;
+        });
+
+        try {
+            executor.execute(() -> insertRecipients(savedJob.getId()));
+        } catch (RejectedExecutionException e) {
+            // Lost the race for the last queue slot; drop the job so a retry does not broadcast twice
+            transactionTemplate.executeWithoutResult(status -> {
+                bulkRepository.deleteStaged(savedJob.getId());
+                jobRepository.deleteById(savedJob.getId());
+            });
+            throw new BroadcastCapacityExceededException("Too many broadcasts in progress, retry later");
+        }
+        return convertToResponse(savedJob, new EnumMap<>(NotificationStatus.class));
+    }
+
+    @Override
+    public BroadcastJobResponse getBroadcastJob(Long jobId) {
+        NotificationJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new BroadcastJobNotFoundException("Broadcast job not found with ID: " + jobId));
+
+        Map<NotificationStatus, Long> deliveryCounts = new EnumMap<>(NotificationStatus.class);
+        for (Object[] row : notificationRepository.countByJobIdGroupByStatus(jobId)) {
+            deliveryCounts.put((NotificationStatus) row[0], (Long) row[1]);
+        }
+        return convertToResponse(job, deliveryCounts);
+    }
+
+    /**
+     * Requeues jobs a previous run accepted but did not finish. Jobs that do not fit in the queue
+     * stay QUEUED for the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        List<NotificationJob> unfinished = jobRepository.findByStatusInOrderByIdAsc(UNFINISHED);
+        int resumed = 0;
+        for (NotificationJob job : unfinished) {
+            try {
+                executor.execute(() -> insertRecipients(job.getId()));
+                resumed++;
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("Resumed {} of {} unfinished broadcast job(s)", resumed, unfinished.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    void insertRecipients(Long jobId) {
+        NotificationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        try {
+            updateStatus(jobId, BroadcastStatus.INSERTING, null, null);
+            boolean finished;
+            do {
+                finished = Boolean.TRUE.equals(transactionTemplate.execute(status -> insertNextBatch(job)));
+            } while (!finished);
+            updateStatus(jobId, BroadcastStatus.COMPLETED, null, LocalDateTime.now());
+            log.info("Broadcast job {} queued {} notifications", jobId, job.getTotalRecipients());
+        } catch (Exception e) {
+            log.error("Broadcast job {} failed", jobId, e);
+            updateStatus(jobId, BroadcastStatus.FAILED, e.getMessage(), LocalDateTime.now());
+            try {
+                transactionTemplate.executeWithoutResult(status -> bulkRepository.deleteStaged(jobId));
+            } catch (RuntimeException cleanupFailure) {
+                log.warn("Could not remove staged recipients of failed broadcast job {}: {}", jobId,
+                    cleanupFailure.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Inserts the next batch of staged recipients; returns true once none are left
+     */
+    private boolean insertNextBatch(NotificationJob job) {
+        Integer inserted = bulkRepository.lockInsertedCount(job.getId());
+        if (inserted == null || inserted >= job.getTotalRecipients()) {
+            bulkRepository.deleteStaged(job.getId());
+            return true;
+        }
+        int to = Math.min(inserted + config.getBatchSize(), job.getTotalRecipients());
+        List<Long> userIds = bulkRepository.insertStaged(job, inserted, to);
+        jobRepository.incrementInsertedCount(job.getId(), to - inserted);
+        userIds.forEach(userId -> eventPublisher.publishEvent(new UnreadCountChangedEvent(userId, 1)));
+        return false;
+    }
+
+    private void updateStatus(Long jobId, BroadcastStatus status, String errorMessage, LocalDateTime completedAt) {
+        transactionTemplate.executeWithoutResult(s -> jobRepository.updateStatus(jobId, status, errorMessage, completedAt));
+    }
+
+    private BroadcastJobResponse convertToResponse(NotificationJob job, Map<NotificationStatus, Long> deliveryCounts) {
+        return new BroadcastJobResponse(job.getId(), job.getTitle(), job.getType(), job.getStatus(),
+            job.getTotalRecipients(), job.getInsertedCount(), deliveryCounts, job.getErrorMessage(),
+            job.getCreatedAt(), job.getCompletedAt());
+    }
+}
@@ -1,23 +1,32 @@
 package com.kb.notification_service.service.impl;
 
+import com.kb.notification_service.coalesce.NotificationCoalescer;
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.counter.UnreadCounterStore;
+import com.kb.notification_service.dto.NotificationPageResponse;
 import com.kb.notification_service.dto.NotificationRequest;
 import com.kb.notification_service.dto.NotificationResponse;
 import com.kb.notification_service.entity.Notification;
 import com.kb.notification_service.entity.NotificationStatus;
 import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
 import com.kb.notification_service.exception.NotificationNotFoundException;
 import com.kb.notification_service.repository.NotificationRepository;
 import com.kb.notification_service.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,6 +37,10 @@ public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounterStore unreadCounterStore;
+    private final NotificationProperties properties;
+    private final NotificationCoalescer notificationCoalescer;
 
     @Override
     public NotificationResponse createNotification(NotificationRequest notificationRequest) {
@@ -38,6 +51,7 @@ public class NotificationServiceImpl implements NotificationService {
         
         Notification savedNotification = notificationRepository.save(notification);
         log.info("Notification created successfully with ID: {}", savedNotification.getId());
+        eventPublisher.publishEvent(new UnreadCountChangedEvent(savedNotification.getUserId(), 1));
         
         return convertToResponse(savedNotification);
     }
@@ -119,12 +133,66 @@ public class NotificationServiceImpl implements NotificationService {
         return notifications.map(this::convertToResponse);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByUserId(Long userId, Long before, int limit) {
+        log.info("Scrolling notifications for user: {} before: {}", userId, before);
+        return scroll(before, limit, (cursor, page) ->
+            notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByUserIdAndStatus(Long userId, NotificationStatus status, Long before, int limit) {
+        log.info("Scrolling notifications for user: {} with status: {} before: {}", userId, status, before);
+        return scroll(before, limit, (cursor, page) ->
+            notificationRepository.findByUserIdAndStatusAndIdLessThanOrderByIdDesc(userId, status, cursor, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByStatus(NotificationStatus status, Long before, int limit) {
+        log.info("Scrolling notifications with status: {} before: {}", status, before);
+        return scroll(before, limit, (cursor, page) ->
+            notificationRepository.findByStatusAndIdLessThanOrderByIdDesc(status, cursor, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByType(NotificationType type, Long before, int limit) {
+        log.info("Scrolling notifications with type: {} before: {}", type, before);
+        return scroll(before, limit, (cursor, page) ->
+            notificationRepository.findByTypeAndIdLessThanOrderByIdDesc(type, cursor, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByEmail(String recipientEmail, Long before, int limit) {
+        log.info("Scrolling notifications for email: {} before: {}", recipientEmail, before);
+        return scroll(before, limit, (cursor, page) ->
+            notificationRepository.findByRecipientEmailAndIdLessThanOrderByIdDesc(recipientEmail, cursor, page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPageResponse scrollNotificationsByDateRange(LocalDateTime startDate, LocalDateTime endDate,
+                                                                   LocalDateTime beforeCreatedAt, Long before, int limit) {
+        log.info("Scrolling notifications between {} and {} before: {} / {}", startDate, endDate, beforeCreatedAt, before);
+        if ((before == null) != (beforeCreatedAt == null)) {
+            throw new IllegalArgumentException("before and beforeCreatedAt must be given together");
+        }
+        return scroll(before, limit, (cursor, page) -> before == null
+            ? notificationRepository.findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(startDate, endDate, page)
+            : notificationRepository.findByCreatedAtBetweenBefore(startDate, endDate, beforeCreatedAt, cursor, page.getPageSize()));
+    }
+
     @Override
     public NotificationResponse updateNotificationStatus(Long id, NotificationStatus status) {
         log.info("Updating notification status for ID: {} to status: {}", id, status);
         Notification notification = notificationRepository.findById(id)
             .orElseThrow(() -> new NotificationNotFoundException("Notification not found with ID: " + id));
         
+        NotificationStatus previousStatus = notification.getStatus();
         notification.setStatus(status);
         
         if (status == NotificationStatus.SENT) {
@@ -136,6 +204,12 @@ public class NotificationServiceImpl implements NotificationService {
         Notification updatedNotification = notificationRepository.save(notification);
         log.info("Notification status updated successfully for ID: {}", id);
         
+        if (previousStatus != NotificationStatus.READ && status == NotificationStatus.READ) {
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(notification.getUserId(), -1));
+        } else if (previousStatus == NotificationStatus.READ && status != NotificationStatus.READ) {
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(notification.getUserId(), 1));
+        }
+        
         return convertToResponse(updatedNotification);
     }
 
@@ -152,77 +226,58 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     public void deleteNotification(Long id) {
         log.info("Deleting notification with ID: {}", id);
-        if (!notificationRepository.existsById(id)) {
-            throw new NotificationNotFoundException("Notification not found with ID: " + id);
-        }
-        notificationRepository.deleteById(id);
+        Notification notification = notificationRepository.findById(id)
+            .orElseThrow(() -> new NotificationNotFoundException("Notification not found with ID: " + id));
+        notificationRepository.delete(notification);
         log.info("Notification deleted successfully with ID: {}", id);
+        
+        if (notification.getStatus() != NotificationStatus.READ) {
+            eventPublisher.publishEvent(new UnreadCountChangedEvent(notification.getUserId(), -1));
+        }
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public long getUnreadCountByUserId(Long userId) {
-        log.info("Getting unread count for user: {}", userId);
-        return notificationRepository.countByUserIdAndStatus(userId, NotificationStatus.PENDING);
+        log.debug("Getting unread count for user: {}", userId);
+        return unreadCounterStore.getUnreadCount(userId);
     }
 
     @Override
-    public void sendNotification(NotificationRequest notificationRequest) {
-        log.info("Sending notification to user: {}", notificationRequest.getUserId());
+    public NotificationResponse sendNotification(NotificationRequest notificationRequest) {
+        if (notificationCoalescer.submit(notificationRequest)) {
+            log.info("Coalescing notification for user: {} with dedup key: {}",
+                notificationRequest.getUserId(), notificationRequest.getDedupKey());
+            return new NotificationResponse(null, notificationRequest.getUserId(), notificationRequest.getTitle(),
+                notificationRequest.getMessage(), notificationRequest.getType(), NotificationStatus.PENDING,
+                notificationRequest.getRecipientEmail(), notificationRequest.getRecipientPhone(),
+                null, null, null, notificationRequest.getMetadata());
+        }
         
-        // Create the notification first
-        NotificationResponse notification = createNotification(notificationRequest);
+        log.info("Queueing notification for user: {}", notificationRequest.getUserId());
         
-        // Simulate sending the notification based on type
-        try {
-            switch (notificationRequest.getType()) {
-                case EMAIL:
-                    sendEmailNotification(notificationRequest);
-                    break;
-                case SMS:
-                    sendSmsNotification(notificationRequest);
-                    break;
-                case PUSH:
-                    sendPushNotification(notificationRequest);
-                    break;
-                case IN_APP:
-                    sendInAppNotification(notificationRequest);
-                    break;
-            }
-            
-            // Mark as sent
-            updateNotificationStatus(notification.getId(), NotificationStatus.SENT);
-            log.info("Notification sent successfully for ID: {}", notification.getId());
-            
-        } catch (Exception e) {
-            log.error("Failed to send notification for ID: {}", notification.getId(), e);
-            updateNotificationStatus(notification.getId(), NotificationStatus.FAILED);
-            throw new RuntimeException("Failed to send notification", e);
-        }
-    }
-
-    private void sendEmailNotification(NotificationRequest request) {
-        log.info("Sending email notification to: {}", request.getRecipientEmail());
-        // TODO: Implement actual email sending logic
-        // This would integrate with an email service like SendGrid, AWS SES, etc.
+        // Delivery happens asynchronously: NotificationDispatcher picks up PENDING rows per channel
+        return createNotification(notificationRequest);
     }
 
-    private void sendSmsNotification(NotificationRequest request) {
-        log.info("Sending SMS notification to: {}", request.getRecipientPhone());
-        // TODO: Implement actual SMS sending logic
-        // This would integrate with an SMS service like Twilio, AWS SNS, etc.
-    }
-
-    private void sendPushNotification(NotificationRequest request) {
-        log.info("Sending push notification to user: {}", request.getUserId());
-        // TODO: Implement actual push notification logic
-        // This would integrate with Firebase Cloud Messaging, etc.
-    }
-
-    private void sendInAppNotification(NotificationRequest request) {
-        log.info("Sending in-app notification to user: {}", request.getUserId());
-        // TODO: Implement actual in-app notification logic
-        // This would typically involve WebSocket or Server-Sent Events
+    /**
+     * Runs a keyset query for one page. One extra row is fetched to tell whether another page
+     * follows without issuing a count query.
+     */
+    private NotificationPageResponse scroll(Long before, int limit, BiFunction<Long, Pageable, List<Notification>> query) {
+        int pageSize = Math.max(1, Math.min(limit, properties.getQuery().getMaxPageSize()));
+        long cursor = before == null ? Long.MAX_VALUE : before;
+        
+        List<Notification> rows = query.apply(cursor, PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Notification> page = hasMore ? rows.subList(0, pageSize) : rows;
+        
+        List<NotificationResponse> items = page.stream()
+            .map(this::convertToResponse)
+            .collect(Collectors.toList());
+        Notification last = hasMore ? page.get(page.size() - 1) : null;
+        return new NotificationPageResponse(items, last != null ? last.getId() : null,
+            last != null ? last.getCreatedAt() : null, hasMore);
     }
 
     private NotificationResponse convertToResponse(Notification notification) {
@@ -0,0 +1,221 @@
+package com.kb.notification_service.coalesce;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.dto.NotificationRequest;
+import com.kb.notification_service.entity.CoalescedNotification;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.repository.CoalescedNotificationRepository;
+import com.kb.notification_service.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationCoalescerTest {
+
+    private NotificationService notificationService;
+    private CoalescedNotificationRepository coalescedNotificationRepository;
+    private NotificationProperties properties;
+
+    @BeforeEach
+    void setup() {
+        notificationService = mock(NotificationService.class);
+        coalescedNotificationRepository = mock(CoalescedNotificationRepository.class);
+        properties = new NotificationProperties();
+        when(coalescedNotificationRepository.insert(any(NotificationRequest.class), anyString(), anyInt(), any(LocalDateTime.class)))
+            .thenReturn(1L, 2L);
+        when(coalescedNotificationRepository.update(anyLong(), any(NotificationRequest.class), anyInt())).thenReturn(true);
+        when(coalescedNotificationRepository.delete(anyLong())).thenReturn(true);
+    }
+
+    @Test
+    void submit_ShouldIgnoreRequestsWithoutDedupKey() {
+        NotificationCoalescer coalescer = newCoalescer();
+
+        assertFalse(coalescer.submit(request("Shipped", null)));
+        assertEquals(0, coalescer.getPendingCount());
+    }
+
+    @Test
+    void flushAll_ShouldCreateOneNotificationWithLatestContent() {
+        // Given
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order confirmed", "order-42"));
+        coalescer.submit(request("Order packed", "order-42"));
+        coalescer.submit(request("Order shipped", "order-42"));
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        ArgumentCaptor<NotificationRequest> captor = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationService, times(1)).createNotification(captor.capture());
+        assertEquals("Order shipped", captor.getValue().getTitle());
+        assertEquals("Order shipped message", captor.getValue().getMessage());
+        assertNull(captor.getValue().getDedupKey());
+    }
+
+    @Test
+    void flushAll_ShouldBuildDigest_WhenDigestModeEnabled() {
+        // Given
+        properties.getCoalescing().setMode(CoalescingMode.DIGEST);
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order confirmed", "order-42"));
+        coalescer.submit(request("Order shipped", "order-42"));
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        ArgumentCaptor<NotificationRequest> captor = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationService).createNotification(captor.capture());
+        assertEquals("Order shipped (2 updates)", captor.getValue().getTitle());
+        assertEquals("Order shipped message\nOrder confirmed message", captor.getValue().getMessage());
+    }
+
+    @Test
+    void submit_ShouldKeepDistinctKeysSeparate() {
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order shipped", "order-42"));
+        coalescer.submit(request("Order shipped", "order-43"));
+
+        coalescer.flushAll();
+
+        verify(notificationService, times(2)).createNotification(any(NotificationRequest.class));
+    }
+
+    @Test
+    void persistPending_ShouldStoreBurstAndUpdateItInPlace() {
+        // Given
+        NotificationCoalescer coalescer = newCoalescer();
+
+        // When
+        coalescer.submit(request("Order confirmed", "order-42"));
+        coalescer.persistPending();
+        coalescer.submit(request("Order shipped", "order-42"));
+        coalescer.persistPending();
+
+        // Then
+        verify(coalescedNotificationRepository).insert(argThat(held -> held.getTitle().equals("Order confirmed")),
+            eq("order-42"), eq(1), any(LocalDateTime.class));
+        verify(coalescedNotificationRepository).update(eq(1L), argThat(held -> held.getTitle().equals("Order shipped")), eq(2));
+    }
+
+    @Test
+    void persistPending_ShouldWriteEachChangedBurstOnce() {
+        // Given
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order confirmed", "order-42"));
+        coalescer.submit(request("Order packed", "order-42"));
+        coalescer.submit(request("Order shipped", "order-42"));
+        verifyNoInteractions(coalescedNotificationRepository);
+
+        // When
+        coalescer.persistPending();
+        coalescer.persistPending();
+
+        // Then
+        verify(coalescedNotificationRepository).insert(argThat(held -> held.getTitle().equals("Order shipped")),
+            eq("order-42"), eq(3), any(LocalDateTime.class));
+        verify(coalescedNotificationRepository, never()).update(anyLong(), any(NotificationRequest.class), anyInt());
+    }
+
+    @Test
+    void persistPending_ShouldRestartBurst_WhenStoredRowWasFlushedElsewhere() {
+        // Given a stored burst that the sweep of another instance has since delivered
+        properties.getCoalescing().setMode(CoalescingMode.DIGEST);
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order confirmed", "order-42"));
+        coalescer.persistPending();
+        coalescer.submit(request("Order shipped", "order-42"));
+        when(coalescedNotificationRepository.update(eq(1L), any(NotificationRequest.class), anyInt())).thenReturn(false);
+
+        // When
+        coalescer.persistPending();
+        coalescer.persistPending();
+        coalescer.flushAll();
+
+        // Then only the request after the delivered row goes out, as a burst of its own
+        verify(coalescedNotificationRepository).insert(argThat(held -> held.getTitle().equals("Order shipped")),
+            eq("order-42"), eq(1), any(LocalDateTime.class));
+        verify(coalescedNotificationRepository, never()).delete(1L);
+        verify(coalescedNotificationRepository).delete(2L);
+        ArgumentCaptor<NotificationRequest> captor = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(notificationService, times(1)).createNotification(captor.capture());
+        assertEquals("Order shipped", captor.getValue().getTitle());
+        assertEquals("Order shipped message", captor.getValue().getMessage());
+    }
+
+    @Test
+    void flushAll_ShouldDeleteHeldRow_AndSkipRowsFlushedElsewhere() {
+        // Given
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order shipped", "order-42"));
+        coalescer.submit(request("Order shipped", "order-43"));
+        coalescer.persistPending();
+        when(coalescedNotificationRepository.delete(2L)).thenReturn(false);
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        verify(coalescedNotificationRepository).delete(1L);
+        verify(coalescedNotificationRepository).delete(2L);
+        verify(notificationService, times(1)).createNotification(any(NotificationRequest.class));
+    }
+
+    @Test
+    void flushAll_ShouldKeepHeldRowForRetry_WhenCreateFails() {
+        // Given
+        NotificationCoalescer coalescer = newCoalescer();
+        coalescer.submit(request("Order shipped", "order-42"));
+        coalescer.persistPending();
+        when(notificationService.createNotification(any(NotificationRequest.class)))
+            .thenThrow(new IllegalStateException("database down"));
+
+        // When
+        coalescer.flushAll();
+
+        // Then
+        verify(coalescedNotificationRepository).recordFailure(eq(1L), eq(5), any(LocalDateTime.class));
+        assertEquals(0, coalescer.getPendingCount());
+    }
+
+    @Test
+    void sweepOverdue_ShouldFlushRowsLeftBehind() {
+        // Given
+        CoalescedNotification row = new CoalescedNotification(9L, 1L, "Order shipped", "Order shipped message",
+            NotificationType.EMAIL, "test@example.com", null, null, "order-42", 3,
+            LocalDateTime.now().minusMinutes(5), 0, false);
+        when(coalescedNotificationRepository.findOverdue(any(LocalDateTime.class), anyInt())).thenReturn(List.of(row));
+        NotificationCoalescer coalescer = newCoalescer();
+
+        // When
+        coalescer.sweepOverdue();
+
+        // Then
+        ArgumentCaptor<NotificationRequest> captor = ArgumentCaptor.forClass(NotificationRequest.class);
+        verify(coalescedNotificationRepository).delete(9L);
+        verify(notificationService).createNotification(captor.capture());
+        assertEquals("Order shipped", captor.getValue().getTitle());
+        assertEquals("test@example.com", captor.getValue().getRecipientEmail());
+        assertNull(captor.getValue().getDedupKey());
+    }
+
+    private NotificationCoalescer newCoalescer() {
+        return new NotificationCoalescer(notificationService, coalescedNotificationRepository,
+            mock(PlatformTransactionManager.class), properties);
+    }
+
+    private static NotificationRequest request(String title, String dedupKey) {
+        return new NotificationRequest(1L, title, title + " message", NotificationType.EMAIL,
+            "test@example.com", null, null, dedupKey);
+    }
+}
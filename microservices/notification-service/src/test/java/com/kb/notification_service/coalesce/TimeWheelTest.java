@@ -0,0 +1,76 @@
+package com.kb.notification_service.coalesce;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeWheelTest {
+
+    @Test
+    void advance_ShouldReleaseValuesOnlyAfterDeadline() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 8, 10, 0);
+
+        wheel.offer("a", "first", 500, (older, newer) -> newer);
+
+        assertTrue(wheel.advance(400).isEmpty());
+        assertEquals(List.of("first"), wheel.advance(500));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void offer_ShouldMergeIntoPendingValueWithoutMovingDeadline() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 8, 10, 0);
+
+        wheel.offer("a", "first", 300, (older, newer) -> older + "," + newer);
+        wheel.offer("a", "second", 900, (older, newer) -> older + "," + newer);
+
+        assertEquals(List.of("first,second"), wheel.advance(300));
+    }
+
+    @Test
+    void advance_ShouldHandleDeadlinesBeyondOneRevolution() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 4, 10, 0);
+
+        wheel.offer("far", "later", 1000, (older, newer) -> newer);
+
+        assertTrue(wheel.advance(200).isEmpty());
+        assertTrue(wheel.advance(600).isEmpty());
+        assertEquals(List.of("later"), wheel.advance(1000));
+    }
+
+    @Test
+    void offer_ShouldRejectNewKeys_WhenAtCapacity() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 8, 1, 0);
+
+        assertTrue(wheel.offer("a", "1", 300, (older, newer) -> newer));
+        assertFalse(wheel.offer("b", "2", 300, (older, newer) -> newer));
+        assertTrue(wheel.offer("a", "3", 300, (older, newer) -> newer));
+    }
+
+    @Test
+    void remove_ShouldUnscheduleOnlyTheGivenValue() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 8, 10, 0);
+        wheel.offer("a", "first", 250, (existing, newer) -> existing + "+" + newer);
+        wheel.offer("b", "other", 250, (existing, newer) -> existing + "+" + newer);
+
+        assertFalse(wheel.remove("a", "stale"));
+        assertTrue(wheel.remove("a", "first"));
+        assertFalse(wheel.remove("a", "first"));
+
+        assertEquals(List.of("other"), wheel.advance(300));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void drain_ShouldReturnEverythingPending() {
+        TimeWheel<String, String> wheel = new TimeWheel<>(100, 8, 10, 0);
+        wheel.offer("a", "1", 300, (older, newer) -> newer);
+        wheel.offer("b", "2", 5000, (older, newer) -> newer);
+
+        assertEquals(2, wheel.drain().size());
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advance(10000).isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.kb.notification_service.counter;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
+import com.kb.notification_service.repository.UnreadCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+class UnreadCounterStoreTest {
+
+    private UnreadCounterRepository unreadCounterRepository;
+    private UnreadCounterStore store;
+
+    @BeforeEach
+    void setup() {
+        unreadCounterRepository = mock(UnreadCounterRepository.class);
+        store = new UnreadCounterStore(unreadCounterRepository, mock(PlatformTransactionManager.class),
+            new NotificationProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(store);
+    }
+
+    @Test
+    void onUnreadCountChanged_ShouldApplyImmediately_WithoutTransaction() {
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, 1));
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, 1));
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, -1));
+
+        assertEquals(1, store.getUnreadCount(1L));
+        assertEquals(0, store.getUnreadCount(2L));
+        verify(unreadCounterRepository, times(3)).applyDeltas(anyMap());
+    }
+
+    @Test
+    void onUnreadCountChanged_ShouldNeverGoNegative() {
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, -1));
+
+        assertEquals(0, store.getUnreadCount(1L));
+    }
+
+    @Test
+    void onUnreadCountChanged_ShouldBatchDeltasUntilCommit_WithinTransaction() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, 1));
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, 1));
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(2L, 1));
+
+        // Then
+        assertEquals(0, store.getUnreadCount(1L));
+        verifyNoInteractions(unreadCounterRepository);
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.beforeCommit(false);
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        verify(unreadCounterRepository).applyDeltas(Map.of(1L, 2L, 2L, 1L));
+        assertEquals(2, store.getUnreadCount(1L));
+        assertEquals(1, store.getUnreadCount(2L));
+    }
+
+    @Test
+    void reconcile_ShouldReplaceCountersWithSummaryTable() {
+        // Given
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(5L, 3));
+        when(unreadCounterRepository.findAllNonZero()).thenReturn(Map.of(1L, 4L));
+
+        // When
+        store.reconcile();
+
+        // Then
+        verify(unreadCounterRepository).rebuildFromNotifications();
+        assertEquals(4, store.getUnreadCount(1L));
+        assertEquals(0, store.getUnreadCount(5L));
+    }
+
+    @Test
+    void refresh_ShouldPickUpCountsChangedByOtherReplicas() {
+        // Given
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(1L, 2));
+        store.onUnreadCountChanged(new UnreadCountChangedEvent(2L, 1));
+        when(unreadCounterRepository.findAllNonZero()).thenReturn(Map.of(1L, 5L, 3L, 1L));
+
+        // When
+        store.refresh();
+
+        // Then
+        assertEquals(5, store.getUnreadCount(1L));
+        assertEquals(0, store.getUnreadCount(2L));
+        assertEquals(1, store.getUnreadCount(3L));
+        verify(unreadCounterRepository, never()).rebuildFromNotifications();
+    }
+}
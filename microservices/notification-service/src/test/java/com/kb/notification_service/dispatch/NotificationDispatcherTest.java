@@ -0,0 +1,148 @@
+package com.kb.notification_service.dispatch;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.entity.Notification;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    private NotificationRepository notificationRepository;
+    private NotificationProperties properties;
+    private StubChannelSender emailSender;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setup() {
+        notificationRepository = mock(NotificationRepository.class);
+        properties = new NotificationProperties();
+        properties.getDispatch().setEnabled(false);
+        properties.getDispatch().setMaxAttempts(3);
+        emailSender = new StubChannelSender(NotificationType.EMAIL);
+        dispatcher = new NotificationDispatcher(notificationRepository, mock(PlatformTransactionManager.class),
+            properties, List.of(emailSender));
+    }
+
+    @Test
+    void dispatchBatch_ShouldMarkSentInBulk_WhenAllSendsSucceed() {
+        // Given
+        when(notificationRepository.claimDispatchBatch(eq("EMAIL"), any(LocalDateTime.class), anyInt()))
+            .thenReturn(Arrays.asList(notification(1L, 0), notification(2L, 0)));
+
+        // When
+        int claimed = dispatcher.dispatchBatch(NotificationType.EMAIL);
+
+        // Then
+        assertEquals(2, claimed);
+        assertEquals(List.of(1L, 2L), emailSender.sent);
+        verify(notificationRepository).leaseForDispatch(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(notificationRepository).markDispatched(eq(List.of(1L, 2L)), any(LocalDateTime.class),
+            eq(NotificationStatus.PENDING), eq(NotificationStatus.SENT));
+        verify(notificationRepository, never()).scheduleRetry(anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void dispatchBatch_ShouldScheduleRetryOrFail_WhenSendThrows() {
+        // Given
+        emailSender.failingIds.addAll(Set.of(2L, 3L));
+        when(notificationRepository.claimDispatchBatch(eq("EMAIL"), any(LocalDateTime.class), anyInt()))
+            .thenReturn(Arrays.asList(notification(1L, 0), notification(2L, 0), notification(3L, 2)));
+
+        // When
+        dispatcher.dispatchBatch(NotificationType.EMAIL);
+
+        // Then
+        verify(notificationRepository).markDispatched(eq(List.of(1L)), any(LocalDateTime.class),
+            eq(NotificationStatus.PENDING), eq(NotificationStatus.SENT));
+        verify(notificationRepository).scheduleRetry(eq(List.of(2L)), eq(1), any(LocalDateTime.class));
+        verify(notificationRepository).markDispatchFailed(eq(List.of(3L)), eq(3),
+            eq(NotificationStatus.PENDING), eq(NotificationStatus.FAILED));
+    }
+
+    @Test
+    void dispatchBatch_ShouldDoNothing_WhenNothingIsDue() {
+        // Given
+        when(notificationRepository.claimDispatchBatch(anyString(), any(LocalDateTime.class), anyInt()))
+            .thenReturn(List.of());
+
+        // When
+        int claimed = dispatcher.dispatchBatch(NotificationType.EMAIL);
+
+        // Then
+        assertEquals(0, claimed);
+        verify(notificationRepository, never()).leaseForDispatch(anyCollection(), any());
+        verify(notificationRepository, never()).markDispatched(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void dispatchBatch_ShouldLeaveNotificationsPending_WhenChannelHasNoSender() {
+        // When
+        int claimed = dispatcher.dispatchBatch(NotificationType.SMS);
+
+        // Then
+        assertEquals(0, claimed);
+        verify(notificationRepository, never()).claimDispatchBatch(anyString(), any(), anyInt());
+        verify(notificationRepository, never()).markDispatched(anyCollection(), any(), any(), any());
+    }
+
+    @Test
+    void backoffMillis_ShouldGrowExponentiallyUpToCap() {
+        properties.getDispatch().setInitialBackoffMs(1000);
+        properties.getDispatch().setBackoffMultiplier(2.0);
+        properties.getDispatch().setMaxBackoffMs(5000);
+
+        assertEquals(1000, dispatcher.backoffMillis(1));
+        assertEquals(2000, dispatcher.backoffMillis(2));
+        assertEquals(4000, dispatcher.backoffMillis(3));
+        assertEquals(5000, dispatcher.backoffMillis(4));
+    }
+
+    private static Notification notification(Long id, int attempts) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setUserId(1L);
+        notification.setType(NotificationType.EMAIL);
+        notification.setStatus(NotificationStatus.PENDING);
+        notification.setAttempts(attempts);
+        return notification;
+    }
+
+    private static class StubChannelSender implements ChannelSender {
+
+        private final NotificationType channel;
+        private final List<Long> sent = new ArrayList<>();
+        private final Set<Long> failingIds = new HashSet<>();
+
+        StubChannelSender(NotificationType channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public NotificationType channel() {
+            return channel;
+        }
+
+        @Override
+        public void send(Notification notification) {
+            if (failingIds.contains(notification.getId())) {
+                throw new IllegalStateException("Simulated delivery failure");
+            }
+            sent.add(notification.getId());
+        }
+    }
+}
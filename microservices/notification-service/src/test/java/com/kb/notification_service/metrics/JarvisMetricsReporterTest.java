@@ -0,0 +1,193 @@
+package com.kb.notification_service.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplyReceiverContext;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JarvisMetricsReporterTest {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    private MeterRegistry registry;
+    private JarvisMetricsReporter reporter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        reporter = new JarvisMetricsReporter(registry, "notification-service", "http://localhost:1", "", 5000, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    void collect_ShouldOnlyEstablishBaseline_OnFirstReport() {
+        record("/api/notifications", "SUCCESS", 3, 10);
+
+        Map<String, String> batch = parse(reporter.collect(1_000));
+
+        assertFalse(batch.containsKey("http.requests"));
+        assertTrue(batch.containsKey("jvm.heap.used"));
+        assertTrue(batch.containsKey("jvm.gc.pause"));
+    }
+
+    @Test
+    void collect_ShouldReportIntervalCountsRatesAndErrors() {
+        record("/api/notifications", "SUCCESS", 3, 10);
+        record("/api/notifications/broadcast", "SERVER_ERROR", 1, 30);
+        reporter.collect(1_000);
+
+        record("/api/notifications", "SUCCESS", 6, 10);
+        record("/api/notifications/broadcast", "SERVER_ERROR", 2, 30);
+        Map<String, String> batch = parse(reporter.collect(3_000));
+
+        assertEquals("8", batch.get("http.requests"));
+        assertEquals("2", batch.get("http.errors"));
+        assertEquals("120", batch.get("http.totalTime"));
+        assertEquals("4", batch.get("http.throughput"));
+        assertEquals("15", batch.get("http.responseTime"));
+        assertEquals("0.25", batch.get("http.errorRate"));
+    }
+
+    @Test
+    void collect_ShouldPushIntervalLatencyHistogram() throws Exception {
+        reporter.recordLatency(5_000_000);
+        reporter.collect(1_000);
+
+        for (int i = 1; i <= 100; i++) {
+            reporter.recordLatency(i * 1_000_000L);
+        }
+        Map<String, String> batch = parse(reporter.collect(2_000));
+        Map<String, String> idle = parse(reporter.collect(3_000));
+
+        Histogram latencies = histogram(batch.get("http.latency"));
+        assertEquals(100, latencies.getTotalCount());
+        assertEquals(99_000, latencies.getValueAtPercentile(99), 99);
+        assertFalse(idle.containsKey("http.latency"));
+    }
+
+    @Test
+    void onStop_ShouldRecordServerRequestObservationsOnly() throws Exception {
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(reporter);
+        reporter.collect(1_000);
+
+        Observation.createNotStarted(HTTP_SERVER_REQUESTS, JarvisMetricsReporterTest::requestContext, observations).start().stop();
+        Observation.createNotStarted("http.client.requests", JarvisMetricsReporterTest::requestContext, observations).start().stop();
+        Observation.createNotStarted(HTTP_SERVER_REQUESTS, observations).start().stop();
+        Map<String, String> batch = parse(reporter.collect(2_000));
+
+        assertEquals(1, histogram(batch.get("http.latency")).getTotalCount());
+    }
+
+    @Test
+    void collect_ShouldOmitLatencyLines_WhenNoRequestsInInterval() {
+        record("/api/notifications", "SUCCESS", 3, 10);
+        reporter.collect(1_000);
+
+        Map<String, String> batch = parse(reporter.collect(2_000));
+
+        assertEquals("0", batch.get("http.requests"));
+        assertEquals("0", batch.get("http.throughput"));
+        assertFalse(batch.containsKey("http.responseTime"));
+        assertFalse(batch.containsKey("http.errorRate"));
+    }
+
+    @Test
+    void collect_ShouldCountFromZero_WhenTimerWasReplaced() {
+        Timer timer = record("/api/notifications", "SUCCESS", 5, 10);
+        reporter.collect(1_000);
+
+        registry.remove(timer);
+        record("/api/notifications", "SUCCESS", 2, 10);
+        Map<String, String> batch = parse(reporter.collect(2_000));
+
+        assertEquals("2", batch.get("http.requests"));
+    }
+
+    @Test
+    void report_ShouldPostGzippedBatchForService() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        CompletableFuture<String> received = new CompletableFuture<>();
+        server.createContext("/api/metrics/ingest", exchange -> {
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            try (InputStream body = "gzip".equals(encoding)
+                    ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+                received.complete(exchange.getRequestHeaders().getFirst("Authorization") + "\n"
+                        + exchange.getRequestURI().getQuery() + "\n"
+                        + new String(body.readAllBytes(), StandardCharsets.US_ASCII));
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            JarvisMetricsReporter pushing = new JarvisMetricsReporter(registry, "notification-service",
+                    "http://127.0.0.1:" + server.getAddress().getPort(), "s3cret", 5000, 2000);
+
+            pushing.report();
+
+            String request = received.get(5, TimeUnit.SECONDS);
+            assertTrue(request.startsWith("Bearer s3cret\nservice=notification-service\n"));
+            assertTrue(request.contains("\njvm.heap.used "));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private Timer record(String uri, String outcome, int count, long millis) {
+        Timer timer = Timer.builder("http.server.requests")
+                .tag("uri", uri)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        for (int i = 0; i < count; i++) {
+            timer.record(Duration.ofMillis(millis));
+        }
+        return timer;
+    }
+
+    private static RequestReplyReceiverContext<Object, Object> requestContext() {
+        return new RequestReplyReceiverContext<>((carrier, key) -> null);
+    }
+
+    private static Histogram histogram(String value) throws DataFormatException {
+        assertTrue(value.startsWith("hdr:"), value);
+        return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(value.substring(4))), 0);
+    }
+
+    private static Map<String, String> parse(String batch) {
+        Map<String, String> values = new HashMap<>();
+        for (String line : batch.split("\n")) {
+            String[] fields = line.split(" ");
+            assertEquals(3, fields.length, line);
+            values.put(fields[0], fields[1]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,57 @@
+package com.kb.notification_service.push;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.exception.PushCapacityExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PushConnectionRegistryTest {
+
+    private NotificationProperties properties;
+    private PushConnectionRegistry registry;
+
+    @BeforeEach
+    void setup() {
+        properties = new NotificationProperties();
+        properties.getPush().setMaxConnections(3);
+        properties.getPush().setMaxConnectionsPerUser(2);
+        registry = new PushConnectionRegistry(properties);
+    }
+
+    @Test
+    void register_ShouldTrackConnectionsPerUser() {
+        registry.register(1L);
+        registry.register(1L);
+        registry.register(2L);
+
+        assertTrue(registry.isConnected(1L));
+        assertTrue(registry.isConnected(2L));
+        assertFalse(registry.isConnected(3L));
+        assertEquals(3, registry.getConnectionCount());
+    }
+
+    @Test
+    void register_ShouldRejectStreamsBeyondPerUserLimit() {
+        registry.register(1L);
+        registry.register(1L);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.register(1L));
+        assertEquals(2, registry.getConnectionCount());
+    }
+
+    @Test
+    void register_ShouldRejectStreamsBeyondNodeLimit() {
+        registry.register(1L);
+        registry.register(2L);
+        registry.register(3L);
+
+        assertThrows(PushCapacityExceededException.class, () -> registry.register(4L));
+    }
+
+    @Test
+    void push_ShouldIgnoreUsersWithoutStreams() {
+        assertDoesNotThrow(() -> registry.push(9L, "notification", "payload"));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kb.notification_service.retention;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.repository.NotificationRetentionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationRetentionJobTest {
+
+    private NotificationRetentionRepository retentionRepository;
+    private NotificationProperties properties;
+    private NotificationRetentionJob retentionJob;
+
+    @BeforeEach
+    void setup() {
+        retentionRepository = mock(NotificationRetentionRepository.class);
+        properties = new NotificationProperties();
+        properties.getRetention().setBatchSize(100);
+        retentionJob = new NotificationRetentionJob(retentionRepository, properties);
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteInBatchesUntilExhausted() {
+        when(retentionRepository.purgeReadBefore(any(LocalDateTime.class), eq(100))).thenReturn(100, 100, 42);
+
+        long removed = retentionJob.purgeExpired();
+
+        assertEquals(242, removed);
+        verify(retentionRepository, times(3)).purgeReadBefore(any(LocalDateTime.class), eq(100));
+        verify(retentionRepository, never()).archiveReadBefore(any(), anyInt());
+    }
+
+    @Test
+    void purgeExpired_ShouldArchive_WhenArchivingEnabled() {
+        properties.getRetention().setArchive(true);
+        when(retentionRepository.archiveReadBefore(any(LocalDateTime.class), eq(100))).thenReturn(7);
+
+        long removed = retentionJob.purgeExpired();
+
+        assertEquals(7, removed);
+        verify(retentionRepository).createArchiveTableIfMissing();
+        verify(retentionRepository, never()).purgeReadBefore(any(), anyInt());
+    }
+}
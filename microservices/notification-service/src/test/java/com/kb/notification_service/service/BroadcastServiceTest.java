@@ -0,0 +1,199 @@
+package com.kb.notification_service.service;
+
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.dto.BroadcastJobResponse;
+import com.kb.notification_service.dto.BroadcastRecipient;
+import com.kb.notification_service.dto.BroadcastRequest;
+import com.kb.notification_service.entity.BroadcastStatus;
+import com.kb.notification_service.entity.NotificationJob;
+import com.kb.notification_service.entity.NotificationStatus;
+import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.exception.BroadcastCapacityExceededException;
+import com.kb.notification_service.exception.BroadcastJobNotFoundException;
+import com.kb.notification_service.repository.NotificationBulkRepository;
+import com.kb.notification_service.repository.NotificationJobRepository;
+import com.kb.notification_service.repository.NotificationRepository;
+import com.kb.notification_service.service.impl.BroadcastServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BroadcastServiceTest {
+
+    private NotificationJobRepository jobRepository;
+    private NotificationRepository notificationRepository;
+    private NotificationBulkRepository bulkRepository;
+    private BroadcastServiceImpl broadcastService;
+
+    @BeforeEach
+    void setup() {
+        jobRepository = mock(NotificationJobRepository.class);
+        notificationRepository = mock(NotificationRepository.class);
+        bulkRepository = mock(NotificationBulkRepository.class);
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBroadcast().setBatchSize(2);
+        properties.getBroadcast().setMaxRecipients(10);
+        broadcastService = new BroadcastServiceImpl(jobRepository, notificationRepository, bulkRepository,
+            mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class), properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        broadcastService.shutdown();
+    }
+
+    @Test
+    void startBroadcast_ShouldStageRecipientsThenInsertThemInBatches() {
+        // Given
+        BroadcastRequest request = new BroadcastRequest("Sale", "50% off", NotificationType.EMAIL, null, recipients(5));
+        NotificationJob job = savedJob(7L, 5);
+        when(bulkRepository.lockInsertedCount(7L)).thenReturn(0, 2, 4, 5);
+        when(bulkRepository.insertStaged(any(NotificationJob.class), anyInt(), anyInt())).thenReturn(List.of(1L, 2L));
+
+        // When
+        BroadcastJobResponse response = broadcastService.startBroadcast(request);
+
+        // Then
+        assertEquals(7L, response.getId());
+        assertEquals(5, response.getTotalRecipients());
+        verify(bulkRepository).stageRecipients(eq(7L), eq(0), argThat(batch -> batch.size() == 2));
+        verify(bulkRepository).stageRecipients(eq(7L), eq(2), argThat(batch -> batch.size() == 2));
+        verify(bulkRepository).stageRecipients(eq(7L), eq(4), argThat(batch -> batch.size() == 1));
+        verify(jobRepository, timeout(2000)).updateStatus(eq(7L), eq(BroadcastStatus.COMPLETED), isNull(), any());
+        verify(bulkRepository).insertStaged(job, 0, 2);
+        verify(bulkRepository).insertStaged(job, 2, 4);
+        verify(bulkRepository).insertStaged(job, 4, 5);
+        verify(jobRepository, times(2)).incrementInsertedCount(7L, 2);
+        verify(jobRepository).incrementInsertedCount(7L, 1);
+        verify(bulkRepository).deleteStaged(7L);
+    }
+
+    @Test
+    void startBroadcast_ShouldRefuseWithoutPersisting_WhenQueueIsFull() throws InterruptedException {
+        // Given one worker busy on a job and a queue of one already holding another
+        broadcastService.shutdown();
+        NotificationProperties properties = new NotificationProperties();
+        properties.getBroadcast().setWorkers(1);
+        properties.getBroadcast().setQueueCapacity(1);
+        broadcastService = new BroadcastServiceImpl(jobRepository, notificationRepository, bulkRepository,
+            mock(PlatformTransactionManager.class), mock(ApplicationEventPublisher.class), properties);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        savedJob(7L, 1);
+        when(jobRepository.findById(7L)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        BroadcastRequest request = new BroadcastRequest("Sale", "50% off", NotificationType.EMAIL, null, recipients(1));
+        broadcastService.startBroadcast(request);
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        broadcastService.startBroadcast(request);
+
+        // When / Then
+        assertThrows(BroadcastCapacityExceededException.class, () -> broadcastService.startBroadcast(request));
+        verify(jobRepository, times(2)).save(any(NotificationJob.class));
+        release.countDown();
+    }
+
+    @Test
+    void resumeUnfinishedJobs_ShouldContinueFromInsertedCount() {
+        // Given a job that had inserted 3 of 5 recipients before a restart
+        NotificationJob job = new NotificationJob();
+        job.setId(9L);
+        job.setType(NotificationType.EMAIL);
+        job.setStatus(BroadcastStatus.INSERTING);
+        job.setTotalRecipients(5);
+        job.setInsertedCount(3);
+        when(jobRepository.findByStatusInOrderByIdAsc(anyCollection())).thenReturn(List.of(job));
+        when(jobRepository.findById(9L)).thenReturn(Optional.of(job));
+        when(bulkRepository.lockInsertedCount(9L)).thenReturn(3, 5);
+        when(bulkRepository.insertStaged(any(NotificationJob.class), anyInt(), anyInt())).thenReturn(List.of(4L, 5L));
+
+        // When
+        broadcastService.resumeUnfinishedJobs();
+
+        // Then
+        verify(jobRepository, timeout(2000)).updateStatus(eq(9L), eq(BroadcastStatus.COMPLETED), isNull(), any());
+        verify(bulkRepository).insertStaged(job, 3, 5);
+        verify(bulkRepository, never()).insertStaged(job, 0, 2);
+        verify(bulkRepository, never()).stageRecipients(anyLong(), anyInt(), anyList());
+    }
+
+    @Test
+    void startBroadcast_ShouldReject_WhenTooManyRecipients() {
+        BroadcastRequest request = new BroadcastRequest("Sale", "50% off", NotificationType.EMAIL, null, recipients(11));
+
+        assertThrows(IllegalArgumentException.class, () -> broadcastService.startBroadcast(request));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void getBroadcastJob_ShouldReportDeliveryCounts() {
+        // Given
+        NotificationJob job = new NotificationJob();
+        job.setId(7L);
+        job.setStatus(BroadcastStatus.COMPLETED);
+        job.setTotalRecipients(5);
+        job.setInsertedCount(5);
+        when(jobRepository.findById(7L)).thenReturn(Optional.of(job));
+        List<Object[]> counts = new ArrayList<>();
+        counts.add(new Object[]{NotificationStatus.SENT, 3L});
+        counts.add(new Object[]{NotificationStatus.PENDING, 2L});
+        when(notificationRepository.countByJobIdGroupByStatus(7L)).thenReturn(counts);
+
+        // When
+        BroadcastJobResponse response = broadcastService.getBroadcastJob(7L);
+
+        // Then
+        assertEquals(3L, response.getDeliveryCounts().get(NotificationStatus.SENT));
+        assertEquals(2L, response.getDeliveryCounts().get(NotificationStatus.PENDING));
+    }
+
+    @Test
+    void getBroadcastJob_ShouldThrowException_WhenJobNotFound() {
+        when(jobRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(BroadcastJobNotFoundException.class, () -> broadcastService.getBroadcastJob(99L));
+    }
+
+    private NotificationJob savedJob(Long id, int totalRecipients) {
+        NotificationJob job = new NotificationJob();
+        when(jobRepository.save(any(NotificationJob.class))).thenAnswer(invocation -> {
+            NotificationJob saved = invocation.getArgument(0);
+            saved.setId(id);
+            saved.setStatus(BroadcastStatus.QUEUED);
+            saved.setInsertedCount(0);
+            job.setId(id);
+            job.setTitle(saved.getTitle());
+            job.setMessage(saved.getMessage());
+            job.setType(saved.getType());
+            job.setTotalRecipients(saved.getTotalRecipients());
+            return saved;
+        });
+        job.setId(id);
+        job.setTotalRecipients(totalRecipients);
+        when(jobRepository.findById(id)).thenAnswer(invocation -> Optional.of(job));
+        return job;
+    }
+
+    private static List<BroadcastRecipient> recipients(int count) {
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> new BroadcastRecipient((long) i, "user" + i + "@example.com", null))
+            .collect(Collectors.toList());
+    }
+}
@@ -1,16 +1,24 @@
 package com.kb.notification_service.service;
 
+import com.kb.notification_service.coalesce.NotificationCoalescer;
+import com.kb.notification_service.config.NotificationProperties;
+import com.kb.notification_service.counter.UnreadCounterStore;
+import com.kb.notification_service.dto.NotificationPageResponse;
 import com.kb.notification_service.dto.NotificationRequest;
 import com.kb.notification_service.dto.NotificationResponse;
 import com.kb.notification_service.entity.Notification;
 import com.kb.notification_service.entity.NotificationStatus;
 import com.kb.notification_service.entity.NotificationType;
+import com.kb.notification_service.event.UnreadCountChangedEvent;
 import com.kb.notification_service.exception.NotificationNotFoundException;
 import com.kb.notification_service.repository.NotificationRepository;
 import com.kb.notification_service.service.impl.NotificationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -19,19 +27,27 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class NotificationServiceTest {
 
     private NotificationRepository notificationRepository;
     private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
+    private UnreadCounterStore unreadCounterStore;
+    private NotificationCoalescer notificationCoalescer;
     private NotificationService notificationService;
 
     @BeforeEach
     void setup() {
         notificationRepository = mock(NotificationRepository.class);
         modelMapper = new ModelMapper();
-        notificationService = new NotificationServiceImpl(notificationRepository, modelMapper);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        unreadCounterStore = mock(UnreadCounterStore.class);
+        notificationCoalescer = mock(NotificationCoalescer.class);
+        notificationService = new NotificationServiceImpl(notificationRepository, modelMapper, eventPublisher,
+            unreadCounterStore, new NotificationProperties(), notificationCoalescer);
     }
 
     @Test
@@ -39,7 +55,7 @@ class NotificationServiceTest {
         // Given
         NotificationRequest request = new NotificationRequest(
             1L, "Test Title", "Test Message", NotificationType.EMAIL, 
-            "test@example.com", null, null
+            "test@example.com", null, null, null
         );
         
         Notification savedNotification = new Notification();
@@ -60,6 +76,24 @@ class NotificationServiceTest {
         verify(notificationRepository).save(any(Notification.class));
     }
 
+    @Test
+    void sendNotification_ShouldNotPersist_WhenCoalesced() {
+        // Given
+        NotificationRequest request = new NotificationRequest(
+            1L, "Order shipped", "Your order is on its way", NotificationType.EMAIL,
+            "test@example.com", null, null, "order-42"
+        );
+        when(notificationCoalescer.submit(request)).thenReturn(true);
+
+        // When
+        NotificationResponse response = notificationService.sendNotification(request);
+
+        // Then
+        assertEquals(NotificationStatus.PENDING, response.getStatus());
+        assertNull(response.getId());
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
     @Test
     void getNotificationById_ShouldReturnNotification_WhenNotificationExists() {
         // Given
@@ -143,18 +177,114 @@ class NotificationServiceTest {
         assertEquals(NotificationStatus.READ, response.getStatus());
     }
 
+    @Test
+    void markAsRead_ShouldPublishUnreadCountDecrement() {
+        // Given
+        Long notificationId = 1L;
+        Notification existingNotification = new Notification();
+        existingNotification.setId(notificationId);
+        existingNotification.setUserId(42L);
+        existingNotification.setStatus(NotificationStatus.SENT);
+        
+        when(notificationRepository.findById(notificationId)).thenReturn(Optional.of(existingNotification));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        notificationService.markAsRead(notificationId);
+
+        // Then
+        verify(eventPublisher).publishEvent(new UnreadCountChangedEvent(42L, -1));
+    }
+
     @Test
     void getUnreadCountByUserId_ShouldReturnCorrectCount() {
         // Given
         Long userId = 1L;
         long expectedCount = 5L;
-        when(notificationRepository.countByUserIdAndStatus(userId, NotificationStatus.PENDING)).thenReturn(expectedCount);
+        when(unreadCounterStore.getUnreadCount(userId)).thenReturn(expectedCount);
 
         // When
         long actualCount = notificationService.getUnreadCountByUserId(userId);
 
         // Then
         assertEquals(expectedCount, actualCount);
-        verify(notificationRepository).countByUserIdAndStatus(userId, NotificationStatus.PENDING);
+        verifyNoInteractions(notificationRepository);
+    }
+
+    @Test
+    void scrollNotificationsByUserId_ShouldReturnCursor_WhenMoreRowsExist() {
+        // Given
+        Long userId = 1L;
+        List<Notification> rows = Arrays.asList(notificationWithId(30L), notificationWithId(20L), notificationWithId(10L));
+        when(notificationRepository.findByUserIdAndIdLessThanOrderByIdDesc(eq(userId), eq(Long.MAX_VALUE), any(Pageable.class)))
+            .thenReturn(rows);
+
+        // When
+        NotificationPageResponse page = notificationService.scrollNotificationsByUserId(userId, null, 2);
+
+        // Then
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(20L, page.getNextCursor());
+        verify(notificationRepository).findByUserIdAndIdLessThanOrderByIdDesc(userId, Long.MAX_VALUE,
+            PageRequest.of(0, 3));
+    }
+
+    @Test
+    void scrollNotificationsByStatus_ShouldEndListing_WhenLastPage() {
+        // Given
+        when(notificationRepository.findByStatusAndIdLessThanOrderByIdDesc(eq(NotificationStatus.SENT), eq(20L), any(Pageable.class)))
+            .thenReturn(List.of(notificationWithId(10L)));
+
+        // When
+        NotificationPageResponse page = notificationService.scrollNotificationsByStatus(NotificationStatus.SENT, 20L, 2);
+
+        // Then
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void scrollNotificationsByDateRange_ShouldResumeBelowCursorRow_InCreatedAtOrder() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime cursorCreatedAt = LocalDateTime.of(2024, 1, 20, 8, 30);
+        Notification cursorRow = notificationWithId(30L);
+        cursorRow.setCreatedAt(cursorCreatedAt);
+        when(notificationRepository.findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(eq(start), eq(end), any(Pageable.class)))
+            .thenReturn(Arrays.asList(notificationWithId(12L), cursorRow, notificationWithId(7L)));
+        when(notificationRepository.findByCreatedAtBetweenBefore(start, end, cursorCreatedAt, 30L, 3))
+            .thenReturn(List.of(notificationWithId(7L)));
+
+        // When
+        NotificationPageResponse first = notificationService.scrollNotificationsByDateRange(start, end, null, null, 2);
+        NotificationPageResponse second = notificationService.scrollNotificationsByDateRange(
+            start, end, first.getNextCreatedAt(), first.getNextCursor(), 2);
+
+        // Then
+        assertEquals(30L, first.getNextCursor());
+        assertEquals(cursorCreatedAt, first.getNextCreatedAt());
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        verify(notificationRepository).findByCreatedAtBetweenOrderByCreatedAtDescIdDesc(start, end, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void scrollNotificationsByDateRange_ShouldReject_WhenCursorIsIncomplete() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> notificationService.scrollNotificationsByDateRange(start, end, null, 30L, 2));
+        verifyNoInteractions(notificationRepository);
+    }
+
+    private static Notification notificationWithId(Long id) {
+        Notification notification = new Notification();
+        notification.setId(id);
+        notification.setStatus(NotificationStatus.SENT);
+        return notification;
     }
-} 
\ No newline at end of file
+}
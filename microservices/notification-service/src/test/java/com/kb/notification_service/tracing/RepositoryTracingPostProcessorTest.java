@@ -0,0 +1,142 @@
+package com.kb.notification_service.tracing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RepositoryTracingPostProcessorTest {
+
+    @Mock
+    private ObjectProvider<SpanReporter> spanReporterProvider;
+
+    @Mock
+    private SpanReporter spanReporter;
+
+    private RepositoryTracingPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        postProcessor = new RepositoryTracingPostProcessor(spanReporterProvider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TraceContext.setCurrent(null);
+    }
+
+    @Test
+    void postProcess_ShouldLeaveOtherBeansUntouched() {
+        Object bean = new Object();
+
+        assertSame(bean, postProcessor.postProcessAfterInitialization(bean, "plain"));
+    }
+
+    @Test
+    void proxy_ShouldPassCallsThrough_WhenNoSampledRequest() {
+        CountingRepository repository = proxy(new CountingRepository());
+
+        assertEquals(2, repository.countFor(1L));
+        TraceContext.setCurrent(TraceContext.fromHeader(null, 0.0));
+        assertEquals(2, repository.countFor(1L));
+
+        verifyNoInteractions(spanReporterProvider);
+    }
+
+    @Test
+    void proxy_ShouldReportChildSpanAndRestoreContext_WhenRequestIsSampled() {
+        when(spanReporterProvider.getObject()).thenReturn(spanReporter);
+        CountingRepository repository = proxy(new CountingRepository());
+        TraceContext request = TraceContext.fromHeader(null, 1.0);
+        TraceContext.setCurrent(request);
+
+        long count = repository.countFor(21L);
+
+        assertEquals(42, count);
+        assertSame(request, TraceContext.current());
+        verify(spanReporter).report(argThat(span -> span.getTraceId().equals(request.getTraceId())
+                        && span.getParentId().equals(request.getSpanId())),
+                eq("CountingRepository.countFor"), eq("CLIENT"), anyLong(), anyLong(), eq(false));
+    }
+
+    @Test
+    void proxy_ShouldMakeRepositoryCallsSeeTheirOwnSpan() {
+        when(spanReporterProvider.getObject()).thenReturn(spanReporter);
+        CountingRepository repository = proxy(new CountingRepository());
+        TraceContext request = TraceContext.fromHeader(null, 1.0);
+        TraceContext.setCurrent(request);
+
+        TraceContext seen = repository.currentContext();
+
+        assertEquals(request.getTraceId(), seen.getTraceId());
+        assertEquals(request.getSpanId(), seen.getParentId());
+    }
+
+    @Test
+    void proxy_ShouldRethrowSameExceptionAndReportError() {
+        when(spanReporterProvider.getObject()).thenReturn(spanReporter);
+        CountingRepository repository = proxy(new CountingRepository());
+        TraceContext request = TraceContext.fromHeader(null, 1.0);
+        TraceContext.setCurrent(request);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, repository::fail);
+
+        assertEquals("no rows", thrown.getMessage());
+        assertSame(request, TraceContext.current());
+        verify(spanReporter).report(any(), eq("CountingRepository.fail"), eq("CLIENT"), anyLong(), anyLong(), eq(true));
+    }
+
+    @Test
+    void postProcess_ShouldAdviseExistingSpringDataProxy_NamedAfterApplicationInterface() {
+        when(spanReporterProvider.getObject()).thenReturn(spanReporter);
+        ProxyFactory factory = new ProxyFactory();
+        factory.setInterfaces(LookupRepository.class);
+        factory.setTarget((LookupRepository) id -> "user-" + id);
+        Object springDataProxy = factory.getProxy();
+
+        LookupRepository repository = (LookupRepository) postProcessor.postProcessAfterInitialization(springDataProxy, "lookup");
+        TraceContext.setCurrent(TraceContext.fromHeader(null, 1.0));
+
+        assertSame(springDataProxy, repository);
+        assertEquals("user-7", repository.nameOf(7L));
+        verify(spanReporter).report(any(), eq("LookupRepository.nameOf"), eq("CLIENT"), anyLong(), anyLong(), eq(false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(T bean) {
+        Object processed = postProcessor.postProcessAfterInitialization(bean, "repository");
+        assertNotSame(bean, processed);
+        return (T) processed;
+    }
+
+    @Repository
+    static class CountingRepository {
+
+        long countFor(Long userId) {
+            return userId * 2;
+        }
+
+        TraceContext currentContext() {
+            return TraceContext.current();
+        }
+
+        void fail() {
+            throw new IllegalStateException("no rows");
+        }
+    }
+
+    interface LookupRepository extends org.springframework.data.repository.Repository<Object, Long> {
+
+        String nameOf(Long id);
+    }
+}
@@ -0,0 +1,137 @@
+package com.kb.notification_service.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanReporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<JsonNode> batches = new LinkedBlockingQueue<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private HttpServer server;
+    private SpanReporter reporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/traces/spans", exchange -> {
+            try (InputStream body = new GZIPInputStream(exchange.getRequestBody())) {
+                JsonNode batch = objectMapper.readTree(body);
+                if (!"Bearer s3cret".equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                    exchange.sendResponseHeaders(401, -1);
+                } else if (failuresLeft.getAndDecrement() > 0) {
+                    exchange.sendResponseHeaders(500, -1);
+                } else {
+                    batches.add(batch);
+                    exchange.sendResponseHeaders(202, -1);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (reporter != null) {
+            reporter.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void report_ShouldSendSpansInBatchesOfAtMostBatchSize() throws Exception {
+        reporter = reporter(100, 3, 200);
+        TraceContext context = TraceContext.fromHeader(null, 1.0);
+        for (int i = 0; i < 7; i++) {
+            reporter.report(context, "span-" + i, "SERVER", 1_000 + i, 10, false);
+        }
+
+        reporter.start();
+
+        List<String> names = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        while (names.size() < 7) {
+            JsonNode batch = batches.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch, "received only " + names);
+            sizes.add(batch.size());
+            batch.forEach(span -> names.add(span.get("name").asText()));
+        }
+        assertEquals(List.of(3, 3, 1), sizes);
+        assertEquals(List.of("span-0", "span-1", "span-2", "span-3", "span-4", "span-5", "span-6"), names);
+    }
+
+    @Test
+    void report_ShouldSendSpanFieldsOfContextAndService() throws Exception {
+        reporter = reporter(100, 10, 100);
+        TraceContext context = TraceContext.fromHeader(null, 1.0).child();
+        reporter.start();
+
+        reporter.report(context, "GET /api/notifications", "SERVER", 1_700_000_000_000_000L, 1_500, true);
+
+        JsonNode span = batches.poll(5, TimeUnit.SECONDS).get(0);
+        assertEquals(context.getTraceId(), span.get("traceId").asText());
+        assertEquals(context.getSpanId(), span.get("spanId").asText());
+        assertEquals(context.getParentId(), span.get("parentId").asText());
+        assertEquals("notification-service", span.get("service").asText());
+        assertEquals("SERVER", span.get("kind").asText());
+        assertEquals(1_700_000_000_000_000L, span.get("startMicros").asLong());
+        assertEquals(1_500, span.get("durationMicros").asLong());
+        assertTrue(span.get("error").asBoolean());
+    }
+
+    @Test
+    void report_ShouldDropSpans_WhenQueueIsFull() throws Exception {
+        reporter = reporter(2, 10, 100);
+        TraceContext context = TraceContext.fromHeader(null, 1.0);
+        for (int i = 0; i < 5; i++) {
+            reporter.report(context, "span-" + i, "SERVER", i, 10, false);
+        }
+
+        reporter.start();
+
+        JsonNode batch = batches.poll(5, TimeUnit.SECONDS);
+        assertEquals(2, batch.size());
+        assertEquals("span-0", batch.get(0).get("name").asText());
+        assertEquals("span-1", batch.get(1).get("name").asText());
+        assertNull(batches.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void report_ShouldKeepReporting_WhenBatchIsRejected() throws Exception {
+        reporter = reporter(100, 10, 100);
+        failuresLeft.set(1);
+        TraceContext context = TraceContext.fromHeader(null, 1.0);
+        reporter.start();
+
+        reporter.report(context, "lost", "SERVER", 1, 10, false);
+        Thread.sleep(500);
+        reporter.report(context, "delivered", "SERVER", 2, 10, false);
+
+        JsonNode batch = batches.poll(5, TimeUnit.SECONDS);
+        assertEquals(1, batch.size());
+        assertEquals("delivered", batch.get(0).get("name").asText());
+    }
+
+    private SpanReporter reporter(int queueCapacity, int batchSize, long flushIntervalMs) {
+        return new SpanReporter(objectMapper, "notification-service",
+                "http://127.0.0.1:" + server.getAddress().getPort(), "s3cret", queueCapacity, batchSize, flushIntervalMs, 2000);
+    }
+}
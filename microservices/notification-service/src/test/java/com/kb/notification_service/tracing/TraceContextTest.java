@@ -0,0 +1,94 @@
+package com.kb.notification_service.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceContextTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    @Test
+    void fromHeader_ShouldContinueCallersTrace_WhenHeaderIsValid() {
+        TraceContext context = TraceContext.fromHeader("00-" + TRACE_ID + "-" + PARENT_ID + "-01", 0.0);
+
+        assertEquals(TRACE_ID, context.getTraceId());
+        assertEquals(PARENT_ID, context.getParentId());
+        assertTrue(context.isSampled());
+        assertNotEquals(PARENT_ID, context.getSpanId());
+        assertTrue(context.getSpanId().matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    void fromHeader_ShouldKeepCallersSamplingDecision_WhenFlagIsClear() {
+        TraceContext context = TraceContext.fromHeader("00-" + TRACE_ID + "-" + PARENT_ID + "-00", 1.0);
+
+        assertEquals(TRACE_ID, context.getTraceId());
+        assertFalse(context.isSampled());
+    }
+
+    @Test
+    void fromHeader_ShouldAcceptLaterVersionWithExtraFields() {
+        TraceContext context = TraceContext.fromHeader("01-" + TRACE_ID + "-" + PARENT_ID + "-01-extra", 0.0);
+
+        assertEquals(TRACE_ID, context.getTraceId());
+        assertEquals(PARENT_ID, context.getParentId());
+    }
+
+    @Test
+    void fromHeader_ShouldStartNewTrace_WhenHeaderIsMalformed() {
+        String[] malformed = {
+            null,
+            "",
+            "00-" + TRACE_ID + "-" + PARENT_ID,
+            "00-" + TRACE_ID.toUpperCase() + "-" + PARENT_ID + "-01",
+            "00-00000000000000000000000000000000-" + PARENT_ID + "-01",
+            "00-" + TRACE_ID + "-0000000000000000-01",
+            "ff-" + TRACE_ID + "-" + PARENT_ID + "-01",
+            "00_" + TRACE_ID + "-" + PARENT_ID + "-01",
+            "00-" + TRACE_ID + "-" + PARENT_ID + "-01x"
+        };
+
+        for (String header : malformed) {
+            TraceContext context = TraceContext.fromHeader(header, 0.0);
+
+            assertNotEquals(TRACE_ID, context.getTraceId(), String.valueOf(header));
+            assertNull(context.getParentId(), String.valueOf(header));
+            assertFalse(context.isSampled(), String.valueOf(header));
+        }
+    }
+
+    @Test
+    void toHeader_ShouldFormatVersionTraceSpanAndFlags() {
+        TraceContext sampled = TraceContext.fromHeader(null, 1.0);
+        TraceContext unsampled = TraceContext.fromHeader(null, 0.0);
+
+        assertTrue(sampled.toHeader().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-01"));
+        assertTrue(unsampled.toHeader().matches("00-[0-9a-f]{32}-[0-9a-f]{16}-00"));
+        assertEquals("00-" + sampled.getTraceId() + "-" + sampled.getSpanId() + "-01", sampled.toHeader());
+    }
+
+    @Test
+    void toHeader_ShouldRoundTripThroughDownstreamService() {
+        TraceContext upstream = TraceContext.fromHeader(null, 1.0);
+
+        TraceContext downstream = TraceContext.fromHeader(upstream.toHeader(), 0.0);
+
+        assertEquals(upstream.getTraceId(), downstream.getTraceId());
+        assertEquals(upstream.getSpanId(), downstream.getParentId());
+        assertTrue(downstream.isSampled());
+    }
+
+    @Test
+    void child_ShouldStayInTraceWithThisSpanAsParent() {
+        TraceContext parent = TraceContext.fromHeader("00-" + TRACE_ID + "-" + PARENT_ID + "-01", 0.0);
+
+        TraceContext child = parent.child();
+
+        assertEquals(TRACE_ID, child.getTraceId());
+        assertEquals(parent.getSpanId(), child.getParentId());
+        assertNotEquals(parent.getSpanId(), child.getSpanId());
+        assertTrue(child.isSampled());
+    }
+}
@@ -0,0 +1,258 @@
+package com.kb.order_service.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.transport.RequestReplyReceiverContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pushes this service's request and JVM statistics to Jarvis every few seconds, so Jarvis does
+ * not have to poll the actuator.
+ *
+ * Each report is one gzipped line-protocol batch ({@code name value timestampMs}) built from the
+ * Micrometer registry: request, error and total-time counts for the interval, the derived rate,
+ * mean and error rate, and heap, CPU, thread and GC figures. A report is dropped rather than queued
+ * when the previous push is still in flight or Jarvis is unreachable. Pushes carry the shared ingest
+ * token Jarvis requires as a bearer token.
+ *
+ * Request latencies are observed as an {@link ObservationHandler} into an HdrHistogram recorder and
+ * pushed as the interval's compressed histogram ({@code http.latency hdr:<base64>}), which Jarvis
+ * merges across instances and services; percentiles of separate routes or instances cannot be
+ * combined into correct percentiles of the whole.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jarvis.metrics", name = "enabled", havingValue = "true")
+@Slf4j
+public class JarvisMetricsReporter implements ObservationHandler<Observation.Context> {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+    private static final String START_NANOS = JarvisMetricsReporter.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+    private final URI ingestUri;
+    private final String token;
+    private final long intervalMs;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private final Map<Meter.Id, Long> previousCounts = new HashMap<>();
+    // Microseconds, auto-resizing so the slowest requests are never clipped
+    private final Recorder latencies = new Recorder(3);
+    private Histogram intervalLatencies;
+    private ScheduledExecutorService scheduler;
+    private double previousTotalMs;
+    private double previousGcMs;
+    private long previousReportMs;
+
+    public JarvisMetricsReporter(MeterRegistry registry,
+                                 @Value("${spring.application.name}") String service,
+                                 @Value("${jarvis.metrics.url:http://localhost:8085}") String url,
+                                 @Value("${jarvis.metrics.token:}") String token,
+                                 @Value("${jarvis.metrics.interval-ms:5000}") long intervalMs,
+                                 @Value("${jarvis.metrics.timeout-ms:2000}") long timeoutMs) {
+        this.registry = registry;
+        this.ingestUri = URI.create(url + "/api/metrics/ingest?service=" + service);
+        this.token = token;
+        this.intervalMs = intervalMs;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jarvis-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::report, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Pushing metrics to {} every {} ms", ingestUri, intervalMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        // The name may not be set yet when handlers are picked, so it is checked on stop
+        return context instanceof RequestReplyReceiverContext<?, ?>;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        context.put(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long start = context.get(START_NANOS);
+        if (start != null && HTTP_SERVER_REQUESTS.equals(context.getName())) {
+            recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    void recordLatency(long nanos) {
+        latencies.recordValue(Math.max(1, nanos / 1000));
+    }
+
+    void report() {
+        try {
+            String batch = collect(System.currentTimeMillis());
+            if (!batch.isEmpty() && inFlight.compareAndSet(false, true)) {
+                send(gzip(batch));
+            }
+        } catch (RuntimeException | IOException e) {
+            log.debug("Could not report metrics: {}", e.getMessage());
+        }
+    }
+
+    String collect(long now) {
+        StringBuilder batch = new StringBuilder(1024);
+        long requests = 0;
+        long errors = 0;
+        double totalMs = 0;
+        for (Timer timer : registry.find(HTTP_SERVER_REQUESTS).timers()) {
+            long count = timer.count();
+            Long previous = previousCounts.put(timer.getId(), count);
+            long interval = previous != null && previous <= count ? count - previous : count;
+            requests += interval;
+            totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            if ("SERVER_ERROR".equals(timer.getId().getTag("outcome"))) {
+                errors += interval;
+            }
+        }
+        double intervalTotalMs = totalMs >= previousTotalMs ? totalMs - previousTotalMs : totalMs;
+        previousTotalMs = totalMs;
+        intervalLatencies = latencies.getIntervalHistogram(intervalLatencies);
+
+        // The first report only establishes the baseline for the interval counts
+        if (previousReportMs > 0 && now > previousReportMs) {
+            line(batch, "http.requests", requests, now);
+            line(batch, "http.errors", errors, now);
+            line(batch, "http.totalTime", intervalTotalMs, now);
+            line(batch, "http.throughput", requests * 1000.0 / (now - previousReportMs), now);
+            if (requests > 0) {
+                line(batch, "http.responseTime", intervalTotalMs / requests, now);
+                line(batch, "http.errorRate", (double) errors / requests, now);
+            }
+            if (intervalLatencies.getTotalCount() > 0) {
+                batch.append("http.latency hdr:").append(encode(intervalLatencies)).append(' ').append(now).append('\n');
+            }
+        }
+        previousReportMs = now;
+
+        double heapUsed = sumGauges("jvm.memory.used", "heap");
+        double heapMax = sumGauges("jvm.memory.max", "heap");
+        line(batch, "jvm.heap.used", heapUsed, now);
+        if (heapMax > 0) {
+            line(batch, "jvm.heap.usage", 100 * heapUsed / heapMax, now);
+        }
+        gauge(batch, "process.cpu.usage", 100, now);
+        gauge(batch, "system.cpu.usage", 100, now);
+        gauge(batch, "jvm.threads.live", 1, now);
+
+        double gcMs = 0;
+        for (Timer timer : registry.find("jvm.gc.pause").timers()) {
+            gcMs += timer.totalTime(TimeUnit.MILLISECONDS);
+        }
+        line(batch, "jvm.gc.pause", gcMs >= previousGcMs ? gcMs - previousGcMs : gcMs, now);
+        previousGcMs = gcMs;
+        return batch.toString();
+    }
+
+    private void send(byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(ingestUri)
+                .timeout(timeout)
+                .header("Content-Type", "text/plain")
+                .header("Content-Encoding", "gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (!token.isEmpty()) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.set(false);
+                    if (error != null) {
+                        log.debug("Metrics push to {} failed: {}", ingestUri, error.getMessage());
+                    } else if (response.statusCode() >= 300) {
+                        log.debug("Metrics push to {} rejected with status {}", ingestUri, response.statusCode());
+                    }
+                });
+    }
+
+    private double sumGauges(String name, String area) {
+        double sum = 0;
+        for (Gauge gauge : registry.find(name).tag("area", area).gauges()) {
+            double value = gauge.value();
+            if (value > 0) {
+                sum += value;
+            }
+        }
+        return sum;
+    }
+
+    private void gauge(StringBuilder batch, String name, double scale, long now) {
+        Gauge gauge = registry.find(name).gauge();
+        if (gauge != null && gauge.value() >= 0) {
+            line(batch, name, gauge.value() * scale, now);
+        }
+    }
+
+    private static void line(StringBuilder batch, String name, double value, long now) {
+        batch.append(name).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            batch.append((long) value);
+        } else {
+            batch.append(value);
+        }
+        batch.append(' ').append(now).append('\n');
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static byte[] gzip(String batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(batch.length() / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(batch.getBytes(StandardCharsets.US_ASCII));
+        }
+        return bytes.toByteArray();
+    }
+}
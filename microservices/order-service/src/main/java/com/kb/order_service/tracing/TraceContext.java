@@ -0,0 +1,142 @@
+package com.kb.order_service.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The W3C trace context of the current request: a 128-bit trace id, the id of the span this
+ * service opened for it, and whether the trace is sampled.
+ *
+ * Contexts are read from and written to the {@code traceparent} header
+ * ({@code 00-<32 hex trace id>-<16 hex parent id>-<2 hex flags>}). The context of the request
+ * being served is kept in a thread local so repository spans can find their parent.
+ */
+public final class TraceContext {
+
+    public static final String HEADER = "traceparent";
+
+    private static final int SAMPLED_FLAG = 0x01;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<TraceContext> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentId;
+    private final boolean sampled;
+
+    private TraceContext(String traceId, String spanId, String parentId, boolean sampled) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentId = parentId;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Context for a request that arrived with {@code header}: a new span continuing the caller's
+     * trace and sampling decision, or a new trace sampled with probability {@code sampleRate} when
+     * the header is absent or malformed
+     */
+    public static TraceContext fromHeader(String header, double sampleRate) {
+        if (header != null && isValid(header)) {
+            boolean sampled = (Character.digit(header.charAt(54), 16) & SAMPLED_FLAG) != 0;
+            return new TraceContext(header.substring(3, 35), newSpanId(), header.substring(36, 52), sampled);
+        }
+        boolean sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        return new TraceContext(hex(nonZeroRandom(), nonZeroRandom()), newSpanId(), null, sampled);
+    }
+
+    /**
+     * A child span of this one in the same trace
+     */
+    public TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), spanId, sampled);
+    }
+
+    /**
+     * The header value that makes this span the parent of a downstream request
+     */
+    public String toHeader() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(TraceContext context) {
+        if (context == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(context);
+        }
+    }
+
+    private static boolean isValid(String header) {
+        // Later versions may append fields; only the version-00 prefix is read
+        if (header.length() < 55 || (header.length() > 55 && header.charAt(55) != '-')) {
+            return false;
+        }
+        if (header.charAt(2) != '-' || header.charAt(35) != '-' || header.charAt(52) != '-'
+                || header.startsWith("ff")) {
+            return false;
+        }
+        return isHex(header, 0, 2) && isHex(header, 53, 55)
+                && isNonZeroHex(header, 3, 35) && isNonZeroHex(header, 36, 52);
+    }
+
+    private static boolean isHex(String value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNonZeroHex(String value, int start, int end) {
+        boolean nonZero = false;
+        for (int i = start; i < end; i++) {
+            nonZero |= value.charAt(i) != '0';
+        }
+        return nonZero && isHex(value, start, end);
+    }
+
+    private static String newSpanId() {
+        return hex(nonZeroRandom());
+    }
+
+    private static long nonZeroRandom() {
+        long value;
+        do {
+            value = ThreadLocalRandom.current().nextLong();
+        } while (value == 0);
+        return value;
+    }
+
+    private static String hex(long... values) {
+        char[] chars = new char[values.length * 16];
+        int position = 0;
+        for (long value : values) {
+            for (int shift = 60; shift >= 0; shift -= 4) {
+                chars[position++] = HEX[(int) (value >>> shift) & 0xf];
+            }
+        }
+        return new String(chars);
+    }
+}
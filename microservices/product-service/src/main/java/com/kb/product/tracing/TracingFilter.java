@@ -0,0 +1,70 @@
+package com.kb.product.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a server span for every request, continuing the caller's {@code traceparent} or starting
+ * a new trace, and reports it when the trace is sampled.
+ *
+ * Runs ahead of the security chain so rejected requests are traced too. Unsampled requests only
+ * pay for parsing the header and a thread-local write; the span is named after the matched route
+ * pattern so traces of one endpoint group together.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "jarvis.tracing", name = "enabled", havingValue = "true")
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final SpanReporter spanReporter;
+    private final double sampleRate;
+
+    public TracingFilter(SpanReporter spanReporter,
+                         @Value("${jarvis.tracing.sample-rate:0.1}") double sampleRate) {
+        this.spanReporter = spanReporter;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        TraceContext context = TraceContext.fromHeader(request.getHeader(TraceContext.HEADER), sampleRate);
+        response.setHeader(TraceContext.HEADER, context.toHeader());
+        TraceContext.setCurrent(context);
+        if (!context.isSampled()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                TraceContext.setCurrent(null);
+            }
+            return;
+        }
+
+        long startMicros = SpanReporter.nowMicros();
+        long start = System.nanoTime();
+        boolean error = false;
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            error = true;
+            throw e;
+        } finally {
+            TraceContext.setCurrent(null);
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String name = request.getMethod() + " " + (route != null ? route : request.getRequestURI());
+            spanReporter.report(context, name, "SERVER", startMicros, (System.nanoTime() - start) / 1000,
+                    error || response.getStatus() >= 500);
+        }
+    }
+}
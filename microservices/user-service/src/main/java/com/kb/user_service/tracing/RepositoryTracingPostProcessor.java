@@ -0,0 +1,111 @@
+package com.kb.user_service.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Modifier;
+
+/**
+ * Wraps every repository bean, Spring Data interfaces and {@code @Repository} classes alike, so
+ * each call made while serving a sampled request is reported as a child span of that request.
+ *
+ * The advice goes in front of any existing proxy chain, so a span covers transaction and
+ * exception-translation work as well as the query. Calls outside a sampled request go straight
+ * through after one thread-local read.
+ */
+@Component
+@ConditionalOnProperty(prefix = "jarvis.tracing", name = "enabled", havingValue = "true")
+public class RepositoryTracingPostProcessor implements BeanPostProcessor, Ordered {
+
+    // Resolved lazily so the reporter and its object mapper are not created during post-processor setup
+    private final ObjectProvider<SpanReporter> spanReporter;
+
+    public RepositoryTracingPostProcessor(ObjectProvider<SpanReporter> spanReporter) {
+        this.spanReporter = spanReporter;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String repositoryName = repositoryName(bean);
+        if (repositoryName == null) {
+            return bean;
+        }
+        RepositorySpanInterceptor interceptor = new RepositorySpanInterceptor(repositoryName);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (Modifier.isFinal(targetClass.getModifiers())) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private static String repositoryName(Object bean) {
+        if (bean instanceof org.springframework.data.repository.Repository) {
+            // Name Spring Data repositories after the application's interface, not the proxy
+            for (Class<?> type : ClassUtils.getAllInterfaces(bean)) {
+                if (org.springframework.data.repository.Repository.class.isAssignableFrom(type)
+                        && !type.getName().startsWith("org.springframework.")) {
+                    return type.getSimpleName();
+                }
+            }
+            return null;
+        }
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        return AnnotatedElementUtils.hasAnnotation(targetClass, Repository.class) ? targetClass.getSimpleName() : null;
+    }
+
+    private final class RepositorySpanInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+
+        RepositorySpanInterceptor(String repositoryName) {
+            this.repositoryName = repositoryName;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            TraceContext parent = TraceContext.current();
+            if (parent == null || !parent.isSampled() || ReflectionUtils.isObjectMethod(invocation.getMethod())) {
+                return invocation.proceed();
+            }
+            TraceContext context = parent.child();
+            TraceContext.setCurrent(context);
+            long startMicros = SpanReporter.nowMicros();
+            long start = System.nanoTime();
+            boolean error = false;
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                error = true;
+                throw e;
+            } finally {
+                TraceContext.setCurrent(parent);
+                spanReporter.getObject().report(context, repositoryName + "." + invocation.getMethod().getName(),
+                        "CLIENT", startMicros, (System.nanoTime() - start) / 1000, error);
+            }
+        }
+    }
+}